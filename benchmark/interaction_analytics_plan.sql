@@ -0,0 +1,151 @@
+-- Interaction analytics index check (V15__Add_interaction_analytics_indexes)
+--
+-- Runs the SQL Hibernate generates for the analytics queries in InteractionRepository against
+-- a monthly-partitioned copy of interactions. It runs each query twice: first with the V2/V13
+-- indexes only, then with the V15 indexes added. The second run asserts the expected plan and
+-- fails the script if that plan is not used, so the check can be repeated after schema or
+-- PostgreSQL upgrades.
+--
+-- VACUUM cannot run inside a transaction block, and index-only scans need the visibility map it
+-- sets. So unlike the other benchmarks this one does not roll back. It works in its own schema
+-- and drops that schema at the start and at the end. The real tables are untouched.
+--
+-- Usage (against a database migrated to V15):
+--   psql -h localhost -U kam_user -d kam_leads_db -f benchmark/interaction_analytics_plan.sql
+-- The psql exit status is non-zero if a check fails.
+--
+-- Data shape: 2,400,000 interactions over the last 11 months in 12 monthly partitions, loaded in
+-- interaction_date order as the app writes them. There are 200 KAMs and 50,000 leads, and a
+-- quarter of the rows are orders. Generation takes ~30 seconds.
+--
+-- What to look for:
+--   before: Bitmap Heap Scan / Index Scan on idx_interactions_kam_type or idx_interactions_lead_date;
+--           every matching order is fetched from the heap to read order_value.
+--   after : Index Only Scan on each partition's copy of idx_interactions_kam_orders or
+--           idx_interactions_lead_orders with "Heap Fetches: 0". The one-day all-KAM window gets a
+--           Bitmap Index Scan on the BRIN index. Each check prints "ok" or stops the script and
+--           reports the plan it got.
+
+\set ON_ERROR_STOP on
+\timing on
+
+DROP SCHEMA IF EXISTS bench_interaction_analytics CASCADE;
+CREATE SCHEMA bench_interaction_analytics;
+SET search_path = bench_interaction_analytics, public;
+
+CREATE TABLE interactions (LIKE public.interactions INCLUDING DEFAULTS INCLUDING CONSTRAINTS)
+    PARTITION BY RANGE (interaction_date);
+CREATE TABLE interactions_default PARTITION OF interactions DEFAULT;
+
+DO $$
+DECLARE
+    month_start DATE := CAST(date_trunc('month', CURRENT_DATE) - INTERVAL '11 months' AS DATE);
+BEGIN
+    FOR i IN 0..11 LOOP
+        EXECUTE format('CREATE TABLE %I PARTITION OF interactions FOR VALUES FROM (%L) TO (%L)',
+                       'interactions_p' || to_char(month_start, 'YYYY_MM'),
+                       month_start, CAST(month_start + INTERVAL '1 month' AS DATE));
+        month_start := CAST(month_start + INTERVAL '1 month' AS DATE);
+    END LOOP;
+END $$;
+
+-- One row every 12 seconds, ending now
+INSERT INTO interactions (id, lead_id, contact_id, kam_id, type, status, interaction_date, order_value, created_at)
+SELECT gen_random_uuid(),
+       ('00000000-0000-0000-0001-' || lpad(to_hex((g / 4) % 50000), 12, '0'))::uuid,
+       NULL,
+       ('00000000-0000-0000-0000-' || lpad(to_hex(1 + (g / 4) % 200), 12, '0'))::uuid,
+       (ARRAY['CALL', 'ORDER', 'EMAIL', 'MEETING'])[1 + (g % 4)],
+       'COMPLETED',
+       now()::timestamp - (2400000 - g) * INTERVAL '12 seconds',
+       CASE WHEN g % 4 = 1 THEN (g % 5000)::numeric END,
+       now()
+FROM generate_series(1, 2400000) AS g;
+
+-- V13 indexes
+CREATE INDEX idx_interactions_lead_date ON interactions(lead_id, interaction_date DESC);
+CREATE INDEX idx_interactions_kam_type ON interactions(kam_id, type, interaction_date);
+CREATE INDEX idx_interactions_contact ON interactions(contact_id);
+CREATE INDEX idx_interactions_follow_up ON interactions(follow_up_date);
+VACUUM ANALYZE interactions;
+
+-- Prints the EXPLAIN ANALYZE output of a query as notices
+CREATE FUNCTION show_plan(label TEXT, query TEXT) RETURNS VOID LANGUAGE plpgsql AS $$
+DECLARE
+    line TEXT;
+BEGIN
+    RAISE NOTICE '=== % ===', label;
+    FOR line IN EXECUTE 'EXPLAIN (ANALYZE, BUFFERS, COSTS OFF, TIMING OFF) ' || query LOOP
+        RAISE NOTICE '%', line;
+    END LOOP;
+END $$;
+
+-- Shows the plan, then fails unless it has a node of the expected type using the expected index.
+-- Partitions have their own copies of an index; they are mapped back to the parent index by name.
+-- An Index Only Scan must also have made no heap fetches.
+CREATE FUNCTION check_plan(label TEXT, query TEXT, expected_index TEXT, expected_node TEXT)
+    RETURNS VOID LANGUAGE plpgsql AS $$
+DECLARE
+    plan JSONB;
+    indexes TEXT[];
+    nodes TEXT[];
+    heap_fetches NUMERIC;
+BEGIN
+    PERFORM show_plan(label, query);
+    EXECUTE 'EXPLAIN (ANALYZE, FORMAT JSON) ' || query INTO plan;
+
+    SELECT array_agg(DISTINCT COALESCE(parent.relname, child.relname)) INTO indexes
+    FROM jsonb_path_query(plan, '$.**."Index Name"') AS n(name)
+    JOIN pg_class child ON child.relname = n.name #>> '{}'
+        AND child.relnamespace = CAST(current_schema() AS regnamespace)
+    LEFT JOIN pg_inherits inh ON inh.inhrelid = child.oid
+    LEFT JOIN pg_class parent ON parent.oid = inh.inhparent;
+    SELECT array_agg(DISTINCT n #>> '{}') INTO nodes
+    FROM jsonb_path_query(plan, '$.**."Node Type"') AS n;
+    SELECT COALESCE(SUM(CAST(h #>> '{}' AS NUMERIC)), 0) INTO heap_fetches
+    FROM jsonb_path_query(plan, '$.**."Heap Fetches"') AS h;
+
+    IF indexes IS NULL OR NOT expected_index = ANY (indexes) OR NOT expected_node = ANY (nodes) THEN
+        RAISE EXCEPTION '% FAILED: expected % on %, plan used % with %', label, expected_node, expected_index,
+            COALESCE(indexes, '{}'), nodes;
+    END IF;
+    IF expected_node = 'Index Only Scan' AND heap_fetches > 0 THEN
+        RAISE EXCEPTION '% FAILED: index-only scan made % heap fetches', label, heap_fetches;
+    END IF;
+    RAISE NOTICE '% ok: % on % (heap fetches: %)', label, expected_node, expected_index, heap_fetches;
+END $$;
+
+-- The queries as Hibernate renders them, with the parameters inlined
+\set kam_quarter 'SELECT COALESCE(SUM(i.order_value), 0) FROM interactions i WHERE i.kam_id = ''00000000-0000-0000-0000-000000000007'' AND i.type = ''ORDER'' AND i.interaction_date BETWEEN now()::timestamp - INTERVAL ''3 months'' AND now()::timestamp'
+\set lead_quarter 'SELECT COALESCE(SUM(i.order_value), 0) FROM interactions i WHERE i.lead_id = ''00000000-0000-0000-0001-000000000007'' AND i.type = ''ORDER'' AND i.interaction_date BETWEEN now()::timestamp - INTERVAL ''3 months'' AND now()::timestamp'
+\set lead_average 'SELECT COALESCE(AVG(i.order_value), 0) FROM interactions i WHERE i.lead_id = ''00000000-0000-0000-0001-000000000007'' AND i.type = ''ORDER'' AND i.order_value > 0'
+\set stats_day 'SELECT i.kam_id, COUNT(i.id), COUNT(CASE WHEN i.type = ''ORDER'' THEN 1 END) FROM interactions i WHERE i.interaction_date >= now()::timestamp - INTERVAL ''1 day'' GROUP BY i.kam_id'
+\set stats_week 'SELECT i.kam_id, COUNT(i.id), COUNT(CASE WHEN i.type = ''ORDER'' THEN 1 END) FROM interactions i WHERE i.interaction_date >= now()::timestamp - INTERVAL ''7 days'' GROUP BY i.kam_id'
+
+SELECT show_plan('BEFORE: calculateTotalOrderValueByKamAndDateRange, one quarter', :'kam_quarter');
+SELECT show_plan('BEFORE: calculateTotalOrderValueByLeadAndDateRange, one quarter', :'lead_quarter');
+SELECT show_plan('BEFORE: findAverageOrderValueByLead', :'lead_average');
+SELECT show_plan('BEFORE: findKamPerformanceStats, last day', :'stats_day');
+
+-- V15 indexes
+CREATE INDEX idx_interactions_kam_orders ON interactions(kam_id, interaction_date)
+    INCLUDE (order_value) WHERE type = 'ORDER';
+CREATE INDEX idx_interactions_lead_orders ON interactions(lead_id, interaction_date)
+    INCLUDE (order_value) WHERE type = 'ORDER';
+CREATE INDEX idx_interactions_date_brin ON interactions USING BRIN (interaction_date)
+    WITH (autosummarize = on);
+VACUUM ANALYZE interactions;
+
+SELECT check_plan('AFTER: calculateTotalOrderValueByKamAndDateRange, one quarter', :'kam_quarter',
+                  'idx_interactions_kam_orders', 'Index Only Scan');
+SELECT check_plan('AFTER: calculateTotalOrderValueByLeadAndDateRange, one quarter', :'lead_quarter',
+                  'idx_interactions_lead_orders', 'Index Only Scan');
+SELECT check_plan('AFTER: findAverageOrderValueByLead', :'lead_average',
+                  'idx_interactions_lead_orders', 'Index Only Scan');
+SELECT check_plan('AFTER: findKamPerformanceStats, last day', :'stats_day',
+                  'idx_interactions_date_brin', 'Bitmap Index Scan');
+-- Shown only: a week is a quarter of a partition, where a sequential scan can be the better plan
+SELECT show_plan('AFTER: findKamPerformanceStats, last week', :'stats_week');
+
+RESET search_path;
+DROP SCHEMA bench_interaction_analytics CASCADE;
@@ -0,0 +1,119 @@
+-- Interaction partition pruning check (V13__Partition_interactions_by_month)
+--
+-- Runs the SQL Hibernate generates for the date-filtered InteractionRepository queries
+-- against a monthly-partitioned copy of interactions and shows which partitions each plan
+-- reads. Everything runs in a throwaway schema inside one transaction that is rolled back,
+-- so the real tables are untouched.
+--
+-- Usage (against a database migrated to V13):
+--   psql -h localhost -U kam_user -d kam_leads_db -f benchmark/interaction_partition_pruning.sql
+--
+-- Data shape: 2,400,000 interactions over 24 monthly partitions and 200 KAMs.
+-- Generation takes ~30 seconds.
+--
+-- The queries run as prepared statements twice: once with a custom plan (what PgJDBC gets for
+-- the first executions) and once with a generic plan (what it switches to after
+-- prepareThreshold executions, when the dates are unknown at plan time).
+--
+-- What to look for:
+--   custom plan : only the partitions covering the date range appear in the plan.
+--   generic plan: every partition is listed at plan time, but under EXPLAIN ANALYZE the
+--                 Append node reports "Subplans Removed: N" and only the covering partitions
+--                 show actual rows (run-time pruning).
+--   no date     : findRecentInteractionsByLeadId has no interaction_date bound and reads every
+--                 partition via its lead index; that is expected.
+
+\timing on
+BEGIN;
+
+CREATE SCHEMA bench_interaction_partitions;
+SET LOCAL search_path = bench_interaction_partitions, public;
+
+CREATE TABLE interactions (LIKE public.interactions INCLUDING DEFAULTS INCLUDING CONSTRAINTS)
+    PARTITION BY RANGE (interaction_date);
+CREATE TABLE interactions_default PARTITION OF interactions DEFAULT;
+
+DO $$
+DECLARE
+    month_start DATE := CAST(date_trunc('month', CURRENT_DATE) - INTERVAL '23 months' AS DATE);
+BEGIN
+    FOR i IN 0..23 LOOP
+        EXECUTE format('CREATE TABLE %I PARTITION OF interactions FOR VALUES FROM (%L) TO (%L)',
+                       'interactions_p' || to_char(month_start, 'YYYY_MM'),
+                       month_start, CAST(month_start + INTERVAL '1 month' AS DATE));
+        month_start := CAST(month_start + INTERVAL '1 month' AS DATE);
+    END LOOP;
+END $$;
+
+INSERT INTO interactions (id, lead_id, contact_id, kam_id, type, status, interaction_date, order_value, created_at)
+SELECT gen_random_uuid(),
+       ('00000000-0000-0000-0001-' || lpad(to_hex(g % 50000), 12, '0'))::uuid,
+       NULL,
+       ('00000000-0000-0000-0000-' || lpad(to_hex(1 + g % 200), 12, '0'))::uuid,
+       (ARRAY['CALL', 'ORDER', 'EMAIL', 'MEETING'])[1 + (g % 4)],
+       'COMPLETED',
+       date_trunc('month', CURRENT_DATE) - INTERVAL '23 months' + (g % 700) * INTERVAL '1 day' + (g % 86400) * INTERVAL '1 second',
+       CASE WHEN g % 4 = 1 THEN (g % 5000)::numeric END,
+       now()
+FROM generate_series(1, 2400000) AS g;
+
+CREATE INDEX ON interactions(lead_id, interaction_date DESC);
+CREATE INDEX ON interactions(kam_id, type, interaction_date);
+ANALYZE interactions;
+
+-- InteractionRepository.findByKamIdAndDateRange
+PREPARE find_by_kam_and_date_range(uuid, timestamp, timestamp) AS
+SELECT i.id, i.lead_id, i.type, i.interaction_date, i.order_value FROM interactions i
+WHERE i.kam_id = $1 AND i.interaction_date BETWEEN $2 AND $3
+ORDER BY i.interaction_date DESC OFFSET 0 ROWS FETCH FIRST 20 ROWS ONLY;
+
+-- InteractionRepository.calculateTotalOrderValueByKamAndDateRange
+PREPARE order_value_by_kam_and_date_range(uuid, timestamp, timestamp) AS
+SELECT COALESCE(SUM(i.order_value), 0) FROM interactions i
+WHERE i.kam_id = $1 AND i.type = 'ORDER' AND i.interaction_date BETWEEN $2 AND $3;
+
+-- InteractionRepository.findKamPerformanceStats
+PREPARE kam_performance_stats(timestamp) AS
+SELECT i.kam_id, COUNT(i.id), COUNT(CASE WHEN i.type = 'ORDER' THEN 1 END) FROM interactions i
+WHERE i.interaction_date >= $1
+GROUP BY i.kam_id;
+
+-- InteractionRepository.findRecentInteractionsByLeadId (no date bound)
+PREPARE recent_by_lead(uuid) AS
+SELECT i.id, i.type, i.interaction_date FROM interactions i
+WHERE i.lead_id = $1
+ORDER BY i.interaction_date DESC FETCH FIRST 10 ROWS ONLY;
+
+SET LOCAL plan_cache_mode = force_custom_plan;
+
+\echo '=== CUSTOM PLAN: findByKamIdAndDateRange, last 30 days ==='
+EXPLAIN (ANALYZE, COSTS OFF, TIMING OFF)
+EXECUTE find_by_kam_and_date_range('00000000-0000-0000-0000-000000000007', now()::timestamp - INTERVAL '30 days', now()::timestamp);
+
+\echo '=== CUSTOM PLAN: calculateTotalOrderValueByKamAndDateRange, one quarter ==='
+EXPLAIN (ANALYZE, COSTS OFF, TIMING OFF)
+EXECUTE order_value_by_kam_and_date_range('00000000-0000-0000-0000-000000000007', now()::timestamp - INTERVAL '3 months', now()::timestamp);
+
+\echo '=== CUSTOM PLAN: findKamPerformanceStats, last 7 days ==='
+EXPLAIN (ANALYZE, COSTS OFF, TIMING OFF)
+EXECUTE kam_performance_stats(now()::timestamp - INTERVAL '7 days');
+
+SET LOCAL plan_cache_mode = force_generic_plan;
+
+\echo '=== GENERIC PLAN: findByKamIdAndDateRange, last 30 days ==='
+EXPLAIN (ANALYZE, COSTS OFF, TIMING OFF)
+EXECUTE find_by_kam_and_date_range('00000000-0000-0000-0000-000000000007', now()::timestamp - INTERVAL '30 days', now()::timestamp);
+
+\echo '=== GENERIC PLAN: calculateTotalOrderValueByKamAndDateRange, one quarter ==='
+EXPLAIN (ANALYZE, COSTS OFF, TIMING OFF)
+EXECUTE order_value_by_kam_and_date_range('00000000-0000-0000-0000-000000000007', now()::timestamp - INTERVAL '3 months', now()::timestamp);
+
+\echo '=== GENERIC PLAN: findKamPerformanceStats, last 7 days ==='
+EXPLAIN (ANALYZE, COSTS OFF, TIMING OFF)
+EXECUTE kam_performance_stats(now()::timestamp - INTERVAL '7 days');
+
+\echo '=== NO DATE BOUND: findRecentInteractionsByLeadId ==='
+EXPLAIN (ANALYZE, COSTS OFF, TIMING OFF)
+EXECUTE recent_by_lead('00000000-0000-0000-0001-000000000007');
+
+ROLLBACK;
@@ -0,0 +1,48 @@
+#!/usr/bin/env bash
+# Bulk lead load benchmark (POST /api/leads/bulk)
+#
+# Logs in as a seeded KAM, posts ROWS generated leads in one request and prints the
+# server-reported durationMs and rowsPerSecond. The leads are real rows in the target
+# database; run it against a scratch database.
+#
+# Usage (app running locally against a database migrated with the seed data):
+#   ./benchmark/lead_bulk_load.sh                 # 5,000 rows
+#   ROWS=2000 BASE_URL=http://localhost:8080 ./benchmark/lead_bulk_load.sh
+#
+# Target: >= 5,000 rows/s for a 5,000-row request on a local Postgres. With
+# reWriteBatchedInserts and the 100-statement session batch, the log should show
+# batched INSERTs into leads rather than a SELECT + INSERT pair per row.
+#
+# Requires: curl, jq, python3.
+
+set -euo pipefail
+
+BASE_URL=${BASE_URL:-http://localhost:8080}
+ROWS=${ROWS:-5000}
+EMAIL=${EMAIL:-rajesh.kumar@udaan.com}
+PASSWORD=${PASSWORD:-password123}
+KAM_ID=${KAM_ID:-11111111-1111-1111-1111-111111111111}
+
+TOKEN=$(curl -sf "$BASE_URL/api/auth/login" \
+    -H 'Content-Type: application/json' \
+    -d "{\"email\":\"$EMAIL\",\"password\":\"$PASSWORD\"}" | jq -r .token)
+
+BODY=$(mktemp)
+trap 'rm -f "$BODY"' EXIT
+
+python3 - "$ROWS" "$KAM_ID" > "$BODY" <<'PY'
+import json, sys
+rows, kam_id = int(sys.argv[1]), sys.argv[2]
+cuisines = ["North Indian", "South Indian", "Chinese", "Italian", "Cafe"]
+print(json.dumps([
+    {"name": f"Bench Kitchen {i:06d}", "city": "Benchpur", "cuisineType": cuisines[i % len(cuisines)],
+     "kamId": kam_id, "callFrequency": 7, "status": "NEW"}
+    for i in range(rows)
+]))
+PY
+
+curl -sf "$BASE_URL/api/leads/bulk" \
+    -H "Authorization: Bearer $TOKEN" \
+    -H 'Content-Type: application/json' \
+    --data-binary "@$BODY" \
+    | jq '{received, created, updated, failed, durationMs, rowsPerSecond}'
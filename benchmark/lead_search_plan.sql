@@ -0,0 +1,77 @@
+-- Lead search plan benchmark (V6__Add_lead_search_indexes)
+--
+-- Shows how the lead-list search predicates change plan once the trigram and
+-- lower(city) expression indexes exist. Everything runs in a throwaway schema
+-- inside one transaction that is rolled back, so the real tables are untouched.
+--
+-- Usage (against a database migrated to V6, so pg_trgm is installed):
+--   psql -h localhost -U kam_user -d kam_leads_db -f benchmark/lead_search_plan.sql
+--
+-- Data shape: 3,000,000 leads over 200 KAMs, with one large KAM holding 1,000,000
+-- of them (the territories that made search slow). Generation takes ~1 minute.
+--
+-- What to look for:
+--   before: Bitmap/Index Scan on idx_leads_kam_status, then "Rows Removed by Filter"
+--           in the hundreds of thousands for the name search.
+--   after : BitmapAnd of idx_leads_name_trgm and the KAM index (name search), and an
+--           Index Scan on idx_leads_kam_city_lower (city filter), with no large filter step.
+
+\timing on
+BEGIN;
+
+CREATE SCHEMA bench_lead_search;
+SET LOCAL search_path = bench_lead_search, public;
+
+CREATE TABLE leads (LIKE public.leads INCLUDING DEFAULTS);
+
+INSERT INTO leads (id, name, city, cuisine_type, status, kam_id, call_frequency, performance_score, created_at)
+SELECT gen_random_uuid(),
+       (ARRAY['Spice', 'Curry', 'Tandoor', 'Masala', 'Dosa', 'Biryani', 'Pizza', 'Noodle'])[1 + (g % 8)]
+           || ' ' || substr(md5(g::text), 1, 8) || ' Kitchen',
+       (ARRAY['Mumbai', 'Delhi', 'Bangalore', 'Pune', 'Chennai', 'Hyderabad', 'Kolkata', 'Jaipur'])[1 + (g % 37 % 8)],
+       'Multi-cuisine',
+       (ARRAY['NEW', 'CONTACTED', 'INTERESTED', 'NEGOTIATING', 'CLOSED_WON', 'CLOSED_LOST', 'INACTIVE'])[1 + (g % 7)],
+       CASE WHEN g <= 1000000 THEN '00000000-0000-0000-0000-000000000001'::uuid
+            ELSE ('00000000-0000-0000-0000-' || lpad(to_hex(2 + g % 199), 12, '0'))::uuid END,
+       7,
+       (g % 100)::numeric,
+       now() - (g % 1000) * INTERVAL '1 hour'
+FROM generate_series(1, 3000000) AS g;
+
+-- Indexes that existed before V6
+CREATE INDEX ON leads(kam_id, status);
+CREATE INDEX ON leads(city);
+ANALYZE leads;
+
+\echo '=== BEFORE: name substring search for the large KAM ==='
+EXPLAIN (ANALYZE, BUFFERS, COSTS OFF)
+SELECT id, name FROM leads
+WHERE kam_id = '00000000-0000-0000-0000-000000000001'
+  AND lower(name) LIKE '%1a2b%' ESCAPE '\'
+ORDER BY created_at DESC LIMIT 20;
+
+\echo '=== BEFORE: case-insensitive city filter for the large KAM ==='
+EXPLAIN (ANALYZE, BUFFERS, COSTS OFF)
+SELECT count(*) FROM leads
+WHERE kam_id = '00000000-0000-0000-0000-000000000001'
+  AND lower(city) = 'jaipur';
+
+-- Indexes added by V6
+CREATE INDEX idx_leads_name_trgm ON leads USING GIN (lower(name) gin_trgm_ops);
+CREATE INDEX idx_leads_kam_city_lower ON leads(kam_id, lower(city));
+ANALYZE leads;
+
+\echo '=== AFTER: name substring search for the large KAM ==='
+EXPLAIN (ANALYZE, BUFFERS, COSTS OFF)
+SELECT id, name FROM leads
+WHERE kam_id = '00000000-0000-0000-0000-000000000001'
+  AND lower(name) LIKE '%1a2b%' ESCAPE '\'
+ORDER BY created_at DESC LIMIT 20;
+
+\echo '=== AFTER: case-insensitive city filter for the large KAM ==='
+EXPLAIN (ANALYZE, BUFFERS, COSTS OFF)
+SELECT count(*) FROM leads
+WHERE kam_id = '00000000-0000-0000-0000-000000000001'
+  AND lower(city) = 'jaipur';
+
+ROLLBACK;
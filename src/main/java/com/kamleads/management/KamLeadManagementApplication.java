@@ -6,11 +6,13 @@ import org.springframework.boot.autoconfigure.domain.EntityScan;
 import org.springframework.data.jpa.repository.config.EnableJpaAuditing;
 import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
 import org.springframework.data.repository.query.QueryLookupStrategy;
+import org.springframework.scheduling.annotation.EnableScheduling;
 import org.springframework.transaction.annotation.EnableTransactionManagement;
 
 @SpringBootApplication
 @EnableJpaAuditing //Enables automatic timestamp fields (@CreationTimestamp, @UpdateTimestamp)
 @EnableTransactionManagement // Enables @Transactional annotation support
+@EnableScheduling // Enables @Scheduled background jobs (performance-score recalculation)
 @EnableJpaRepositories(
 		basePackages = "com.kamleads.management.repository", // Explicitly define where repositories are
 		queryLookupStrategy = QueryLookupStrategy.Key.CREATE_IF_NOT_FOUND
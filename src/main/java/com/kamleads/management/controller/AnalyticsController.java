@@ -4,6 +4,7 @@ import com.kamleads.management.dto.LeadPerformanceDTO;
 import com.kamleads.management.dto.LeadSummaryDto;
 import com.kamleads.management.dto.response.UserResponseDto;
 import com.kamleads.management.service.AnalyticsService;
+import com.kamleads.management.service.KamChangeVersions;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -11,6 +12,7 @@ import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
@@ -24,10 +26,12 @@ import java.util.UUID;
 public class AnalyticsController {
 
     private final AnalyticsService analyticsService;
+    private final KamChangeVersions kamChangeVersions;
 
     @Autowired
-    public AnalyticsController(AnalyticsService analyticsService) {
+    public AnalyticsController(AnalyticsService analyticsService, KamChangeVersions kamChangeVersions) {
         this.analyticsService = analyticsService;
+        this.kamChangeVersions = kamChangeVersions;
     }
 
     /**
@@ -36,7 +40,11 @@ public class AnalyticsController {
      */
     @GetMapping("/summary/kam/{kamId}")
     @PreAuthorize("hasRole('KAM')")
-    public ResponseEntity<LeadSummaryDto> getKamLeadSummary(@PathVariable UUID kamId) {
+    public ResponseEntity<LeadSummaryDto> getKamLeadSummary(@PathVariable UUID kamId, WebRequest webRequest) {
+        // Answered from the in-memory version counter, before any query runs
+        if (webRequest.checkNotModified(kamChangeVersions.etagForKam(kamId))) {
+            return null;
+        }
         LeadSummaryDto summary = analyticsService.getKamLeadSummary(kamId);
         return ResponseEntity.ok(summary);
     }
@@ -50,7 +58,11 @@ public class AnalyticsController {
     public ResponseEntity<List<LeadPerformanceDTO>> getLeadPerformanceAnalytics(
             @PathVariable UUID kamId,
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
-            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate) {
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            WebRequest webRequest) {
+        if (webRequest.checkNotModified(kamChangeVersions.etagForKam(kamId))) {
+            return null;
+        }
         List<LeadPerformanceDTO> analytics = analyticsService.getLeadPerformanceAnalytics(kamId, startDate, endDate);
         return ResponseEntity.ok(analytics);
     }
@@ -61,7 +73,10 @@ public class AnalyticsController {
      */
     @GetMapping("/interactions/counts-by-type/{kamId}")
     @PreAuthorize("hasRole('KAM')")
-    public ResponseEntity<Map<String, Long>> getInteractionCountsByKamAndType(@PathVariable UUID kamId) {
+    public ResponseEntity<Map<String, Long>> getInteractionCountsByKamAndType(@PathVariable UUID kamId, WebRequest webRequest) {
+        if (webRequest.checkNotModified(kamChangeVersions.etagForKam(kamId))) {
+            return null;
+        }
         Map<String, Long> counts = analyticsService.getInteractionCountsByKamAndType(kamId);
         return ResponseEntity.ok(counts);
     }
@@ -72,7 +87,10 @@ public class AnalyticsController {
      */
     @GetMapping("/leads/status-distribution/{kamId}")
     @PreAuthorize("hasRole('KAM')")
-    public ResponseEntity<Map<String, Long>> getLeadStatusDistributionByKam(@PathVariable UUID kamId) {
+    public ResponseEntity<Map<String, Long>> getLeadStatusDistributionByKam(@PathVariable UUID kamId, WebRequest webRequest) {
+        if (webRequest.checkNotModified(kamChangeVersions.etagForKam(kamId))) {
+            return null;
+        }
         Map<String, Long> distribution = analyticsService.getLeadStatusDistributionByKam(kamId);
         return ResponseEntity.ok(distribution);
     }
@@ -86,7 +104,11 @@ public class AnalyticsController {
     public ResponseEntity<BigDecimal> getTotalOrderValueByKam(
             @PathVariable UUID kamId,
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startDate,
-            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endDate) {
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endDate,
+            WebRequest webRequest) {
+        if (webRequest.checkNotModified(kamChangeVersions.etagForKam(kamId))) {
+            return null;
+        }
         BigDecimal totalValue = analyticsService.getTotalOrderValueByKam(kamId, startDate, endDate);
         return ResponseEntity.ok(totalValue);
     }
@@ -97,7 +119,10 @@ public class AnalyticsController {
      */
     @GetMapping("/kams/top-performing")
     @PreAuthorize("hasRole('KAM')")
-    public ResponseEntity<Page<UserResponseDto>> getTopPerformingKams(Pageable pageable) {
+    public ResponseEntity<Page<UserResponseDto>> getTopPerformingKams(Pageable pageable, WebRequest webRequest) {
+        if (webRequest.checkNotModified(kamChangeVersions.etagForAllKams())) {
+            return null;
+        }
         Page<UserResponseDto> topKams = analyticsService.getTopPerformingKams(pageable);
         return ResponseEntity.ok(topKams);
     }
@@ -4,6 +4,7 @@ import com.kamleads.management.dto.request.CallScheduleCreateRequestDto;
 import com.kamleads.management.dto.response.CallScheduleResponseDto;
 import com.kamleads.management.exception.ResourceNotFoundException;
 import com.kamleads.management.service.CallScheduleService;
+import com.kamleads.management.service.KamChangeVersions;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.format.annotation.DateTimeFormat;
@@ -11,6 +12,7 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.time.LocalDate;
 import java.util.List;
@@ -21,10 +23,12 @@ import java.util.UUID;
 public class CallScheduleController {
 
     private final CallScheduleService callScheduleService;
+    private final KamChangeVersions kamChangeVersions;
 
     @Autowired
-    public CallScheduleController(CallScheduleService callScheduleService) {
+    public CallScheduleController(CallScheduleService callScheduleService, KamChangeVersions kamChangeVersions) {
         this.callScheduleService = callScheduleService;
+        this.kamChangeVersions = kamChangeVersions;
     }
 
     /**
@@ -58,7 +62,12 @@ public class CallScheduleController {
     @PreAuthorize("hasRole('KAM')")
     public ResponseEntity<List<CallScheduleResponseDto>> getScheduledCallsForKamAndDate(
             @PathVariable UUID kamId,
-            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date) {
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date,
+            WebRequest webRequest) {
+        // Answered from the in-memory version counter, before any query runs
+        if (webRequest.checkNotModified(kamChangeVersions.etagForKam(kamId))) {
+            return null;
+        }
         List<CallScheduleResponseDto> schedules = callScheduleService.getScheduledCallsForKamAndDate(kamId, date);
         return ResponseEntity.ok(schedules);
     }
@@ -69,7 +78,10 @@ public class CallScheduleController {
      */
     @GetMapping("/overdue/{kamId}")
     @PreAuthorize("hasRole('KAM')")
-    public ResponseEntity<List<CallScheduleResponseDto>> getOverdueCallsForKam(@PathVariable UUID kamId) {
+    public ResponseEntity<List<CallScheduleResponseDto>> getOverdueCallsForKam(@PathVariable UUID kamId, WebRequest webRequest) {
+        if (webRequest.checkNotModified(kamChangeVersions.etagForKam(kamId))) {
+            return null;
+        }
         List<CallScheduleResponseDto> overdueCalls = callScheduleService.getOverdueCallsForKam(kamId);
         return ResponseEntity.ok(overdueCalls);
     }
@@ -1,9 +1,16 @@
 package com.kamleads.management.controller;
 
+import com.kamleads.management.dto.request.InteractionBulkRowDto;
 import com.kamleads.management.dto.request.InteractionCreateRequestDto;
+import com.kamleads.management.dto.response.BulkInteractionResponseDto;
+import com.kamleads.management.dto.response.CursorPageResponseDto;
 import com.kamleads.management.dto.response.InteractionResponseDto;
+import com.kamleads.management.enums.CountMode;
+import com.kamleads.management.exception.BadRequestException;
 import com.kamleads.management.exception.ResourceNotFoundException;
 import com.kamleads.management.service.InteractionService;
+import com.kamleads.management.service.InteractionWriteQueue;
+import com.kamleads.management.service.LeadArchiveService;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
@@ -17,30 +24,66 @@ import org.springframework.web.bind.annotation.*;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 @RestController
 @RequestMapping("/api/interactions")
 public class InteractionController {
 
+    private static final int MAX_BULK_ROWS = 50_000;
+    private static final int MAX_CURSOR_PAGE_SIZE = 200;
+
     private final InteractionService interactionService;
+    private final LeadArchiveService leadArchiveService;
+    private final InteractionWriteQueue interactionWriteQueue;
 
     @Autowired
-    public InteractionController(InteractionService interactionService) {
+    public InteractionController(InteractionService interactionService, LeadArchiveService leadArchiveService,
+                                 InteractionWriteQueue interactionWriteQueue) {
         this.interactionService = interactionService;
+        this.leadArchiveService = leadArchiveService;
+        this.interactionWriteQueue = interactionWriteQueue;
     }
 
     /**
      * Creates a new interaction.
      * Accessible by 'KAM' role.
+     *
+     * @param async If true and interactions.async.enabled is set, the interaction is validated and
+     *              queued, and 202 is returned with its ID before it is committed (see
+     *              InteractionWriteQueue). A 202 is not a durable write: if the server dies before the
+     *              batch commits, the interaction is lost. If the path is disabled, or the queue is full
+     *              or failing, it is written synchronously and 201 is returned as usual.
      */
     @PostMapping
     @PreAuthorize("hasRole('KAM')")
-    public ResponseEntity<InteractionResponseDto> createInteraction(@Valid @RequestBody InteractionCreateRequestDto requestDto) {
+    public ResponseEntity<InteractionResponseDto> createInteraction(@Valid @RequestBody InteractionCreateRequestDto requestDto,
+                                                                    @RequestParam(defaultValue = "false") boolean async) {
+        if (async) {
+            Optional<InteractionResponseDto> accepted = interactionWriteQueue.submit(requestDto);
+            if (accepted.isPresent()) {
+                return new ResponseEntity<>(accepted.get(), HttpStatus.ACCEPTED);
+            }
+        }
         InteractionResponseDto createdInteraction = interactionService.createInteraction(requestDto);
         return new ResponseEntity<>(createdInteraction, HttpStatus.CREATED);
     }
 
+    /**
+     * Creates interactions in bulk, e.g. a nightly POS order feed. Rows may carry their own
+     * interactionDate; invalid rows are reported by index in the response and the rest are written.
+     * Accessible by 'KAM' role.
+     */
+    @PostMapping("/bulk")
+    @PreAuthorize("hasRole('KAM')")
+    public ResponseEntity<BulkInteractionResponseDto> bulkCreateInteractions(@RequestBody List<InteractionBulkRowDto> rows) {
+        if (rows == null || rows.isEmpty() || rows.size() > MAX_BULK_ROWS) {
+            throw new BadRequestException("Request must contain between 1 and " + MAX_BULK_ROWS + " rows");
+        }
+        return ResponseEntity.ok(interactionService.bulkCreateInteractions(rows));
+    }
+
     /**
      * Retrieves an interaction by ID.
      * Accessible by 'KAM' role.
@@ -56,11 +99,17 @@ public class InteractionController {
     /**
      * Retrieves all interactions for a specific lead with pagination.
      * Accessible by 'KAM' role.
+     *
+     * @param includeArchived If true, archived interactions are included (newest first) and archived
+     *                        leads are accepted.
      */
     @GetMapping("/by-lead/{leadId}")
     @PreAuthorize("hasRole('KAM')")
-    public ResponseEntity<Page<InteractionResponseDto>> getInteractionsByLeadId(@PathVariable UUID leadId, Pageable pageable) {
-        Page<InteractionResponseDto> interactions = interactionService.getInteractionsByLeadId(leadId, pageable);
+    public ResponseEntity<Page<InteractionResponseDto>> getInteractionsByLeadId(@PathVariable UUID leadId, Pageable pageable,
+                                                                                @RequestParam(defaultValue = "false") boolean includeArchived) {
+        Page<InteractionResponseDto> interactions = includeArchived
+                ? leadArchiveService.getInteractionHistory(leadId, pageable)
+                : interactionService.getInteractionsByLeadId(leadId, pageable);
         return ResponseEntity.ok(interactions);
     }
 
@@ -79,6 +128,53 @@ public class InteractionController {
         return ResponseEntity.ok(interactions);
     }
 
+    /**
+     * Retrieves a lead's interactions newest first with cursor (keyset) pagination, for infinite scroll.
+     * Pass the returned nextCursor back unchanged to get the next window.
+     * Accessible by 'KAM' role.
+     *
+     * @param cursor Opaque cursor from the previous window; omit for the first window.
+     * @param size Window size (1-200, default 20).
+     * @param countMode NONE (default), CAPPED or EXACT.
+     */
+    @GetMapping("/by-lead/{leadId}/cursor")
+    @PreAuthorize("hasRole('KAM')")
+    public ResponseEntity<CursorPageResponseDto<InteractionResponseDto>> getInteractionsByLeadIdCursor(
+            @PathVariable UUID leadId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(defaultValue = "NONE") CountMode countMode) {
+        if (size < 1 || size > MAX_CURSOR_PAGE_SIZE) {
+            throw new BadRequestException("size must be between 1 and " + MAX_CURSOR_PAGE_SIZE);
+        }
+        return ResponseEntity.ok(interactionService.getInteractionsByLeadIdCursor(leadId, cursor, size, countMode));
+    }
+
+    /**
+     * Retrieves a KAM's interactions within a date range newest first, with cursor (keyset) pagination.
+     * Pass the returned nextCursor back unchanged, with the same date range, to get the next window.
+     * Accessible by 'KAM' role.
+     *
+     * @param cursor Opaque cursor from the previous window; omit for the first window.
+     * @param size Window size (1-200, default 20).
+     * @param countMode NONE (default), CAPPED or EXACT.
+     */
+    @GetMapping("/by-kam/{kamId}/cursor")
+    @PreAuthorize("hasRole('KAM')")
+    public ResponseEntity<CursorPageResponseDto<InteractionResponseDto>> getInteractionsByKamAndDateRangeCursor(
+            @PathVariable UUID kamId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endDate,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(defaultValue = "NONE") CountMode countMode) {
+        if (size < 1 || size > MAX_CURSOR_PAGE_SIZE) {
+            throw new BadRequestException("size must be between 1 and " + MAX_CURSOR_PAGE_SIZE);
+        }
+        return ResponseEntity.ok(interactionService.getInteractionsByKamAndDateRangeCursor(
+                kamId, startDate, endDate, cursor, size, countMode));
+    }
+
     /**
      * Updates an existing interaction.
      * Accessible by 'KAM' role.
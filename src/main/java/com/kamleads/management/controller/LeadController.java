@@ -3,34 +3,81 @@ package com.kamleads.management.controller;
 import com.kamleads.management.dto.LeadPerformanceDTO;
 //import com.kamleads.management.dto.LeadPerformanceDto;
 import com.kamleads.management.dto.LeadSummaryDto;
+import com.kamleads.management.dto.request.BulkKamReassignRequestDto;
+import com.kamleads.management.dto.request.BulkStatusUpdateRequestDto;
+import com.kamleads.management.dto.request.LeadBulkRowDto;
 import com.kamleads.management.dto.request.LeadCreateRequestDto;
+import com.kamleads.management.dto.request.LeadMergeRequestDto;
+import com.kamleads.management.dto.response.ArchiveRunStatusDto;
+import com.kamleads.management.dto.response.BulkLeadResponseDto;
+import com.kamleads.management.dto.response.BulkUpdateResponseDto;
+import com.kamleads.management.dto.response.CursorPageResponseDto;
+import com.kamleads.management.dto.response.DuplicateClusterDto;
+import com.kamleads.management.dto.response.LeadMergeResponseDto;
 import com.kamleads.management.dto.response.LeadResponseDto;
+import com.kamleads.management.dto.response.ScoreRecalculationStatusDto;
+import com.kamleads.management.dto.response.TimelineEventDto;
+import com.kamleads.management.dto.response.TypeaheadSuggestionDto;
+import com.kamleads.management.enums.CountMode;
+import com.kamleads.management.enums.ExportFormat;
 import com.kamleads.management.enums.LeadStatus;
+import com.kamleads.management.enums.LeadView;
+import com.kamleads.management.exception.BadRequestException;
 import com.kamleads.management.exception.ResourceNotFoundException;
+import com.kamleads.management.service.KamChangeVersions;
+import com.kamleads.management.service.LeadArchiveService;
+import com.kamleads.management.service.LeadExportService;
+import com.kamleads.management.service.LeadScoreRecalculationService;
 import com.kamleads.management.service.LeadService;
+import com.kamleads.management.service.LeadTimelineService;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 @RestController
 @RequestMapping("/api/leads")
 public class LeadController {
 
+    private static final int MAX_CURSOR_PAGE_SIZE = 200;
+    private static final int MAX_TYPEAHEAD_LIMIT = 50;
+    private static final int MAX_BULK_ROWS = 5000;
+    private static final int MAX_MERGE_DUPLICATES = 100;
+
     private final LeadService leadService;
+    private final LeadExportService leadExportService;
+    private final LeadScoreRecalculationService scoreRecalculationService;
+    private final KamChangeVersions kamChangeVersions;
+    private final LeadArchiveService leadArchiveService;
+    private final LeadTimelineService leadTimelineService;
 
     @Autowired
-    public LeadController(LeadService leadService) {
+    public LeadController(LeadService leadService, LeadExportService leadExportService,
+                          LeadScoreRecalculationService scoreRecalculationService,
+                          KamChangeVersions kamChangeVersions, LeadArchiveService leadArchiveService,
+                          LeadTimelineService leadTimelineService) {
         this.leadService = leadService;
+        this.leadExportService = leadExportService;
+        this.scoreRecalculationService = scoreRecalculationService;
+        this.kamChangeVersions = kamChangeVersions;
+        this.leadArchiveService = leadArchiveService;
+        this.leadTimelineService = leadTimelineService;
     }
 
     /**
@@ -44,16 +91,64 @@ public class LeadController {
         return new ResponseEntity<>(createdLead, HttpStatus.CREATED);
     }
 
+    /**
+     * Creates and updates leads in bulk, e.g. when onboarding a new city.
+     * Rows without an id are created, rows with an id update that lead; invalid rows are
+     * reported by index in the response and the rest are written.
+     * Throughput target: at least 5,000 rows/s for a 5,000-row request against a local Postgres
+     * (see benchmark/lead_bulk_load.sh); the response reports the measured rowsPerSecond.
+     * Accessible by 'KAM' role.
+     */
+    @PostMapping("/bulk")
+    @PreAuthorize("hasRole('KAM')")
+    public ResponseEntity<BulkLeadResponseDto> bulkUpsertLeads(@RequestBody List<LeadBulkRowDto> rows) {
+        if (rows == null || rows.isEmpty() || rows.size() > MAX_BULK_ROWS) {
+            throw new BadRequestException("Request must contain between 1 and " + MAX_BULK_ROWS + " rows");
+        }
+        return ResponseEntity.ok(leadService.bulkUpsertLeads(rows));
+    }
+
     /**
      * Retrieves a lead by ID.
      * Accessible by 'KAM' role.
+     *
+     * @param view SUMMARY, STANDARD or FULL (default FULL).
+     * @param includeArchived If true and the lead is not live, look it up in the archive; the archived
+     *                        lead is returned with its contacts and archivedAt, whatever the view.
      */
     @GetMapping("/{id}")
     @PreAuthorize("hasRole('KAM')")
-    public ResponseEntity<LeadResponseDto> getLeadById(@PathVariable UUID id) {
-        LeadResponseDto lead = leadService.getLeadById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Lead not found with ID: " + id));
-        return ResponseEntity.ok(lead);
+    public ResponseEntity<?> getLeadById(@PathVariable UUID id,
+                                         @RequestParam(defaultValue = "FULL") LeadView view,
+                                         @RequestParam(defaultValue = "false") boolean includeArchived) {
+        Optional<?> lead = view == LeadView.SUMMARY
+                ? leadService.getLeadSummaryById(id)
+                : leadService.getLeadById(id, view);
+        if (lead.isEmpty() && includeArchived) {
+            lead = leadArchiveService.getArchivedLead(id);
+        }
+        return ResponseEntity.ok(lead
+                .orElseThrow(() -> new ResourceNotFoundException("Lead not found with ID: " + id)));
+    }
+
+    /**
+     * Retrieves a lead's activity timeline: interactions, call schedules and status changes merged
+     * newest first, in cursor windows. Pass the returned nextCursor back unchanged to get the next window.
+     * Accessible by 'KAM' role.
+     *
+     * @param cursor Opaque cursor from the previous window; omit for the first window.
+     * @param size Window size (1-200, default 20).
+     */
+    @GetMapping("/{id}/timeline")
+    @PreAuthorize("hasRole('KAM')")
+    public ResponseEntity<CursorPageResponseDto<TimelineEventDto>> getLeadTimeline(
+            @PathVariable UUID id,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        if (size < 1 || size > MAX_CURSOR_PAGE_SIZE) {
+            throw new BadRequestException("size must be between 1 and " + MAX_CURSOR_PAGE_SIZE);
+        }
+        return ResponseEntity.ok(leadTimelineService.getTimeline(id, cursor, size));
     }
 
     /**
@@ -64,20 +159,160 @@ public class LeadController {
      * @param searchTerm Optional search term for lead name.
      * @param statuses Optional list of lead statuses to filter by.
      * @param city Optional city to filter by.
+     * @param view SUMMARY, STANDARD or FULL (default FULL).
      * @param pageable Pagination information.
      */
     @GetMapping("/by-kam/{kamId}")
     @PreAuthorize("hasRole('KAM')")
-    public ResponseEntity<Page<LeadResponseDto>> getLeadsByKam(
+    public ResponseEntity<Page<?>> getLeadsByKam(
+            @PathVariable UUID kamId,
+            @RequestParam(required = false) String searchTerm,
+            @RequestParam(required = false) List<LeadStatus> statuses,
+            @RequestParam(required = false) String city,
+            @RequestParam(defaultValue = "FULL") LeadView view,
+            Pageable pageable,
+            WebRequest webRequest) {
+        // Answered from the in-memory version counter, before any query runs
+        if (webRequest.checkNotModified(kamChangeVersions.etagForKam(kamId))) {
+            return null;
+        }
+        Page<?> leads = view == LeadView.SUMMARY
+                ? leadService.getLeadSummariesByKam(kamId, searchTerm, statuses, city, pageable)
+                : leadService.getLeadsByKam(kamId, searchTerm, statuses, city, pageable, view);
+        return ResponseEntity.ok(leads);
+    }
+
+    /**
+     * Retrieves leads for a specific KAM with cursor (keyset) pagination, for infinite scroll.
+     * Pass the returned nextCursor back unchanged, with the same filters and sort, to get the next window.
+     * Accessible by 'KAM' role.
+     *
+     * @param kamId The ID of the KAM.
+     * @param cursor Opaque cursor from the previous window; omit for the first window.
+     * @param size Window size (1-200, default 20).
+     * @param countMode NONE (default), CAPPED or EXACT.
+     * @param sort Sort keys, e.g. sort=name,asc; defaults to createdAt,desc.
+     */
+    @GetMapping("/by-kam/{kamId}/cursor")
+    @PreAuthorize("hasRole('KAM')")
+    public ResponseEntity<CursorPageResponseDto<?>> getLeadsByKamCursor(
             @PathVariable UUID kamId,
             @RequestParam(required = false) String searchTerm,
             @RequestParam(required = false) List<LeadStatus> statuses,
             @RequestParam(required = false) String city,
-            Pageable pageable) {
-        Page<LeadResponseDto> leads = leadService.getLeadsByKam(kamId, searchTerm, statuses, city, pageable);
+            @RequestParam(defaultValue = "FULL") LeadView view,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(defaultValue = "NONE") CountMode countMode,
+            Sort sort,
+            WebRequest webRequest) {
+        if (webRequest.checkNotModified(kamChangeVersions.etagForKam(kamId))) {
+            return null;
+        }
+        if (size < 1 || size > MAX_CURSOR_PAGE_SIZE) {
+            throw new BadRequestException("size must be between 1 and " + MAX_CURSOR_PAGE_SIZE);
+        }
+        CursorPageResponseDto<?> leads = leadService.getLeadsByKamCursor(
+                kamId, searchTerm, statuses, city, sort, cursor, size, countMode, view);
         return ResponseEntity.ok(leads);
     }
 
+    /**
+     * Exports leads as CSV or NDJSON, streamed straight from a database cursor so large
+     * exports do not need paging or a count query. Supports the same filters as /by-kam.
+     * Accessible by 'KAM' role.
+     *
+     * @param kamId The ID of the KAM; omit to export every KAM's leads.
+     * @param format CSV (default) or NDJSON.
+     */
+    @GetMapping("/export")
+    @PreAuthorize("hasRole('KAM')")
+    public ResponseEntity<StreamingResponseBody> exportLeads(
+            @RequestParam(required = false) UUID kamId,
+            @RequestParam(required = false) String searchTerm,
+            @RequestParam(required = false) List<LeadStatus> statuses,
+            @RequestParam(required = false) String city,
+            @RequestParam(defaultValue = "CSV") ExportFormat format) {
+        StreamingResponseBody body = leadExportService.exportLeads(kamId, searchTerm, statuses, city, format);
+        String fileName = format == ExportFormat.CSV ? "leads.csv" : "leads.ndjson";
+        MediaType contentType = format == ExportFormat.CSV
+                ? new MediaType("text", "csv", StandardCharsets.UTF_8)
+                : new MediaType("application", "x-ndjson", StandardCharsets.UTF_8);
+        return ResponseEntity.ok()
+                .contentType(contentType)
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + fileName + "\"")
+                .body(body);
+    }
+
+    /**
+     * Suggests a KAM's leads as the user types, matching word prefixes of lead name, city,
+     * contact name or contact email.
+     * Accessible by 'KAM' role.
+     *
+     * @param kamId The ID of the KAM.
+     * @param q The text typed so far.
+     * @param limit Maximum number of suggestions (1-50, default 10).
+     */
+    @GetMapping("/typeahead")
+    @PreAuthorize("hasRole('KAM')")
+    public ResponseEntity<List<TypeaheadSuggestionDto>> typeahead(
+            @RequestParam UUID kamId,
+            @RequestParam String q,
+            @RequestParam(defaultValue = "10") int limit) {
+        if (limit < 1 || limit > MAX_TYPEAHEAD_LIMIT) {
+            throw new BadRequestException("limit must be between 1 and " + MAX_TYPEAHEAD_LIMIT);
+        }
+        return ResponseEntity.ok(leadService.typeahead(kamId, q, limit));
+    }
+
+    /**
+     * Reports clusters of leads sharing the same normalized name and city (suspected duplicates),
+     * largest first.
+     * Accessible by 'KAM' role.
+     *
+     * @param pageable Pagination over clusters.
+     */
+    @GetMapping("/duplicates")
+    @PreAuthorize("hasRole('KAM')")
+    public ResponseEntity<Page<DuplicateClusterDto>> getDuplicateClusters(Pageable pageable) {
+        return ResponseEntity.ok(leadService.getDuplicateClusters(pageable));
+    }
+
+    /**
+     * Merges duplicate leads into the survivor: their interactions, contacts, call schedules and
+     * performance metrics move to the survivor, then the duplicates are deleted.
+     * Accessible by 'KAM' role.
+     *
+     * @param survivorId The ID of the lead to keep.
+     */
+    @PostMapping("/{survivorId}/merge")
+    @PreAuthorize("hasRole('KAM')")
+    public ResponseEntity<LeadMergeResponseDto> mergeLeads(@PathVariable UUID survivorId,
+                                                           @Valid @RequestBody LeadMergeRequestDto requestDto) {
+        if (requestDto.getDuplicateIds().contains(survivorId)) {
+            throw new BadRequestException("The survivor cannot be one of the duplicates");
+        }
+        if (requestDto.getDuplicateIds().size() > MAX_MERGE_DUPLICATES) {
+            throw new BadRequestException("At most " + MAX_MERGE_DUPLICATES + " duplicates per merge");
+        }
+        return ResponseEntity.ok(leadService.mergeLeads(survivorId, requestDto));
+    }
+
+    /**
+     * Moves an archived lead and its archived contacts, interactions, call schedules and metrics back
+     * into the live tables.
+     * Accessible by 'KAM' role.
+     */
+    @PostMapping("/{id}/restore")
+    @PreAuthorize("hasRole('KAM')")
+    public ResponseEntity<LeadResponseDto> restoreLead(@PathVariable UUID id) {
+        if (!leadArchiveService.restoreLead(id)) {
+            throw new ResourceNotFoundException("Archived lead not found with ID: " + id);
+        }
+        return ResponseEntity.ok(leadService.getLeadById(id, LeadView.FULL)
+                .orElseThrow(() -> new ResourceNotFoundException("Lead not found with ID: " + id)));
+    }
+
     /**
      * Updates an existing lead.
      * Accessible by 'KAM' role.
@@ -111,6 +346,51 @@ public class LeadController {
         return ResponseEntity.ok(updatedLead);
     }
 
+    /**
+     * Changes the status of many leads in one UPDATE, selected either by leadIds
+     * or by kamId + fromStatuses. Returns the affected row count.
+     * Accessible by 'KAM' role.
+     */
+    @PatchMapping("/bulk/status")
+    @PreAuthorize("hasRole('KAM')")
+    public ResponseEntity<BulkUpdateResponseDto> bulkUpdateStatus(@Valid @RequestBody BulkStatusUpdateRequestDto requestDto) {
+        boolean byIds = requestDto.getLeadIds() != null && !requestDto.getLeadIds().isEmpty();
+        boolean byKam = requestDto.getKamId() != null;
+        if (byIds == byKam) {
+            throw new BadRequestException("Specify exactly one of leadIds or kamId");
+        }
+        if (byIds) {
+            checkBulkIdCount(requestDto.getLeadIds());
+            return ResponseEntity.ok(leadService.updateStatusForLeads(requestDto.getLeadIds(), requestDto.getStatus()));
+        }
+        if (requestDto.getFromStatuses() == null || requestDto.getFromStatuses().isEmpty()) {
+            throw new BadRequestException("fromStatuses is required when selecting leads by kamId");
+        }
+        return ResponseEntity.ok(leadService.updateStatusForKam(
+                requestDto.getKamId(), requestDto.getFromStatuses(), requestDto.getStatus()));
+    }
+
+    /**
+     * Reassigns many leads to another KAM in one UPDATE, selected either by leadIds
+     * or by fromKamId (optionally narrowed to some statuses). Returns the affected row count.
+     * Accessible by 'KAM' role.
+     */
+    @PatchMapping("/bulk/kam")
+    @PreAuthorize("hasRole('KAM')")
+    public ResponseEntity<BulkUpdateResponseDto> bulkReassignKam(@Valid @RequestBody BulkKamReassignRequestDto requestDto) {
+        boolean byIds = requestDto.getLeadIds() != null && !requestDto.getLeadIds().isEmpty();
+        boolean byKam = requestDto.getFromKamId() != null;
+        if (byIds == byKam) {
+            throw new BadRequestException("Specify exactly one of leadIds or fromKamId");
+        }
+        if (byIds) {
+            checkBulkIdCount(requestDto.getLeadIds());
+            return ResponseEntity.ok(leadService.reassignLeads(requestDto.getLeadIds(), requestDto.getToKamId()));
+        }
+        return ResponseEntity.ok(leadService.reassignKamLeads(
+                requestDto.getFromKamId(), requestDto.getStatuses(), requestDto.getToKamId()));
+    }
+
     /**
      * Triggers calculation and update of a lead's performance score.
      * Accessible by 'KAM' role.
@@ -122,6 +402,51 @@ public class LeadController {
         return ResponseEntity.ok(updatedLead);
     }
 
+    /**
+     * Starts a background recalculation of every active lead's performance score.
+     * Returns 202 with the job status; if a run is already in progress, no new one is started.
+     * Accessible by 'KAM' role.
+     */
+    @PostMapping("/performance-scores/recalculate")
+    @PreAuthorize("hasRole('KAM')")
+    public ResponseEntity<ScoreRecalculationStatusDto> recalculateAllPerformanceScores() {
+        scoreRecalculationService.startRecalculation();
+        return new ResponseEntity<>(scoreRecalculationService.getStatus(), HttpStatus.ACCEPTED);
+    }
+
+    /**
+     * Retrieves the score recalculation job's status with the duration, rows/s and lag of its last run.
+     * Accessible by 'KAM' role.
+     */
+    @GetMapping("/performance-scores/recalculation")
+    @PreAuthorize("hasRole('KAM')")
+    public ResponseEntity<ScoreRecalculationStatusDto> getPerformanceScoreRecalculationStatus() {
+        return ResponseEntity.ok(scoreRecalculationService.getStatus());
+    }
+
+    /**
+     * Starts a background archival run: cold closed leads, old interactions and old call schedules
+     * move to the archive tables. Returns 202 with the job status; if a run is already in progress,
+     * no new one is started.
+     * Accessible by 'KAM' role.
+     */
+    @PostMapping("/archival/run")
+    @PreAuthorize("hasRole('KAM')")
+    public ResponseEntity<ArchiveRunStatusDto> runArchival() {
+        leadArchiveService.startArchival();
+        return new ResponseEntity<>(leadArchiveService.getStatus(), HttpStatus.ACCEPTED);
+    }
+
+    /**
+     * Retrieves the archival job's status with the counts of its last run.
+     * Accessible by 'KAM' role.
+     */
+    @GetMapping("/archival")
+    @PreAuthorize("hasRole('KAM')")
+    public ResponseEntity<ArchiveRunStatusDto> getArchivalStatus() {
+        return ResponseEntity.ok(leadArchiveService.getStatus());
+    }
+
     /**
      * Retrieves lead performance analytics for a specific KAM within a date range.
      * Accessible by 'KAM' role.
@@ -131,7 +456,11 @@ public class LeadController {
     public ResponseEntity<List<LeadPerformanceDTO>> getLeadPerformanceAnalytics(
             @PathVariable UUID kamId,
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
-            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate) {
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            WebRequest webRequest) {
+        if (webRequest.checkNotModified(kamChangeVersions.etagForKam(kamId))) {
+            return null;
+        }
         List<LeadPerformanceDTO> analytics = leadService.getLeadPerformanceAnalytics(kamId, startDate, endDate);
         return ResponseEntity.ok(analytics);
     }
@@ -142,8 +471,17 @@ public class LeadController {
      */
     @GetMapping("/summary/{kamId}")
     @PreAuthorize("hasRole('KAM')")
-    public ResponseEntity<LeadSummaryDto> getLeadSummaryForKam(@PathVariable UUID kamId) {
+    public ResponseEntity<LeadSummaryDto> getLeadSummaryForKam(@PathVariable UUID kamId, WebRequest webRequest) {
+        if (webRequest.checkNotModified(kamChangeVersions.etagForKam(kamId))) {
+            return null;
+        }
         LeadSummaryDto summary = leadService.getLeadSummaryForKam(kamId);
         return ResponseEntity.ok(summary);
     }
+
+    private void checkBulkIdCount(List<UUID> leadIds) {
+        if (leadIds.size() > MAX_BULK_ROWS) {
+            throw new BadRequestException("At most " + MAX_BULK_ROWS + " lead IDs per request");
+        }
+    }
 }
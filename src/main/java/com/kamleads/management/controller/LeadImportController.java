@@ -0,0 +1,64 @@
+package com.kamleads.management.controller;
+
+import com.kamleads.management.dto.response.LeadImportJobResponseDto;
+import com.kamleads.management.dto.response.LeadImportRejectDto;
+import com.kamleads.management.exception.BadRequestException;
+import com.kamleads.management.exception.ResourceNotFoundException;
+import com.kamleads.management.service.LeadImportService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/api/leads/import")
+public class LeadImportController {
+
+    private final LeadImportService leadImportService;
+
+    @Autowired
+    public LeadImportController(LeadImportService leadImportService) {
+        this.leadImportService = leadImportService;
+    }
+
+    /**
+     * Uploads a CSV of leads for background import. Returns 202 with the job;
+     * poll GET /api/leads/import/{jobId} for progress.
+     * Accessible by 'KAM' role.
+     */
+    @PostMapping
+    @PreAuthorize("hasRole('KAM')")
+    public ResponseEntity<LeadImportJobResponseDto> startImport(@RequestParam("file") MultipartFile file) {
+        if (file.isEmpty()) {
+            throw new BadRequestException("Uploaded file is empty");
+        }
+        return new ResponseEntity<>(leadImportService.startImport(file), HttpStatus.ACCEPTED);
+    }
+
+    /**
+     * Retrieves an import job's status and row counters.
+     * Accessible by 'KAM' role.
+     */
+    @GetMapping("/{jobId}")
+    @PreAuthorize("hasRole('KAM')")
+    public ResponseEntity<LeadImportJobResponseDto> getImportJob(@PathVariable UUID jobId) {
+        return ResponseEntity.ok(leadImportService.getImportJob(jobId)
+                .orElseThrow(() -> new ResourceNotFoundException("Import job not found with ID: " + jobId)));
+    }
+
+    /**
+     * Retrieves the rejected rows of an import job with their reasons, in file order.
+     * Accessible by 'KAM' role.
+     */
+    @GetMapping("/{jobId}/rejects")
+    @PreAuthorize("hasRole('KAM')")
+    public ResponseEntity<Page<LeadImportRejectDto>> getImportRejects(@PathVariable UUID jobId, Pageable pageable) {
+        return ResponseEntity.ok(leadImportService.getImportRejects(jobId, pageable));
+    }
+}
@@ -0,0 +1,62 @@
+package com.kamleads.management.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+/**
+ * The lead, KAM and contact a write refers to, read with one query (LeadRepository.findWriteReferences)
+ * so the services can check existence and ownership and then attach getReferenceById proxies instead of
+ * loading the entities. kamId and contactId are null when that KAM or contact does not exist (or no
+ * contact was given); contactLeadId is the lead the contact belongs to.
+ */
+@NoArgsConstructor
+@AllArgsConstructor
+public class WriteReferencesDto {
+    private UUID leadId;
+    private String leadName;
+    private String leadCity;
+    private UUID leadKamId;
+    private UUID kamId;
+    private String kamName;
+    private UUID contactId;
+    private String contactName;
+    private UUID contactLeadId;
+
+    public UUID getLeadId() {
+        return leadId;
+    }
+
+    public String getLeadName() {
+        return leadName;
+    }
+
+    public String getLeadCity() {
+        return leadCity;
+    }
+
+    public UUID getLeadKamId() {
+        return leadKamId;
+    }
+
+    public UUID getKamId() {
+        return kamId;
+    }
+
+    public String getKamName() {
+        return kamName;
+    }
+
+    public UUID getContactId() {
+        return contactId;
+    }
+
+    public String getContactName() {
+        return contactName;
+    }
+
+    public UUID getContactLeadId() {
+        return contactLeadId;
+    }
+}
@@ -0,0 +1,54 @@
+package com.kamleads.management.dto.request;
+
+import com.kamleads.management.enums.LeadStatus;
+import jakarta.validation.constraints.NotNull;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Reassigns a set of leads to another KAM. Select the leads either by leadIds,
+ * or by fromKamId (optionally narrowed to some statuses) for a whole-territory move.
+ */
+public class BulkKamReassignRequestDto {
+    private List<UUID> leadIds;
+
+    private UUID fromKamId;
+
+    private List<LeadStatus> statuses;
+
+    @NotNull(message = "Target KAM ID is required")
+    private UUID toKamId;
+
+    public List<UUID> getLeadIds() {
+        return leadIds;
+    }
+
+    public void setLeadIds(List<UUID> leadIds) {
+        this.leadIds = leadIds;
+    }
+
+    public UUID getFromKamId() {
+        return fromKamId;
+    }
+
+    public void setFromKamId(UUID fromKamId) {
+        this.fromKamId = fromKamId;
+    }
+
+    public List<LeadStatus> getStatuses() {
+        return statuses;
+    }
+
+    public void setStatuses(List<LeadStatus> statuses) {
+        this.statuses = statuses;
+    }
+
+    public UUID getToKamId() {
+        return toKamId;
+    }
+
+    public void setToKamId(UUID toKamId) {
+        this.toKamId = toKamId;
+    }
+}
@@ -0,0 +1,54 @@
+package com.kamleads.management.dto.request;
+
+import com.kamleads.management.enums.LeadStatus;
+import jakarta.validation.constraints.NotNull;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Moves a set of leads to a new status. Select the leads either by leadIds,
+ * or by kamId together with fromStatuses (e.g. all of a KAM's NEW and CONTACTED leads).
+ */
+public class BulkStatusUpdateRequestDto {
+    private List<UUID> leadIds;
+
+    private UUID kamId;
+
+    private List<LeadStatus> fromStatuses;
+
+    @NotNull(message = "Status is required")
+    private LeadStatus status;
+
+    public List<UUID> getLeadIds() {
+        return leadIds;
+    }
+
+    public void setLeadIds(List<UUID> leadIds) {
+        this.leadIds = leadIds;
+    }
+
+    public UUID getKamId() {
+        return kamId;
+    }
+
+    public void setKamId(UUID kamId) {
+        this.kamId = kamId;
+    }
+
+    public List<LeadStatus> getFromStatuses() {
+        return fromStatuses;
+    }
+
+    public void setFromStatuses(List<LeadStatus> fromStatuses) {
+        this.fromStatuses = fromStatuses;
+    }
+
+    public LeadStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(LeadStatus status) {
+        this.status = status;
+    }
+}
@@ -45,6 +45,17 @@ public class CallScheduleCreateRequestDto {
     @Max(value = 5, message = "Priority must be between 1 and 5")
     private Integer priority = 3;
 
+    // Version the client last read (optional). On update, a mismatch is rejected with 409 and the current state.
+    private Long version;
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
     public UUID getKamId() {
         return kamId;
     }
@@ -25,6 +25,9 @@ public class ContactCreateRequestDto {
 
     private Boolean isPrimary = false;
 
+    // Version the client last read (optional). On update, a mismatch is rejected with 409 and the current state.
+    private Long version;
+
     public UUID getLeadId() {
         return leadId;
     }
@@ -49,6 +52,14 @@ public class ContactCreateRequestDto {
         this.email = email;
     }
 
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
     public Boolean getPrimary() {
         return isPrimary;
     }
@@ -0,0 +1,19 @@
+package com.kamleads.management.dto.request;
+
+import java.time.LocalDateTime;
+
+/**
+ * One row of a bulk interaction request: same fields as InteractionCreateRequestDto, plus an optional
+ * interactionDate for rows recorded elsewhere first (e.g. POS orders); rows without one are dated now.
+ */
+public class InteractionBulkRowDto extends InteractionCreateRequestDto {
+    private LocalDateTime interactionDate;
+
+    public LocalDateTime getInteractionDate() {
+        return interactionDate;
+    }
+
+    public void setInteractionDate(LocalDateTime interactionDate) {
+        this.interactionDate = interactionDate;
+    }
+}
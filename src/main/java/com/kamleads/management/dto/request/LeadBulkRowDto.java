@@ -0,0 +1,19 @@
+package com.kamleads.management.dto.request;
+
+import java.util.UUID;
+
+/**
+ * One row of a bulk lead request: same fields as LeadCreateRequestDto, plus an optional id.
+ * Rows without an id are created; rows with an id update that existing lead.
+ */
+public class LeadBulkRowDto extends LeadCreateRequestDto {
+    private UUID id;
+
+    public UUID getId() {
+        return id;
+    }
+
+    public void setId(UUID id) {
+        this.id = id;
+    }
+}
@@ -28,6 +28,9 @@ public class LeadCreateRequestDto {
     @Min(value = 1, message = "Call frequency must be at least 1 day")
     private Integer callFrequency;
 
+    // Version the client last read (optional). On update, a mismatch is rejected with 409 and the current state.
+    private Long version;
+
     public LeadStatus getStatus() {
         return status;
     }
@@ -36,6 +39,14 @@ public class LeadCreateRequestDto {
         this.status = status;
     }
 
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
     public Integer getCallFrequency() {
         return callFrequency;
     }
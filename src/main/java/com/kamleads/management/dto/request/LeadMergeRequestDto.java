@@ -0,0 +1,33 @@
+package com.kamleads.management.dto.request;
+
+import jakarta.validation.constraints.NotEmpty;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Merges duplicate leads into a survivor. version is the survivor's version as last read (optional);
+ * when given, the merge is refused with 409 if the survivor has changed since.
+ */
+public class LeadMergeRequestDto {
+    @NotEmpty(message = "At least one duplicate lead ID is required")
+    private List<UUID> duplicateIds;
+
+    private Long version;
+
+    public List<UUID> getDuplicateIds() {
+        return duplicateIds;
+    }
+
+    public void setDuplicateIds(List<UUID> duplicateIds) {
+        this.duplicateIds = duplicateIds;
+    }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+}
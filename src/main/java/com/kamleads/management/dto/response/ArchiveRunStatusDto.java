@@ -0,0 +1,77 @@
+package com.kamleads.management.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * State of the archival job. The counters describe the last completed run.
+ */
+@NoArgsConstructor
+@AllArgsConstructor
+public class ArchiveRunStatusDto {
+    private boolean running;
+    private LocalDateTime lastStartedAt;
+    private LocalDateTime lastCompletedAt;
+    private long lastDurationMs;
+    private long leadsArchived;
+    private long interactionsArchived;
+    private long callSchedulesArchived;
+
+    public boolean isRunning() {
+        return running;
+    }
+
+    public void setRunning(boolean running) {
+        this.running = running;
+    }
+
+    public LocalDateTime getLastStartedAt() {
+        return lastStartedAt;
+    }
+
+    public void setLastStartedAt(LocalDateTime lastStartedAt) {
+        this.lastStartedAt = lastStartedAt;
+    }
+
+    public LocalDateTime getLastCompletedAt() {
+        return lastCompletedAt;
+    }
+
+    public void setLastCompletedAt(LocalDateTime lastCompletedAt) {
+        this.lastCompletedAt = lastCompletedAt;
+    }
+
+    public long getLastDurationMs() {
+        return lastDurationMs;
+    }
+
+    public void setLastDurationMs(long lastDurationMs) {
+        this.lastDurationMs = lastDurationMs;
+    }
+
+    public long getLeadsArchived() {
+        return leadsArchived;
+    }
+
+    public void setLeadsArchived(long leadsArchived) {
+        this.leadsArchived = leadsArchived;
+    }
+
+    public long getInteractionsArchived() {
+        return interactionsArchived;
+    }
+
+    public void setInteractionsArchived(long interactionsArchived) {
+        this.interactionsArchived = interactionsArchived;
+    }
+
+    public long getCallSchedulesArchived() {
+        return callSchedulesArchived;
+    }
+
+    public void setCallSchedulesArchived(long callSchedulesArchived) {
+        this.callSchedulesArchived = callSchedulesArchived;
+    }
+}
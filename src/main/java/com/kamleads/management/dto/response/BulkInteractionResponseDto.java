@@ -0,0 +1,79 @@
+package com.kamleads.management.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Outcome of a bulk interaction ingest: counts, the IDs created (in request order, skipping
+ * rejected rows), per-row errors, and the measured write throughput.
+ */
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkInteractionResponseDto {
+    private int received;
+    private int created;
+    private int failed;
+    private List<UUID> interactionIds;
+    private List<BulkRowErrorDto> errors;
+    private long durationMs;
+    private long rowsPerSecond;
+
+    public int getReceived() {
+        return received;
+    }
+
+    public void setReceived(int received) {
+        this.received = received;
+    }
+
+    public int getCreated() {
+        return created;
+    }
+
+    public void setCreated(int created) {
+        this.created = created;
+    }
+
+    public int getFailed() {
+        return failed;
+    }
+
+    public void setFailed(int failed) {
+        this.failed = failed;
+    }
+
+    public List<UUID> getInteractionIds() {
+        return interactionIds;
+    }
+
+    public void setInteractionIds(List<UUID> interactionIds) {
+        this.interactionIds = interactionIds;
+    }
+
+    public List<BulkRowErrorDto> getErrors() {
+        return errors;
+    }
+
+    public void setErrors(List<BulkRowErrorDto> errors) {
+        this.errors = errors;
+    }
+
+    public long getDurationMs() {
+        return durationMs;
+    }
+
+    public void setDurationMs(long durationMs) {
+        this.durationMs = durationMs;
+    }
+
+    public long getRowsPerSecond() {
+        return rowsPerSecond;
+    }
+
+    public void setRowsPerSecond(long rowsPerSecond) {
+        this.rowsPerSecond = rowsPerSecond;
+    }
+}
@@ -0,0 +1,98 @@
+package com.kamleads.management.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Outcome of a bulk lead create/update: counts, the IDs written (in request order,
+ * skipping rejected rows), per-row errors, suspected-duplicate warnings for rows that were
+ * written anyway, and the measured write throughput.
+ */
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkLeadResponseDto {
+    private int received;
+    private int created;
+    private int updated;
+    private int failed;
+    private List<UUID> leadIds;
+    private List<BulkRowErrorDto> errors;
+    private List<BulkRowErrorDto> warnings;
+    private long durationMs;
+    private long rowsPerSecond;
+
+    public int getReceived() {
+        return received;
+    }
+
+    public void setReceived(int received) {
+        this.received = received;
+    }
+
+    public int getCreated() {
+        return created;
+    }
+
+    public void setCreated(int created) {
+        this.created = created;
+    }
+
+    public int getUpdated() {
+        return updated;
+    }
+
+    public void setUpdated(int updated) {
+        this.updated = updated;
+    }
+
+    public int getFailed() {
+        return failed;
+    }
+
+    public void setFailed(int failed) {
+        this.failed = failed;
+    }
+
+    public List<UUID> getLeadIds() {
+        return leadIds;
+    }
+
+    public void setLeadIds(List<UUID> leadIds) {
+        this.leadIds = leadIds;
+    }
+
+    public List<BulkRowErrorDto> getErrors() {
+        return errors;
+    }
+
+    public void setErrors(List<BulkRowErrorDto> errors) {
+        this.errors = errors;
+    }
+
+    public List<BulkRowErrorDto> getWarnings() {
+        return warnings;
+    }
+
+    public void setWarnings(List<BulkRowErrorDto> warnings) {
+        this.warnings = warnings;
+    }
+
+    public long getDurationMs() {
+        return durationMs;
+    }
+
+    public void setDurationMs(long durationMs) {
+        this.durationMs = durationMs;
+    }
+
+    public long getRowsPerSecond() {
+        return rowsPerSecond;
+    }
+
+    public void setRowsPerSecond(long rowsPerSecond) {
+        this.rowsPerSecond = rowsPerSecond;
+    }
+}
@@ -0,0 +1,42 @@
+package com.kamleads.management.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+/**
+ * A rejected row of a bulk request, identified by its zero-based position in the request
+ * (and its id, when the row carried one).
+ */
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkRowErrorDto {
+    private int index;
+    private UUID id;
+    private String message;
+
+    public int getIndex() {
+        return index;
+    }
+
+    public void setIndex(int index) {
+        this.index = index;
+    }
+
+    public UUID getId() {
+        return id;
+    }
+
+    public void setId(UUID id) {
+        this.id = id;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public void setMessage(String message) {
+        this.message = message;
+    }
+}
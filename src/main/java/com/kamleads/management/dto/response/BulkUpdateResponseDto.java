@@ -0,0 +1,31 @@
+package com.kamleads.management.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.NoArgsConstructor;
+
+/**
+ * Result of a set-based bulk update. requested is the number of IDs sent
+ * (null when leads were selected by filter); affected is the number of rows changed.
+ */
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkUpdateResponseDto {
+    private Integer requested;
+    private int affected;
+
+    public Integer getRequested() {
+        return requested;
+    }
+
+    public void setRequested(Integer requested) {
+        this.requested = requested;
+    }
+
+    public int getAffected() {
+        return affected;
+    }
+
+    public void setAffected(int affected) {
+        this.affected = affected;
+    }
+}
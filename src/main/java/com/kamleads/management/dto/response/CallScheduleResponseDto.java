@@ -13,6 +13,7 @@ import java.util.UUID;
 @AllArgsConstructor
 public class CallScheduleResponseDto {
     private UUID id;
+    private Long version;
     private UUID kamId;
     private String kamName;
     private UUID leadId;
@@ -111,6 +112,14 @@ public class CallScheduleResponseDto {
         this.id = id;
     }
 
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
     private Boolean isOverdue;
 
 
@@ -10,6 +10,7 @@ import java.util.UUID;
 @AllArgsConstructor
 public class ContactResponseDto {
     private UUID id;
+    private Long version;
     private String name;
 
     public UUID getId() {
@@ -20,6 +21,14 @@ public class ContactResponseDto {
         this.id = id;
     }
 
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
     public String getName() {
         return name;
     }
@@ -0,0 +1,77 @@
+package com.kamleads.management.dto.response;
+
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * One window of a keyset-paginated result.
+ * nextCursor is opaque to clients and is null on the last window.
+ * totalElements is null when the count was skipped; totalCapped is true when it stopped at the ceiling.
+ */
+@NoArgsConstructor
+public class CursorPageResponseDto<T> {
+    private List<T> content;
+    private String nextCursor;
+    private boolean hasNext;
+    private Long totalElements;
+    private boolean totalCapped;
+
+    public CursorPageResponseDto(List<T> content, String nextCursor, Long totalElements, boolean totalCapped) {
+        this.content = content;
+        this.nextCursor = nextCursor;
+        this.hasNext = nextCursor != null;
+        this.totalElements = totalElements;
+        this.totalCapped = totalCapped;
+    }
+
+    /**
+     * Converts the content while keeping the cursor and count information.
+     */
+    public <R> CursorPageResponseDto<R> map(Function<? super T, ? extends R> mapper) {
+        List<R> mapped = content.stream().map(mapper).collect(Collectors.toList());
+        return new CursorPageResponseDto<>(mapped, nextCursor, totalElements, totalCapped);
+    }
+
+    public List<T> getContent() {
+        return content;
+    }
+
+    public void setContent(List<T> content) {
+        this.content = content;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public void setNextCursor(String nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+
+    public boolean isHasNext() {
+        return hasNext;
+    }
+
+    public void setHasNext(boolean hasNext) {
+        this.hasNext = hasNext;
+    }
+
+    public Long getTotalElements() {
+        return totalElements;
+    }
+
+    public void setTotalElements(Long totalElements) {
+        this.totalElements = totalElements;
+    }
+
+    public boolean isTotalCapped() {
+        return totalCapped;
+    }
+
+    public void setTotalCapped(boolean totalCapped) {
+        this.totalCapped = totalCapped;
+    }
+}
@@ -0,0 +1,41 @@
+package com.kamleads.management.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Leads sharing the same normalized name and city, oldest first; the first is usually the one to keep.
+ */
+@NoArgsConstructor
+@AllArgsConstructor
+public class DuplicateClusterDto {
+    private long dedupHash;
+    private int size;
+    private List<DuplicateLeadDto> leads;
+
+    public long getDedupHash() {
+        return dedupHash;
+    }
+
+    public void setDedupHash(long dedupHash) {
+        this.dedupHash = dedupHash;
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    public void setSize(int size) {
+        this.size = size;
+    }
+
+    public List<DuplicateLeadDto> getLeads() {
+        return leads;
+    }
+
+    public void setLeads(List<DuplicateLeadDto> leads) {
+        this.leads = leads;
+    }
+}
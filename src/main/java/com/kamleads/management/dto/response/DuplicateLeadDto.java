@@ -0,0 +1,90 @@
+package com.kamleads.management.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.kamleads.management.enums.LeadStatus;
+import lombok.AllArgsConstructor;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * A lead within a duplicate cluster. Built by a JPQL constructor expression.
+ */
+@NoArgsConstructor
+@AllArgsConstructor
+public class DuplicateLeadDto {
+    private UUID id;
+    private Long dedupHash;
+    private String name;
+    private String city;
+    private LeadStatus status;
+    private UUID kamId;
+    private String kamName;
+    private LocalDateTime createdAt;
+
+    public UUID getId() {
+        return id;
+    }
+
+    public void setId(UUID id) {
+        this.id = id;
+    }
+
+    @JsonIgnore // Already on the enclosing cluster
+    public Long getDedupHash() {
+        return dedupHash;
+    }
+
+    public void setDedupHash(Long dedupHash) {
+        this.dedupHash = dedupHash;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public String getCity() {
+        return city;
+    }
+
+    public void setCity(String city) {
+        this.city = city;
+    }
+
+    public LeadStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(LeadStatus status) {
+        this.status = status;
+    }
+
+    public UUID getKamId() {
+        return kamId;
+    }
+
+    public void setKamId(UUID kamId) {
+        this.kamId = kamId;
+    }
+
+    public String getKamName() {
+        return kamName;
+    }
+
+    public void setKamName(String kamName) {
+        this.kamName = kamName;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+}
@@ -1,5 +1,6 @@
 package com.kamleads.management.dto.response;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import com.kamleads.management.enums.InteractionStatus;
 import com.kamleads.management.enums.InteractionType;
 import lombok.AllArgsConstructor;
@@ -28,6 +29,7 @@ public class InteractionResponseDto {
     private BigDecimal orderValue;
     private LocalDate followUpDate;
     private String notes;
+    private LocalDateTime archivedAt; // Set only on interactions read from the archive
 
     public UUID getId() {
         return id;
@@ -132,4 +134,13 @@ public class InteractionResponseDto {
     public void setNotes(String notes) {
         this.notes = notes;
     }
-}
\ No newline at end of file
+
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public LocalDateTime getArchivedAt() {
+        return archivedAt;
+    }
+
+    public void setArchivedAt(LocalDateTime archivedAt) {
+        this.archivedAt = archivedAt;
+    }
+}
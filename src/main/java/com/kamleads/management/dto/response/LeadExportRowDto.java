@@ -0,0 +1,118 @@
+package com.kamleads.management.dto.response;
+
+import com.kamleads.management.enums.LeadStatus;
+import lombok.AllArgsConstructor;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * One exported lead, selected directly by a constructor projection (no entity is loaded).
+ * Carries the KAM's email as well as the ID so an export can be re-imported elsewhere.
+ */
+@NoArgsConstructor
+@AllArgsConstructor
+public class LeadExportRowDto {
+    private UUID id;
+    private String name;
+    private String city;
+    private String cuisineType;
+    private LeadStatus status;
+    private UUID kamId;
+    private String kamEmail;
+    private Integer callFrequency;
+    private LocalDate lastCallDate;
+    private BigDecimal performanceScore;
+    private LocalDateTime createdAt;
+
+    public UUID getId() {
+        return id;
+    }
+
+    public void setId(UUID id) {
+        this.id = id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public String getCity() {
+        return city;
+    }
+
+    public void setCity(String city) {
+        this.city = city;
+    }
+
+    public String getCuisineType() {
+        return cuisineType;
+    }
+
+    public void setCuisineType(String cuisineType) {
+        this.cuisineType = cuisineType;
+    }
+
+    public LeadStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(LeadStatus status) {
+        this.status = status;
+    }
+
+    public UUID getKamId() {
+        return kamId;
+    }
+
+    public void setKamId(UUID kamId) {
+        this.kamId = kamId;
+    }
+
+    public String getKamEmail() {
+        return kamEmail;
+    }
+
+    public void setKamEmail(String kamEmail) {
+        this.kamEmail = kamEmail;
+    }
+
+    public Integer getCallFrequency() {
+        return callFrequency;
+    }
+
+    public void setCallFrequency(Integer callFrequency) {
+        this.callFrequency = callFrequency;
+    }
+
+    public LocalDate getLastCallDate() {
+        return lastCallDate;
+    }
+
+    public void setLastCallDate(LocalDate lastCallDate) {
+        this.lastCallDate = lastCallDate;
+    }
+
+    public BigDecimal getPerformanceScore() {
+        return performanceScore;
+    }
+
+    public void setPerformanceScore(BigDecimal performanceScore) {
+        this.performanceScore = performanceScore;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+}
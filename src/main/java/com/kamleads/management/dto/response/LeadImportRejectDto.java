@@ -0,0 +1,39 @@
+package com.kamleads.management.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.NoArgsConstructor;
+
+/**
+ * A rejected import row: its 1-based data row number, why it was rejected, and the row as read.
+ */
+@NoArgsConstructor
+@AllArgsConstructor
+public class LeadImportRejectDto {
+    private long rowNumber;
+    private String reason;
+    private String rawLine;
+
+    public long getRowNumber() {
+        return rowNumber;
+    }
+
+    public void setRowNumber(long rowNumber) {
+        this.rowNumber = rowNumber;
+    }
+
+    public String getReason() {
+        return reason;
+    }
+
+    public void setReason(String reason) {
+        this.reason = reason;
+    }
+
+    public String getRawLine() {
+        return rawLine;
+    }
+
+    public void setRawLine(String rawLine) {
+        this.rawLine = rawLine;
+    }
+}
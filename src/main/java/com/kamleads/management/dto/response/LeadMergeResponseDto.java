@@ -0,0 +1,80 @@
+package com.kamleads.management.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Outcome of a lead merge: the survivor as it is now, the deleted duplicates and how many child rows
+ * were moved. contactsDropped counts contacts whose email the survivor already had; their interactions
+ * were moved to the survivor's contact with that email.
+ */
+@NoArgsConstructor
+@AllArgsConstructor
+public class LeadMergeResponseDto {
+    private LeadResponseDto survivor;
+    private List<UUID> mergedLeadIds;
+    private int interactionsMoved;
+    private int contactsMoved;
+    private int contactsDropped;
+    private int callSchedulesMoved;
+    private int performanceMetricsMoved;
+
+    public LeadResponseDto getSurvivor() {
+        return survivor;
+    }
+
+    public void setSurvivor(LeadResponseDto survivor) {
+        this.survivor = survivor;
+    }
+
+    public List<UUID> getMergedLeadIds() {
+        return mergedLeadIds;
+    }
+
+    public void setMergedLeadIds(List<UUID> mergedLeadIds) {
+        this.mergedLeadIds = mergedLeadIds;
+    }
+
+    public int getInteractionsMoved() {
+        return interactionsMoved;
+    }
+
+    public void setInteractionsMoved(int interactionsMoved) {
+        this.interactionsMoved = interactionsMoved;
+    }
+
+    public int getContactsMoved() {
+        return contactsMoved;
+    }
+
+    public void setContactsMoved(int contactsMoved) {
+        this.contactsMoved = contactsMoved;
+    }
+
+    public int getContactsDropped() {
+        return contactsDropped;
+    }
+
+    public void setContactsDropped(int contactsDropped) {
+        this.contactsDropped = contactsDropped;
+    }
+
+    public int getCallSchedulesMoved() {
+        return callSchedulesMoved;
+    }
+
+    public void setCallSchedulesMoved(int callSchedulesMoved) {
+        this.callSchedulesMoved = callSchedulesMoved;
+    }
+
+    public int getPerformanceMetricsMoved() {
+        return performanceMetricsMoved;
+    }
+
+    public void setPerformanceMetricsMoved(int performanceMetricsMoved) {
+        this.performanceMetricsMoved = performanceMetricsMoved;
+    }
+}
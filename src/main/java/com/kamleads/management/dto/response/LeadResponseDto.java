@@ -1,5 +1,6 @@
 package com.kamleads.management.dto.response;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import com.kamleads.management.dto.ContactSummaryDto;
 import com.kamleads.management.dto.RecentInteractionsSummaryDto;
 import com.kamleads.management.enums.LeadStatus;
@@ -9,6 +10,7 @@ import lombok.NoArgsConstructor;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.UUID;
 
@@ -16,6 +18,7 @@ import java.util.UUID;
 @AllArgsConstructor
 public class LeadResponseDto {
     private UUID id;
+    private Long version;
     private String name;
     private String city;
     private String cuisineType;
@@ -30,6 +33,8 @@ public class LeadResponseDto {
     private Integer totalContacts;
     private List<ContactSummaryDto> contacts;
     private RecentInteractionsSummaryDto recentActivity;
+    private List<UUID> suspectedDuplicateIds; // Set on create/update when other leads share the normalized name and city
+    private LocalDateTime archivedAt; // Set only when the lead was read from the archive
 
     public UUID getId() {
         return id;
@@ -39,6 +44,14 @@ public class LeadResponseDto {
         this.id = id;
     }
 
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
     public String getName() {
         return name;
     }
@@ -150,4 +163,22 @@ public class LeadResponseDto {
     public void setRecentActivity(RecentInteractionsSummaryDto recentActivity) {
         this.recentActivity = recentActivity;
     }
-}
\ No newline at end of file
+
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public List<UUID> getSuspectedDuplicateIds() {
+        return suspectedDuplicateIds;
+    }
+
+    public void setSuspectedDuplicateIds(List<UUID> suspectedDuplicateIds) {
+        this.suspectedDuplicateIds = suspectedDuplicateIds;
+    }
+
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public LocalDateTime getArchivedAt() {
+        return archivedAt;
+    }
+
+    public void setArchivedAt(LocalDateTime archivedAt) {
+        this.archivedAt = archivedAt;
+    }
+}
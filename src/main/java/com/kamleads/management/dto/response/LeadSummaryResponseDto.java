@@ -0,0 +1,69 @@
+package com.kamleads.management.dto.response;
+
+import com.kamleads.management.enums.LeadStatus;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+/**
+ * Compact lead representation for list screens.
+ * Built by a JPQL constructor expression, so no Lead entity or association is loaded.
+ */
+@NoArgsConstructor
+public class LeadSummaryResponseDto {
+    private UUID id;
+    private String name;
+    private String city;
+    private LeadStatus status;
+    private LocalDate nextCallDate;
+
+    // nextCallDate is the stored leads.next_call_date, the same value the due-call queries filter on
+    public LeadSummaryResponseDto(UUID id, String name, String city, LeadStatus status, LocalDate nextCallDate) {
+        this.id = id;
+        this.name = name;
+        this.city = city;
+        this.status = status;
+        this.nextCallDate = nextCallDate;
+    }
+
+    public UUID getId() {
+        return id;
+    }
+
+    public void setId(UUID id) {
+        this.id = id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public String getCity() {
+        return city;
+    }
+
+    public void setCity(String city) {
+        this.city = city;
+    }
+
+    public LeadStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(LeadStatus status) {
+        this.status = status;
+    }
+
+    public LocalDate getNextCallDate() {
+        return nextCallDate;
+    }
+
+    public void setNextCallDate(LocalDate nextCallDate) {
+        this.nextCallDate = nextCallDate;
+    }
+}
@@ -0,0 +1,96 @@
+package com.kamleads.management.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * State of the batch performance-score recalculation. The counters describe the last completed run;
+ * lagSeconds is the time since that run started, i.e. the oldest any active lead's score can be.
+ */
+@NoArgsConstructor
+@AllArgsConstructor
+public class ScoreRecalculationStatusDto {
+    private boolean running;
+    private LocalDateTime lastStartedAt;
+    private LocalDateTime lastCompletedAt;
+    private long lastDurationMs;
+    private long leadsScanned;
+    private long leadsUpdated;
+    private int failedChunks;
+    private double rowsPerSecond;
+    private Long lagSeconds;
+
+    public boolean isRunning() {
+        return running;
+    }
+
+    public void setRunning(boolean running) {
+        this.running = running;
+    }
+
+    public LocalDateTime getLastStartedAt() {
+        return lastStartedAt;
+    }
+
+    public void setLastStartedAt(LocalDateTime lastStartedAt) {
+        this.lastStartedAt = lastStartedAt;
+    }
+
+    public LocalDateTime getLastCompletedAt() {
+        return lastCompletedAt;
+    }
+
+    public void setLastCompletedAt(LocalDateTime lastCompletedAt) {
+        this.lastCompletedAt = lastCompletedAt;
+    }
+
+    public long getLastDurationMs() {
+        return lastDurationMs;
+    }
+
+    public void setLastDurationMs(long lastDurationMs) {
+        this.lastDurationMs = lastDurationMs;
+    }
+
+    public long getLeadsScanned() {
+        return leadsScanned;
+    }
+
+    public void setLeadsScanned(long leadsScanned) {
+        this.leadsScanned = leadsScanned;
+    }
+
+    public long getLeadsUpdated() {
+        return leadsUpdated;
+    }
+
+    public void setLeadsUpdated(long leadsUpdated) {
+        this.leadsUpdated = leadsUpdated;
+    }
+
+    public int getFailedChunks() {
+        return failedChunks;
+    }
+
+    public void setFailedChunks(int failedChunks) {
+        this.failedChunks = failedChunks;
+    }
+
+    public double getRowsPerSecond() {
+        return rowsPerSecond;
+    }
+
+    public void setRowsPerSecond(double rowsPerSecond) {
+        this.rowsPerSecond = rowsPerSecond;
+    }
+
+    public Long getLagSeconds() {
+        return lagSeconds;
+    }
+
+    public void setLagSeconds(Long lagSeconds) {
+        this.lagSeconds = lagSeconds;
+    }
+}
@@ -0,0 +1,153 @@
+package com.kamleads.management.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.kamleads.management.enums.CallStatus;
+import com.kamleads.management.enums.InteractionStatus;
+import com.kamleads.management.enums.InteractionType;
+import com.kamleads.management.enums.LeadStatus;
+import com.kamleads.management.enums.TimelineEventType;
+import lombok.AllArgsConstructor;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * One entry of a lead's timeline. id is the ID of the interaction, call schedule or status change;
+ * only the fields of the entry's type are set (null fields are omitted).
+ */
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class TimelineEventDto {
+    private TimelineEventType type;
+    private UUID id;
+    private LocalDateTime occurredAt;
+    private UUID kamId;
+    private String kamName;
+    // INTERACTION
+    private InteractionType interactionType;
+    private InteractionStatus interactionStatus;
+    private BigDecimal orderValue;
+    private UUID contactId;
+    private String contactName;
+    // CALL_SCHEDULE
+    private CallStatus callStatus;
+    private Integer priority;
+    // STATUS_CHANGE
+    private LeadStatus fromStatus;
+    private LeadStatus toStatus;
+
+    public TimelineEventType getType() {
+        return type;
+    }
+
+    public void setType(TimelineEventType type) {
+        this.type = type;
+    }
+
+    public UUID getId() {
+        return id;
+    }
+
+    public void setId(UUID id) {
+        this.id = id;
+    }
+
+    public LocalDateTime getOccurredAt() {
+        return occurredAt;
+    }
+
+    public void setOccurredAt(LocalDateTime occurredAt) {
+        this.occurredAt = occurredAt;
+    }
+
+    public UUID getKamId() {
+        return kamId;
+    }
+
+    public void setKamId(UUID kamId) {
+        this.kamId = kamId;
+    }
+
+    public String getKamName() {
+        return kamName;
+    }
+
+    public void setKamName(String kamName) {
+        this.kamName = kamName;
+    }
+
+    public InteractionType getInteractionType() {
+        return interactionType;
+    }
+
+    public void setInteractionType(InteractionType interactionType) {
+        this.interactionType = interactionType;
+    }
+
+    public InteractionStatus getInteractionStatus() {
+        return interactionStatus;
+    }
+
+    public void setInteractionStatus(InteractionStatus interactionStatus) {
+        this.interactionStatus = interactionStatus;
+    }
+
+    public BigDecimal getOrderValue() {
+        return orderValue;
+    }
+
+    public void setOrderValue(BigDecimal orderValue) {
+        this.orderValue = orderValue;
+    }
+
+    public UUID getContactId() {
+        return contactId;
+    }
+
+    public void setContactId(UUID contactId) {
+        this.contactId = contactId;
+    }
+
+    public String getContactName() {
+        return contactName;
+    }
+
+    public void setContactName(String contactName) {
+        this.contactName = contactName;
+    }
+
+    public CallStatus getCallStatus() {
+        return callStatus;
+    }
+
+    public void setCallStatus(CallStatus callStatus) {
+        this.callStatus = callStatus;
+    }
+
+    public Integer getPriority() {
+        return priority;
+    }
+
+    public void setPriority(Integer priority) {
+        this.priority = priority;
+    }
+
+    public LeadStatus getFromStatus() {
+        return fromStatus;
+    }
+
+    public void setFromStatus(LeadStatus fromStatus) {
+        this.fromStatus = fromStatus;
+    }
+
+    public LeadStatus getToStatus() {
+        return toStatus;
+    }
+
+    public void setToStatus(LeadStatus toStatus) {
+        this.toStatus = toStatus;
+    }
+}
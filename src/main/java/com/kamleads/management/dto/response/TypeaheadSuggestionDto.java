@@ -0,0 +1,60 @@
+package com.kamleads.management.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+/**
+ * One typeahead hit: the lead to open, plus which field matched the typed prefix.
+ * matchedField is one of LEAD_NAME, CITY, CONTACT_NAME, CONTACT_EMAIL.
+ */
+@NoArgsConstructor
+@AllArgsConstructor
+public class TypeaheadSuggestionDto {
+    private UUID leadId;
+    private String leadName;
+    private String city;
+    private String matchedField;
+    private String matchedValue;
+
+    public UUID getLeadId() {
+        return leadId;
+    }
+
+    public void setLeadId(UUID leadId) {
+        this.leadId = leadId;
+    }
+
+    public String getLeadName() {
+        return leadName;
+    }
+
+    public void setLeadName(String leadName) {
+        this.leadName = leadName;
+    }
+
+    public String getCity() {
+        return city;
+    }
+
+    public void setCity(String city) {
+        this.city = city;
+    }
+
+    public String getMatchedField() {
+        return matchedField;
+    }
+
+    public void setMatchedField(String matchedField) {
+        this.matchedField = matchedField;
+    }
+
+    public String getMatchedValue() {
+        return matchedValue;
+    }
+
+    public void setMatchedValue(String matchedValue) {
+        this.matchedValue = matchedValue;
+    }
+}
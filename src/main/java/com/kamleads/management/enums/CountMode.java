@@ -0,0 +1,13 @@
+package com.kamleads.management.enums;
+
+/**
+ * How cursor-paginated endpoints report the total number of matching rows.
+ * NONE   - no count query at all (cheapest, for infinite scroll).
+ * CAPPED - counts up to a fixed ceiling; totals at the ceiling are reported as capped.
+ * EXACT  - full COUNT over every matching row.
+ */
+public enum CountMode {
+    NONE,
+    CAPPED,
+    EXACT
+}
@@ -0,0 +1,11 @@
+package com.kamleads.management.enums;
+
+/**
+ * What happens when a new lead's normalized name and city match an existing lead.
+ * WARN   - the lead is created and the suspected duplicates are reported with it.
+ * REJECT - the lead is refused (409 for single creates, a row error for bulk writes and imports).
+ */
+public enum DuplicatePolicy {
+    WARN,
+    REJECT
+}
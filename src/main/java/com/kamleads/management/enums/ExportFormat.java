@@ -0,0 +1,11 @@
+package com.kamleads.management.enums;
+
+/**
+ * Output format of the streaming lead export.
+ * CSV    - header row plus one RFC 4180 row per lead.
+ * NDJSON - one JSON object per line.
+ */
+public enum ExportFormat {
+    CSV,
+    NDJSON
+}
@@ -0,0 +1,15 @@
+package com.kamleads.management.enums;
+
+/**
+ * Lifecycle of a lead import job.
+ * PENDING   - upload stored, waiting for the import worker.
+ * RUNNING   - rows are being validated and staged, or merged into leads.
+ * COMPLETED - merge committed; importedRows leads were created.
+ * FAILED    - aborted; nothing was merged (see errorMessage).
+ */
+public enum ImportStatus {
+    PENDING,
+    RUNNING,
+    COMPLETED,
+    FAILED
+}
@@ -0,0 +1,13 @@
+package com.kamleads.management.enums;
+
+/**
+ * How much of a lead the read endpoints return.
+ * SUMMARY  - id, name, city, status and next call date, projected straight from the leads table.
+ * STANDARD - all lead columns and the KAM name, without contacts or recent activity.
+ * FULL     - STANDARD plus contacts and the 30-day activity summary.
+ */
+public enum LeadView {
+    SUMMARY,
+    STANDARD,
+    FULL
+}
@@ -0,0 +1,13 @@
+package com.kamleads.management.enums;
+
+/**
+ * Kinds of entries on the lead timeline. Entries at the same moment are listed in declaration order.
+ * INTERACTION   - a call, order, email or meeting (interactions).
+ * CALL_SCHEDULE - a planned call, dated at the start of its scheduled day (call_schedule).
+ * STATUS_CHANGE - a lead status transition (lead_status_changes).
+ */
+public enum TimelineEventType {
+    INTERACTION,
+    CALL_SCHEDULE,
+    STATUS_CHANGE
+}
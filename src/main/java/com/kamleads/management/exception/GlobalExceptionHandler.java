@@ -1,7 +1,16 @@
 package com.kamleads.management.exception;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.kamleads.management.model.CallSchedule;
+import com.kamleads.management.model.Contact;
+import com.kamleads.management.model.Lead;
+import com.kamleads.management.service.CallScheduleService;
+import com.kamleads.management.service.ContactService;
+import com.kamleads.management.service.LeadService;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.validation.FieldError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ControllerAdvice;
@@ -11,10 +20,24 @@ import org.springframework.web.context.request.WebRequest;
 import java.time.LocalDateTime;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.UUID;
 
 @ControllerAdvice
 public class GlobalExceptionHandler {
 
+    // Used to attach the current state of an entity to a 409 response
+    private final LeadService leadService;
+    private final ContactService contactService;
+    private final CallScheduleService callScheduleService;
+
+    @Autowired
+    public GlobalExceptionHandler(LeadService leadService, ContactService contactService,
+                                  CallScheduleService callScheduleService) {
+        this.leadService = leadService;
+        this.contactService = contactService;
+        this.callScheduleService = callScheduleService;
+    }
+
     /**
      * Handles ResourceNotFoundException and returns a 404 Not Found response.
      */
@@ -45,6 +68,21 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(errorResponse, HttpStatus.BAD_REQUEST);
     }
 
+    /**
+     * Handles ConflictException and returns a 409 Conflict response.
+     */
+    @ExceptionHandler(ConflictException.class)
+    public ResponseEntity<ErrorResponse> handleConflictException(ConflictException ex, WebRequest request) {
+        ErrorResponse errorResponse = new ErrorResponse(
+                LocalDateTime.now(),
+                HttpStatus.CONFLICT.value(),
+                HttpStatus.CONFLICT.getReasonPhrase(),
+                ex.getMessage(),
+                request.getDescription(false)
+        );
+        return new ResponseEntity<>(errorResponse, HttpStatus.CONFLICT);
+    }
+
     /**
      * Handles ForbiddenException and returns a 403 Forbidden response.
      */
@@ -75,6 +113,24 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(errorResponse, HttpStatus.UNAUTHORIZED);
     }
 
+    /**
+     * Handles optimistic-lock conflicts (a write based on a stale version) and returns a 409 Conflict
+     * response carrying the entity's current state, so the client can reapply its change and resubmit
+     * with the current version.
+     */
+    @ExceptionHandler(ObjectOptimisticLockingFailureException.class)
+    public ResponseEntity<ErrorResponse> handleOptimisticLockingFailure(ObjectOptimisticLockingFailureException ex, WebRequest request) {
+        ErrorResponse errorResponse = new ErrorResponse(
+                LocalDateTime.now(),
+                HttpStatus.CONFLICT.value(),
+                HttpStatus.CONFLICT.getReasonPhrase(),
+                "The resource was modified by another request; reload it and retry with the current version",
+                request.getDescription(false)
+        );
+        errorResponse.setCurrent(currentState(ex));
+        return new ResponseEntity<>(errorResponse, HttpStatus.CONFLICT);
+    }
+
     /**
      * Handles validation errors from @Valid annotation in controllers.
      * Returns a 400 Bad Request response with details about validation failures.
@@ -116,6 +172,27 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(errorResponse, HttpStatus.INTERNAL_SERVER_ERROR);
     }
 
+    /**
+     * Loads the current state of the entity named in an optimistic-lock failure, or null if it is
+     * unknown or has since been deleted.
+     */
+    private Object currentState(ObjectOptimisticLockingFailureException ex) {
+        if (!(ex.getIdentifier() instanceof UUID id)) {
+            return null;
+        }
+        String entity = ex.getPersistentClassName();
+        if (Lead.class.getName().equals(entity)) {
+            return leadService.getLeadById(id).orElse(null);
+        }
+        if (Contact.class.getName().equals(entity)) {
+            return contactService.getContactById(id).orElse(null);
+        }
+        if (CallSchedule.class.getName().equals(entity)) {
+            return callScheduleService.getCallScheduleById(id).orElse(null);
+        }
+        return null;
+    }
+
     // Helper DTO for consistent error response structure
     public static class ErrorResponse {
         private LocalDateTime timestamp;
@@ -124,6 +201,7 @@ public class GlobalExceptionHandler {
         private String message;
         private String path;
         private Map<String, String> details; // For validation errors
+        private Object current; // For conflicts: the resource as it is now
 
         public ErrorResponse(LocalDateTime timestamp, int status, String error, String message, String path) {
             this(timestamp, status, error, message, path, null);
@@ -145,5 +223,8 @@ public class GlobalExceptionHandler {
         public String getMessage() { return message; }
         public String getPath() { return path; }
         public Map<String, String> getDetails() { return details; }
+        @JsonInclude(JsonInclude.Include.NON_NULL)
+        public Object getCurrent() { return current; }
+        public void setCurrent(Object current) { this.current = current; }
     }
 }
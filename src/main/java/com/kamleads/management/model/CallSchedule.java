@@ -38,6 +38,10 @@ public class CallSchedule {
         this.id = id;
     }
 
+    public Long getVersion() {
+        return version;
+    }
+
     public User getKam() {
         return kam;
     }
@@ -95,9 +99,13 @@ public class CallSchedule {
     }
 
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
     @Column(name = "id", updatable = false, nullable = false)
-    private UUID id;
+    private UUID id; // Assigned by the service before save
+
+    // Optimistic lock (V10); null until first persisted, which is also how save() tells new schedules apart
+    @Version
+    @Column(name = "version", nullable = false)
+    private Long version;
 
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "kam_id", nullable = false)
@@ -8,7 +8,6 @@ import jakarta.validation.constraints.NotBlank;
 import lombok.Getter;
 import lombok.Setter;
 import org.hibernate.annotations.CreationTimestamp;
-import org.hibernate.annotations.GenericGenerator;
 import org.hibernate.annotations.UpdateTimestamp;
 
 import java.time.LocalDateTime;
@@ -30,9 +29,12 @@ import java.util.UUID;
         })
 public class Contact { //represents Points of Contact (POCs) for restaurants
     @Id
-    @GeneratedValue(generator = "UUID")
-    @GenericGenerator(name = "UUID", strategy = "org.hibernate.id.UUIDGenerator")
-    private UUID id;
+    private UUID id; // Assigned by the service before save
+
+    // Optimistic lock (V10); null until first persisted, which is also how save() tells new contacts apart
+    @Version
+    @Column(name = "version", nullable = false)
+    private Long version;
 
     // Many contacts belong to one lead
     @ManyToOne(fetch = FetchType.LAZY)
@@ -84,6 +86,8 @@ public class Contact { //represents Points of Contact (POCs) for restaurants
     public UUID getId() { return id; }
     public void setId(UUID id) { this.id = id; }
 
+    public Long getVersion() { return version; }
+
     public Lead getLead() { return lead; }
     public void setLead(Lead lead) { this.lead = lead; }
 
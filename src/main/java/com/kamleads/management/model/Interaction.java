@@ -25,6 +25,7 @@ import java.util.UUID;
                 @Index(name = "idx_interactions_follow_up", columnList = "follow_up_date")
         })
 public class Interaction { //Interaction Entity represents calls and orders records
+    // The table is partitioned by month on interaction_date (V13); its primary key is (id, interaction_date)
     @Id
     @GeneratedValue(generator = "UUID")
     @GenericGenerator(name = "UUID", strategy = "org.hibernate.id.UUIDGenerator")
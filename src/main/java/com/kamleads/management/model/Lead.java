@@ -11,9 +11,9 @@ import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotBlank;
 import lombok.Builder;
 import org.hibernate.annotations.CreationTimestamp;
-import org.hibernate.annotations.Formula;
-import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.DynamicUpdate;
 import org.hibernate.annotations.UpdateTimestamp;
+import org.springframework.data.domain.Persistable;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
@@ -24,19 +24,33 @@ import java.util.UUID;
 
 @Entity
 @Builder
+@DynamicUpdate // Only changed columns are written, so an edit never rewrites a score the batch job just refreshed
 @Table(name = "leads",
         indexes = {
                 @Index(name = "idx_leads_kam_status", columnList = "kam_id, status"),
                 @Index(name = "idx_leads_call_schedule", columnList = "last_call_date, call_frequency"),
                 @Index(name = "idx_leads_performance", columnList = "performance_score DESC"),
                 @Index(name = "idx_leads_city", columnList = "city"),
-                @Index(name = "idx_leads_created", columnList = "created_at DESC")
+                @Index(name = "idx_leads_created", columnList = "created_at DESC"),
+                // Keyset pagination per KAM
+                @Index(name = "idx_leads_kam_created_id", columnList = "kam_id, created_at DESC, id"),
+                @Index(name = "idx_leads_kam_name_id", columnList = "kam_id, name, id"),
+                @Index(name = "idx_leads_dedup_hash", columnList = "dedup_hash")
         })
-public class Lead { //Lead Entity represents Restaurant accounts
+public class Lead implements Persistable<UUID> { //Lead Entity represents Restaurant accounts
     @Id
-    @GeneratedValue(generator = "UUID")
-    @GenericGenerator(name = "UUID", strategy = "org.hibernate.id.UUIDGenerator")
-    private UUID id;
+    private UUID id; // Assigned by the service before save
+
+    // Lets save() persist a lead with a pre-assigned ID without a SELECT first (and keeps inserts batchable).
+    // @Builder.Default: without it, Lead.builder() would leave this false
+    @Transient
+    @Builder.Default
+    private boolean isNew = true;
+
+    // Optimistic lock (V10): an update based on a stale copy fails with 409 instead of overwriting
+    @Version
+    @Column(name = "version", nullable = false)
+    private Long version;
 
     @NotBlank(message = "Restaurant name is required")
     @Column(name = "name", nullable = false, length = 200)
@@ -45,6 +59,10 @@ public class Lead { //Lead Entity represents Restaurant accounts
     @Column(name = "city", length = 100)
     private String city;
 
+    // Hash of the normalized name and city (V11); equal values mark suspected duplicates
+    @Column(name = "dedup_hash")
+    private Long dedupHash;
+
     @Column(name = "cuisine_type", length = 50)
     private String cuisineType;
 
@@ -65,9 +83,12 @@ public class Lead { //Lead Entity represents Restaurant accounts
     @Column(name = "last_call_date")
     private LocalDate lastCallDate;
 
-    // Calculated field using database formula
-    @Formula("last_call_date + (call_frequency || ' days')::INTERVAL")  // PostgreSQL syntax
-    private LocalDate nextCallDate;  // Hibernate calculates this from DB
+    // Stored generated column (V9, V18): last_call_date + call_frequency, or the creation date if never called.
+    // Never written from here; syncNextCallDate mirrors the expression so a lead that was just created or
+    // edited reports the value the database will store, without re-reading the row.
+    // Open leads are indexed by (kam_id, next_call_date), see idx_leads_kam_next_call.
+    @Column(name = "next_call_date", insertable = false, updatable = false)
+    private LocalDate nextCallDate;
 
     @Column(name = "performance_score", precision = 5, scale = 2)
     @DecimalMin(value = "0.0", message = "Performance score cannot be negative")
@@ -125,15 +146,21 @@ public class Lead { //Lead Entity represents Restaurant accounts
     }
 
     // Getters and Setters
+    @Override
     public UUID getId() { return id; }
     public void setId(UUID id) { this.id = id; }
 
+    public Long getVersion() { return version; }
+
     public String getName() { return name; }
     public void setName(String name) { this.name = name; }
 
     public String getCity() { return city; }
     public void setCity(String city) { this.city = city; }
 
+    public Long getDedupHash() { return dedupHash; }
+    public void setDedupHash(Long dedupHash) { this.dedupHash = dedupHash; }
+
     public String getCuisineType() { return cuisineType; }
     public void setCuisineType(String cuisineType) { this.cuisineType = cuisineType; }
 
@@ -144,10 +171,16 @@ public class Lead { //Lead Entity represents Restaurant accounts
     public void setKam(User kam) { this.kam = kam; }
 
     public Integer getCallFrequency() { return callFrequency; }
-    public void setCallFrequency(Integer callFrequency) { this.callFrequency = callFrequency; }
+    public void setCallFrequency(Integer callFrequency) {
+        this.callFrequency = callFrequency;
+        syncNextCallDate();
+    }
 
     public LocalDate getLastCallDate() { return lastCallDate; }
-    public void setLastCallDate(LocalDate lastCallDate) { this.lastCallDate = lastCallDate; }
+    public void setLastCallDate(LocalDate lastCallDate) {
+        this.lastCallDate = lastCallDate;
+        syncNextCallDate();
+    }
 
     public LocalDate getNextCallDate() { return nextCallDate; }
     // No setter for nextCallDate - it's calculated by database
@@ -179,6 +212,24 @@ public class Lead { //Lead Entity represents Restaurant accounts
         interaction.setLead(this);
     }
 
+    @Override
+    @JsonIgnore
+    public boolean isNew() { return isNew; }
+
+    @PostLoad
+    @PostPersist
+    void markNotNew() { this.isNew = false; }
+
+    // Same rule as the V18 column; a lead not yet inserted is created (and so due) today
+    @PrePersist
+    void syncNextCallDate() {
+        if (lastCallDate != null) {
+            nextCallDate = callFrequency != null ? lastCallDate.plusDays(callFrequency) : null;
+        } else {
+            nextCallDate = createdAt != null ? createdAt.toLocalDate() : LocalDate.now();
+        }
+    }
+
     // Business logic method
     public boolean requiresCallToday() {
         if (lastCallDate == null) return true;  // Never called
@@ -0,0 +1,34 @@
+package com.kamleads.management.model;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.math.BigDecimal;
+
+/**
+ * Interaction totals for one lead on one day.
+ *
+ * Why buckets instead of aggregating interactions on read?
+ * Recent-activity figures are shown for every lead on every list page and feed the performance
+ * score; summing at most 90 pre-aggregated rows per lead keeps that cost flat no matter how much
+ * interaction history a lead has. Rows are only ever changed through
+ * LeadDailyActivityRepository.applyDelta, which InteractionService calls on every write.
+ */
+@Entity
+@Table(name = "lead_daily_activity")
+@Getter
+@Setter
+public class LeadDailyActivity {
+    @EmbeddedId
+    private LeadDailyActivityId id;
+
+    @Column(name = "interactions", nullable = false)
+    private int interactions;
+
+    @Column(name = "orders", nullable = false)
+    private int orders;
+
+    @Column(name = "order_value", precision = 14, scale = 2, nullable = false)
+    private BigDecimal orderValue = BigDecimal.ZERO;
+}
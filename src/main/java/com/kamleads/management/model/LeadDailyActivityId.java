@@ -0,0 +1,43 @@
+package com.kamleads.management.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * Composite key of a daily activity bucket: one row per lead per calendar day.
+ */
+@Embeddable
+public class LeadDailyActivityId implements Serializable {
+    @Column(name = "lead_id", nullable = false)
+    private UUID leadId;
+
+    @Column(name = "day", nullable = false)
+    private LocalDate day;
+
+    public LeadDailyActivityId() {}
+
+    public LeadDailyActivityId(UUID leadId, LocalDate day) {
+        this.leadId = leadId;
+        this.day = day;
+    }
+
+    public UUID getLeadId() { return leadId; }
+    public LocalDate getDay() { return day; }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof LeadDailyActivityId that)) return false;
+        return Objects.equals(leadId, that.leadId) && Objects.equals(day, that.day);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(leadId, day);
+    }
+}
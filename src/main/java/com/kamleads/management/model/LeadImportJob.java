@@ -0,0 +1,64 @@
+package com.kamleads.management.model;
+
+import com.kamleads.management.enums.ImportStatus;
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * One CSV lead import. Progress counters are written by the import worker after every
+ * staged chunk, so polling this row shows how far a long import has got.
+ */
+@Entity
+@Table(name = "lead_import_jobs")
+@Getter
+@Setter
+public class LeadImportJob {
+    @Id
+    @Column(name = "id", updatable = false, nullable = false)
+    private UUID id;
+
+    @Column(name = "file_name")
+    private String fileName;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, length = 20)
+    private ImportStatus status = ImportStatus.PENDING;
+
+    @Column(name = "total_rows", nullable = false)
+    private long totalRows;
+
+    @Column(name = "staged_rows", nullable = false)
+    private long stagedRows;
+
+    @Column(name = "rejected_rows", nullable = false)
+    private long rejectedRows;
+
+    @Column(name = "imported_rows", nullable = false)
+    private long importedRows;
+
+    @Column(name = "duplicate_rows", nullable = false)
+    private long duplicateRows;
+
+    @Column(name = "error_message", columnDefinition = "TEXT")
+    private String errorMessage;
+
+    @Column(name = "created_at")
+    private LocalDateTime createdAt;
+
+    @Column(name = "started_at")
+    private LocalDateTime startedAt;
+
+    @Column(name = "completed_at")
+    private LocalDateTime completedAt;
+
+    // Instance running the job and its last sign of life (V20); see LeadImportService.failAbandonedJobs
+    @Column(name = "owner_instance", length = 64)
+    private String ownerInstance;
+
+    @Column(name = "heartbeat_at")
+    private LocalDateTime heartbeatAt;
+}
@@ -0,0 +1,35 @@
+package com.kamleads.management.model;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.UUID;
+
+/**
+ * A CSV row that was not imported, with the 1-based data row number (header excluded) and the reason.
+ * Written in JDBC batches by the import worker; read through LeadImportRejectRepository.
+ */
+@Entity
+@Table(name = "lead_import_rejects", indexes = {
+        @Index(name = "idx_lead_import_rejects_job_row", columnList = "job_id, row_number")
+})
+@Getter
+@Setter
+public class LeadImportReject {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "job_id", nullable = false)
+    private UUID jobId;
+
+    @Column(name = "row_number", nullable = false)
+    private long rowNumber;
+
+    @Column(name = "reason", nullable = false, length = 500)
+    private String reason;
+
+    @Column(name = "raw_line", columnDefinition = "TEXT")
+    private String rawLine;
+}
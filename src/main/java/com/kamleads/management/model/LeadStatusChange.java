@@ -0,0 +1,50 @@
+package com.kamleads.management.model;
+
+import com.kamleads.management.enums.LeadStatus;
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * One status transition of a lead, shown on the lead timeline.
+ * Written by LeadService whenever an update actually changes a lead's status (lead updates, bulk
+ * upserts, status updates), set-based through LeadStatusChangeRepository.
+ */
+@Entity
+@Table(name = "lead_status_changes", indexes = {
+        @Index(name = "idx_lead_status_changes_lead_changed", columnList = "lead_id, changed_at DESC, id DESC")
+})
+@Getter
+@Setter
+public class LeadStatusChange {
+    @Id
+    @Column(name = "id", updatable = false, nullable = false)
+    private UUID id;
+
+    @Column(name = "lead_id", nullable = false)
+    private UUID leadId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "from_status", nullable = false, length = 20)
+    private LeadStatus fromStatus;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "to_status", nullable = false, length = 20)
+    private LeadStatus toStatus;
+
+    @Column(name = "changed_at", nullable = false)
+    private LocalDateTime changedAt;
+
+    public LeadStatusChange() {}
+
+    public LeadStatusChange(UUID leadId, LeadStatus fromStatus, LeadStatus toStatus) {
+        this.id = UUID.randomUUID();
+        this.leadId = leadId;
+        this.fromStatus = fromStatus;
+        this.toStatus = toStatus;
+        this.changedAt = LocalDateTime.now();
+    }
+}
@@ -36,4 +36,14 @@ public interface CallScheduleRepository extends JpaRepository<CallSchedule, UUID
             "ORDER BY cs.scheduledDate ASC")
     List<CallSchedule> findUpcomingCallsForLead(@Param("leadId") UUID leadId,
                                                 @Param("fromDate") LocalDate fromDate);
+
+    // Lead merge (LeadService.mergeLeads): moves the merged leads' schedules to the survivor in one statement
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = "UPDATE call_schedule SET lead_id = :survivorId, version = version + 1 " +
+            "WHERE lead_id IN (:mergedIds)", nativeQuery = true)
+    int moveToLead(@Param("mergedIds") List<UUID> mergedIds, @Param("survivorId") UUID survivorId);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = "UPDATE call_schedule_archive SET lead_id = :survivorId WHERE lead_id IN (:mergedIds)", nativeQuery = true)
+    int moveArchivedToLead(@Param("mergedIds") List<UUID> mergedIds, @Param("survivorId") UUID survivorId);
 }
@@ -1,14 +1,20 @@
 package com.kamleads.management.repository;
 
 import com.kamleads.management.model.Contact;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 @Repository
 public interface ContactRepository extends JpaRepository<Contact, UUID> {
@@ -41,7 +47,53 @@ public interface ContactRepository extends JpaRepository<Contact, UUID> {
     // Find contacts by lead ID, ordered by name (derived query, looks good)
     List<Contact> findByLeadIdOrderByNameAsc(UUID leadId);
 
+    // Contacts for a whole page of leads, used to enrich lead lists without a query per lead
+    List<Contact> findByLeadIdInOrderByNameAsc(Collection<UUID> leadIds);
+
+    // Forward-only scan of the columns the typeahead index needs (id, leadId, name, email).
+    // Must be consumed inside a transaction and closed.
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT c.id, c.lead.id, c.name, c.email FROM Contact c")
+    Stream<Object[]> streamTypeaheadRows();
+
     // Count contacts for a lead (added back as it's useful for analytics/summary)
     @Query("SELECT COUNT(c) FROM Contact c WHERE c.lead.id = :leadId")
     Long countContactsByLeadId(@Param("leadId") UUID leadId);
+
+    // ---- Lead merge (LeadService.mergeLeads); set-based, one statement each ----
+
+    // Moved contacts whose email is already taken on the survivor, or on an earlier merged lead, would violate
+    // uk_lead_email. Per email the survivor's contact (else the oldest) is kept; the others are dropped after
+    // InteractionRepository.repointClashingContactsForMerge has pointed their interactions at the kept one.
+    String MERGE_CONTACT_KEEPERS_CTE = "WITH ranked AS (" +
+            "SELECT c.id, first_value(c.id) OVER (PARTITION BY c.email " +
+            "ORDER BY (c.lead_id = :survivorId) DESC, c.created_at, c.id) AS keep_id " +
+            "FROM contacts c WHERE (c.lead_id = :survivorId OR c.lead_id IN (:mergedIds)) AND c.email IS NOT NULL) ";
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = MERGE_CONTACT_KEEPERS_CTE +
+            "DELETE FROM contacts c USING ranked r WHERE c.id = r.id AND r.id <> r.keep_id", nativeQuery = true)
+    int deleteClashingContactsForMerge(@Param("survivorId") UUID survivorId,
+                                       @Param("mergedIds") List<UUID> mergedIds);
+
+    // Run before moveToLead: of all primary contacts of the survivor and the merged leads, only one stays
+    // primary: the survivor's own if it has one, else the most recently updated (ties by ID). Each merged
+    // lead may have its own primary, so checking only the survivor's would leave several after the move.
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = "UPDATE contacts SET is_primary = FALSE, updated_at = CURRENT_TIMESTAMP, version = version + 1 " +
+            "WHERE (lead_id = :survivorId OR lead_id IN (:mergedIds)) AND is_primary AND id <> " +
+            "(SELECT p.id FROM contacts p WHERE (p.lead_id = :survivorId OR p.lead_id IN (:mergedIds)) AND p.is_primary " +
+            "ORDER BY (p.lead_id = :survivorId) DESC, p.updated_at DESC NULLS LAST, p.id DESC LIMIT 1)", nativeQuery = true)
+    int demoteExtraPrimaryContactsForMerge(@Param("survivorId") UUID survivorId,
+                                           @Param("mergedIds") List<UUID> mergedIds);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = "UPDATE contacts SET lead_id = :survivorId, updated_at = CURRENT_TIMESTAMP, version = version + 1 " +
+            "WHERE lead_id IN (:mergedIds)", nativeQuery = true)
+    int moveToLead(@Param("mergedIds") List<UUID> mergedIds, @Param("survivorId") UUID survivorId);
+
+    // Bulk interaction ingest: resolves contact references to their leads
+    @Query("SELECT c.id, c.lead.id FROM Contact c WHERE c.id IN :ids")
+    List<Object[]> findLeadIdsByIdIn(@Param("ids") Collection<UUID> ids);
 }
+
@@ -5,6 +5,7 @@ import com.kamleads.management.model.Interaction;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -12,6 +13,7 @@ import org.springframework.stereotype.Repository;
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional; // Keep Optional if used for single results, otherwise can remove
 import java.util.UUID;
@@ -34,6 +36,13 @@ public interface InteractionRepository extends JpaRepository<Interaction, UUID>
     List<Interaction> findRecentInteractionsByLeadId(@Param("leadId") UUID leadId,
                                                      Pageable pageable);
 
+    // Latest interaction for each lead in a page (ties on interaction date are resolved by the caller)
+    @Query(value = "SELECT i.lead.id, i.id, i.type, i.interactionDate FROM Interaction i " +
+            "WHERE i.lead.id IN :leadIds " +
+            "AND i.interactionDate = (SELECT MAX(i2.interactionDate) FROM Interaction i2 WHERE i2.lead.id = i.lead.id)",
+            name = "Interaction.findLatestInteractionsByLeadIds")
+    List<Object[]> findLatestInteractionsByLeadIds(@Param("leadIds") Collection<UUID> leadIds);
+
     // Analytics queries
 
     // Calculate total order value by lead and date range (explicitly named query)
@@ -95,10 +104,91 @@ public interface InteractionRepository extends JpaRepository<Interaction, UUID>
                                               @Param("endDate") LocalDateTime endDate,
                                               Pageable pageable);
 
+    // ---- Keyset (cursor) windows, newest first: ORDER BY interactionDate DESC, id DESC ----
+    // The first window has no position; later ones continue strictly after the last row seen.
+    // Lead windows walk idx_interactions_lead_date in order; KAM windows walk idx_interactions_kam_date
+    // (V17) in order from the cursor, so both read about one window of index entries. Associations are
+    // fetched with the window, as every row is mapped with its lead, KAM and contact names.
+
+    @Query(value = "SELECT i FROM Interaction i JOIN FETCH i.lead JOIN FETCH i.kam LEFT JOIN FETCH i.contact " +
+            "WHERE i.lead.id = :leadId ORDER BY i.interactionDate DESC, i.id DESC",
+            name = "Interaction.findFirstWindowByLeadId")
+    List<Interaction> findFirstWindowByLeadId(@Param("leadId") UUID leadId, Pageable pageable);
+
+    @Query(value = "SELECT i FROM Interaction i JOIN FETCH i.lead JOIN FETCH i.kam LEFT JOIN FETCH i.contact " +
+            "WHERE i.lead.id = :leadId " +
+            "AND (i.interactionDate < :afterDate OR (i.interactionDate = :afterDate AND i.id < :afterId)) " +
+            "ORDER BY i.interactionDate DESC, i.id DESC",
+            name = "Interaction.findWindowByLeadIdAfter")
+    List<Interaction> findWindowByLeadIdAfter(@Param("leadId") UUID leadId,
+                                              @Param("afterDate") LocalDateTime afterDate,
+                                              @Param("afterId") UUID afterId,
+                                              Pageable pageable);
+
+    @Query(value = "SELECT i FROM Interaction i JOIN FETCH i.lead JOIN FETCH i.kam LEFT JOIN FETCH i.contact " +
+            "WHERE i.kam.id = :kamId AND i.interactionDate BETWEEN :startDate AND :endDate " +
+            "ORDER BY i.interactionDate DESC, i.id DESC",
+            name = "Interaction.findFirstWindowByKamIdAndDateRange")
+    List<Interaction> findFirstWindowByKamIdAndDateRange(@Param("kamId") UUID kamId,
+                                                         @Param("startDate") LocalDateTime startDate,
+                                                         @Param("endDate") LocalDateTime endDate,
+                                                         Pageable pageable);
+
+    @Query(value = "SELECT i FROM Interaction i JOIN FETCH i.lead JOIN FETCH i.kam LEFT JOIN FETCH i.contact " +
+            "WHERE i.kam.id = :kamId AND i.interactionDate BETWEEN :startDate AND :endDate " +
+            "AND (i.interactionDate < :afterDate OR (i.interactionDate = :afterDate AND i.id < :afterId)) " +
+            "ORDER BY i.interactionDate DESC, i.id DESC",
+            name = "Interaction.findWindowByKamIdAndDateRangeAfter")
+    List<Interaction> findWindowByKamIdAndDateRangeAfter(@Param("kamId") UUID kamId,
+                                                         @Param("startDate") LocalDateTime startDate,
+                                                         @Param("endDate") LocalDateTime endDate,
+                                                         @Param("afterDate") LocalDateTime afterDate,
+                                                         @Param("afterId") UUID afterId,
+                                                         Pageable pageable);
+
+    // Optional totals for the cursor windows: exact counts, or ids read up to a cap (CountMode.CAPPED)
+    Long countByLeadId(UUID leadId);
+
+    @Query(value = "SELECT i.id FROM Interaction i WHERE i.lead.id = :leadId",
+            name = "Interaction.findIdsByLeadId")
+    List<UUID> findIdsByLeadId(@Param("leadId") UUID leadId, Pageable pageable);
+
+    @Query(value = "SELECT COUNT(i) FROM Interaction i WHERE i.kam.id = :kamId AND i.interactionDate BETWEEN :startDate AND :endDate",
+            name = "Interaction.countByKamIdAndDateRange")
+    Long countByKamIdAndDateRange(@Param("kamId") UUID kamId,
+                                  @Param("startDate") LocalDateTime startDate,
+                                  @Param("endDate") LocalDateTime endDate);
+
+    @Query(value = "SELECT i.id FROM Interaction i WHERE i.kam.id = :kamId AND i.interactionDate BETWEEN :startDate AND :endDate",
+            name = "Interaction.findIdsByKamIdAndDateRange")
+    List<UUID> findIdsByKamIdAndDateRange(@Param("kamId") UUID kamId,
+                                          @Param("startDate") LocalDateTime startDate,
+                                          @Param("endDate") LocalDateTime endDate,
+                                          Pageable pageable);
+
     // Calculate total order value by KAM and date range (explicitly named query)
     @Query(value = "SELECT COALESCE(SUM(i.orderValue), 0) FROM Interaction i WHERE i.kam.id = :kamId AND i.type = 'ORDER' AND i.interactionDate BETWEEN :startDate AND :endDate",
             name = "Interaction.calculateTotalOrderValueByKamAndDateRange")
     BigDecimal calculateTotalOrderValueByKamAndDateRange(@Param("kamId") UUID kamId,
                                                          @Param("startDate") LocalDateTime startDate,
                                                          @Param("endDate") LocalDateTime endDate);
+
+    // ---- Lead merge (LeadService.mergeLeads); set-based, one statement each ----
+
+    // Runs before ContactRepository.deleteClashingContactsForMerge, over the same ranking
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = ContactRepository.MERGE_CONTACT_KEEPERS_CTE +
+            "UPDATE interactions i SET contact_id = r.keep_id FROM ranked r " +
+            "WHERE i.contact_id = r.id AND r.id <> r.keep_id", nativeQuery = true)
+    int repointClashingContactsForMerge(@Param("survivorId") UUID survivorId,
+                                        @Param("mergedIds") List<UUID> mergedIds);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = "UPDATE interactions SET lead_id = :survivorId WHERE lead_id IN (:mergedIds)", nativeQuery = true)
+    int moveToLead(@Param("mergedIds") List<UUID> mergedIds, @Param("survivorId") UUID survivorId);
+
+    // Archived interactions (V12) follow their lead too; they have no foreign keys to keep consistent
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = "UPDATE interactions_archive SET lead_id = :survivorId WHERE lead_id IN (:mergedIds)", nativeQuery = true)
+    int moveArchivedToLead(@Param("mergedIds") List<UUID> mergedIds, @Param("survivorId") UUID survivorId);
 }
@@ -0,0 +1,56 @@
+package com.kamleads.management.repository;
+
+import com.kamleads.management.model.LeadDailyActivity;
+import com.kamleads.management.model.LeadDailyActivityId;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface LeadDailyActivityRepository extends JpaRepository<LeadDailyActivity, LeadDailyActivityId> {
+
+    // Adds a (possibly negative) delta to a lead's bucket for one day, creating the bucket if needed.
+    // A single atomic statement, so concurrent writers for the same lead/day never lose an update.
+    @Modifying
+    @Query(value = "INSERT INTO lead_daily_activity (lead_id, day, interactions, orders, order_value) " +
+            "VALUES (:leadId, :day, :interactions, :orders, :orderValue) " +
+            "ON CONFLICT (lead_id, day) DO UPDATE SET " +
+            "interactions = lead_daily_activity.interactions + EXCLUDED.interactions, " +
+            "orders = lead_daily_activity.orders + EXCLUDED.orders, " +
+            "order_value = lead_daily_activity.order_value + EXCLUDED.order_value",
+            nativeQuery = true)
+    int applyDelta(@Param("leadId") UUID leadId,
+                   @Param("day") LocalDate day,
+                   @Param("interactions") int interactions,
+                   @Param("orders") int orders,
+                   @Param("orderValue") BigDecimal orderValue);
+
+    // Interaction count, order count and order value per lead from a day onwards, summed over the buckets
+    @Query("SELECT a.id.leadId, SUM(a.interactions), SUM(a.orders), COALESCE(SUM(a.orderValue), 0) " +
+            "FROM LeadDailyActivity a " +
+            "WHERE a.id.leadId IN :leadIds AND a.id.day >= :fromDay " +
+            "GROUP BY a.id.leadId")
+    List<Object[]> sumActivityByLeadIds(@Param("leadIds") Collection<UUID> leadIds,
+                                        @Param("fromDay") LocalDate fromDay);
+
+    // Lead merge (LeadService.mergeLeads): adds the merged leads' buckets into the survivor's, day by day.
+    // The merged leads' own buckets go with them (ON DELETE CASCADE).
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = "INSERT INTO lead_daily_activity (lead_id, day, interactions, orders, order_value) " +
+            "SELECT :survivorId, day, SUM(interactions), SUM(orders), SUM(order_value) " +
+            "FROM lead_daily_activity WHERE lead_id IN (:mergedIds) GROUP BY day " +
+            "ON CONFLICT (lead_id, day) DO UPDATE SET " +
+            "interactions = lead_daily_activity.interactions + EXCLUDED.interactions, " +
+            "orders = lead_daily_activity.orders + EXCLUDED.orders, " +
+            "order_value = lead_daily_activity.order_value + EXCLUDED.order_value",
+            nativeQuery = true)
+    int mergeIntoLead(@Param("mergedIds") List<UUID> mergedIds, @Param("survivorId") UUID survivorId);
+}
@@ -0,0 +1,11 @@
+package com.kamleads.management.repository;
+
+import com.kamleads.management.model.LeadImportJob;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.UUID;
+
+@Repository
+public interface LeadImportJobRepository extends JpaRepository<LeadImportJob, UUID> {
+}
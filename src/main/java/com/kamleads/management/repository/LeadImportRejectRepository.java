@@ -0,0 +1,16 @@
+package com.kamleads.management.repository;
+
+import com.kamleads.management.model.LeadImportReject;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.UUID;
+
+@Repository
+public interface LeadImportRejectRepository extends JpaRepository<LeadImportReject, Long> {
+
+    // Served by idx_lead_import_rejects_job_row
+    Page<LeadImportReject> findByJobIdOrderByRowNumberAsc(UUID jobId, Pageable pageable);
+}
@@ -1,17 +1,30 @@
 package com.kamleads.management.repository;
 
+import com.kamleads.management.dto.WriteReferencesDto;
+import com.kamleads.management.dto.response.DuplicateLeadDto;
+import com.kamleads.management.dto.response.LeadSummaryResponseDto;
 import com.kamleads.management.enums.LeadStatus;
 import com.kamleads.management.model.Lead;
+import com.kamleads.management.model.User;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 @Repository
 public interface LeadRepository extends JpaRepository<Lead, UUID>, LeadRepositoryCustom {
@@ -35,11 +48,11 @@ public interface LeadRepository extends JpaRepository<Lead, UUID>, LeadRepositor
                                       Pageable pageable);
 
     // Call scheduling queries
-    // FIXED: Changed date arithmetic to use a JPQL-compatible function (DATE_ADD)
+    // Range scan on idx_leads_kam_next_call; the status predicate must match the partial index's
     @Query("SELECT l FROM Lead l WHERE l.kam.id = :kamId " +
             "AND l.status NOT IN ('CLOSED_WON', 'CLOSED_LOST') " +
-            "AND (l.lastCallDate IS NULL " +
-            "OR FUNCTION('DATE_ADD', l.lastCallDate, l.callFrequency, 'DAY') <= :today)")
+            "AND l.nextCallDate <= :today " +
+            "ORDER BY l.nextCallDate")
     List<Lead> findLeadsRequiringCallsToday(@Param("kamId") UUID kamId,
                                             @Param("today") LocalDate today);
 
@@ -50,5 +63,95 @@ public interface LeadRepository extends JpaRepository<Lead, UUID>, LeadRepositor
             "ORDER BY COUNT(l) DESC")
     List<Object[]> findLeadDistributionByCity(@Param("kamId") UUID kamId);
 
+    // Summary projection for a single lead, never loads the entity or its associations
+    @Query("SELECT new com.kamleads.management.dto.response.LeadSummaryResponseDto(" +
+            "l.id, l.name, l.city, l.status, l.nextCallDate) " +
+            "FROM Lead l WHERE l.id = :id")
+    Optional<LeadSummaryResponseDto> findSummaryById(@Param("id") UUID id);
+
+    // Forward-only scan of the columns the typeahead index needs (id, kamId, name, city).
+    // Must be consumed inside a transaction and closed.
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT l.id, l.kam.id, l.name, l.city FROM Lead l")
+    Stream<Object[]> streamTypeaheadRows();
+
+    // Duplicate detection: point lookups on idx_leads_dedup_hash
+    @Query("SELECT l.id FROM Lead l WHERE l.dedupHash = :dedupHash")
+    List<UUID> findIdsByDedupHash(@Param("dedupHash") Long dedupHash);
+
+    @Query("SELECT l.id, l.dedupHash FROM Lead l WHERE l.dedupHash IN :dedupHashes")
+    List<Object[]> findIdsByDedupHashIn(@Param("dedupHashes") List<Long> dedupHashes);
+
+    // Bulk interaction ingest: resolves lead references (and their KAMs) without loading the entities
+    @Query("SELECT l.id, l.kam.id FROM Lead l WHERE l.id IN :ids")
+    List<Object[]> findKamIdsByIdIn(@Param("ids") Collection<UUID> ids);
+
+    // Single interaction and call schedule writes: the lead, KAM and optional contact in one query, for the
+    // existence and ownership checks before getReferenceById proxies are attached. Empty if the lead does not exist.
+    @Query("SELECT new com.kamleads.management.dto.WriteReferencesDto(l.id, l.name, l.city, l.kam.id, " +
+            "u.id, u.name, c.id, c.name, c.lead.id) " +
+            "FROM Lead l LEFT JOIN User u ON u.id = :kamId LEFT JOIN Contact c ON c.id = :contactId " +
+            "WHERE l.id = :leadId")
+    Optional<WriteReferencesDto> findWriteReferences(@Param("leadId") UUID leadId,
+                                                     @Param("kamId") UUID kamId,
+                                                     @Param("contactId") UUID contactId);
+
+    // Advances lastCallDate without loading the lead; never moves it backwards. Bumps version like an entity save.
+    @Modifying
+    @Query(value = "UPDATE leads SET last_call_date = :day, version = version + 1, updated_at = CURRENT_TIMESTAMP " +
+            "WHERE id = :leadId AND (last_call_date IS NULL OR last_call_date < :day)", nativeQuery = true)
+    int advanceLastCallDate(@Param("leadId") UUID leadId, @Param("day") LocalDate day);
+
+    // Hashes shared by more than one lead, largest clusters first
+    @Query(value = "SELECT l.dedupHash FROM Lead l WHERE l.dedupHash IS NOT NULL " +
+            "GROUP BY l.dedupHash HAVING COUNT(l) > 1 ORDER BY COUNT(l) DESC, l.dedupHash",
+            countQuery = "SELECT COUNT(DISTINCT l.dedupHash) FROM Lead l WHERE l.dedupHash IN " +
+                    "(SELECT d.dedupHash FROM Lead d WHERE d.dedupHash IS NOT NULL GROUP BY d.dedupHash HAVING COUNT(d) > 1)")
+    Page<Long> findDuplicateDedupHashes(Pageable pageable);
+
+    @Query("SELECT new com.kamleads.management.dto.response.DuplicateLeadDto(" +
+            "l.id, l.dedupHash, l.name, l.city, l.status, k.id, k.name, l.createdAt) " +
+            "FROM Lead l JOIN l.kam k WHERE l.dedupHash IN :dedupHashes ORDER BY l.createdAt, l.id")
+    List<DuplicateLeadDto> findDuplicateLeadsByDedupHashIn(@Param("dedupHashes") List<Long> dedupHashes);
+
+    // Locks the leads in ID order (so two merges over overlapping leads cannot deadlock). Holding the row
+    // locks also blocks new interactions and contacts for them until the lock holder commits.
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT l FROM Lead l WHERE l.id IN :ids ORDER BY l.id")
+    List<Lead> findAllByIdForUpdate(@Param("ids") Collection<UUID> ids);
+
+    // Set-based bulk updates: one UPDATE statement each, returning the affected row count.
+    // They bypass the persistence context (and @UpdateTimestamp), so updatedAt is set explicitly.
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Lead l SET l.status = :status, l.updatedAt = LOCAL DATETIME, l.version = l.version + 1 WHERE l.id IN :ids")
+    int updateStatusByIds(@Param("ids") List<UUID> ids, @Param("status") LeadStatus status);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Lead l SET l.status = :status, l.updatedAt = LOCAL DATETIME, l.version = l.version + 1 " +
+            "WHERE l.kam.id = :kamId AND l.status IN :fromStatuses")
+    int updateStatusByKamAndStatuses(@Param("kamId") UUID kamId,
+                                     @Param("fromStatuses") List<LeadStatus> fromStatuses,
+                                     @Param("status") LeadStatus status);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Lead l SET l.kam = :kam, l.updatedAt = LOCAL DATETIME, l.version = l.version + 1 WHERE l.id IN :ids")
+    int reassignKamByIds(@Param("ids") List<UUID> ids, @Param("kam") User kam);
+
+    // Moves a KAM's leads (optionally only some statuses) and returns the moved IDs in the same
+    // round trip, so callers can update in-memory state without re-querying.
+    // Not @Modifying, which cannot return rows: the caller runs it in its transaction and flushes
+    // the persistence context before and clears it after, as @Modifying(flushAutomatically,
+    // clearAutomatically) would (see LeadService.reassignKamLeads).
+    @Query(value = "UPDATE leads SET kam_id = :toKamId, updated_at = CURRENT_TIMESTAMP, version = version + 1 " +
+            "WHERE kam_id = :fromKamId AND status IN (:statuses) RETURNING id", nativeQuery = true)
+    List<UUID> reassignKamByKamAndStatuses(@Param("fromKamId") UUID fromKamId,
+                                           @Param("toKamId") UUID toKamId,
+                                           @Param("statuses") List<String> statuses);
+
+    // Deletes merged-away leads; their remaining child rows go by ON DELETE CASCADE
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = "DELETE FROM leads WHERE id IN (:ids)", nativeQuery = true)
+    int deleteByIds(@Param("ids") List<UUID> ids);
+
     // No need to declare findLeadsWithFilters here, it's in LeadRepositoryCustom
 }
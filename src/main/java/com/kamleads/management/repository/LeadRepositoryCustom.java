@@ -2,13 +2,19 @@ package com.kamleads.management.repository;
 
 import com.kamleads.management.dto.LeadPerformanceDTO;
 import com.kamleads.management.dto.LeadSummaryDto;
+import com.kamleads.management.dto.response.CursorPageResponseDto;
+import com.kamleads.management.dto.response.LeadExportRowDto;
+import com.kamleads.management.dto.response.LeadSummaryResponseDto;
+import com.kamleads.management.enums.CountMode;
 import com.kamleads.management.enums.LeadStatus; // Added for findLeadsWithFilters
 import com.kamleads.management.model.Lead;
 import org.springframework.data.domain.Page; // Added for Page return type
 import org.springframework.data.domain.Pageable; // Added for Pageable parameter
+import org.springframework.data.domain.Sort;
 import java.time.LocalDate;
 import java.util.List;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 /**
  * Custom interface for LeadRepository to define methods that require custom
@@ -39,4 +45,38 @@ public interface LeadRepositoryCustom {
      * @return A Page of Lead entities matching the criteria.
      */
     Page<Lead> findLeadsWithFilters(UUID kamId, String searchTerm, List<LeadStatus> statuses, String city, Pageable pageable);
+
+    /**
+     * Same filters and paging as {@link #findLeadsWithFilters}, but selects straight into
+     * LeadSummaryResponseDto through a constructor projection, so no Lead entities are loaded.
+     *
+     * @return A Page of LeadSummaryResponseDto matching the criteria.
+     */
+    Page<LeadSummaryResponseDto> findLeadSummariesWithFilters(UUID kamId, String searchTerm, List<LeadStatus> statuses, String city, Pageable pageable);
+
+    /**
+     * Keyset (cursor) variant of {@link #findLeadsWithFilters}. Rows are ordered by the requested
+     * sort keys plus id, and each window starts strictly after the position encoded in the cursor,
+     * so deep windows cost the same as the first one.
+     *
+     * @param sort Sort keys; only non-null columns are allowed (name, status, callFrequency,
+     *             createdAt). Defaults to createdAt DESC.
+     * @param cursor The nextCursor of the previous window, or null for the first window.
+     * @param limit Maximum number of rows to return.
+     * @param countMode Whether to skip, cap or run the total count.
+     * @return One window of leads with the cursor for the next window.
+     */
+    CursorPageResponseDto<Lead> findLeadsWithFiltersAfter(UUID kamId, String searchTerm, List<LeadStatus> statuses, String city,
+                                                          Sort sort, String cursor, int limit, CountMode countMode);
+
+    /**
+     * Streams every lead matching the same filters as {@link #findLeadsWithFilters} as export rows,
+     * ordered by createdAt DESC, id. Rows come from a forward-only cursor read with the configured
+     * JDBC fetch size, so memory use does not grow with the number of rows.
+     * Must be consumed inside a transaction and closed.
+     *
+     * @param kamId The UUID of the KAM, or null to export every KAM's leads.
+     * @return A Stream of LeadExportRowDto.
+     */
+    Stream<LeadExportRowDto> streamLeadsForExport(UUID kamId, String searchTerm, List<LeadStatus> statuses, String city);
 }
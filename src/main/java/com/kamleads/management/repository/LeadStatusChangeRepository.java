@@ -0,0 +1,52 @@
+package com.kamleads.management.repository;
+
+import com.kamleads.management.model.LeadStatusChange;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface LeadStatusChangeRepository extends JpaRepository<LeadStatusChange, UUID> {
+
+    // Set-based history for the bulk status updates in LeadRepository: run just before the matching
+    // UPDATE, in the same transaction. The rows are locked here, so the UPDATE changes exactly the
+    // statuses recorded; like findAllByIdForUpdate they are locked in ID order. Leads already in the target status are not a change and are skipped.
+    @Modifying
+    @Query(value = "INSERT INTO lead_status_changes (id, lead_id, from_status, to_status, changed_at) " +
+            "SELECT gen_random_uuid(), l.id, l.status, :status, CURRENT_TIMESTAMP FROM leads l " +
+            "WHERE l.id IN (:ids) AND l.status <> :status ORDER BY l.id FOR UPDATE", nativeQuery = true)
+    int recordForIds(@Param("ids") List<UUID> ids, @Param("status") String status);
+
+    @Modifying
+    @Query(value = "INSERT INTO lead_status_changes (id, lead_id, from_status, to_status, changed_at) " +
+            "SELECT gen_random_uuid(), l.id, l.status, :status, CURRENT_TIMESTAMP FROM leads l " +
+            "WHERE l.kam_id = :kamId AND l.status IN (:fromStatuses) AND l.status <> :status ORDER BY l.id FOR UPDATE", nativeQuery = true)
+    int recordForKamAndStatuses(@Param("kamId") UUID kamId,
+                                @Param("fromStatuses") List<String> fromStatuses,
+                                @Param("status") String status);
+
+    // Transitions whose previous status the caller already holds (single updates and bulk upserts):
+    // one INSERT for any number of rows, parallel arrays of lead ID, previous status and new status
+    @Modifying
+    @Query(value = "INSERT INTO lead_status_changes (id, lead_id, from_status, to_status, changed_at) " +
+            "SELECT gen_random_uuid(), v.lead_id, v.from_status, v.to_status, CURRENT_TIMESTAMP " +
+            "FROM unnest(CAST(:leadIds AS uuid[]), CAST(:fromStatuses AS varchar[]), CAST(:toStatuses AS varchar[])) " +
+            "AS v(lead_id, from_status, to_status)", nativeQuery = true)
+    int recordChanges(@Param("leadIds") UUID[] leadIds,
+                      @Param("fromStatuses") String[] fromStatuses,
+                      @Param("toStatuses") String[] toStatuses);
+
+    // Lead merge (LeadService.mergeLeads): the duplicates' history follows them to the survivor
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = "UPDATE lead_status_changes SET lead_id = :survivorId WHERE lead_id IN (:mergedIds)", nativeQuery = true)
+    int moveToLead(@Param("mergedIds") List<UUID> mergedIds, @Param("survivorId") UUID survivorId);
+
+    @Modifying
+    @Query(value = "DELETE FROM lead_status_changes WHERE lead_id = :leadId", nativeQuery = true)
+    int deleteByLeadId(@Param("leadId") UUID leadId);
+}
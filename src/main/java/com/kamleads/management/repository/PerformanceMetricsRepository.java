@@ -34,4 +34,9 @@ public interface PerformanceMetricsRepository extends JpaRepository<PerformanceM
     List<PerformanceMetrics> findMetricsByKamAndDateRange(@Param("kamId") UUID kamId,
                                                           @Param("startDate") LocalDate startDate,
                                                           @Param("endDate") LocalDate endDate);
+
+    // Lead merge (LeadService.mergeLeads): moves the merged leads' metrics to the survivor in one statement
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = "UPDATE performance_metrics SET lead_id = :survivorId WHERE lead_id IN (:mergedIds)", nativeQuery = true)
+    int moveToLead(@Param("mergedIds") List<UUID> mergedIds, @Param("survivorId") UUID survivorId);
 }
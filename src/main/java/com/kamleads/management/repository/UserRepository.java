@@ -11,6 +11,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -45,6 +46,10 @@ public interface UserRepository extends JpaRepository<User, UUID> {
     @Query(value = "SELECT DISTINCT u FROM User u LEFT JOIN FETCH u.leads l WHERE SIZE(u.leads) > 0",
             name = "User.findKamsWithLeads") // Added name attribute
     Page<User> findKamsWithLeads(Pageable pageable);  //?????
+
+    // Bulk interaction ingest: which of these users exist
+    @Query("SELECT u.id FROM User u WHERE u.id IN :ids")
+    List<UUID> findExistingIds(@Param("ids") Collection<UUID> ids);
 }
 
 
@@ -2,26 +2,41 @@ package com.kamleads.management.repository.impl;
 
 import com.kamleads.management.dto.LeadPerformanceDTO;
 import com.kamleads.management.dto.LeadSummaryDto;
+import com.kamleads.management.dto.response.CursorPageResponseDto;
+import com.kamleads.management.dto.response.LeadExportRowDto;
+import com.kamleads.management.dto.response.LeadSummaryResponseDto;
+import com.kamleads.management.enums.CountMode;
 import com.kamleads.management.enums.LeadStatus;
 import com.kamleads.management.model.Lead;
+import com.kamleads.management.model.User;
+import com.kamleads.management.exception.BadRequestException;
 import com.kamleads.management.repository.LeadRepositoryCustom;
+import com.kamleads.management.util.CursorCodec;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.PersistenceContext;
 import jakarta.persistence.TypedQuery;
 import jakarta.persistence.criteria.CriteriaBuilder;
 import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.Order;
 import jakarta.persistence.criteria.Predicate;
 import jakarta.persistence.criteria.Root;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Repository;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Stream;
 
 // Hibernate 6 specific imports for Criteria API extensions
 import org.hibernate.Session;
@@ -32,6 +47,27 @@ import org.hibernate.query.criteria.JpaCriteriaQuery;
 @Repository
 public class LeadRepositoryImpl implements LeadRepositoryCustom {
 
+    private static final char LIKE_ESCAPE = '\\';
+
+    // Ceiling for CountMode.CAPPED; clients show "1000+" beyond this
+    private static final int CAPPED_COUNT_LIMIT = 1000;
+
+    /**
+     * Columns that can key a cursor. Each must be NOT NULL in the schema (created_at since V19): a NULL
+     * key never satisfies the cursor comparison, so its row would silently drop out of every window.
+     */
+    @SuppressWarnings("rawtypes")
+    private record KeysetColumn(Function<Lead, Object> getter, Function<String, Comparable> parser) {
+    }
+
+    @SuppressWarnings("rawtypes")
+    private static final Map<String, KeysetColumn> KEYSET_COLUMNS = Map.of(
+            "name", new KeysetColumn(Lead::getName, value -> value),
+            "status", new KeysetColumn(Lead::getStatus, LeadStatus::valueOf),
+            "callFrequency", new KeysetColumn(Lead::getCallFrequency, Integer::valueOf),
+            "createdAt", new KeysetColumn(Lead::getCreatedAt, LocalDateTime::parse)
+    );
+
     @PersistenceContext
     private EntityManager entityManager;
 
@@ -130,23 +166,11 @@ public class LeadRepositoryImpl implements LeadRepositoryCustom {
 
     @Override
     public LeadSummaryDto getLeadSummaryForKam(UUID kamId) {
-        // IMPORTANT: The FUNCTION('TIMESTAMPADD','DAY', ...) syntax with a String literal 'DAY'
-        // is problematic in Hibernate 6's JPQL due to stricter type checking expecting TemporalUnit enum.
-        // A direct JPQL fix is not straightforward as enums cannot be directly passed as string literals.
-        //
-        // Recommended solutions:
-        // 1. Rewrite this specific part of the query using the Criteria API, where TemporalUnit enum can be used directly.
-        //    (e.g., cb.function("timestampadd", LocalDateTime.class, cb.literal(TemporalUnit.DAY), ...))
-        // 2. If you must keep JPQL, you might need to register a custom SQLFunction in your Hibernate configuration
-        //    that correctly handles the 'TIMESTAMPADD' function with a string unit for your specific database.
-        // 3. Re-evaluate if this complex date arithmetic can be done in Java after fetching relevant data,
-        //    or simplified in the query if a database-agnostic HQL/JPQL alternative exists for your use case.
-
         String jpql = """
             SELECT new com.kamleads.management.dto.LeadSummaryDto(
                 COUNT(l.id),
                 COUNT(CASE WHEN l.status IN ('NEW', 'CONTACTED', 'INTERESTED', 'NEGOTIATING') THEN 1 END),
-                COUNT(CASE WHEN l.lastCallDate IS NULL OR (FUNCTION('TIMESTAMPADD','DAY', l.callFrequency, l.lastCallDate)) <= CURRENT_DATE THEN 1 END),
+                0L,
                 COALESCE(AVG(l.performanceScore), 0)
             )
             FROM Lead l
@@ -156,8 +180,21 @@ public class LeadRepositoryImpl implements LeadRepositoryCustom {
         List<LeadSummaryDto> results = entityManager.createQuery(jpql, LeadSummaryDto.class)
                 .setParameter("kamId", kamId)
                 .getResultList();
+        LeadSummaryDto summary = results.isEmpty() ? new LeadSummaryDto(0L, 0L, 0L, BigDecimal.ZERO) : results.get(0);
 
-        return results.isEmpty() ? new LeadSummaryDto(0L, 0L, 0L, BigDecimal.ZERO) : results.get(0);
+        // Open leads due today or earlier: a range scan on idx_leads_kam_next_call (stored next_call_date)
+        // instead of evaluating last_call_date + call_frequency for every lead
+        Long requiringCalls = entityManager.createQuery("""
+            SELECT COUNT(l) FROM Lead l
+            WHERE l.kam.id = :kamId
+            AND l.status NOT IN ('CLOSED_WON', 'CLOSED_LOST')
+            AND l.nextCallDate <= :today
+            """, Long.class)
+                .setParameter("kamId", kamId)
+                .setParameter("today", LocalDate.now())
+                .getSingleResult();
+        summary.setLeadsRequiringCalls(requiringCalls);
+        return summary;
     }
 
     @Override
@@ -174,19 +211,241 @@ public class LeadRepositoryImpl implements LeadRepositoryCustom {
 
     @Override
     public Page<Lead> findLeadsWithFilters(UUID kamId, String searchTerm, List<LeadStatus> statuses, String city, Pageable pageable) {
-        // Unwrap EntityManager to get Hibernate's specific CriteriaBuilder
-        HibernateCriteriaBuilder cb = (HibernateCriteriaBuilder) entityManager.unwrap(Session.class).getCriteriaBuilder();
-        // Cast to JpaCriteriaQuery to access Hibernate-specific methods like createCountQuery()
-        JpaCriteriaQuery<Lead> cq = (JpaCriteriaQuery<Lead>) cb.createQuery(Lead.class);
+        HibernateCriteriaBuilder cb = criteriaBuilder();
+        // JpaCriteriaQuery gives access to Hibernate-specific methods like createCountQuery()
+        JpaCriteriaQuery<Lead> cq = cb.createQuery(Lead.class);
         Root<Lead> lead = cq.from(Lead.class);
+
+        cq.where(buildFilterPredicates(cb, lead, kamId, searchTerm, statuses, city));
+        applySort(cb, cq, lead, pageable);
+
+        TypedQuery<Lead> query = entityManager.createQuery(cq);
+
+        // Apply pagination
+        query.setFirstResult((int) pageable.getOffset());
+        query.setMaxResults(pageable.getPageSize());
+
+        List<Lead> resultList = query.getResultList();
+
+        // Fix for "Could not locate TableGroup": Use createCountQuery() on the main JpaCriteriaQuery
+        // This method automatically re-uses the predicates from 'cq' for the count operation.
+        JpaCriteriaQuery<Long> countQuery = cq.createCountQuery();
+        Long total = entityManager.createQuery(countQuery).getSingleResult();
+
+        return new PageImpl<>(resultList, pageable, total);
+    }
+
+    @Override
+    public Page<LeadSummaryResponseDto> findLeadSummariesWithFilters(UUID kamId, String searchTerm, List<LeadStatus> statuses, String city, Pageable pageable) {
+        HibernateCriteriaBuilder cb = criteriaBuilder();
+        JpaCriteriaQuery<LeadSummaryResponseDto> cq = cb.createQuery(LeadSummaryResponseDto.class);
+        Root<Lead> lead = cq.from(Lead.class);
+
+        // Constructor projection: only the listed columns are selected, no entity is materialized
+        cq.select(cb.construct(LeadSummaryResponseDto.class,
+                lead.get("id"), lead.get("name"), lead.get("city"), lead.get("status"),
+                lead.get("nextCallDate")));
+        cq.where(buildFilterPredicates(cb, lead, kamId, searchTerm, statuses, city));
+        applySort(cb, cq, lead, pageable);
+
+        List<LeadSummaryResponseDto> resultList = entityManager.createQuery(cq)
+                .setFirstResult((int) pageable.getOffset())
+                .setMaxResults(pageable.getPageSize())
+                .getResultList();
+
+        // Count on a fresh root so the predicates are bound to the count query's own table group
+        JpaCriteriaQuery<Long> countQuery = cb.createQuery(Long.class);
+        Root<Lead> countRoot = countQuery.from(Lead.class);
+        countQuery.select(cb.count(countRoot));
+        countQuery.where(buildFilterPredicates(cb, countRoot, kamId, searchTerm, statuses, city));
+        Long total = entityManager.createQuery(countQuery).getSingleResult();
+
+        return new PageImpl<>(resultList, pageable, total);
+    }
+
+    @Override
+    public CursorPageResponseDto<Lead> findLeadsWithFiltersAfter(UUID kamId, String searchTerm, List<LeadStatus> statuses, String city,
+                                                                 Sort sort, String cursor, int limit, CountMode countMode) {
+        List<Sort.Order> keyOrders = resolveKeysetOrders(sort);
+
+        HibernateCriteriaBuilder cb = criteriaBuilder();
+        JpaCriteriaQuery<Lead> cq = cb.createQuery(Lead.class);
+        Root<Lead> lead = cq.from(Lead.class);
+
+        List<Predicate> predicates = new ArrayList<>(List.of(buildFilterPredicates(cb, lead, kamId, searchTerm, statuses, city)));
+        if (cursor != null && !cursor.isBlank()) {
+            predicates.add(keysetPredicate(cb, lead, keyOrders, decodeLeadCursor(cursor, keyOrders)));
+        }
+        cq.where(predicates.toArray(new Predicate[0]));
+
+        List<Order> orderBy = new ArrayList<>();
+        for (Sort.Order order : keyOrders) {
+            orderBy.add(order.isAscending() ? cb.asc(lead.get(order.getProperty())) : cb.desc(lead.get(order.getProperty())));
+        }
+        orderBy.add(cb.asc(lead.get("id"))); // Unique tie-breaker keeps the order total
+        cq.orderBy(orderBy);
+
+        // Fetch one extra row to learn whether another window exists without a count
+        List<Lead> rows = entityManager.createQuery(cq)
+                .setMaxResults(limit + 1)
+                .getResultList();
+        boolean hasNext = rows.size() > limit;
+        List<Lead> content = hasNext ? new ArrayList<>(rows.subList(0, limit)) : rows;
+        String nextCursor = hasNext ? encodeLeadCursor(content.get(content.size() - 1), keyOrders) : null;
+
+        Long total = null;
+        boolean capped = false;
+        if (countMode == CountMode.EXACT) {
+            JpaCriteriaQuery<Long> countQuery = cb.createQuery(Long.class);
+            Root<Lead> countRoot = countQuery.from(Lead.class);
+            countQuery.select(cb.count(countRoot));
+            countQuery.where(buildFilterPredicates(cb, countRoot, kamId, searchTerm, statuses, city));
+            total = entityManager.createQuery(countQuery).getSingleResult();
+        } else if (countMode == CountMode.CAPPED) {
+            // Reads at most CAPPED_COUNT_LIMIT + 1 ids instead of counting every matching row
+            JpaCriteriaQuery<UUID> idQuery = cb.createQuery(UUID.class);
+            Root<Lead> idRoot = idQuery.from(Lead.class);
+            idQuery.select(idRoot.get("id"));
+            idQuery.where(buildFilterPredicates(cb, idRoot, kamId, searchTerm, statuses, city));
+            int seen = entityManager.createQuery(idQuery)
+                    .setMaxResults(CAPPED_COUNT_LIMIT + 1)
+                    .getResultList()
+                    .size();
+            capped = seen > CAPPED_COUNT_LIMIT;
+            total = (long) Math.min(seen, CAPPED_COUNT_LIMIT);
+        }
+
+        return new CursorPageResponseDto<>(content, nextCursor, total, capped);
+    }
+
+    @Override
+    public Stream<LeadExportRowDto> streamLeadsForExport(UUID kamId, String searchTerm, List<LeadStatus> statuses, String city) {
+        HibernateCriteriaBuilder cb = criteriaBuilder();
+        JpaCriteriaQuery<LeadExportRowDto> cq = cb.createQuery(LeadExportRowDto.class);
+        Root<Lead> lead = cq.from(Lead.class);
+        Join<Lead, User> kam = lead.join("kam");
+
+        // Constructor projection: nothing enters the persistence context, so a long stream keeps a flat heap
+        cq.select(cb.construct(LeadExportRowDto.class,
+                lead.get("id"), lead.get("name"), lead.get("city"), lead.get("cuisineType"), lead.get("status"),
+                kam.get("id"), kam.get("email"), lead.get("callFrequency"), lead.get("lastCallDate"),
+                lead.get("performanceScore"), lead.get("createdAt")));
+        cq.where(buildFilterPredicates(cb, lead, kamId, searchTerm, statuses, city));
+        // Matches idx_leads_kam_created_id for per-KAM exports
+        cq.orderBy(cb.desc(lead.get("createdAt")), cb.asc(lead.get("id")));
+
+        // getResultStream scrolls a forward-only cursor; the fetch size comes from hibernate.jdbc.fetch_size
+        return entityManager.createQuery(cq).getResultStream();
+    }
+
+    /**
+     * Hibernate's CriteriaBuilder, whose queries are JpaCriteriaQuery (createCountQuery, typed constructs).
+     */
+    private HibernateCriteriaBuilder criteriaBuilder() {
+        return entityManager.unwrap(Session.class).getCriteriaBuilder();
+    }
+
+    /**
+     * Validates the requested sort against the keyset-safe columns and falls back to createdAt DESC.
+     */
+    private List<Sort.Order> resolveKeysetOrders(Sort sort) {
+        List<Sort.Order> orders = new ArrayList<>();
+        if (sort != null) {
+            for (Sort.Order order : sort) {
+                if ("id".equals(order.getProperty())) {
+                    continue; // Always appended as the tie-breaker
+                }
+                if (!KEYSET_COLUMNS.containsKey(order.getProperty())) {
+                    throw new BadRequestException("Cursor pagination cannot sort by '" + order.getProperty()
+                            + "'. Allowed: " + KEYSET_COLUMNS.keySet());
+                }
+                orders.add(order);
+            }
+        }
+        if (orders.isEmpty()) {
+            orders.add(Sort.Order.desc("createdAt"));
+        }
+        return orders;
+    }
+
+    /**
+     * Builds "row comes after the cursor" for a mixed-direction key list:
+     * (k1 > v1) OR (k1 = v1 AND k2 > v2) OR ... OR (k1 = v1 AND ... AND id > lastId),
+     * with > flipped to < for descending keys.
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private Predicate keysetPredicate(CriteriaBuilder cb, Root<Lead> lead, List<Sort.Order> keyOrders, List<Comparable> values) {
+        List<Predicate> alternatives = new ArrayList<>();
+        List<Predicate> equalPrefix = new ArrayList<>();
+        for (int i = 0; i <= keyOrders.size(); i++) {
+            boolean tieBreaker = i == keyOrders.size();
+            Expression<Comparable> key = lead.get(tieBreaker ? "id" : keyOrders.get(i).getProperty());
+            Comparable value = values.get(i);
+            boolean ascending = tieBreaker || keyOrders.get(i).isAscending();
+
+            List<Predicate> branch = new ArrayList<>(equalPrefix);
+            branch.add(ascending ? cb.greaterThan(key, value) : cb.lessThan(key, value));
+            alternatives.add(cb.and(branch.toArray(new Predicate[0])));
+
+            equalPrefix.add(cb.equal(key, value));
+        }
+        return cb.or(alternatives.toArray(new Predicate[0]));
+    }
+
+    private String encodeLeadCursor(Lead last, List<Sort.Order> keyOrders) {
+        List<String> parts = new ArrayList<>();
+        parts.add(sortSignature(keyOrders));
+        for (Sort.Order order : keyOrders) {
+            parts.add(String.valueOf(KEYSET_COLUMNS.get(order.getProperty()).getter().apply(last)));
+        }
+        parts.add(last.getId().toString());
+        return CursorCodec.encode(parts);
+    }
+
+    @SuppressWarnings("rawtypes")
+    private List<Comparable> decodeLeadCursor(String cursor, List<Sort.Order> keyOrders) {
+        List<String> parts = CursorCodec.decode(cursor, keyOrders.size() + 2);
+        if (!sortSignature(keyOrders).equals(parts.get(0))) {
+            throw new BadRequestException("Cursor was issued for a different sort order");
+        }
+        List<Comparable> values = new ArrayList<>();
+        try {
+            for (int i = 0; i < keyOrders.size(); i++) {
+                values.add(KEYSET_COLUMNS.get(keyOrders.get(i).getProperty()).parser().apply(parts.get(i + 1)));
+            }
+            values.add(UUID.fromString(parts.get(parts.size() - 1)));
+        } catch (RuntimeException e) {
+            throw new BadRequestException("Invalid cursor", e);
+        }
+        return values;
+    }
+
+    private String sortSignature(List<Sort.Order> keyOrders) {
+        StringBuilder signature = new StringBuilder();
+        for (Sort.Order order : keyOrders) {
+            signature.append(order.getProperty()).append(':').append(order.getDirection()).append(',');
+        }
+        return signature.append("id").toString();
+    }
+
+    /**
+     * Builds the shared WHERE clause for the lead list queries.
+     */
+    private Predicate[] buildFilterPredicates(CriteriaBuilder cb, Root<Lead> lead, UUID kamId, String searchTerm,
+                                              List<LeadStatus> statuses, String city) {
         List<Predicate> predicates = new ArrayList<>();
 
-        // Always filter by KAM ID
-        predicates.add(cb.equal(lead.get("kam").get("id"), kamId));
+        // Filter by KAM ID (only the whole-book export passes null)
+        if (kamId != null) {
+            predicates.add(cb.equal(lead.get("kam").get("id"), kamId));
+        }
 
-        // Add search term filter if present
+        // Add search term filter if present.
+        // lower(name) LIKE matches the idx_leads_name_trgm expression index; LIKE wildcards typed
+        // by the user are escaped so they match literally instead of widening the scan.
         if (searchTerm != null && !searchTerm.trim().isEmpty()) {
-            predicates.add(cb.like(cb.lower(lead.get("name")), "%" + searchTerm.toLowerCase() + "%"));
+            String pattern = "%" + escapeLike(searchTerm.trim().toLowerCase()) + "%";
+            predicates.add(cb.like(cb.lower(lead.get("name")), pattern, LIKE_ESCAPE));
         }
 
         // Add status filter if present
@@ -194,37 +453,30 @@ public class LeadRepositoryImpl implements LeadRepositoryCustom {
             predicates.add(lead.get("status").in(statuses));
         }
 
-        // Add city filter if present
+        // Add city filter if present (served by idx_leads_kam_city_lower together with the KAM filter)
         if (city != null && !city.trim().isEmpty()) {
-            predicates.add(cb.equal(cb.lower(lead.get("city")), city.toLowerCase()));
+            predicates.add(cb.equal(cb.lower(lead.get("city")), city.trim().toLowerCase()));
         }
 
-        cq.where(predicates.toArray(new Predicate[0]));
+        return predicates.toArray(new Predicate[0]);
+    }
 
-        // Apply sorting from Pageable
+    private static String escapeLike(String term) {
+        return term.replace("\\", "\\\\")
+                .replace("%", "\\%")
+                .replace("_", "\\_");
+    }
+
+    /**
+     * Applies every sort order from the Pageable, in the order given.
+     */
+    private void applySort(CriteriaBuilder cb, CriteriaQuery<?> cq, Root<Lead> lead, Pageable pageable) {
         if (pageable.getSort().isSorted()) {
-            pageable.getSort().forEach(order -> {
-                if (order.isAscending()) {
-                    cq.orderBy(cb.asc(lead.get(order.getProperty())));
-                } else {
-                    cq.orderBy(cb.desc(lead.get(order.getProperty())));
-                }
-            });
+            List<Order> orders = new ArrayList<>();
+            pageable.getSort().forEach(order -> orders.add(order.isAscending()
+                    ? cb.asc(lead.get(order.getProperty()))
+                    : cb.desc(lead.get(order.getProperty()))));
+            cq.orderBy(orders);
         }
-
-        TypedQuery<Lead> query = entityManager.createQuery(cq);
-
-        // Apply pagination
-        query.setFirstResult((int) pageable.getOffset());
-        query.setMaxResults(pageable.getPageSize());
-
-        List<Lead> resultList = query.getResultList();
-
-        // Fix for "Could not locate TableGroup": Use createCountQuery() on the main JpaCriteriaQuery
-        // This method automatically re-uses the predicates from 'cq' for the count operation.
-        JpaCriteriaQuery<Long> countQuery = cq.createCountQuery();
-        Long total = entityManager.createQuery(countQuery).getSingleResult();
-
-        return new PageImpl<>(resultList, pageable, total);
     }
-}
\ No newline at end of file
+}
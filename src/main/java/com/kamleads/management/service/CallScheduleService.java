@@ -1,16 +1,17 @@
 package com.kamleads.management.service;
 
+import com.kamleads.management.dto.WriteReferencesDto;
 import com.kamleads.management.dto.request.CallScheduleCreateRequestDto;
 import com.kamleads.management.dto.response.CallScheduleResponseDto;
 import com.kamleads.management.enums.CallStatus;
 import com.kamleads.management.model.CallSchedule;
 import com.kamleads.management.model.Lead;
-import com.kamleads.management.model.User;
 import com.kamleads.management.repository.CallScheduleRepository;
 import com.kamleads.management.repository.LeadRepository;
 import com.kamleads.management.repository.UserRepository;
 import lombok.Data;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -38,35 +39,39 @@ public class CallScheduleService {
     private final CallScheduleRepository callScheduleRepository;
     private final LeadRepository leadRepository;
     private final UserRepository userRepository;
+    private final KamChangeVersions kamChangeVersions;
 
     @Autowired
     public CallScheduleService(CallScheduleRepository callScheduleRepository,
                                LeadRepository leadRepository,
-                               UserRepository userRepository) {
+                               UserRepository userRepository,
+                               KamChangeVersions kamChangeVersions) {
         this.callScheduleRepository = callScheduleRepository;
         this.leadRepository = leadRepository;
         this.userRepository = userRepository;
+        this.kamChangeVersions = kamChangeVersions;
     }
 
     /**
-     * Creates a new call schedule entry.
+     * Creates a new call schedule entry for a lead, on its KAM's call list.
+     * The lead and KAM are checked with one query and attached as references, not loaded.
      *
      * @param requestDto The DTO containing call schedule details.
      * @return CallScheduleResponseDto of the created schedule.
      * @throws RuntimeException if KAM or Lead not found.
+     * @throws IllegalArgumentException if the lead belongs to another KAM.
      */
     @Transactional
     public CallScheduleResponseDto createCallSchedule(CallScheduleCreateRequestDto requestDto) {
-        User kam = userRepository.findById(requestDto.getKamId())
-                .orElseThrow(() -> new RuntimeException("KAM not found with ID: " + requestDto.getKamId()));
-
-        Lead lead = leadRepository.findById(requestDto.getLeadId())
-                .orElseThrow(() -> new RuntimeException("Lead not found with ID: " + requestDto.getLeadId()));
+        WriteReferencesDto refs = findWriteReferences(requestDto);
+        if (!refs.getKamId().equals(refs.getLeadKamId())) {
+            throw new IllegalArgumentException("Lead does not belong to the specified KAM.");
+        }
 
         CallSchedule callSchedule = new CallSchedule();
         callSchedule.setId(UUID.randomUUID());
-        callSchedule.setKam(kam);
-        callSchedule.setLead(lead);
+        callSchedule.setKam(userRepository.getReferenceById(refs.getKamId()));
+        callSchedule.setLead(leadRepository.getReferenceById(refs.getLeadId()));
         callSchedule.setScheduledDate(requestDto.getScheduledDate());
         callSchedule.setStatus(CallStatus.PENDING); // New calls are always pending
         callSchedule.setPriority(requestDto.getPriority());
@@ -74,7 +79,8 @@ public class CallScheduleService {
         callSchedule.setNextScheduledDate(null);
 
         CallSchedule savedCallSchedule = callScheduleRepository.save(callSchedule);
-        return mapToCallScheduleResponseDto(savedCallSchedule);
+        kamChangeVersions.onKamChanged(refs.getKamId());
+        return mapToCallScheduleResponseDto(savedCallSchedule, refs);
     }
 
     /**
@@ -154,26 +160,27 @@ public class CallScheduleService {
         CallSchedule callSchedule = callScheduleRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Call schedule not found with ID: " + id));
 
-        User kam = userRepository.findById(requestDto.getKamId())
-                .orElseThrow(() -> new RuntimeException("KAM not found with ID: " + requestDto.getKamId()));
-
-        Lead lead = leadRepository.findById(requestDto.getLeadId())
-                .orElseThrow(() -> new RuntimeException("Lead not found with ID: " + requestDto.getLeadId()));
+        WriteReferencesDto refs = findWriteReferences(requestDto);
 
         // Prevent changing KAM or Lead for an existing schedule (usually not allowed)
-        if (!callSchedule.getKam().getId().equals(kam.getId())) {
+        if (!callSchedule.getKam().getId().equals(refs.getKamId())) {
             throw new IllegalArgumentException("Cannot change KAM for an existing call schedule.");
         }
-        if (!callSchedule.getLead().getId().equals(lead.getId())) {
+        if (!callSchedule.getLead().getId().equals(refs.getLeadId())) {
             throw new IllegalArgumentException("Cannot change Lead for an existing call schedule.");
         }
+        // Reject an edit based on a stale copy of the schedule
+        if (requestDto.getVersion() != null && !requestDto.getVersion().equals(callSchedule.getVersion())) {
+            throw new ObjectOptimisticLockingFailureException(CallSchedule.class, id);
+        }
 
         callSchedule.setScheduledDate(requestDto.getScheduledDate());
         callSchedule.setPriority(requestDto.getPriority());
         // Status and nextScheduledDate are typically updated via specific methods (e.g., completeCall, rescheduleCall)
 
-        CallSchedule updatedCallSchedule = callScheduleRepository.save(callSchedule);
-        return mapToCallScheduleResponseDto(updatedCallSchedule);
+        CallSchedule updatedCallSchedule = callScheduleRepository.saveAndFlush(callSchedule); // Flushed so the response carries the bumped version
+        kamChangeVersions.onKamChanged(refs.getKamId());
+        return mapToCallScheduleResponseDto(updatedCallSchedule, refs);
     }
 
     /**
@@ -199,7 +206,8 @@ public class CallScheduleService {
             callSchedule.setNextScheduledDate(LocalDate.now().plusDays(lead.getCallFrequency()));
         }
 
-        CallSchedule updatedCallSchedule = callScheduleRepository.save(callSchedule);
+        CallSchedule updatedCallSchedule = callScheduleRepository.saveAndFlush(callSchedule);
+        kamChangeVersions.onKamChanged(callSchedule.getKam().getId());
         return mapToCallScheduleResponseDto(updatedCallSchedule);
     }
 
@@ -222,7 +230,8 @@ public class CallScheduleService {
         callSchedule.setStatus(CallStatus.NO_ANSWER);
         // A missed call might trigger an immediate reschedule or be handled by a separate process
         // For simplicity, no nextScheduledDate is set here, but could be.
-        CallSchedule updatedCallSchedule = callScheduleRepository.save(callSchedule);
+        CallSchedule updatedCallSchedule = callScheduleRepository.saveAndFlush(callSchedule);
+        kamChangeVersions.onKamChanged(callSchedule.getKam().getId());
         return mapToCallScheduleResponseDto(updatedCallSchedule);
     }
 
@@ -247,7 +256,8 @@ public class CallScheduleService {
         callSchedule.setStatus(CallStatus.RESCHEDULED); // Or PENDING, depending on desired workflow
         callSchedule.setNextScheduledDate(newScheduledDate); // Next scheduled date is the new scheduled date
 
-        CallSchedule updatedCallSchedule = callScheduleRepository.save(callSchedule);
+        CallSchedule updatedCallSchedule = callScheduleRepository.saveAndFlush(callSchedule);
+        kamChangeVersions.onKamChanged(callSchedule.getKam().getId());
         return mapToCallScheduleResponseDto(updatedCallSchedule);
     }
 
@@ -264,7 +274,8 @@ public class CallScheduleService {
                 .orElseThrow(() -> new RuntimeException("Call schedule not found with ID: " + id));
         callSchedule.setStatus(CallStatus.CANCELLED);
         callSchedule.setNextScheduledDate(null); // No next scheduled date if cancelled
-        CallSchedule updatedCallSchedule = callScheduleRepository.save(callSchedule);
+        CallSchedule updatedCallSchedule = callScheduleRepository.saveAndFlush(callSchedule);
+        kamChangeVersions.onKamChanged(callSchedule.getKam().getId());
         return mapToCallScheduleResponseDto(updatedCallSchedule);
     }
 
@@ -276,10 +287,44 @@ public class CallScheduleService {
      */
     @Transactional
     public void deleteCallSchedule(UUID id) {
-        if (!callScheduleRepository.existsById(id)) {
-            throw new RuntimeException("Call schedule not found with ID: " + id);
+        CallSchedule callSchedule = callScheduleRepository.findById(id)
+                .orElseThrow(() -> new RuntimeException("Call schedule not found with ID: " + id));
+        callScheduleRepository.delete(callSchedule);
+        kamChangeVersions.onKamChanged(callSchedule.getKam().getId());
+    }
+
+    /**
+     * Checks with one query that the lead and KAM of a write exist.
+     *
+     * @throws RuntimeException if KAM or Lead not found.
+     */
+    private WriteReferencesDto findWriteReferences(CallScheduleCreateRequestDto requestDto) {
+        WriteReferencesDto refs = leadRepository.findWriteReferences(requestDto.getLeadId(), requestDto.getKamId(), null)
+                .orElseThrow(() -> new RuntimeException("Lead not found with ID: " + requestDto.getLeadId()));
+        if (refs.getKamId() == null) {
+            throw new RuntimeException("KAM not found with ID: " + requestDto.getKamId());
         }
-        callScheduleRepository.deleteById(id);
+        return refs;
+    }
+
+    /**
+     * Maps a schedule whose lead and KAM are unloaded references, taking their names from the checked
+     * references instead of initializing the proxies.
+     */
+    private CallScheduleResponseDto mapToCallScheduleResponseDto(CallSchedule callSchedule, WriteReferencesDto refs) {
+        CallScheduleResponseDto dto = new CallScheduleResponseDto();
+        dto.setId(callSchedule.getId());
+        dto.setVersion(callSchedule.getVersion());
+        dto.setKamId(refs.getKamId());
+        dto.setKamName(refs.getKamName());
+        dto.setLeadId(refs.getLeadId());
+        dto.setLeadName(refs.getLeadName());
+        dto.setLeadCity(refs.getLeadCity());
+        dto.setScheduledDate(callSchedule.getScheduledDate());
+        dto.setStatus(callSchedule.getStatus());
+        dto.setPriority(callSchedule.getPriority());
+        dto.setNextScheduledDate(callSchedule.getNextScheduledDate());
+        return dto;
     }
 
     /**
@@ -291,6 +336,7 @@ public class CallScheduleService {
     private CallScheduleResponseDto mapToCallScheduleResponseDto(CallSchedule callSchedule) {
         CallScheduleResponseDto dto = new CallScheduleResponseDto();
         dto.setId(callSchedule.getId());
+        dto.setVersion(callSchedule.getVersion());
         dto.setKamId(callSchedule.getKam().getId());
         dto.setKamName(callSchedule.getKam().getName());
         dto.setLeadId(callSchedule.getLead().getId());
@@ -8,6 +8,7 @@ import com.kamleads.management.repository.ContactRepository;
 import com.kamleads.management.repository.InteractionRepository; // Assuming this is needed for total interactions
 import com.kamleads.management.repository.LeadRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -22,13 +23,18 @@ public class ContactService {
     private final ContactRepository contactRepository;
     private final LeadRepository leadRepository;
     private final InteractionRepository interactionRepository; // To get total interactions for a contact
+    private final LeadTypeaheadIndex typeaheadIndex;
+    private final KamChangeVersions kamChangeVersions;
 
     @Autowired
     public ContactService(ContactRepository contactRepository, LeadRepository leadRepository,
-                          InteractionRepository interactionRepository) {
+                          InteractionRepository interactionRepository, LeadTypeaheadIndex typeaheadIndex,
+                          KamChangeVersions kamChangeVersions) {
         this.contactRepository = contactRepository;
         this.leadRepository = leadRepository;
         this.interactionRepository = interactionRepository;
+        this.typeaheadIndex = typeaheadIndex;
+        this.kamChangeVersions = kamChangeVersions;
     }
 
     /**
@@ -74,6 +80,8 @@ public class ContactService {
         // contact.setPhone(requestDto.getPhone());
 
         Contact savedContact = contactRepository.save(contact);
+        typeaheadIndex.onContactSaved(lead.getId(), savedContact.getId(), savedContact.getName(), savedContact.getEmail());
+        kamChangeVersions.onKamChanged(lead.getKam().getId());
         return mapToContactResponseDto(savedContact);
     }
 
@@ -124,6 +132,10 @@ public class ContactService {
         if (!contact.getLead().getId().equals(lead.getId())) {
             throw new IllegalArgumentException("Cannot change lead for an existing contact.");
         }
+        // Reject an edit based on a stale copy of the contact
+        if (requestDto.getVersion() != null && !requestDto.getVersion().equals(contact.getVersion())) {
+            throw new ObjectOptimisticLockingFailureException(Contact.class, id);
+        }
 
         // Check for unique email within the same lead, excluding the current contact
         if (requestDto.getEmail() != null && !requestDto.getEmail().isEmpty()) {
@@ -153,7 +165,9 @@ public class ContactService {
         // Assuming phone is not in DTO, or add it to DTO if needed
         // contact.setPhone(requestDto.getPhone());
 
-        Contact updatedContact = contactRepository.save(contact);
+        Contact updatedContact = contactRepository.saveAndFlush(contact); // Flushed so the response carries the bumped version
+        typeaheadIndex.onContactSaved(lead.getId(), updatedContact.getId(), updatedContact.getName(), updatedContact.getEmail());
+        kamChangeVersions.onKamChanged(lead.getKam().getId());
         return mapToContactResponseDto(updatedContact);
     }
 
@@ -165,10 +179,11 @@ public class ContactService {
      */
     @Transactional
     public void deleteContact(UUID id) {
-        if (!contactRepository.existsById(id)) {
-            throw new RuntimeException("Contact not found with ID: " + id);
-        }
-        contactRepository.deleteById(id);
+        Contact contact = contactRepository.findById(id)
+                .orElseThrow(() -> new RuntimeException("Contact not found with ID: " + id));
+        contactRepository.delete(contact);
+        typeaheadIndex.onContactDeleted(contact.getLead().getId(), id);
+        kamChangeVersions.onKamChanged(contact.getLead().getKam().getId());
     }
 
     /**
@@ -180,6 +195,7 @@ public class ContactService {
     private ContactResponseDto mapToContactResponseDto(Contact contact) {
         ContactResponseDto dto = new ContactResponseDto();
         dto.setId(contact.getId());
+        dto.setVersion(contact.getVersion());
         dto.setName(contact.getName());
         dto.setRole(contact.getRole());
         dto.setEmail(contact.getEmail());
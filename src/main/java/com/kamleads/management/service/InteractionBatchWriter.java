@@ -0,0 +1,205 @@
+package com.kamleads.management.service;
+
+import com.kamleads.management.enums.InteractionStatus;
+import com.kamleads.management.enums.InteractionType;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.UUID;
+
+/**
+ * Writes batches of new, already validated interactions in one transaction with a fixed number of
+ * statements, whatever the batch size: the rows go in as multi-row INSERTs, the daily-activity deltas
+ * are applied in one upsert (one row per lead and day), and lastCallDate is advanced in one UPDATE for
+ * the leads with completed calls. After the commit the leads are marked for rescoring and their KAMs'
+ * dashboards invalidated.
+ *
+ * Used by the asynchronous write path (InteractionWriteQueue) and bulk ingest
+ * (InteractionService.bulkCreateInteractions); single interactions keep the JPA path.
+ */
+@Component
+public class InteractionBatchWriter {
+
+    private static final String INSERT_SQL = "INSERT INTO interactions (id, lead_id, contact_id, kam_id, type, status, "
+            + "interaction_date, order_value, follow_up_date, created_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, CURRENT_TIMESTAMP)";
+    // Set-based form of LeadDailyActivityRepository.applyDelta; the input has one row per (lead, day)
+    private static final String APPLY_DELTAS_SQL = "INSERT INTO lead_daily_activity (lead_id, day, interactions, orders, order_value) "
+            + "SELECT * FROM unnest(CAST(? AS uuid[]), CAST(? AS date[]), CAST(? AS int[]), CAST(? AS int[]), CAST(? AS numeric[])) "
+            + "ON CONFLICT (lead_id, day) DO UPDATE SET "
+            + "interactions = lead_daily_activity.interactions + EXCLUDED.interactions, "
+            + "orders = lead_daily_activity.orders + EXCLUDED.orders, "
+            + "order_value = lead_daily_activity.order_value + EXCLUDED.order_value";
+    // Bumps version like the entity save on the single-interaction path; never moves lastCallDate backwards
+    private static final String UPDATE_LAST_CALLS_SQL = "UPDATE leads l SET last_call_date = v.day, version = l.version + 1, "
+            + "updated_at = CURRENT_TIMESTAMP "
+            + "FROM unnest(CAST(? AS uuid[]), CAST(? AS date[])) AS v(lead_id, day) "
+            + "WHERE l.id = v.lead_id AND (l.last_call_date IS NULL OR l.last_call_date < v.day)";
+
+    private final DataSource dataSource;
+    private final LeadScoreUpdateQueue scoreUpdateQueue;
+    private final KamChangeVersions kamChangeVersions;
+
+    /**
+     * A validated interaction. leadKamId is the KAM owning the lead, whose dashboard changes too.
+     */
+    public record NewInteraction(UUID id, UUID leadId, UUID leadKamId, UUID contactId, UUID kamId,
+                                 InteractionType type, InteractionStatus status, LocalDateTime interactionDate,
+                                 BigDecimal orderValue, LocalDate followUpDate) {
+
+        boolean isOrder() {
+            return InteractionType.ORDER.equals(type);
+        }
+
+        boolean isCompletedCall() {
+            return InteractionType.CALL.equals(type) && InteractionStatus.COMPLETED.equals(status);
+        }
+    }
+
+    private record LeadDay(UUID leadId, LocalDate day) implements Comparable<LeadDay> {
+
+        @Override
+        public int compareTo(LeadDay other) {
+            int byLead = leadId.compareTo(other.leadId);
+            return byLead != 0 ? byLead : day.compareTo(other.day);
+        }
+    }
+
+    @Autowired
+    public InteractionBatchWriter(DataSource dataSource, LeadScoreUpdateQueue scoreUpdateQueue,
+                                  KamChangeVersions kamChangeVersions) {
+        this.dataSource = dataSource;
+        this.scoreUpdateQueue = scoreUpdateQueue;
+        this.kamChangeVersions = kamChangeVersions;
+    }
+
+    /**
+     * Writes the interactions in one transaction; nothing is written if any statement fails.
+     *
+     * @param interactions The interactions, with their IDs assigned.
+     * @throws SQLException if the transaction fails (it has been rolled back).
+     */
+    public void write(List<NewInteraction> interactions) throws SQLException {
+        if (interactions.isEmpty()) {
+            return;
+        }
+        // Sorted by lead, so concurrent batches lock the same rows in the same order
+        Map<LeadDay, int[]> activity = new TreeMap<>(); // interactions, orders
+        Map<LeadDay, BigDecimal> orderValues = new TreeMap<>();
+        Map<UUID, LocalDate> lastCalls = new TreeMap<>();
+        for (NewInteraction interaction : interactions) {
+            LeadDay leadDay = new LeadDay(interaction.leadId(), interaction.interactionDate().toLocalDate());
+            int[] counts = activity.computeIfAbsent(leadDay, key -> new int[2]);
+            counts[0]++;
+            if (interaction.isOrder()) {
+                counts[1]++;
+                if (interaction.orderValue() != null) {
+                    orderValues.merge(leadDay, interaction.orderValue(), BigDecimal::add);
+                }
+            }
+            if (interaction.isCompletedCall()) {
+                lastCalls.merge(interaction.leadId(), leadDay.day(), (a, b) -> a.isAfter(b) ? a : b);
+            }
+        }
+
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setAutoCommit(false);
+            try {
+                try (PreparedStatement statement = connection.prepareStatement(INSERT_SQL)) {
+                    for (NewInteraction interaction : interactions) {
+                        bind(statement, interaction);
+                        statement.addBatch();
+                    }
+                    statement.executeBatch(); // Sent as multi-row INSERTs (reWriteBatchedInserts)
+                }
+                applyDeltas(connection, activity, orderValues);
+                if (!lastCalls.isEmpty()) {
+                    updateLastCalls(connection, lastCalls);
+                }
+                connection.commit();
+            } catch (SQLException | RuntimeException e) {
+                connection.rollback();
+                throw e;
+            }
+        }
+
+        Set<UUID> leadIds = new HashSet<>();
+        Set<UUID> kamIds = new HashSet<>();
+        for (NewInteraction interaction : interactions) {
+            leadIds.add(interaction.leadId());
+            kamIds.add(interaction.kamId());
+            kamIds.add(interaction.leadKamId());
+        }
+        leadIds.forEach(scoreUpdateQueue::markDirty);
+        kamChangeVersions.onKamsChanged(kamIds);
+    }
+
+    /**
+     * Binds the interaction's columns to parameters 1-9 in INSERT_SQL order.
+     */
+    static void bind(PreparedStatement statement, NewInteraction interaction) throws SQLException {
+        statement.setObject(1, interaction.id());
+        statement.setObject(2, interaction.leadId());
+        if (interaction.contactId() != null) {
+            statement.setObject(3, interaction.contactId());
+        } else {
+            statement.setNull(3, Types.OTHER);
+        }
+        statement.setObject(4, interaction.kamId());
+        statement.setString(5, interaction.type().name());
+        statement.setString(6, interaction.status().name());
+        statement.setTimestamp(7, Timestamp.valueOf(interaction.interactionDate()));
+        statement.setBigDecimal(8, interaction.orderValue());
+        statement.setObject(9, interaction.followUpDate());
+    }
+
+    private void applyDeltas(Connection connection, Map<LeadDay, int[]> activity,
+                             Map<LeadDay, BigDecimal> orderValues) throws SQLException {
+        int size = activity.size();
+        UUID[] leadIds = new UUID[size];
+        java.sql.Date[] days = new java.sql.Date[size];
+        Integer[] interactionCounts = new Integer[size];
+        Integer[] orderCounts = new Integer[size];
+        BigDecimal[] values = new BigDecimal[size];
+        int i = 0;
+        for (Map.Entry<LeadDay, int[]> entry : activity.entrySet()) {
+            leadIds[i] = entry.getKey().leadId();
+            days[i] = java.sql.Date.valueOf(entry.getKey().day());
+            interactionCounts[i] = entry.getValue()[0];
+            orderCounts[i] = entry.getValue()[1];
+            values[i] = orderValues.getOrDefault(entry.getKey(), BigDecimal.ZERO);
+            i++;
+        }
+        try (PreparedStatement statement = connection.prepareStatement(APPLY_DELTAS_SQL)) {
+            statement.setArray(1, connection.createArrayOf("uuid", leadIds));
+            statement.setArray(2, connection.createArrayOf("date", days));
+            statement.setArray(3, connection.createArrayOf("int4", interactionCounts));
+            statement.setArray(4, connection.createArrayOf("int4", orderCounts));
+            statement.setArray(5, connection.createArrayOf("numeric", values));
+            statement.executeUpdate();
+        }
+    }
+
+    private void updateLastCalls(Connection connection, Map<UUID, LocalDate> lastCalls) throws SQLException {
+        UUID[] leadIds = lastCalls.keySet().toArray(new UUID[0]);
+        java.sql.Date[] days = lastCalls.values().stream().map(java.sql.Date::valueOf).toArray(java.sql.Date[]::new);
+        try (PreparedStatement statement = connection.prepareStatement(UPDATE_LAST_CALLS_SQL)) {
+            statement.setArray(1, connection.createArrayOf("uuid", leadIds));
+            statement.setArray(2, connection.createArrayOf("date", days));
+            statement.executeUpdate();
+        }
+    }
+}
@@ -0,0 +1,238 @@
+package com.kamleads.management.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Maintains the monthly partitions of interactions (V13).
+ *
+ * Creates the partitions for the current month and partitions.interactions.months-ahead months ahead,
+ * so inserts never land in interactions_default by accident; rows already in the default partition for
+ * a new month are moved into it as it is created. Months that end on or before the archive cutoff
+ * (see LeadArchiveService) are detached, copied into interactions_archive in one INSERT ... SELECT
+ * and dropped, which is far cheaper than deleting them row by row.
+ *
+ * Runs at startup (creation only) and nightly before the archival job. Each partition is handled in
+ * its own transactions with a lock timeout, so a busy table delays one partition to the next run
+ * instead of stalling writers; a failed step is logged and retried by the next run. A partition that
+ * was detached but not yet archived (e.g. the app stopped in between) is finished on the next run.
+ */
+@Service
+public class InteractionPartitionService {
+
+    private static final Logger logger = LoggerFactory.getLogger(InteractionPartitionService.class);
+
+    private static final String PARTITION_PREFIX = "interactions_p";
+    private static final Pattern PARTITION_NAME = Pattern.compile("interactions_p(\\d{4})_(\\d{2})");
+    private static final DateTimeFormatter PARTITION_SUFFIX = DateTimeFormatter.ofPattern("yyyy_MM");
+
+    // Partitions and detached leftovers, by naming convention; relispartition tells them apart
+    private static final String PARTITIONS_SQL = "SELECT relname, relispartition FROM pg_class "
+            + "WHERE relnamespace = CAST(current_schema() AS regnamespace) AND relkind = 'r' "
+            + "AND relname ~ '^interactions_p[0-9]{4}_[0-9]{2}$'";
+
+    private final DataSource dataSource;
+    private final LeadArchiveService leadArchiveService;
+    private final int monthsAhead;
+    private final long lockTimeoutMs;
+
+    @Autowired
+    public InteractionPartitionService(DataSource dataSource, LeadArchiveService leadArchiveService,
+                                       @Value("${partitions.interactions.months-ahead:3}") int monthsAhead,
+                                       @Value("${partitions.interactions.lock-timeout-ms:5000}") long lockTimeoutMs) {
+        this.dataSource = dataSource;
+        this.leadArchiveService = leadArchiveService;
+        this.monthsAhead = monthsAhead;
+        this.lockTimeoutMs = lockTimeoutMs;
+    }
+
+    /**
+     * Creates missing future partitions once the application is up, in case the nightly run was missed.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void createPartitionsOnStartup() {
+        try (Connection connection = dataSource.getConnection()) {
+            createFuturePartitions(connection, findPartitions(connection));
+        } catch (SQLException e) {
+            logger.error("Could not check interaction partitions at startup", e);
+        }
+    }
+
+    /**
+     * Nightly maintenance: creates future partitions and archives expired ones.
+     */
+    @Scheduled(cron = "${partitions.interactions.cron:0 0 3 * * *}")
+    public synchronized void maintainPartitions() {
+        try (Connection connection = dataSource.getConnection()) {
+            Map<YearMonth, Boolean> partitions = findPartitions(connection);
+            createFuturePartitions(connection, partitions);
+            archiveExpiredPartitions(connection, partitions);
+        } catch (SQLException e) {
+            logger.error("Interaction partition maintenance failed", e);
+        }
+    }
+
+    /**
+     * Finds the monthly partitions by name.
+     *
+     * @return Attached (true) or detached (false) per month, oldest first.
+     */
+    private Map<YearMonth, Boolean> findPartitions(Connection connection) throws SQLException {
+        Map<YearMonth, Boolean> partitions = new TreeMap<>();
+        try (Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery(PARTITIONS_SQL)) {
+            while (resultSet.next()) {
+                Matcher matcher = PARTITION_NAME.matcher(resultSet.getString(1));
+                if (matcher.matches()) {
+                    partitions.put(YearMonth.of(Integer.parseInt(matcher.group(1)), Integer.parseInt(matcher.group(2))),
+                            resultSet.getBoolean(2));
+                }
+            }
+        }
+        return partitions;
+    }
+
+    private void createFuturePartitions(Connection connection, Map<YearMonth, Boolean> partitions) {
+        YearMonth current = YearMonth.now();
+        for (int i = 0; i <= monthsAhead; i++) {
+            YearMonth month = current.plusMonths(i);
+            if (partitions.containsKey(month)) {
+                continue;
+            }
+            try {
+                int adopted = createPartition(connection, month);
+                partitions.put(month, true);
+                logger.info("Created interaction partition {} ({} rows moved from the default partition)",
+                        partitionName(month), adopted);
+            } catch (SQLException e) {
+                logger.warn("Could not create interaction partition {}; retrying next run", partitionName(month), e);
+            }
+        }
+    }
+
+    private void archiveExpiredPartitions(Connection connection, Map<YearMonth, Boolean> partitions) {
+        LocalDate cutoff = leadArchiveService.interactionCutoff();
+        for (Map.Entry<YearMonth, Boolean> partition : partitions.entrySet()) {
+            YearMonth month = partition.getKey();
+            if (month.plusMonths(1).atDay(1).isAfter(cutoff)) {
+                break; // Oldest first: every later month is still live
+            }
+            try {
+                if (partition.getValue()) {
+                    detachPartition(connection, month);
+                }
+                int archived = archiveDetachedPartition(connection, month);
+                logger.info("Archived interaction partition {} ({} rows)", partitionName(month), archived);
+            } catch (SQLException e) {
+                logger.warn("Could not archive interaction partition {}; retrying next run", partitionName(month), e);
+            }
+        }
+    }
+
+    /**
+     * Creates the partition as a plain table, moves the month's rows out of the default partition into
+     * it, then attaches it. Creating it directly with PARTITION OF would fail if the default partition
+     * held any of its rows.
+     *
+     * @return The number of rows moved from the default partition.
+     */
+    private int createPartition(Connection connection, YearMonth month) throws SQLException {
+        String table = partitionName(month);
+        LocalDate from = month.atDay(1);
+        LocalDate to = month.plusMonths(1).atDay(1);
+        // Table names and bounds come from a YearMonth, never from input, so they can be inlined in the DDL
+        return inTransaction(connection, statement -> {
+            statement.execute("CREATE TABLE " + table + " (LIKE interactions INCLUDING DEFAULTS INCLUDING CONSTRAINTS)");
+            int adopted = statement.executeUpdate("WITH moved AS (DELETE FROM interactions_default "
+                    + "WHERE interaction_date >= '" + from + "' AND interaction_date < '" + to + "' RETURNING *) "
+                    + "INSERT INTO " + table + " SELECT * FROM moved");
+            // Indexes and foreign keys are cloned from the parent on attach
+            statement.execute("ALTER TABLE interactions ATTACH PARTITION " + table
+                    + " FOR VALUES FROM ('" + from + "') TO ('" + to + "')");
+            return adopted;
+        });
+    }
+
+    /**
+     * Detaches the partition on its own, so the brief exclusive lock on interactions is not held
+     * while its rows are copied.
+     */
+    private void detachPartition(Connection connection, YearMonth month) throws SQLException {
+        inTransaction(connection, statement -> {
+            statement.execute("ALTER TABLE interactions DETACH PARTITION " + partitionName(month));
+            return 0;
+        });
+    }
+
+    /**
+     * Copies a detached partition into interactions_archive and drops it. The partition is dropped only
+     * if every one of its rows was inserted: a row whose ID is already archived is skipped by the
+     * insert, and dropping the partition would lose it. In that case the transaction is rolled back and
+     * the partition stays detached, to be reconciled by hand; later runs keep reporting it.
+     *
+     * @return The number of rows archived.
+     */
+    private int archiveDetachedPartition(Connection connection, YearMonth month) throws SQLException {
+        String table = partitionName(month);
+        String columns = LeadArchiveService.INTERACTION_COLUMNS;
+        return inTransaction(connection, statement -> {
+            long rows;
+            try (ResultSet resultSet = statement.executeQuery("SELECT count(*) FROM " + table)) {
+                resultSet.next();
+                rows = resultSet.getLong(1);
+            }
+            int archived = statement.executeUpdate("INSERT INTO interactions_archive (" + columns + ") SELECT "
+                    + columns + " FROM " + table + " ON CONFLICT (id) DO NOTHING");
+            if (archived != rows) {
+                throw new SQLException("Only " + archived + " of " + rows + " rows of " + table
+                        + " could be archived (the rest have IDs already in interactions_archive); "
+                        + "leaving it detached");
+            }
+            statement.execute("DROP TABLE " + table);
+            return archived;
+        });
+    }
+
+    private int inTransaction(Connection connection, PartitionStep step) throws SQLException {
+        connection.setAutoCommit(false);
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("SET LOCAL lock_timeout = " + lockTimeoutMs);
+            int result = step.run(statement);
+            connection.commit();
+            return result;
+        } catch (SQLException | RuntimeException e) {
+            connection.rollback();
+            throw e;
+        } finally {
+            connection.setAutoCommit(true);
+        }
+    }
+
+    private static String partitionName(YearMonth month) {
+        return PARTITION_PREFIX + month.format(PARTITION_SUFFIX);
+    }
+
+    @FunctionalInterface
+    private interface PartitionStep {
+        int run(Statement statement) throws SQLException;
+    }
+}
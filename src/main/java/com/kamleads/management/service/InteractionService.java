@@ -1,80 +1,117 @@
 package com.kamleads.management.service;
 
+import com.kamleads.management.dto.WriteReferencesDto;
+import com.kamleads.management.dto.request.InteractionBulkRowDto;
 import com.kamleads.management.dto.request.InteractionCreateRequestDto;
+import com.kamleads.management.dto.response.BulkInteractionResponseDto;
+import com.kamleads.management.dto.response.BulkRowErrorDto;
+import com.kamleads.management.dto.response.CursorPageResponseDto;
 import com.kamleads.management.dto.response.InteractionResponseDto;
+import com.kamleads.management.enums.CountMode;
 import com.kamleads.management.enums.InteractionStatus;
 import com.kamleads.management.enums.InteractionType;
-import com.kamleads.management.model.Contact;
+import com.kamleads.management.exception.BadRequestException;
 import com.kamleads.management.model.Interaction;
-import com.kamleads.management.model.Lead;
-import com.kamleads.management.model.User;
 import com.kamleads.management.repository.ContactRepository;
 import com.kamleads.management.repository.InteractionRepository;
+import com.kamleads.management.repository.LeadDailyActivityRepository;
 import com.kamleads.management.repository.LeadRepository;
 import com.kamleads.management.repository.UserRepository;
+import com.kamleads.management.service.InteractionBatchWriter.NewInteraction;
+import com.kamleads.management.util.CursorCodec;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.math.BigDecimal;
+import java.sql.SQLException;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
 public class InteractionService {
 
+    private static final int BULK_LOOKUP_CHUNK_SIZE = 5000; // IDs per IN query, well under the bind-parameter limit
+    // Ceiling for CountMode.CAPPED; clients show "1000+" beyond this
+    private static final int CAPPED_COUNT_LIMIT = 1000;
+
+    /**
+     * Position of the last row of a cursor window: its interaction date and id.
+     */
+    private record InteractionCursor(LocalDateTime interactionDate, UUID id) {
+    }
+
     private final InteractionRepository interactionRepository;
     private final LeadRepository leadRepository;
     private final ContactRepository contactRepository;
     private final UserRepository userRepository;
+    private final LeadDailyActivityRepository leadDailyActivityRepository;
+    private final LeadScoreUpdateQueue scoreUpdateQueue;
+    private final KamChangeVersions kamChangeVersions;
+    private final OptimisticLockRetry optimisticLockRetry;
+    private final InteractionBatchWriter batchWriter;
+    private final Validator validator;
 
     @Autowired
     public InteractionService(InteractionRepository interactionRepository, LeadRepository leadRepository,
-                              ContactRepository contactRepository, UserRepository userRepository) {
+                              ContactRepository contactRepository, UserRepository userRepository,
+                              LeadDailyActivityRepository leadDailyActivityRepository,
+                              LeadScoreUpdateQueue scoreUpdateQueue, KamChangeVersions kamChangeVersions,
+                              OptimisticLockRetry optimisticLockRetry, InteractionBatchWriter batchWriter,
+                              Validator validator) {
         this.interactionRepository = interactionRepository;
         this.leadRepository = leadRepository;
         this.contactRepository = contactRepository;
         this.userRepository = userRepository;
+        this.leadDailyActivityRepository = leadDailyActivityRepository;
+        this.scoreUpdateQueue = scoreUpdateQueue;
+        this.kamChangeVersions = kamChangeVersions;
+        this.optimisticLockRetry = optimisticLockRetry;
+        this.batchWriter = batchWriter;
+        this.validator = validator;
     }
 
     /**
      * Creates a new interaction (call, order, email, meeting).
      * Automatically sets interaction date to now if not provided implicitly by the DTO.
      * Updates lead's lastCallDate if the interaction is a 'CALL' and 'COMPLETED'.
+     * The lead, KAM and contact are checked with one query and attached as references, not loaded.
      *
      * @param requestDto The DTO containing interaction creation details.
      * @return InteractionResponseDto of the created interaction.
      * @throws RuntimeException if lead or KAM not found, or contact not found if provided.
      */
-    @Transactional
     public InteractionResponseDto createInteraction(InteractionCreateRequestDto requestDto) {
-        Lead lead = leadRepository.findById(requestDto.getLeadId())
-                .orElseThrow(() -> new RuntimeException("Lead not found with ID: " + requestDto.getLeadId()));
-
-        User kam = userRepository.findById(requestDto.getKamId())
-                .orElseThrow(() -> new RuntimeException("KAM not found with ID: " + requestDto.getKamId()));
+        // Runs in its own transaction, retried on an optimistic-lock conflict
+        return optimisticLockRetry.execute(() -> createInteractionOnce(requestDto));
+    }
 
-        Contact contact = null;
-        if (requestDto.getContactId() != null) {
-            contact = contactRepository.findById(requestDto.getContactId())
-                    .orElseThrow(() -> new RuntimeException("Contact not found with ID: " + requestDto.getContactId()));
-            // Ensure contact belongs to the specified lead
-            if (!contact.getLead().getId().equals(lead.getId())) {
-                throw new IllegalArgumentException("Contact does not belong to the specified lead.");
-            }
-        }
+    private InteractionResponseDto createInteractionOnce(InteractionCreateRequestDto requestDto) {
+        WriteReferencesDto refs = findWriteReferences(requestDto);
 
+        // The ID is left to the generator, so save() persists instead of merging (which would SELECT first)
         Interaction interaction = new Interaction();
-        interaction.setId(UUID.randomUUID());
-        interaction.setLead(lead);
-        interaction.setContact(contact);
-        interaction.setKam(kam);
+        interaction.setLead(leadRepository.getReferenceById(refs.getLeadId()));
+        interaction.setContact(refs.getContactId() != null ? contactRepository.getReferenceById(refs.getContactId()) : null);
+        interaction.setKam(userRepository.getReferenceById(refs.getKamId()));
         interaction.setType(requestDto.getType());
         interaction.setStatus(requestDto.getStatus());
         interaction.setInteractionDate(LocalDateTime.now()); // Set current timestamp for interaction
@@ -82,14 +119,110 @@ public class InteractionService {
         interaction.setFollowUpDate(requestDto.getFollowUpDate());
 
         Interaction savedInteraction = interactionRepository.save(interaction);
+        leadDailyActivityRepository.applyDelta(refs.getLeadId(), savedInteraction.getInteractionDate().toLocalDate(),
+                1, orderCount(savedInteraction), orderValue(savedInteraction));
+        scoreUpdateQueue.markDirty(refs.getLeadId());
 
         // Update lead's last call date if this is a completed call
         if (InteractionType.CALL.equals(savedInteraction.getType()) && InteractionStatus.COMPLETED.equals(savedInteraction.getStatus())) {
-            lead.setLastCallDate(savedInteraction.getInteractionDate().toLocalDate());
-            leadRepository.save(lead);
+            leadRepository.advanceLastCallDate(refs.getLeadId(), savedInteraction.getInteractionDate().toLocalDate());
+        }
+        kamChangeVersions.onKamsChanged(List.of(refs.getKamId(), refs.getLeadKamId()));
+
+        return mapToInteractionResponseDto(savedInteraction, refs);
+    }
+
+    /**
+     * Creates interactions in bulk, e.g. a nightly POS order feed.
+     * Lead, KAM and contact references are resolved for the whole request with a few IN queries;
+     * invalid rows are reported by index and the rest are written in one transaction through
+     * InteractionBatchWriter (multi-row INSERTs, one daily-activity upsert, one lastCallDate UPDATE).
+     *
+     * @param rows The interactions to create.
+     * @return BulkInteractionResponseDto with the created IDs and per-row errors.
+     * @throws RuntimeException if the write fails; nothing is written then.
+     */
+    public BulkInteractionResponseDto bulkCreateInteractions(List<InteractionBulkRowDto> rows) {
+        long started = System.nanoTime();
+        List<BulkRowErrorDto> errors = new ArrayList<>();
+
+        // Field validation, before touching the database
+        List<Integer> validIndexes = new ArrayList<>();
+        Set<UUID> leadIds = new HashSet<>();
+        Set<UUID> kamIds = new HashSet<>();
+        Set<UUID> contactIds = new HashSet<>();
+        for (int i = 0; i < rows.size(); i++) {
+            InteractionBulkRowDto row = rows.get(i);
+            if (row == null) {
+                errors.add(new BulkRowErrorDto(i, null, "Row is empty"));
+                continue;
+            }
+            Set<ConstraintViolation<InteractionBulkRowDto>> violations = validator.validate(row);
+            if (!violations.isEmpty()) {
+                String message = violations.stream()
+                        .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                        .sorted()
+                        .collect(Collectors.joining("; "));
+                errors.add(new BulkRowErrorDto(i, null, message));
+                continue;
+            }
+            validIndexes.add(i);
+            leadIds.add(row.getLeadId());
+            kamIds.add(row.getKamId());
+            if (row.getContactId() != null) {
+                contactIds.add(row.getContactId());
+            }
+        }
+
+        Map<UUID, UUID> kamIdsByLeadId = new HashMap<>();
+        inChunks(leadIds, leadRepository::findKamIdsByIdIn)
+                .forEach(row -> kamIdsByLeadId.put((UUID) row[0], (UUID) row[1]));
+        Set<UUID> existingKamIds = new HashSet<>(inChunks(kamIds, userRepository::findExistingIds));
+        Map<UUID, UUID> leadIdsByContactId = new HashMap<>();
+        inChunks(contactIds, contactRepository::findLeadIdsByIdIn)
+                .forEach(row -> leadIdsByContactId.put((UUID) row[0], (UUID) row[1]));
+
+        LocalDateTime now = LocalDateTime.now();
+        List<NewInteraction> interactions = new ArrayList<>(validIndexes.size());
+        for (int i : validIndexes) {
+            InteractionBulkRowDto row = rows.get(i);
+            UUID leadKamId = kamIdsByLeadId.get(row.getLeadId());
+            if (leadKamId == null) {
+                errors.add(new BulkRowErrorDto(i, null, "Lead not found with ID: " + row.getLeadId()));
+                continue;
+            }
+            if (!existingKamIds.contains(row.getKamId())) {
+                errors.add(new BulkRowErrorDto(i, null, "KAM not found with ID: " + row.getKamId()));
+                continue;
+            }
+            if (row.getContactId() != null) {
+                UUID contactLeadId = leadIdsByContactId.get(row.getContactId());
+                if (contactLeadId == null) {
+                    errors.add(new BulkRowErrorDto(i, null, "Contact not found with ID: " + row.getContactId()));
+                    continue;
+                }
+                if (!contactLeadId.equals(row.getLeadId())) {
+                    errors.add(new BulkRowErrorDto(i, null, "Contact does not belong to the specified lead."));
+                    continue;
+                }
+            }
+            interactions.add(new NewInteraction(UUID.randomUUID(), row.getLeadId(), leadKamId, row.getContactId(),
+                    row.getKamId(), row.getType(), row.getStatus(),
+                    row.getInteractionDate() != null ? row.getInteractionDate() : now,
+                    row.getOrderValue(), row.getFollowUpDate()));
         }
 
-        return mapToInteractionResponseDto(savedInteraction);
+        try {
+            batchWriter.write(interactions);
+        } catch (SQLException e) {
+            throw new RuntimeException("Could not write interactions: " + e.getMessage(), e);
+        }
+
+        errors.sort(Comparator.comparingInt(BulkRowErrorDto::getIndex));
+        long durationMs = Math.max(1, (System.nanoTime() - started) / 1_000_000);
+        List<UUID> interactionIds = interactions.stream().map(NewInteraction::id).collect(Collectors.toList());
+        return new BulkInteractionResponseDto(rows.size(), interactions.size(), errors.size(), interactionIds, errors,
+                durationMs, interactions.size() * 1000L / durationMs);
     }
 
     /**
@@ -148,6 +281,89 @@ public class InteractionService {
         return new PageImpl<>(dtoList, pageable, interactionsPage.getTotalElements());
     }
 
+    /**
+     * Retrieves a lead's interactions newest first with cursor (keyset) pagination, for scrolling
+     * long histories. Each window seeks straight to its position instead of skipping OFFSET rows.
+     *
+     * @param leadId The UUID of the lead.
+     * @param cursor The nextCursor of the previous window, or null for the first one.
+     * @param size Window size.
+     * @param countMode NONE, CAPPED or EXACT.
+     * @return CursorPageResponseDto of InteractionResponseDto.
+     * @throws RuntimeException if lead not found.
+     */
+    @Transactional(readOnly = true)
+    public CursorPageResponseDto<InteractionResponseDto> getInteractionsByLeadIdCursor(UUID leadId, String cursor,
+                                                                                       int size, CountMode countMode) {
+        if (!leadRepository.existsById(leadId)) {
+            throw new RuntimeException("Lead not found with ID: " + leadId);
+        }
+        Pageable window = PageRequest.of(0, size + 1); // One extra row tells whether another window exists
+        List<Interaction> rows;
+        if (cursor == null || cursor.isBlank()) {
+            rows = interactionRepository.findFirstWindowByLeadId(leadId, window);
+        } else {
+            InteractionCursor after = decodeCursor(cursor);
+            rows = interactionRepository.findWindowByLeadIdAfter(leadId, after.interactionDate(), after.id(), window);
+        }
+
+        Long total = null;
+        boolean capped = false;
+        if (countMode == CountMode.EXACT) {
+            total = interactionRepository.countByLeadId(leadId);
+        } else if (countMode == CountMode.CAPPED) {
+            int seen = interactionRepository.findIdsByLeadId(leadId, PageRequest.of(0, CAPPED_COUNT_LIMIT + 1)).size();
+            capped = seen > CAPPED_COUNT_LIMIT;
+            total = (long) Math.min(seen, CAPPED_COUNT_LIMIT);
+        }
+        return toCursorPage(rows, size, total, capped);
+    }
+
+    /**
+     * Retrieves a KAM's interactions within a date range newest first, with cursor (keyset) pagination.
+     * The next window must be requested with the same date range.
+     *
+     * @param kamId The UUID of the KAM.
+     * @param startDate Start date for interactions.
+     * @param endDate End date for interactions.
+     * @param cursor The nextCursor of the previous window, or null for the first one.
+     * @param size Window size.
+     * @param countMode NONE, CAPPED or EXACT.
+     * @return CursorPageResponseDto of InteractionResponseDto.
+     * @throws RuntimeException if KAM not found.
+     */
+    @Transactional(readOnly = true)
+    public CursorPageResponseDto<InteractionResponseDto> getInteractionsByKamAndDateRangeCursor(UUID kamId,
+                                                                                                LocalDateTime startDate,
+                                                                                                LocalDateTime endDate,
+                                                                                                String cursor, int size,
+                                                                                                CountMode countMode) {
+        if (!userRepository.existsById(kamId)) {
+            throw new RuntimeException("KAM not found with ID: " + kamId);
+        }
+        Pageable window = PageRequest.of(0, size + 1);
+        List<Interaction> rows;
+        if (cursor == null || cursor.isBlank()) {
+            rows = interactionRepository.findFirstWindowByKamIdAndDateRange(kamId, startDate, endDate, window);
+        } else {
+            InteractionCursor after = decodeCursor(cursor);
+            rows = interactionRepository.findWindowByKamIdAndDateRangeAfter(
+                    kamId, startDate, endDate, after.interactionDate(), after.id(), window);
+        }
+
+        Long total = null;
+        boolean capped = false;
+        if (countMode == CountMode.EXACT) {
+            total = interactionRepository.countByKamIdAndDateRange(kamId, startDate, endDate);
+        } else if (countMode == CountMode.CAPPED) {
+            int seen = interactionRepository.findIdsByKamIdAndDateRange(
+                    kamId, startDate, endDate, PageRequest.of(0, CAPPED_COUNT_LIMIT + 1)).size();
+            capped = seen > CAPPED_COUNT_LIMIT;
+            total = (long) Math.min(seen, CAPPED_COUNT_LIMIT);
+        }
+        return toCursorPage(rows, size, total, capped);
+    }
+
     /**
      * Updates an existing interaction's details.
      *
@@ -156,35 +372,29 @@ public class InteractionService {
      * @return InteractionResponseDto of the updated interaction.
      * @throws RuntimeException if interaction, lead, KAM, or contact not found, or contact-lead mismatch.
      */
-    @Transactional
     public InteractionResponseDto updateInteraction(UUID id, InteractionCreateRequestDto requestDto) {
+        return optimisticLockRetry.execute(() -> updateInteractionOnce(id, requestDto));
+    }
+
+    private InteractionResponseDto updateInteractionOnce(UUID id, InteractionCreateRequestDto requestDto) {
         Interaction interaction = interactionRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Interaction not found with ID: " + id));
 
-        Lead lead = leadRepository.findById(requestDto.getLeadId())
-                .orElseThrow(() -> new RuntimeException("Lead not found with ID: " + requestDto.getLeadId()));
-
-        User kam = userRepository.findById(requestDto.getKamId())
-                .orElseThrow(() -> new RuntimeException("KAM not found with ID: " + requestDto.getKamId()));
-
-        Contact contact = null;
-        if (requestDto.getContactId() != null) {
-            contact = contactRepository.findById(requestDto.getContactId())
-                    .orElseThrow(() -> new RuntimeException("Contact not found with ID: " + requestDto.getContactId()));
-            if (!contact.getLead().getId().equals(lead.getId())) {
-                throw new IllegalArgumentException("Contact does not belong to the specified lead.");
-            }
-        }
+        WriteReferencesDto refs = findWriteReferences(requestDto);
 
         // Prevent changing lead/KAM for an existing interaction (usually not allowed)
-        if (!interaction.getLead().getId().equals(lead.getId())) {
+        if (!interaction.getLead().getId().equals(refs.getLeadId())) {
             throw new IllegalArgumentException("Cannot change lead for an existing interaction.");
         }
-        if (!interaction.getKam().getId().equals(kam.getId())) {
+        if (!interaction.getKam().getId().equals(refs.getKamId())) {
             throw new IllegalArgumentException("Cannot change KAM for an existing interaction.");
         }
 
-        interaction.setContact(contact);
+        // Captured before the change so the daily activity bucket can be adjusted by the difference
+        int previousOrderCount = orderCount(interaction);
+        BigDecimal previousOrderValue = orderValue(interaction);
+
+        interaction.setContact(refs.getContactId() != null ? contactRepository.getReferenceById(refs.getContactId()) : null);
         interaction.setType(requestDto.getType());
         interaction.setStatus(requestDto.getStatus());
         // Do not update interactionDate automatically on update, only on creation
@@ -193,14 +403,21 @@ public class InteractionService {
         interaction.setFollowUpDate(requestDto.getFollowUpDate());
 
         Interaction updatedInteraction = interactionRepository.save(interaction);
+        int orderCountDelta = orderCount(updatedInteraction) - previousOrderCount;
+        BigDecimal orderValueDelta = orderValue(updatedInteraction).subtract(previousOrderValue);
+        if (orderCountDelta != 0 || orderValueDelta.signum() != 0) {
+            leadDailyActivityRepository.applyDelta(refs.getLeadId(), updatedInteraction.getInteractionDate().toLocalDate(),
+                    0, orderCountDelta, orderValueDelta);
+            scoreUpdateQueue.markDirty(refs.getLeadId());
+        }
 
         // Update lead's last call date if this is a completed call
         if (InteractionType.CALL.equals(updatedInteraction.getType()) && InteractionStatus.COMPLETED.equals(updatedInteraction.getStatus())) {
-            lead.setLastCallDate(updatedInteraction.getInteractionDate().toLocalDate());
-            leadRepository.save(lead);
+            leadRepository.advanceLastCallDate(refs.getLeadId(), updatedInteraction.getInteractionDate().toLocalDate());
         }
+        kamChangeVersions.onKamsChanged(List.of(refs.getKamId(), refs.getLeadKamId()));
 
-        return mapToInteractionResponseDto(updatedInteraction);
+        return mapToInteractionResponseDto(updatedInteraction, refs);
     }
 
     /**
@@ -211,10 +428,13 @@ public class InteractionService {
      */
     @Transactional
     public void deleteInteraction(UUID id) {
-        if (!interactionRepository.existsById(id)) {
-            throw new RuntimeException("Interaction not found with ID: " + id);
-        }
-        interactionRepository.deleteById(id);
+        Interaction interaction = interactionRepository.findById(id)
+                .orElseThrow(() -> new RuntimeException("Interaction not found with ID: " + id));
+        leadDailyActivityRepository.applyDelta(interaction.getLead().getId(), interaction.getInteractionDate().toLocalDate(),
+                -1, -orderCount(interaction), orderValue(interaction).negate());
+        interactionRepository.delete(interaction);
+        scoreUpdateQueue.markDirty(interaction.getLead().getId());
+        kamChangeVersions.onKamsChanged(List.of(interaction.getKam().getId(), interaction.getLead().getKam().getId()));
     }
 
     /**
@@ -231,6 +451,101 @@ public class InteractionService {
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Helper methods giving an interaction's contribution to its lead's daily activity bucket:
+     * 1 order and its value for an ORDER interaction, nothing otherwise.
+     */
+    private int orderCount(Interaction interaction) {
+        return InteractionType.ORDER.equals(interaction.getType()) ? 1 : 0;
+    }
+
+    private BigDecimal orderValue(Interaction interaction) {
+        if (!InteractionType.ORDER.equals(interaction.getType()) || interaction.getOrderValue() == null) {
+            return BigDecimal.ZERO;
+        }
+        return interaction.getOrderValue();
+    }
+
+    // Runs an IN (...) lookup in chunks of BULK_LOOKUP_CHUNK_SIZE ids and concatenates the results
+    private static <T> List<T> inChunks(Collection<UUID> ids, Function<List<UUID>, List<T>> query) {
+        List<UUID> idList = new ArrayList<>(ids);
+        List<T> results = new ArrayList<>();
+        for (int from = 0; from < idList.size(); from += BULK_LOOKUP_CHUNK_SIZE) {
+            results.addAll(query.apply(idList.subList(from, Math.min(from + BULK_LOOKUP_CHUNK_SIZE, idList.size()))));
+        }
+        return results;
+    }
+
+    private CursorPageResponseDto<InteractionResponseDto> toCursorPage(List<Interaction> rows, int size,
+                                                                      Long total, boolean capped) {
+        boolean hasNext = rows.size() > size;
+        List<Interaction> content = hasNext ? rows.subList(0, size) : rows;
+        String nextCursor = null;
+        if (hasNext) {
+            Interaction last = content.get(content.size() - 1);
+            nextCursor = CursorCodec.encode(List.of(last.getInteractionDate().toString(), last.getId().toString()));
+        }
+        List<InteractionResponseDto> dtoList = content.stream()
+                .map(this::mapToInteractionResponseDto)
+                .collect(Collectors.toList());
+        return new CursorPageResponseDto<>(dtoList, nextCursor, total, capped);
+    }
+
+    private InteractionCursor decodeCursor(String cursor) {
+        List<String> parts = CursorCodec.decode(cursor, 2);
+        try {
+            return new InteractionCursor(LocalDateTime.parse(parts.get(0)), UUID.fromString(parts.get(1)));
+        } catch (RuntimeException e) {
+            throw new BadRequestException("Invalid cursor", e);
+        }
+    }
+
+    /**
+     * Checks the lead, KAM and contact of a single write with one query: they must exist and the
+     * contact must belong to the lead.
+     *
+     * @throws RuntimeException if lead, KAM or contact not found.
+     * @throws IllegalArgumentException if the contact belongs to another lead.
+     */
+    private WriteReferencesDto findWriteReferences(InteractionCreateRequestDto requestDto) {
+        WriteReferencesDto refs = leadRepository.findWriteReferences(
+                        requestDto.getLeadId(), requestDto.getKamId(), requestDto.getContactId())
+                .orElseThrow(() -> new RuntimeException("Lead not found with ID: " + requestDto.getLeadId()));
+        if (refs.getKamId() == null) {
+            throw new RuntimeException("KAM not found with ID: " + requestDto.getKamId());
+        }
+        if (requestDto.getContactId() != null) {
+            if (refs.getContactId() == null) {
+                throw new RuntimeException("Contact not found with ID: " + requestDto.getContactId());
+            }
+            if (!refs.getLeadId().equals(refs.getContactLeadId())) {
+                throw new IllegalArgumentException("Contact does not belong to the specified lead.");
+            }
+        }
+        return refs;
+    }
+
+    /**
+     * Maps an interaction whose lead, KAM and contact are unloaded references, taking their names from
+     * the checked references instead of initializing the proxies.
+     */
+    private InteractionResponseDto mapToInteractionResponseDto(Interaction interaction, WriteReferencesDto refs) {
+        InteractionResponseDto dto = new InteractionResponseDto();
+        dto.setId(interaction.getId());
+        dto.setLeadId(refs.getLeadId());
+        dto.setLeadName(refs.getLeadName());
+        dto.setKamId(refs.getKamId());
+        dto.setKamName(refs.getKamName());
+        dto.setType(interaction.getType());
+        dto.setStatus(interaction.getStatus());
+        dto.setInteractionDate(interaction.getInteractionDate());
+        dto.setOrderValue(interaction.getOrderValue());
+        dto.setFollowUpDate(interaction.getFollowUpDate());
+        dto.setContactId(refs.getContactId());
+        dto.setContactName(refs.getContactName());
+        return dto;
+    }
+
     /**
      * Helper method to map Interaction entity to InteractionResponseDto.
      *
@@ -0,0 +1,361 @@
+package com.kamleads.management.service;
+
+import com.kamleads.management.dto.request.InteractionCreateRequestDto;
+import com.kamleads.management.dto.response.InteractionResponseDto;
+import com.kamleads.management.service.InteractionBatchWriter.NewInteraction;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Asynchronous write path for new interactions (POST /api/interactions?async=true).
+ *
+ * A request is validated with one read query (lead, KAM and contact in a single round trip, which
+ * also yields the names for the response), given its ID and timestamp, and acknowledged once it is
+ * in a bounded in-memory queue; it never waits for a commit. A small pool of writers drains the queue
+ * and group-commits each batch through InteractionBatchWriter, so a burst of requests costs a handful
+ * of statements and one commit.
+ *
+ * Backpressure: when the queue stays full for the offer timeout, or the writers are failing, submit
+ * declines and the caller writes synchronously instead, so load beyond what the database can absorb
+ * slows callers down rather than growing the queue. Failures: a batch rejected by the database is
+ * retried row by row; a row that still fails, a batch that keeps failing past the retries, or a batch
+ * whose write fails unexpectedly goes to interaction_ingest_failures (V14) instead of being dropped.
+ * The queue is drained on shutdown.
+ *
+ * Durability: accepted interactions exist only in this process's memory until their batch commits.
+ * If the process dies first (crash, kill -9, OOM), up to a queue's worth of interactions that were
+ * acknowledged with 202 are lost and nothing records them. The path is therefore off unless
+ * interactions.async.enabled is set; while it is off, submit always declines and every request is
+ * written synchronously. Enable it only for feeds that can tolerate or re-send lost writes.
+ */
+@Component
+public class InteractionWriteQueue {
+
+    private static final Logger logger = LoggerFactory.getLogger(InteractionWriteQueue.class);
+
+    // A missing lead or KAM leaves its columns null; the contact's lead_id is checked against the lead
+    private static final String VALIDATE_SQL = "SELECT l.id, l.name, l.kam_id, u.id, u.name, c.id, c.name, c.lead_id "
+            + "FROM (SELECT 1) AS probe "
+            + "LEFT JOIN leads l ON l.id = ? "
+            + "LEFT JOIN users u ON u.id = ? "
+            + "LEFT JOIN contacts c ON c.id = ?";
+    private static final String DEAD_LETTER_SQL = "INSERT INTO interaction_ingest_failures (id, lead_id, contact_id, kam_id, "
+            + "type, status, interaction_date, order_value, follow_up_date, error) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?) "
+            + "ON CONFLICT (id) DO NOTHING";
+
+    private final DataSource dataSource;
+    private final InteractionBatchWriter batchWriter;
+    private final boolean enabled;
+    private final int maxBatchSize;
+    private final long lingerNanos;
+    private final long offerTimeoutMs;
+    private final int maxAttempts;
+    private final long retryBackoffMs;
+    private final long shutdownTimeoutMs;
+    private final Counter writtenCounter;
+    private final Counter deadLetteredCounter;
+    private final Counter declinedCounter;
+
+    private final BlockingQueue<NewInteraction> queue;
+    private final ExecutorService writers;
+    private final AtomicInteger failingWriters = new AtomicInteger();
+    private volatile boolean stopping;
+
+    // A validated request: the response to acknowledge with, plus the lead's KAM for the ETag bump
+    private record Validated(InteractionResponseDto response, UUID leadKamId) {
+    }
+
+    @Autowired
+    public InteractionWriteQueue(DataSource dataSource, InteractionBatchWriter batchWriter, MeterRegistry meterRegistry,
+                                 @Value("${interactions.async.enabled:false}") boolean enabled,
+                                 @Value("${interactions.async.queue-capacity:10000}") int queueCapacity,
+                                 @Value("${interactions.async.writers:2}") int writerCount,
+                                 @Value("${interactions.async.max-batch-size:500}") int maxBatchSize,
+                                 @Value("${interactions.async.linger-ms:10}") long lingerMs,
+                                 @Value("${interactions.async.offer-timeout-ms:50}") long offerTimeoutMs,
+                                 @Value("${interactions.async.max-attempts:5}") int maxAttempts,
+                                 @Value("${interactions.async.retry-backoff-ms:200}") long retryBackoffMs,
+                                 @Value("${interactions.async.shutdown-timeout-ms:30000}") long shutdownTimeoutMs) {
+        this.dataSource = dataSource;
+        this.batchWriter = batchWriter;
+        this.enabled = enabled;
+        this.maxBatchSize = maxBatchSize;
+        this.lingerNanos = TimeUnit.MILLISECONDS.toNanos(lingerMs);
+        this.offerTimeoutMs = offerTimeoutMs;
+        this.maxAttempts = maxAttempts;
+        this.retryBackoffMs = retryBackoffMs;
+        this.shutdownTimeoutMs = shutdownTimeoutMs;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.writtenCounter = Counter.builder("interactions.ingest.written")
+                .description("Interactions written by the asynchronous path")
+                .register(meterRegistry);
+        this.deadLetteredCounter = Counter.builder("interactions.ingest.dead_lettered")
+                .description("Accepted interactions that could not be written and went to interaction_ingest_failures")
+                .register(meterRegistry);
+        this.declinedCounter = Counter.builder("interactions.ingest.declined")
+                .description("Asynchronous requests written synchronously because the queue was full or failing")
+                .register(meterRegistry);
+        Gauge.builder("interactions.ingest.queued", queue, BlockingQueue::size)
+                .description("Accepted interactions waiting to be written")
+                .register(meterRegistry);
+
+        this.writers = Executors.newFixedThreadPool(writerCount, runnable -> {
+            Thread thread = new Thread(runnable, "interaction-writer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        // Disabled: no writer is started (the pool creates threads on submit) and submit declines everything
+        for (int i = 0; enabled && i < writerCount; i++) {
+            writers.submit(this::runWriter);
+        }
+    }
+
+    /**
+     * Validates an interaction and queues it for writing.
+     *
+     * @param requestDto The DTO containing interaction creation details.
+     * @return InteractionResponseDto of the accepted interaction, with its ID; empty if the queue declined
+     *         it (disabled, full, failing or shutting down) and the caller should write it synchronously.
+     *         An accepted interaction is not yet durable; see the class comment.
+     * @throws RuntimeException if lead or KAM not found, or contact not found if provided.
+     * @throws IllegalArgumentException if the contact does not belong to the lead.
+     */
+    public Optional<InteractionResponseDto> submit(InteractionCreateRequestDto requestDto) {
+        if (!enabled || stopping || failingWriters.get() > 0) {
+            declinedCounter.increment();
+            return Optional.empty();
+        }
+        Validated validated = validate(requestDto);
+        InteractionResponseDto response = validated.response();
+        response.setId(UUID.randomUUID());
+        response.setType(requestDto.getType());
+        response.setStatus(requestDto.getStatus());
+        response.setInteractionDate(LocalDateTime.now());
+        response.setOrderValue(requestDto.getOrderValue());
+        response.setFollowUpDate(requestDto.getFollowUpDate());
+
+        NewInteraction pending = new NewInteraction(response.getId(), response.getLeadId(), validated.leadKamId(),
+                response.getContactId(), response.getKamId(), response.getType(), response.getStatus(),
+                response.getInteractionDate(), response.getOrderValue(), response.getFollowUpDate());
+        try {
+            if (queue.offer(pending, offerTimeoutMs, TimeUnit.MILLISECONDS)) {
+                return Optional.of(response);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        declinedCounter.increment();
+        return Optional.empty();
+    }
+
+    /**
+     * Stops accepting, writes what is still queued, and waits up to the shutdown timeout for the writers.
+     */
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        stopping = true;
+        writers.shutdown();
+        if (!writers.awaitTermination(shutdownTimeoutMs, TimeUnit.MILLISECONDS)) {
+            logger.error("Interaction writers did not drain in {} ms; {} accepted interactions were not written",
+                    shutdownTimeoutMs, queue.size());
+        }
+    }
+
+    private Validated validate(InteractionCreateRequestDto requestDto) {
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement(VALIDATE_SQL)) {
+            statement.setObject(1, requestDto.getLeadId());
+            statement.setObject(2, requestDto.getKamId());
+            if (requestDto.getContactId() != null) {
+                statement.setObject(3, requestDto.getContactId());
+            } else {
+                statement.setNull(3, Types.OTHER);
+            }
+            try (ResultSet resultSet = statement.executeQuery()) {
+                resultSet.next();
+                if (resultSet.getObject(1) == null) {
+                    throw new RuntimeException("Lead not found with ID: " + requestDto.getLeadId());
+                }
+                if (resultSet.getObject(4) == null) {
+                    throw new RuntimeException("KAM not found with ID: " + requestDto.getKamId());
+                }
+                InteractionResponseDto response = new InteractionResponseDto();
+                response.setLeadId(requestDto.getLeadId());
+                response.setLeadName(resultSet.getString(2));
+                response.setKamId(requestDto.getKamId());
+                response.setKamName(resultSet.getString(5));
+                if (requestDto.getContactId() != null) {
+                    if (resultSet.getObject(6) == null) {
+                        throw new RuntimeException("Contact not found with ID: " + requestDto.getContactId());
+                    }
+                    if (!requestDto.getLeadId().equals(resultSet.getObject(8, UUID.class))) {
+                        throw new IllegalArgumentException("Contact does not belong to the specified lead.");
+                    }
+                    response.setContactId(requestDto.getContactId());
+                    response.setContactName(resultSet.getString(7));
+                }
+                return new Validated(response, resultSet.getObject(3, UUID.class));
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Could not validate interaction: " + e.getMessage(), e);
+        }
+    }
+
+    private void runWriter() {
+        List<NewInteraction> batch = new ArrayList<>(maxBatchSize);
+        // After shutdown() the loop keeps going until the queue is empty
+        while (!stopping || !queue.isEmpty()) {
+            try {
+                NewInteraction first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                // Group commit: give requests arriving right behind this one a moment to join its transaction
+                long deadline = System.nanoTime() + lingerNanos;
+                while (batch.size() < maxBatchSize) {
+                    queue.drainTo(batch, maxBatchSize - batch.size());
+                    long remaining = deadline - System.nanoTime();
+                    if (batch.size() >= maxBatchSize || remaining <= 0) {
+                        break;
+                    }
+                    NewInteraction next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+                writeOrDeadLetter(batch);
+            } catch (InterruptedException e) {
+                if (!batch.isEmpty()) {
+                    writeOrDeadLetter(batch);
+                }
+                Thread.currentThread().interrupt();
+                return;
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    /**
+     * Writes a batch; if the write fails with anything other than an SQLException (a bug, a pool that
+     * cannot hand out connections), the batch goes to interaction_ingest_failures rather than being
+     * dropped. Rows that were written before the failure are skipped when the failures are replayed,
+     * as their IDs already exist.
+     */
+    private void writeOrDeadLetter(List<NewInteraction> batch) {
+        try {
+            writeWithRetry(batch);
+        } catch (RuntimeException e) {
+            logger.error("Interaction writer failed on a batch of {}", batch.size(), e);
+            deadLetter(batch, e);
+        }
+    }
+
+    /**
+     * Writes a batch, retrying with backoff while the database is unavailable. A batch the database
+     * rejects is split into single rows so one bad row does not hold back the rest.
+     */
+    private void writeWithRetry(List<NewInteraction> batch) {
+        boolean failing = false;
+        try {
+            for (int attempt = 1; ; attempt++) {
+                try {
+                    batchWriter.write(batch);
+                    writtenCounter.increment(batch.size());
+                    return;
+                } catch (SQLException e) {
+                    if (isRejectedData(e)) {
+                        if (batch.size() == 1) {
+                            deadLetter(batch, e);
+                        } else {
+                            batch.forEach(pending -> writeWithRetry(List.of(pending)));
+                        }
+                        return;
+                    }
+                    if (attempt >= maxAttempts) {
+                        deadLetter(batch, e);
+                        return;
+                    }
+                    if (!failing) {
+                        failing = true;
+                        failingWriters.incrementAndGet(); // New requests go synchronous until this batch is through
+                    }
+                    logger.warn("Writing {} interactions failed (attempt {} of {}); retrying", batch.size(), attempt, maxAttempts, e);
+                    sleep(retryBackoffMs * attempt);
+                }
+            }
+        } finally {
+            if (failing) {
+                failingWriters.decrementAndGet();
+            }
+        }
+    }
+
+    private void deadLetter(List<NewInteraction> batch, Exception cause) {
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement(DEAD_LETTER_SQL)) {
+            for (NewInteraction pending : batch) {
+                InteractionBatchWriter.bind(statement, pending);
+                statement.setString(10, cause.getMessage());
+                statement.addBatch();
+            }
+            statement.executeBatch();
+            deadLetteredCounter.increment(batch.size());
+            logger.error("{} accepted interactions could not be written; kept in interaction_ingest_failures",
+                    batch.size(), cause);
+        } catch (SQLException e) {
+            // Last resort: the log is the only record left
+            batch.forEach(pending -> logger.error("Lost accepted interaction {}", pending));
+            logger.error("Could not dead-letter {} interactions", batch.size(), e);
+        }
+    }
+
+    /**
+     * Constraint and data errors (SQLState classes 22 and 23) will fail again on retry; anything else
+     * (connection loss, serialization failure, timeouts) may not.
+     */
+    private static boolean isRejectedData(SQLException e) {
+        for (SQLException next = e; next != null; next = next.getNextException()) {
+            String state = next.getSQLState();
+            if (state != null && (state.startsWith("22") || state.startsWith("23"))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
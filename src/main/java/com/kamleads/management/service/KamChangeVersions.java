@@ -0,0 +1,75 @@
+package com.kamleads.management.service;
+
+import com.kamleads.management.util.AfterCommit;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Monotonic per-KAM change counters, used as ETags so polling dashboards can be answered with
+ * 304 Not Modified without running any query.
+ *
+ * Every write that can change what a KAM's dashboards show bumps that KAM's counter once the
+ * transaction commits. Writes whose affected KAMs are not known cheaply (set-based updates by
+ * lead ID, CSV imports) bump a counter shared by all KAMs instead. ETags also carry a per-boot
+ * epoch, so counters restarting at zero never repeat an old tag, and the current date, since
+ * several views ("requiring calls today", overdue calls) change at midnight without any write.
+ *
+ * Counters live in this instance's memory, like the typeahead index: with several instances
+ * behind a load balancer, writes must be routed to the instance serving the reads (or the
+ * counters moved to a shared store) for the 304s to stay correct.
+ */
+@Component
+public class KamChangeVersions {
+
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+    private final Map<UUID, AtomicLong> kamVersions = new ConcurrentHashMap<>();
+    private final AtomicLong allKamsVersion = new AtomicLong(); // Bumped when the affected KAMs are unknown
+    private final AtomicLong globalVersion = new AtomicLong();  // Bumped by every change
+
+    public void onKamChanged(UUID kamId) {
+        onKamsChanged(List.of(kamId));
+    }
+
+    public void onKamsChanged(Collection<UUID> kamIds) {
+        List<UUID> ids = List.copyOf(kamIds);
+        AfterCommit.run(() -> {
+            ids.forEach(kamId -> kamVersions.computeIfAbsent(kamId, id -> new AtomicLong()).incrementAndGet());
+            globalVersion.incrementAndGet();
+        });
+    }
+
+    public void onAllKamsChanged() {
+        AfterCommit.run(() -> {
+            allKamsVersion.incrementAndGet();
+            globalVersion.incrementAndGet();
+        });
+    }
+
+    /**
+     * ETag for data scoped to one KAM.
+     *
+     * @param kamId The UUID of the KAM.
+     * @return Quoted ETag value.
+     */
+    public String etagForKam(UUID kamId) {
+        AtomicLong version = kamVersions.get(kamId);
+        return '"' + epoch + '-' + allKamsVersion.get() + '-' + (version != null ? version.get() : 0)
+                + '-' + LocalDate.now().toEpochDay() + '"';
+    }
+
+    /**
+     * ETag for data spanning all KAMs (e.g. KAM rankings); changes on any write.
+     *
+     * @return Quoted ETag value.
+     */
+    public String etagForAllKams() {
+        return '"' + epoch + "-g" + globalVersion.get() + '-' + LocalDate.now().toEpochDay() + '"';
+    }
+}
@@ -0,0 +1,545 @@
+package com.kamleads.management.service;
+
+import com.kamleads.management.dto.ContactSummaryDto;
+import com.kamleads.management.dto.response.ArchiveRunStatusDto;
+import com.kamleads.management.dto.response.InteractionResponseDto;
+import com.kamleads.management.dto.response.LeadResponseDto;
+import com.kamleads.management.enums.InteractionStatus;
+import com.kamleads.management.enums.InteractionType;
+import com.kamleads.management.enums.LeadStatus;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Hot/cold archival: moves closed leads and old activity out of the live tables into the *_archive
+ * tables (V12), reads them back on request, and restores archived leads.
+ *
+ * The job runs on a schedule and on demand, one run at a time, in three passes:
+ * CLOSED_LOST and INACTIVE leads not updated for archive.lead-inactive-days (with their interactions,
+ * contacts, call schedules and metrics), then interactions older than archive.interaction-age-days,
+ * then COMPLETED and CANCELLED call schedules older than archive.call-schedule-age-days. Each batch is
+ * one transaction of DELETE ... RETURNING statements feeding INSERT ... SELECT, so a row is always in
+ * exactly one of the two tables and locks are held for one batch only. Rows locked by a concurrent
+ * write are skipped and picked up by the next run.
+ *
+ * Live-path queries are untouched and never see archived rows; only the includeArchived reads below do.
+ */
+@Service
+public class LeadArchiveService {
+
+    private static final Logger logger = LoggerFactory.getLogger(LeadArchiveService.class);
+
+    private static final UUID MIN_UUID = new UUID(0L, 0L);
+
+    private static final String LEAD_COLUMNS = "id, name, city, cuisine_type, status, kam_id, call_frequency, "
+            + "last_call_date, performance_score, created_at, updated_at, version, dedup_hash";
+    private static final String CONTACT_COLUMNS = "id, lead_id, name, role, email, is_primary, created_at, updated_at, version";
+    static final String INTERACTION_COLUMNS = "id, lead_id, contact_id, kam_id, type, status, interaction_date, "
+            + "order_value, follow_up_date, created_at";
+    private static final String CALL_SCHEDULE_COLUMNS = "id, kam_id, lead_id, scheduled_date, status, priority, "
+            + "next_scheduled_date, created_at, version";
+    private static final String METRIC_COLUMNS = "id, lead_id, metric_date, metric_value, target_value, period_type, calculated_at";
+
+    // ---- Archival ----
+
+    // Walks the primary key, so each batch resumes where the last one stopped instead of rescanning
+    private static final String COLD_LEADS_SQL = "SELECT id, kam_id FROM leads "
+            + "WHERE status IN ('CLOSED_LOST', 'INACTIVE') AND updated_at < ? AND id > ? "
+            + "ORDER BY id LIMIT ? FOR UPDATE SKIP LOCKED";
+    // Children first: deleting contacts would null interactions.contact_id, and leads are RESTRICTed by interactions
+    private static final String ARCHIVE_LEAD_INTERACTIONS_SQL = moveSql("interactions", INTERACTION_COLUMNS, "lead_id = ANY (?)");
+    private static final String ARCHIVE_LEAD_CALL_SCHEDULES_SQL = moveSql("call_schedule", CALL_SCHEDULE_COLUMNS, "lead_id = ANY (?)");
+    private static final String ARCHIVE_LEAD_METRICS_SQL = moveSql("performance_metrics", METRIC_COLUMNS, "lead_id = ANY (?)");
+    private static final String ARCHIVE_LEAD_CONTACTS_SQL = moveSql("contacts", CONTACT_COLUMNS, "lead_id = ANY (?)");
+    private static final String ARCHIVE_LEADS_SQL = moveSql("leads", LEAD_COLUMNS, "id = ANY (?)"); // Buckets cascade
+    // Whole expired months are detached by InteractionPartitionService first; this picks up the rest of the
+    // oldest partition and strays in interactions_default. The outer date bound keeps the DELETE on those
+    // partitions instead of probing every partition's primary key.
+    private static final String ARCHIVE_OLD_INTERACTIONS_SQL = moveSql("interactions", INTERACTION_COLUMNS,
+            "interaction_date < ? AND id IN (SELECT id FROM interactions WHERE interaction_date < ? "
+                    + "LIMIT ? FOR UPDATE SKIP LOCKED)");
+    private static final String ARCHIVE_OLD_CALL_SCHEDULES_SQL = moveSql("call_schedule", CALL_SCHEDULE_COLUMNS,
+            "scheduled_date < ? AND id IN (SELECT id FROM call_schedule WHERE status IN ('COMPLETED', 'CANCELLED') "
+                    + "AND scheduled_date < ? LIMIT ? FOR UPDATE SKIP LOCKED)");
+
+    // ---- Restore ----
+
+    // updated_at is reset so the next run does not archive the lead again straight away
+    private static final String RESTORE_LEAD_SQL = "WITH moved AS (DELETE FROM leads_archive WHERE id = ? RETURNING "
+            + LEAD_COLUMNS + ") INSERT INTO leads (" + LEAD_COLUMNS + ") SELECT id, name, city, cuisine_type, status, "
+            + "kam_id, call_frequency, last_call_date, performance_score, created_at, CURRENT_TIMESTAMP, version, dedup_hash "
+            + "FROM moved RETURNING kam_id, name, city, dedup_hash";
+    private static final String RESTORE_CONTACTS_SQL = restoreSql("contacts", CONTACT_COLUMNS, CONTACT_COLUMNS);
+    // A contact deleted since the interaction was archived is dropped from it, as ON DELETE SET NULL would have
+    private static final String RESTORE_INTERACTIONS_SQL = restoreSql("interactions", INTERACTION_COLUMNS,
+            "id, lead_id, CASE WHEN EXISTS (SELECT 1 FROM contacts c WHERE c.id = moved.contact_id) THEN contact_id END, "
+                    + "kam_id, type, status, interaction_date, order_value, follow_up_date, created_at");
+    private static final String RESTORE_CALL_SCHEDULES_SQL = restoreSql("call_schedule", CALL_SCHEDULE_COLUMNS, CALL_SCHEDULE_COLUMNS);
+    private static final String RESTORE_METRICS_SQL = restoreSql("performance_metrics", METRIC_COLUMNS, METRIC_COLUMNS);
+    private static final String REBUILD_DAILY_ACTIVITY_SQL = """
+            INSERT INTO lead_daily_activity (lead_id, day, interactions, orders, order_value)
+            SELECT lead_id, CAST(interaction_date AS DATE), COUNT(*),
+                   COUNT(*) FILTER (WHERE type = 'ORDER'),
+                   COALESCE(SUM(order_value) FILTER (WHERE type = 'ORDER'), 0)
+            FROM interactions WHERE lead_id = ?
+            GROUP BY lead_id, CAST(interaction_date AS DATE)
+            """;
+    private static final String RESTORED_CONTACTS_SQL = "SELECT id, name, email FROM contacts WHERE lead_id = ?";
+
+    // ---- Reads ----
+
+    private static final String ARCHIVED_LEAD_SQL = "SELECT a.id, a.name, a.city, a.cuisine_type, a.status, a.kam_id, "
+            + "u.name, a.call_frequency, a.last_call_date, a.performance_score, a.version, a.archived_at "
+            + "FROM leads_archive a LEFT JOIN users u ON u.id = a.kam_id WHERE a.id = ?";
+    private static final String ARCHIVED_CONTACTS_SQL =
+            "SELECT id, name, role, email, is_primary FROM contacts_archive WHERE lead_id = ? ORDER BY name";
+    private static final String LEAD_NAME_SQL = "SELECT name FROM leads WHERE id = ? "
+            + "UNION ALL SELECT name FROM leads_archive WHERE id = ?";
+    private static final String COUNT_INTERACTION_HISTORY_SQL = "SELECT (SELECT COUNT(*) FROM interactions WHERE lead_id = ?) "
+            + "+ (SELECT COUNT(*) FROM interactions_archive WHERE lead_id = ?)";
+    private static final String INTERACTION_HISTORY_SQL = """
+            SELECT h.id, h.contact_id, COALESCE(c.name, ca.name), h.kam_id, u.name, h.type, h.status,
+                   h.interaction_date, h.order_value, h.follow_up_date, h.archived_at
+            FROM (SELECT id, contact_id, kam_id, type, status, interaction_date, order_value, follow_up_date,
+                         CAST(NULL AS TIMESTAMP) AS archived_at
+                  FROM interactions WHERE lead_id = ?
+                  UNION ALL
+                  SELECT id, contact_id, kam_id, type, status, interaction_date, order_value, follow_up_date, archived_at
+                  FROM interactions_archive WHERE lead_id = ?) h
+            LEFT JOIN users u ON u.id = h.kam_id
+            LEFT JOIN contacts c ON c.id = h.contact_id
+            LEFT JOIN contacts_archive ca ON ca.id = h.contact_id
+            ORDER BY h.interaction_date DESC, h.id
+            LIMIT ? OFFSET ?
+            """;
+
+    private final DataSource dataSource;
+    private final LeadTypeaheadIndex typeaheadIndex;
+    private final LeadDuplicateDetector duplicateDetector;
+    private final LeadScoreUpdateQueue scoreUpdateQueue;
+    private final KamChangeVersions kamChangeVersions;
+    private final int batchSize;
+    private final int leadInactiveDays;
+    private final int interactionAgeDays;
+    private final int callScheduleAgeDays;
+
+    private final AtomicBoolean running = new AtomicBoolean();
+    private volatile ArchiveRunStatusDto lastRun;
+
+    // One run at a time; batches are sequential so the job never competes with itself for locks
+    private final ExecutorService worker = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "lead-archival");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    @Autowired
+    public LeadArchiveService(DataSource dataSource, LeadTypeaheadIndex typeaheadIndex,
+                              LeadDuplicateDetector duplicateDetector, LeadScoreUpdateQueue scoreUpdateQueue,
+                              KamChangeVersions kamChangeVersions,
+                              @Value("${archive.batch-size:1000}") int batchSize,
+                              @Value("${archive.lead-inactive-days:365}") int leadInactiveDays,
+                              @Value("${archive.interaction-age-days:730}") int interactionAgeDays,
+                              @Value("${archive.call-schedule-age-days:180}") int callScheduleAgeDays) {
+        this.dataSource = dataSource;
+        this.typeaheadIndex = typeaheadIndex;
+        this.duplicateDetector = duplicateDetector;
+        this.scoreUpdateQueue = scoreUpdateQueue;
+        this.kamChangeVersions = kamChangeVersions;
+        this.batchSize = batchSize;
+        this.leadInactiveDays = leadInactiveDays;
+        // Never archive activity the performance score still reads
+        this.interactionAgeDays = Math.max(interactionAgeDays, LeadService.SCORE_WINDOW_DAYS);
+        this.callScheduleAgeDays = callScheduleAgeDays;
+    }
+
+    /**
+     * Scheduled archival run. Skipped if the previous run is still in progress.
+     */
+    @Scheduled(cron = "${archive.cron:0 30 3 * * *}")
+    public void scheduledArchival() {
+        if (!startArchival()) {
+            logger.info("Skipping scheduled archival: previous run still in progress");
+        }
+    }
+
+    /**
+     * Starts an archival run in the background.
+     *
+     * @return true if a run was started, false if one is already in progress.
+     */
+    public boolean startArchival() {
+        if (!running.compareAndSet(false, true)) {
+            return false;
+        }
+        try {
+            worker.submit(this::runArchival);
+        } catch (RuntimeException e) {
+            running.set(false);
+            throw e;
+        }
+        return true;
+    }
+
+    /**
+     * Retrieves the state of the archival job and the counts of its last completed run.
+     *
+     * @return ArchiveRunStatusDto.
+     */
+    public ArchiveRunStatusDto getStatus() {
+        ArchiveRunStatusDto run = lastRun;
+        ArchiveRunStatusDto status = run != null ? copyOf(run) : new ArchiveRunStatusDto();
+        status.setRunning(running.get());
+        return status;
+    }
+
+    /**
+     * Moves an archived lead back into the live tables with its contacts, interactions, call schedules
+     * and metrics, and rebuilds its daily activity buckets, in one transaction. Activity archived for its
+     * age comes back too; the next run archives it again.
+     *
+     * @param leadId The UUID of the archived lead.
+     * @return true if the lead was restored, false if it is not in the archive.
+     * @throws RuntimeException if the restore fails.
+     */
+    public boolean restoreLead(UUID leadId) {
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setAutoCommit(false);
+            try {
+                UUID kamId;
+                String name;
+                String city;
+                Long dedupHash;
+                try (PreparedStatement statement = connection.prepareStatement(RESTORE_LEAD_SQL)) {
+                    statement.setObject(1, leadId);
+                    try (ResultSet resultSet = statement.executeQuery()) {
+                        if (!resultSet.next()) {
+                            connection.rollback();
+                            return false;
+                        }
+                        kamId = resultSet.getObject(1, UUID.class);
+                        name = resultSet.getString(2);
+                        city = resultSet.getString(3);
+                        dedupHash = resultSet.getObject(4, Long.class);
+                    }
+                }
+                // Contacts before interactions, which may reference them
+                for (String sql : List.of(RESTORE_CONTACTS_SQL, RESTORE_INTERACTIONS_SQL, RESTORE_CALL_SCHEDULES_SQL,
+                        RESTORE_METRICS_SQL, REBUILD_DAILY_ACTIVITY_SQL)) {
+                    try (PreparedStatement statement = connection.prepareStatement(sql)) {
+                        statement.setObject(1, leadId);
+                        statement.executeUpdate();
+                    }
+                }
+                List<Object[]> contacts = new ArrayList<>();
+                try (PreparedStatement statement = connection.prepareStatement(RESTORED_CONTACTS_SQL)) {
+                    statement.setObject(1, leadId);
+                    try (ResultSet resultSet = statement.executeQuery()) {
+                        while (resultSet.next()) {
+                            contacts.add(new Object[]{resultSet.getObject(1, UUID.class), resultSet.getString(2), resultSet.getString(3)});
+                        }
+                    }
+                }
+                connection.commit();
+
+                // Committed: update the in-memory indexes directly
+                typeaheadIndex.onLeadSaved(kamId, leadId, name, city);
+                contacts.forEach(contact -> typeaheadIndex.onContactSaved(leadId, (UUID) contact[0],
+                        (String) contact[1], (String) contact[2]));
+                if (dedupHash != null) {
+                    duplicateDetector.addHash(dedupHash);
+                }
+                scoreUpdateQueue.markDirty(leadId); // Its score window may have moved while archived
+                kamChangeVersions.onKamChanged(kamId);
+                return true;
+            } catch (SQLException | RuntimeException e) {
+                connection.rollback();
+                throw e;
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Could not restore lead " + leadId + ": " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Retrieves an archived lead with its archived contacts. Call schedule and activity fields are left
+     * empty; archivedAt is set.
+     *
+     * @param leadId The UUID of the archived lead.
+     * @return Optional<LeadResponseDto> if the lead is in the archive, empty otherwise.
+     */
+    public Optional<LeadResponseDto> getArchivedLead(UUID leadId) {
+        try (Connection connection = dataSource.getConnection()) {
+            LeadResponseDto dto;
+            try (PreparedStatement statement = connection.prepareStatement(ARCHIVED_LEAD_SQL)) {
+                statement.setObject(1, leadId);
+                try (ResultSet resultSet = statement.executeQuery()) {
+                    if (!resultSet.next()) {
+                        return Optional.empty();
+                    }
+                    dto = new LeadResponseDto();
+                    dto.setId(resultSet.getObject(1, UUID.class));
+                    dto.setName(resultSet.getString(2));
+                    dto.setCity(resultSet.getString(3));
+                    dto.setCuisineType(resultSet.getString(4));
+                    dto.setStatus(LeadStatus.valueOf(resultSet.getString(5)));
+                    dto.setKamId(resultSet.getObject(6, UUID.class));
+                    dto.setKamName(resultSet.getString(7));
+                    dto.setCallFrequency(resultSet.getInt(8));
+                    dto.setLastCallDate(resultSet.getObject(9, LocalDate.class));
+                    dto.setPerformanceScore(resultSet.getBigDecimal(10));
+                    dto.setVersion(resultSet.getLong(11));
+                    dto.setArchivedAt(resultSet.getObject(12, LocalDateTime.class));
+                    dto.setRequiresCallToday(false);
+                }
+            }
+            List<ContactSummaryDto> contacts = new ArrayList<>();
+            try (PreparedStatement statement = connection.prepareStatement(ARCHIVED_CONTACTS_SQL)) {
+                statement.setObject(1, leadId);
+                try (ResultSet resultSet = statement.executeQuery()) {
+                    while (resultSet.next()) {
+                        ContactSummaryDto contact = new ContactSummaryDto();
+                        contact.setId(resultSet.getObject(1, UUID.class));
+                        contact.setName(resultSet.getString(2));
+                        contact.setRole(resultSet.getString(3));
+                        contact.setEmail(resultSet.getString(4));
+                        contact.setPrimary(resultSet.getBoolean(5));
+                        contacts.add(contact);
+                    }
+                }
+            }
+            dto.setContacts(contacts);
+            dto.setTotalContacts(contacts.size());
+            return Optional.of(dto);
+        } catch (SQLException e) {
+            throw new RuntimeException("Could not read archived lead " + leadId + ": " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Retrieves a lead's live and archived interactions, newest first (the pageable's sort is not applied).
+     * Archived interactions have archivedAt set. Works for live and archived leads.
+     *
+     * @param leadId The UUID of the lead.
+     * @param pageable Pagination information.
+     * @return Page of InteractionResponseDto.
+     * @throws RuntimeException if the lead is neither live nor archived.
+     */
+    public Page<InteractionResponseDto> getInteractionHistory(UUID leadId, Pageable pageable) {
+        try (Connection connection = dataSource.getConnection()) {
+            String leadName;
+            try (PreparedStatement statement = connection.prepareStatement(LEAD_NAME_SQL)) {
+                statement.setObject(1, leadId);
+                statement.setObject(2, leadId);
+                try (ResultSet resultSet = statement.executeQuery()) {
+                    if (!resultSet.next()) {
+                        throw new RuntimeException("Lead not found with ID: " + leadId);
+                    }
+                    leadName = resultSet.getString(1);
+                }
+            }
+            long total;
+            try (PreparedStatement statement = connection.prepareStatement(COUNT_INTERACTION_HISTORY_SQL)) {
+                statement.setObject(1, leadId);
+                statement.setObject(2, leadId);
+                try (ResultSet resultSet = statement.executeQuery()) {
+                    resultSet.next();
+                    total = resultSet.getLong(1);
+                }
+            }
+            List<InteractionResponseDto> content = new ArrayList<>();
+            try (PreparedStatement statement = connection.prepareStatement(INTERACTION_HISTORY_SQL)) {
+                statement.setObject(1, leadId);
+                statement.setObject(2, leadId);
+                statement.setInt(3, pageable.getPageSize());
+                statement.setLong(4, pageable.getOffset());
+                try (ResultSet resultSet = statement.executeQuery()) {
+                    while (resultSet.next()) {
+                        InteractionResponseDto dto = new InteractionResponseDto();
+                        dto.setId(resultSet.getObject(1, UUID.class));
+                        dto.setLeadId(leadId);
+                        dto.setLeadName(leadName);
+                        dto.setContactId(resultSet.getObject(2, UUID.class));
+                        dto.setContactName(resultSet.getString(3));
+                        dto.setKamId(resultSet.getObject(4, UUID.class));
+                        dto.setKamName(resultSet.getString(5));
+                        dto.setType(InteractionType.valueOf(resultSet.getString(6)));
+                        dto.setStatus(InteractionStatus.valueOf(resultSet.getString(7)));
+                        dto.setInteractionDate(resultSet.getObject(8, LocalDateTime.class));
+                        dto.setOrderValue(resultSet.getBigDecimal(9));
+                        dto.setFollowUpDate(resultSet.getObject(10, LocalDate.class));
+                        dto.setArchivedAt(resultSet.getObject(11, LocalDateTime.class));
+                        content.add(dto);
+                    }
+                }
+            }
+            return new PageImpl<>(content, pageable, total);
+        } catch (SQLException e) {
+            throw new RuntimeException("Could not read interaction history of lead " + leadId + ": " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Interactions dated before this day are archived. Shared with InteractionPartitionService, which
+     * detaches the months that end on or before it.
+     */
+    LocalDate interactionCutoff() {
+        return LocalDate.now().minusDays(interactionAgeDays);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        worker.shutdownNow();
+    }
+
+    private void runArchival() {
+        long started = System.nanoTime();
+        ArchiveRunStatusDto run = new ArchiveRunStatusDto();
+        run.setLastStartedAt(LocalDateTime.now());
+        try (Connection connection = dataSource.getConnection()) {
+            run.setLeadsArchived(archiveColdLeads(connection, LocalDateTime.now().minusDays(leadInactiveDays)));
+            run.setInteractionsArchived(archiveInBatches(connection, ARCHIVE_OLD_INTERACTIONS_SQL,
+                    Timestamp.valueOf(interactionCutoff().atStartOfDay())));
+            run.setCallSchedulesArchived(archiveInBatches(connection, ARCHIVE_OLD_CALL_SCHEDULES_SQL,
+                    java.sql.Date.valueOf(LocalDate.now().minusDays(callScheduleAgeDays))));
+            run.setLastCompletedAt(LocalDateTime.now());
+            run.setLastDurationMs(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+            lastRun = run;
+            logger.info("Archival completed: {} leads, {} interactions, {} call schedules in {} ms",
+                    run.getLeadsArchived(), run.getInteractionsArchived(), run.getCallSchedulesArchived(),
+                    run.getLastDurationMs());
+        } catch (SQLException | RuntimeException e) {
+            logger.error("Archival failed after {} leads, {} interactions, {} call schedules",
+                    run.getLeadsArchived(), run.getInteractionsArchived(), run.getCallSchedulesArchived(), e);
+        } finally {
+            running.set(false);
+        }
+    }
+
+    /**
+     * Archives cold leads with all their child rows, batchSize leads per transaction.
+     *
+     * @return The number of leads archived.
+     */
+    private long archiveColdLeads(Connection connection, LocalDateTime inactiveSince) throws SQLException {
+        long archived = 0;
+        UUID after = MIN_UUID;
+        while (true) {
+            connection.setAutoCommit(false);
+            List<UUID> leadIds = new ArrayList<>(batchSize);
+            Set<UUID> kamIds = new HashSet<>();
+            try {
+                try (PreparedStatement statement = connection.prepareStatement(COLD_LEADS_SQL)) {
+                    statement.setTimestamp(1, Timestamp.valueOf(inactiveSince));
+                    statement.setObject(2, after);
+                    statement.setInt(3, batchSize);
+                    try (ResultSet resultSet = statement.executeQuery()) {
+                        while (resultSet.next()) {
+                            leadIds.add(resultSet.getObject(1, UUID.class));
+                            kamIds.add(resultSet.getObject(2, UUID.class));
+                        }
+                    }
+                }
+                if (!leadIds.isEmpty()) {
+                    java.sql.Array ids = connection.createArrayOf("uuid", leadIds.toArray());
+                    for (String sql : List.of(ARCHIVE_LEAD_INTERACTIONS_SQL, ARCHIVE_LEAD_CALL_SCHEDULES_SQL,
+                            ARCHIVE_LEAD_METRICS_SQL, ARCHIVE_LEAD_CONTACTS_SQL, ARCHIVE_LEADS_SQL)) {
+                        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+                            statement.setArray(1, ids);
+                            statement.executeUpdate();
+                        }
+                    }
+                }
+                connection.commit();
+            } catch (SQLException | RuntimeException e) {
+                connection.rollback();
+                throw e;
+            } finally {
+                connection.setAutoCommit(true);
+            }
+
+            if (leadIds.isEmpty()) {
+                return archived;
+            }
+            leadIds.forEach(typeaheadIndex::onLeadDeleted);
+            kamChangeVersions.onKamsChanged(kamIds);
+            archived += leadIds.size();
+            after = leadIds.get(leadIds.size() - 1);
+            if (leadIds.size() < batchSize) {
+                return archived;
+            }
+        }
+    }
+
+    /**
+     * Runs a bounded archive statement (cutoff, cutoff, batch size) until it moves fewer than batchSize rows.
+     * Each statement commits on its own.
+     *
+     * @return The number of rows archived.
+     */
+    private long archiveInBatches(Connection connection, String sql, Object cutoff) throws SQLException {
+        long archived = 0;
+        connection.setAutoCommit(true);
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            while (true) {
+                statement.setObject(1, cutoff);
+                statement.setObject(2, cutoff);
+                statement.setInt(3, batchSize);
+                int moved = statement.executeUpdate();
+                archived += moved;
+                if (moved < batchSize) {
+                    return archived;
+                }
+            }
+        }
+    }
+
+    /**
+     * One statement that deletes the matching rows from a live table and inserts them into its archive.
+     */
+    private static String moveSql(String table, String columns, String where) {
+        return "WITH moved AS (DELETE FROM " + table + " WHERE " + where + " RETURNING " + columns + ") "
+                + "INSERT INTO " + table + "_archive (" + columns + ") SELECT " + columns + " FROM moved";
+    }
+
+    /**
+     * The reverse of moveSql for one lead's rows, with the selected expressions given separately.
+     */
+    private static String restoreSql(String table, String columns, String selected) {
+        return "WITH moved AS (DELETE FROM " + table + "_archive WHERE lead_id = ? RETURNING " + columns + ") "
+                + "INSERT INTO " + table + " (" + columns + ") SELECT " + selected + " FROM moved";
+    }
+
+    private static ArchiveRunStatusDto copyOf(ArchiveRunStatusDto run) {
+        return new ArchiveRunStatusDto(run.isRunning(), run.getLastStartedAt(), run.getLastCompletedAt(),
+                run.getLastDurationMs(), run.getLeadsArchived(), run.getInteractionsArchived(),
+                run.getCallSchedulesArchived());
+    }
+}
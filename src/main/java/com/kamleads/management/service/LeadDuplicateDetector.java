@@ -0,0 +1,196 @@
+package com.kamleads.management.service;
+
+import com.kamleads.management.enums.DuplicatePolicy;
+import com.kamleads.management.repository.LeadRepository;
+import com.kamleads.management.util.AfterCommit;
+import com.kamleads.management.util.BloomFilter;
+import com.kamleads.management.util.LeadNameNormalizer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Flags new leads whose normalized name and city (see LeadNameNormalizer) match an existing lead.
+ *
+ * Every lead's hash is stored in leads.dedup_hash and kept in an in-memory Bloom filter. Most
+ * new leads are not duplicates, and for those the filter answers "definitely new" without touching
+ * the database; only a filter hit (a duplicate, or a rare false positive) costs one indexed point
+ * lookup on dedup_hash. The filter only ever grows: hashes of deleted or renamed leads stay in it
+ * and just cause the occasional extra lookup until the next restart rebuilds it.
+ *
+ * At startup, leads without a hash (rows from before V11) are backfilled in batches, then every
+ * hash is loaded into the filter. Until that finishes, every check goes to the database.
+ */
+@Component
+public class LeadDuplicateDetector {
+
+    private static final Logger logger = LoggerFactory.getLogger(LeadDuplicateDetector.class);
+
+    private static final int BACKFILL_BATCH_SIZE = 1_000;
+    private static final int LOAD_FETCH_SIZE = 10_000;
+
+    private static final String MISSING_HASHES_SQL =
+            "SELECT id, name, city FROM leads WHERE dedup_hash IS NULL LIMIT " + BACKFILL_BATCH_SIZE;
+    // Deliberately leaves version and updated_at alone: the hash is derived data, not an edit
+    private static final String SET_HASH_SQL = "UPDATE leads SET dedup_hash = ? WHERE id = ? AND dedup_hash IS NULL";
+    private static final String ALL_HASHES_SQL = "SELECT dedup_hash FROM leads WHERE dedup_hash IS NOT NULL";
+
+    private final DataSource dataSource;
+    private final LeadRepository leadRepository;
+    private final DuplicatePolicy policy;
+    private final long expectedLeads;
+    private final BloomFilter filter;
+    private volatile boolean ready;
+
+    @Autowired
+    public LeadDuplicateDetector(DataSource dataSource, LeadRepository leadRepository,
+                                 @Value("${dedup.policy:WARN}") DuplicatePolicy policy,
+                                 @Value("${dedup.expected-leads:1000000}") long expectedLeads,
+                                 @Value("${dedup.false-positive-rate:0.01}") double falsePositiveRate) {
+        this.dataSource = dataSource;
+        this.leadRepository = leadRepository;
+        this.policy = policy;
+        this.expectedLeads = expectedLeads;
+        // Sized up front, so leads saved while the startup load runs can be added right away
+        this.filter = new BloomFilter(expectedLeads, falsePositiveRate);
+    }
+
+    /**
+     * Backfills missing hashes and loads all hashes into the filter once the application is up.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void build() {
+        long started = System.currentTimeMillis();
+        try (Connection connection = dataSource.getConnection()) {
+            long backfilled = backfillMissingHashes(connection);
+            long loaded = loadHashes(connection);
+            ready = true;
+            logger.info("Duplicate filter built: {} leads ({} hashes backfilled) in {} ms",
+                    loaded, backfilled, System.currentTimeMillis() - started);
+            if (loaded > expectedLeads) {
+                logger.warn("Duplicate filter holds {} leads but is sized for {}; raise dedup.expected-leads "
+                        + "to keep the false-positive rate down", loaded, expectedLeads);
+            }
+        } catch (SQLException e) {
+            logger.error("Could not build the duplicate filter; duplicate checks will query the database", e);
+        }
+    }
+
+    public DuplicatePolicy getPolicy() {
+        return policy;
+    }
+
+    /**
+     * Finds existing leads with the same normalized name and city.
+     *
+     * @param dedupHash The hash of the candidate lead, from LeadNameNormalizer.dedupHash.
+     * @param excludeId A lead to leave out (the lead being updated), or null.
+     * @return IDs of suspected duplicates; empty, without a query, when the filter rules them out.
+     */
+    public List<UUID> findSuspectedDuplicates(long dedupHash, UUID excludeId) {
+        if (ready && !filter.mightContain(dedupHash)) {
+            return List.of();
+        }
+        List<UUID> ids = new ArrayList<>(leadRepository.findIdsByDedupHash(dedupHash));
+        if (excludeId != null) {
+            ids.remove(excludeId);
+        }
+        return ids;
+    }
+
+    /**
+     * Batch form of findSuspectedDuplicates: one IN query for all the filter hits.
+     *
+     * @param dedupHashes The hashes to check.
+     * @return Existing lead IDs per hash, only for hashes that have any.
+     */
+    public Map<Long, List<UUID>> findSuspectedDuplicates(Collection<Long> dedupHashes) {
+        List<Long> candidates = dedupHashes.stream()
+                .distinct()
+                .filter(hash -> !ready || filter.mightContain(hash))
+                .toList();
+        Map<Long, List<UUID>> duplicates = new HashMap<>();
+        if (candidates.isEmpty()) {
+            return duplicates;
+        }
+        for (Object[] row : leadRepository.findIdsByDedupHashIn(candidates)) {
+            duplicates.computeIfAbsent((Long) row[1], hash -> new ArrayList<>()).add((UUID) row[0]);
+        }
+        return duplicates;
+    }
+
+    /**
+     * Adds a saved lead's hash once the surrounding transaction commits.
+     */
+    public void onLeadSaved(long dedupHash) {
+        AfterCommit.run(() -> filter.put(dedupHash));
+    }
+
+    /**
+     * Adds hashes written outside a Spring transaction (the CSV import's JDBC merge).
+     */
+    public void addHash(long dedupHash) {
+        filter.put(dedupHash);
+    }
+
+    private long backfillMissingHashes(Connection connection) throws SQLException {
+        long backfilled = 0;
+        connection.setAutoCommit(true);
+        while (true) {
+            List<Object[]> batch = new ArrayList<>(BACKFILL_BATCH_SIZE);
+            try (PreparedStatement statement = connection.prepareStatement(MISSING_HASHES_SQL);
+                 ResultSet rows = statement.executeQuery()) {
+                while (rows.next()) {
+                    batch.add(new Object[]{rows.getObject(1, UUID.class),
+                            LeadNameNormalizer.dedupHash(rows.getString(2), rows.getString(3))});
+                }
+            }
+            if (batch.isEmpty()) {
+                return backfilled;
+            }
+            try (PreparedStatement statement = connection.prepareStatement(SET_HASH_SQL)) {
+                for (Object[] row : batch) {
+                    statement.setLong(1, (Long) row[1]);
+                    statement.setObject(2, row[0]);
+                    statement.addBatch();
+                }
+                statement.executeBatch();
+            }
+            backfilled += batch.size();
+        }
+    }
+
+    private long loadHashes(Connection connection) throws SQLException {
+        long loaded = 0;
+        connection.setAutoCommit(false); // PgJDBC only honours the fetch size inside a transaction
+        try (PreparedStatement statement = connection.prepareStatement(ALL_HASHES_SQL)) {
+            statement.setFetchSize(LOAD_FETCH_SIZE);
+            try (ResultSet rows = statement.executeQuery()) {
+                while (rows.next()) {
+                    filter.put(rows.getLong(1));
+                    loaded++;
+                }
+            }
+        } finally {
+            connection.rollback(); // Read-only
+            connection.setAutoCommit(true);
+        }
+        return loaded;
+    }
+}
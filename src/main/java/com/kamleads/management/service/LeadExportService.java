@@ -0,0 +1,130 @@
+package com.kamleads.management.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.kamleads.management.dto.response.LeadExportRowDto;
+import com.kamleads.management.enums.ExportFormat;
+import com.kamleads.management.enums.LeadStatus;
+import com.kamleads.management.repository.LeadRepository;
+import com.kamleads.management.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+@Service
+public class LeadExportService {
+
+    private static final String CSV_HEADER = "id,name,city,cuisine_type,status,kam_id,kam_email,"
+            + "call_frequency,last_call_date,performance_score,created_at";
+    private static final int WRITE_BUFFER_SIZE = 64 * 1024;
+
+    private final LeadRepository leadRepository;
+    private final UserRepository userRepository;
+    private final ObjectWriter rowWriter;
+    private final TransactionTemplate readOnlyTransaction;
+
+    @Autowired
+    public LeadExportService(LeadRepository leadRepository, UserRepository userRepository,
+                             ObjectMapper objectMapper, PlatformTransactionManager transactionManager) {
+        this.leadRepository = leadRepository;
+        this.userRepository = userRepository;
+        this.rowWriter = objectMapper.writerFor(LeadExportRowDto.class);
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    /**
+     * Prepares a streaming export of leads matching the lead-list filters.
+     * The returned body opens its own read-only transaction when the response is written and
+     * copies rows from a forward-only cursor to the output as they arrive, so neither the
+     * result set nor the response is held in memory.
+     *
+     * @param kamId The UUID of the KAM, or null to export the whole book.
+     * @param searchTerm Optional search term for lead name.
+     * @param statuses Optional list of lead statuses to filter by.
+     * @param city Optional city to filter by.
+     * @param format CSV or NDJSON.
+     * @return StreamingResponseBody writing the export.
+     * @throws RuntimeException if KAM not found.
+     */
+    public StreamingResponseBody exportLeads(UUID kamId, String searchTerm, List<LeadStatus> statuses,
+                                             String city, ExportFormat format) {
+        // Checked up front: once streaming starts the status line has already been sent
+        if (kamId != null && !userRepository.existsById(kamId)) {
+            throw new RuntimeException("KAM not found with ID: " + kamId);
+        }
+
+        return outputStream -> readOnlyTransaction.executeWithoutResult(status -> {
+            Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8), WRITE_BUFFER_SIZE);
+            try (Stream<LeadExportRowDto> rows = leadRepository.streamLeadsForExport(kamId, searchTerm, statuses, city)) {
+                if (format == ExportFormat.CSV) {
+                    writer.write(CSV_HEADER);
+                    writer.write('\n');
+                }
+                rows.forEach(row -> writeRow(writer, row, format));
+                writer.flush();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    private void writeRow(Writer writer, LeadExportRowDto row, ExportFormat format) {
+        try {
+            if (format == ExportFormat.NDJSON) {
+                writer.write(rowWriter.writeValueAsString(row));
+            } else {
+                writer.write(csv(row.getId()));
+                writer.write(',');
+                writer.write(csv(row.getName()));
+                writer.write(',');
+                writer.write(csv(row.getCity()));
+                writer.write(',');
+                writer.write(csv(row.getCuisineType()));
+                writer.write(',');
+                writer.write(csv(row.getStatus()));
+                writer.write(',');
+                writer.write(csv(row.getKamId()));
+                writer.write(',');
+                writer.write(csv(row.getKamEmail()));
+                writer.write(',');
+                writer.write(csv(row.getCallFrequency()));
+                writer.write(',');
+                writer.write(csv(row.getLastCallDate()));
+                writer.write(',');
+                writer.write(csv(row.getPerformanceScore()));
+                writer.write(',');
+                writer.write(csv(row.getCreatedAt()));
+            }
+            writer.write('\n');
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Formats one CSV field, quoting it when it contains a delimiter, quote or line break.
+     */
+    private static String csv(Object value) {
+        if (value == null) {
+            return "";
+        }
+        String text = value.toString();
+        if (text.indexOf(',') < 0 && text.indexOf('"') < 0 && text.indexOf('\n') < 0 && text.indexOf('\r') < 0) {
+            return text;
+        }
+        return '"' + text.replace("\"", "\"\"") + '"';
+    }
+}
@@ -0,0 +1,600 @@
+package com.kamleads.management.service;
+
+import com.kamleads.management.dto.response.LeadImportJobResponseDto;
+import com.kamleads.management.dto.response.LeadImportRejectDto;
+import com.kamleads.management.enums.DuplicatePolicy;
+import com.kamleads.management.enums.ImportStatus;
+import com.kamleads.management.enums.LeadStatus;
+import com.kamleads.management.model.LeadImportJob;
+import com.kamleads.management.repository.LeadImportJobRepository;
+import com.kamleads.management.repository.LeadImportRejectRepository;
+import com.kamleads.management.util.CsvRecordReader;
+import com.kamleads.management.util.LeadNameNormalizer;
+import jakarta.annotation.PreDestroy;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.multipart.MultipartFile;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * High-volume CSV lead import.
+ *
+ * The upload is spooled to a temp file and processed by a single background worker:
+ * rows are read one at a time, validated, and COPYed into lead_import_staging in chunks
+ * (progress is committed after each chunk), then merged into leads with one INSERT ... SELECT
+ * that resolves kam_id by the KAM's email (case-insensitively; a row whose email matches no user,
+ * or more than one, is rejected). Rejected rows, with reasons, go to lead_import_rejects.
+ * Rows whose normalized name and city match an existing lead, or an earlier row of the file, are
+ * counted as duplicates, and with dedup.policy REJECT also rejected, before the merge.
+ *
+ * Expected CSV header (case and underscores ignored): name, kam_email, and optionally city,
+ * cuisine_type, status (default NEW) and call_frequency (default 7). Extra columns are ignored,
+ * so files from the lead export can be imported as-is.
+ */
+@Service
+public class LeadImportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(LeadImportService.class);
+
+    private static final int CHUNK_SIZE = 10_000;
+    private static final int TYPEAHEAD_FETCH_SIZE = 1_000;
+    private static final int MAX_RAW_LINE_LENGTH = 1_000;
+    private static final int MAX_REASON_LENGTH = 500;
+    private static final int DEFAULT_CALL_FREQUENCY = 7;
+
+    private static final String COPY_STAGING_SQL = "COPY lead_import_staging "
+            + "(job_id, row_number, name, city, cuisine_type, status, kam_email, call_frequency, dedup_hash) "
+            + "FROM STDIN WITH (FORMAT csv)";
+    private static final String INSERT_REJECT_SQL =
+            "INSERT INTO lead_import_rejects (job_id, row_number, reason, raw_line) VALUES (?, ?, ?, ?)";
+    private static final String UPDATE_PROGRESS_SQL =
+            "UPDATE lead_import_jobs SET total_rows = ?, staged_rows = ?, rejected_rows = ? WHERE id = ?";
+    // users.email is unique as written, not case-insensitively, so a lowercased email can match several
+    // users. Only emails that match exactly one user resolve; joining users directly would import a
+    // row once per match.
+    private static final String KAMS_BY_EMAIL = """
+            (SELECT lower(email) AS email, (array_agg(id))[1] AS id
+             FROM users GROUP BY lower(email) HAVING count(*) = 1)""";
+    // Removes rows whose KAM email does not resolve from staging and records them as rejects, in one statement
+    private static final String REJECT_UNRESOLVED_KAMS_SQL = """
+            WITH unresolved AS (
+                DELETE FROM lead_import_staging s
+                WHERE s.job_id = ?
+                  AND NOT EXISTS (SELECT 1 FROM %s k WHERE k.email = s.kam_email)
+                RETURNING s.job_id, s.row_number, s.kam_email)
+            INSERT INTO lead_import_rejects (job_id, row_number, reason, raw_line)
+            SELECT r.job_id, r.row_number,
+                   CASE WHEN EXISTS (SELECT 1 FROM users u WHERE lower(u.email) = r.kam_email)
+                        THEN 'KAM email matches more than one user: '
+                        ELSE 'KAM not found with email: ' END || r.kam_email,
+                   NULL
+            FROM unresolved r
+            """.formatted(KAMS_BY_EMAIL);
+    // Run after unresolved KAMs are removed, so every remaining row is importable. A row is a duplicate
+    // if a lead, or an earlier row of the job, has the same hash. Both checks are lookups on the
+    // dedup_hash indexes.
+    private static final String DUPLICATE_STAGED_ROW = """
+            s.job_id = ?
+              AND (EXISTS (SELECT 1 FROM leads l WHERE l.dedup_hash = s.dedup_hash)
+                   OR EXISTS (SELECT 1 FROM lead_import_staging e
+                              WHERE e.job_id = s.job_id AND e.dedup_hash = s.dedup_hash
+                                AND e.row_number < s.row_number))
+            """;
+    private static final String COUNT_DUPLICATES_SQL =
+            "SELECT count(*) FROM lead_import_staging s WHERE " + DUPLICATE_STAGED_ROW;
+    // Removes duplicates from staging (so the merge skips them) and records them as rejects, in one statement.
+    // The EXISTS subqueries see staging as it was before the DELETE, so the first row of a group survives.
+    private static final String REJECT_DUPLICATES_SQL = "WITH duplicates AS (DELETE FROM lead_import_staging s WHERE "
+            + DUPLICATE_STAGED_ROW + " RETURNING s.job_id, s.row_number) "
+            + "INSERT INTO lead_import_rejects (job_id, row_number, reason, raw_line) "
+            + "SELECT job_id, row_number, 'Suspected duplicate of an existing lead (same name and city)', NULL "
+            + "FROM duplicates";
+    private static final String MERGE_SQL = """
+            INSERT INTO leads (id, name, city, cuisine_type, status, kam_id, call_frequency,
+                               performance_score, dedup_hash, created_at, updated_at)
+            SELECT s.lead_id, s.name, s.city, s.cuisine_type, s.status, u.id, s.call_frequency,
+                   0, s.dedup_hash, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP
+            FROM lead_import_staging s
+            JOIN %s u ON u.email = s.kam_email
+            WHERE s.job_id = ?
+            """.formatted(KAMS_BY_EMAIL);
+    private static final String COMPLETE_JOB_SQL = "UPDATE lead_import_jobs SET status = 'COMPLETED', "
+            + "rejected_rows = rejected_rows + ?, imported_rows = ?, duplicate_rows = ?, "
+            + "completed_at = CURRENT_TIMESTAMP WHERE id = ?";
+    private static final String IMPORTED_LEADS_SQL = "SELECT s.lead_id, u.id, s.name, s.city, s.dedup_hash "
+            + "FROM lead_import_staging s JOIN " + KAMS_BY_EMAIL + " u ON u.email = s.kam_email WHERE s.job_id = ?";
+    private static final String CLEAR_STAGING_SQL = "DELETE FROM lead_import_staging WHERE job_id = ?";
+    private static final String HEARTBEAT_SQL = "UPDATE lead_import_jobs SET heartbeat_at = CURRENT_TIMESTAMP "
+            + "WHERE owner_instance = ? AND status IN ('PENDING', 'RUNNING')";
+    // Another instance's job, or one left by an earlier run of this one, whose heartbeat has stopped
+    private static final String FAIL_ABANDONED_JOBS_SQL = "UPDATE lead_import_jobs SET status = 'FAILED', "
+            + "error_message = 'Interrupted: the instance running it stopped', completed_at = CURRENT_TIMESTAMP "
+            + "WHERE status IN ('PENDING', 'RUNNING') AND owner_instance IS DISTINCT FROM ? "
+            + "AND COALESCE(heartbeat_at, created_at) < CURRENT_TIMESTAMP - make_interval(secs => ?)";
+
+    private final DataSource dataSource;
+    private final LeadImportJobRepository jobRepository;
+    private final LeadImportRejectRepository rejectRepository;
+    private final LeadTypeaheadIndex typeaheadIndex;
+    private final KamChangeVersions kamChangeVersions;
+    private final LeadDuplicateDetector duplicateDetector;
+    private final long staleAfterMs;
+    // Identifies this process's jobs; new on every start, so jobs from before a restart go stale
+    private final String instanceId = UUID.randomUUID().toString();
+
+    // One import at a time: COPY and the merge are I/O bound, parallel jobs would only contend
+    private final ExecutorService worker = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "lead-import");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private record StagingRow(String name, String city, String cuisineType, LeadStatus status,
+                              String kamEmail, int callFrequency, long dedupHash) {
+    }
+
+    private record RejectRow(long rowNumber, String reason, String rawLine) {
+    }
+
+    @Autowired
+    public LeadImportService(DataSource dataSource, LeadImportJobRepository jobRepository,
+                             LeadImportRejectRepository rejectRepository, LeadTypeaheadIndex typeaheadIndex,
+                             KamChangeVersions kamChangeVersions, LeadDuplicateDetector duplicateDetector,
+                             @Value("${imports.stale-after-ms:120000}") long staleAfterMs) {
+        this.dataSource = dataSource;
+        this.jobRepository = jobRepository;
+        this.rejectRepository = rejectRepository;
+        this.typeaheadIndex = typeaheadIndex;
+        this.kamChangeVersions = kamChangeVersions;
+        this.duplicateDetector = duplicateDetector;
+        this.staleAfterMs = staleAfterMs;
+    }
+
+    /**
+     * Stores the uploaded CSV and queues it for import.
+     *
+     * @param file The uploaded CSV file.
+     * @return LeadImportJobResponseDto of the queued job; poll getImportJob for progress.
+     * @throws RuntimeException if the upload cannot be stored.
+     */
+    public LeadImportJobResponseDto startImport(MultipartFile file) {
+        Path spool;
+        try {
+            spool = Files.createTempFile("lead-import-", ".csv");
+            file.transferTo(spool); // Streamed to disk, never held in memory
+        } catch (IOException e) {
+            throw new RuntimeException("Could not store uploaded file: " + e.getMessage(), e);
+        }
+
+        LeadImportJob job = new LeadImportJob();
+        job.setId(UUID.randomUUID());
+        job.setFileName(file.getOriginalFilename());
+        job.setStatus(ImportStatus.PENDING);
+        job.setCreatedAt(LocalDateTime.now());
+        job.setOwnerInstance(instanceId);
+        job.setHeartbeatAt(job.getCreatedAt());
+        LeadImportJob savedJob = jobRepository.save(job);
+
+        worker.submit(() -> runImport(savedJob.getId(), spool));
+        return mapToJobResponseDto(savedJob);
+    }
+
+    /**
+     * Retrieves an import job with its current progress.
+     *
+     * @param jobId The UUID of the import job.
+     * @return Optional<LeadImportJobResponseDto> if found, empty otherwise.
+     */
+    @Transactional(readOnly = true)
+    public Optional<LeadImportJobResponseDto> getImportJob(UUID jobId) {
+        return jobRepository.findById(jobId).map(this::mapToJobResponseDto);
+    }
+
+    /**
+     * Retrieves the rejected rows of an import job, in file order.
+     *
+     * @param jobId The UUID of the import job.
+     * @param pageable Pagination information.
+     * @return Page of LeadImportRejectDto.
+     * @throws RuntimeException if the import job is not found.
+     */
+    @Transactional(readOnly = true)
+    public Page<LeadImportRejectDto> getImportRejects(UUID jobId, Pageable pageable) {
+        if (!jobRepository.existsById(jobId)) {
+            throw new RuntimeException("Import job not found with ID: " + jobId);
+        }
+        return rejectRepository.findByJobIdOrderByRowNumberAsc(jobId, pageable)
+                .map(reject -> new LeadImportRejectDto(reject.getRowNumber(), reject.getReason(), reject.getRawLine()));
+    }
+
+    /**
+     * Keeps this instance's queued and running jobs marked alive.
+     */
+    @Scheduled(fixedDelayString = "${imports.heartbeat-interval-ms:15000}")
+    public void heartbeat() {
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement(HEARTBEAT_SQL)) {
+            statement.setString(1, instanceId);
+            statement.executeUpdate();
+        } catch (SQLException e) {
+            logger.warn("Could not record lead import heartbeat", e);
+        }
+    }
+
+    /**
+     * Jobs whose instance stopped (crash, restart, scale-down) never finish; marks them failed once
+     * their heartbeat is older than imports.stale-after-ms. Jobs of instances that are still running
+     * keep their heartbeat current and are left alone. Runs at startup and then periodically, so an
+     * instance that never comes back still has its jobs failed.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${imports.stale-check-interval-ms:60000}",
+            initialDelayString = "${imports.stale-check-interval-ms:60000}")
+    public void failAbandonedJobs() {
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement(FAIL_ABANDONED_JOBS_SQL)) {
+            statement.setString(1, instanceId);
+            statement.setDouble(2, staleAfterMs / 1000.0);
+            int failed = statement.executeUpdate();
+            if (failed > 0) {
+                logger.warn("Marked {} abandoned lead imports as failed", failed);
+            }
+        } catch (SQLException e) {
+            logger.warn("Could not mark abandoned lead imports as failed", e);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        worker.shutdownNow();
+    }
+
+    private void runImport(UUID jobId, Path spool) {
+        long started = System.currentTimeMillis();
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setAutoCommit(true);
+            try (PreparedStatement statement = connection.prepareStatement(
+                    "UPDATE lead_import_jobs SET status = 'RUNNING', started_at = CURRENT_TIMESTAMP WHERE id = ?")) {
+                statement.setObject(1, jobId);
+                statement.executeUpdate();
+            }
+
+            stageFile(connection, jobId, spool);
+            long imported = mergeStaged(connection, jobId);
+            kamChangeVersions.onAllKamsChanged();
+            feedIndexesAndClearStaging(connection, jobId);
+
+            logger.info("Lead import {} completed: {} leads in {} ms", jobId, imported, System.currentTimeMillis() - started);
+        } catch (Exception e) {
+            logger.error("Lead import {} failed", jobId, e);
+            failJob(jobId, e.getMessage());
+        } finally {
+            try {
+                Files.deleteIfExists(spool);
+            } catch (IOException e) {
+                logger.warn("Could not delete import spool file {}", spool, e);
+            }
+        }
+    }
+
+    /**
+     * Reads the spooled CSV once, validating each row and COPYing valid rows into the staging table
+     * CHUNK_SIZE at a time. Each chunk, its rejects and the progress counters commit together.
+     */
+    private void stageFile(Connection connection, UUID jobId, Path spool) throws IOException, SQLException {
+        CopyManager copyManager = connection.unwrap(PGConnection.class).getCopyAPI();
+
+        try (CsvRecordReader csv = new CsvRecordReader(Files.newBufferedReader(spool, StandardCharsets.UTF_8))) {
+            List<String> header = csv.readRecord();
+            if (header == null) {
+                throw new IllegalArgumentException("The file is empty");
+            }
+            Map<String, Integer> columns = mapColumns(header);
+
+            StringBuilder copyBuffer = new StringBuilder();
+            List<RejectRow> rejects = new ArrayList<>();
+            long rowNumber = 0;
+            long staged = 0;
+            long rejected = 0;
+            int inChunk = 0;
+
+            List<String> record;
+            while ((record = csv.readRecord()) != null) {
+                if (record.size() == 1 && record.get(0).isBlank()) {
+                    continue; // Blank line
+                }
+                rowNumber++;
+                try {
+                    appendCopyRow(copyBuffer, jobId, rowNumber, parseRow(record, columns));
+                    staged++;
+                } catch (IllegalArgumentException e) {
+                    rejects.add(new RejectRow(rowNumber, e.getMessage(), rawLine(record)));
+                    rejected++;
+                }
+
+                if (++inChunk == CHUNK_SIZE) {
+                    flushChunk(connection, copyManager, jobId, copyBuffer, rejects, rowNumber, staged, rejected);
+                    inChunk = 0;
+                }
+            }
+            flushChunk(connection, copyManager, jobId, copyBuffer, rejects, rowNumber, staged, rejected);
+        }
+    }
+
+    private void flushChunk(Connection connection, CopyManager copyManager, UUID jobId, StringBuilder copyBuffer,
+                            List<RejectRow> rejects, long total, long staged, long rejected) throws SQLException, IOException {
+        connection.setAutoCommit(false);
+        if (!copyBuffer.isEmpty()) {
+            copyManager.copyIn(COPY_STAGING_SQL, new StringReader(copyBuffer.toString()));
+            copyBuffer.setLength(0);
+        }
+        if (!rejects.isEmpty()) {
+            try (PreparedStatement statement = connection.prepareStatement(INSERT_REJECT_SQL)) {
+                for (RejectRow reject : rejects) {
+                    statement.setObject(1, jobId);
+                    statement.setLong(2, reject.rowNumber());
+                    statement.setString(3, reject.reason().length() > MAX_REASON_LENGTH
+                            ? reject.reason().substring(0, MAX_REASON_LENGTH) : reject.reason());
+                    statement.setString(4, reject.rawLine());
+                    statement.addBatch();
+                }
+                statement.executeBatch();
+            }
+            rejects.clear();
+        }
+        try (PreparedStatement statement = connection.prepareStatement(UPDATE_PROGRESS_SQL)) {
+            statement.setLong(1, total);
+            statement.setLong(2, staged);
+            statement.setLong(3, rejected);
+            statement.setObject(4, jobId);
+            statement.executeUpdate();
+        }
+        connection.commit();
+        connection.setAutoCommit(true);
+    }
+
+    /**
+     * Rejects staged rows whose KAM email matches no user or several, counts (or, under REJECT, rejects) suspected
+     * duplicates, then inserts the rest into leads with one INSERT ... SELECT, all in one transaction.
+     *
+     * @return The number of leads created.
+     */
+    private long mergeStaged(Connection connection, UUID jobId) throws SQLException {
+        connection.setAutoCommit(false);
+        try {
+            int unresolvedKams;
+            try (PreparedStatement statement = connection.prepareStatement(REJECT_UNRESOLVED_KAMS_SQL)) {
+                statement.setObject(1, jobId);
+                unresolvedKams = statement.executeUpdate();
+            }
+            long duplicates;
+            long rejectedDuplicates = 0;
+            if (duplicateDetector.getPolicy() == DuplicatePolicy.REJECT) {
+                try (PreparedStatement statement = connection.prepareStatement(REJECT_DUPLICATES_SQL)) {
+                    statement.setObject(1, jobId);
+                    duplicates = rejectedDuplicates = statement.executeUpdate();
+                }
+            } else {
+                try (PreparedStatement statement = connection.prepareStatement(COUNT_DUPLICATES_SQL)) {
+                    statement.setObject(1, jobId);
+                    try (ResultSet rows = statement.executeQuery()) {
+                        rows.next();
+                        duplicates = rows.getLong(1);
+                    }
+                }
+            }
+            int imported;
+            try (PreparedStatement statement = connection.prepareStatement(MERGE_SQL)) {
+                statement.setObject(1, jobId);
+                imported = statement.executeUpdate();
+            }
+            try (PreparedStatement statement = connection.prepareStatement(COMPLETE_JOB_SQL)) {
+                statement.setLong(1, unresolvedKams + rejectedDuplicates);
+                statement.setLong(2, imported);
+                statement.setLong(3, duplicates);
+                statement.setObject(4, jobId);
+                statement.executeUpdate();
+            }
+            connection.commit();
+            return imported;
+        } catch (SQLException e) {
+            connection.rollback();
+            throw e;
+        } finally {
+            connection.setAutoCommit(true);
+        }
+    }
+
+    /**
+     * Adds the imported leads to the typeahead index and the duplicate filter (streamed with a cursor)
+     * and empties the job's staging rows.
+     */
+    private void feedIndexesAndClearStaging(Connection connection, UUID jobId) throws SQLException {
+        connection.setAutoCommit(false); // PgJDBC only honours the fetch size inside a transaction
+        try (PreparedStatement statement = connection.prepareStatement(IMPORTED_LEADS_SQL)) {
+            statement.setFetchSize(TYPEAHEAD_FETCH_SIZE);
+            statement.setObject(1, jobId);
+            try (ResultSet rows = statement.executeQuery()) {
+                while (rows.next()) {
+                    typeaheadIndex.onLeadSaved(rows.getObject(2, UUID.class), rows.getObject(1, UUID.class),
+                            rows.getString(3), rows.getString(4));
+                    duplicateDetector.addHash(rows.getLong(5));
+                }
+            }
+        }
+        try (PreparedStatement statement = connection.prepareStatement(CLEAR_STAGING_SQL)) {
+            statement.setObject(1, jobId);
+            statement.executeUpdate();
+        }
+        connection.commit();
+        connection.setAutoCommit(true);
+    }
+
+    private void failJob(UUID jobId, String message) {
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setAutoCommit(true);
+            try (PreparedStatement statement = connection.prepareStatement("UPDATE lead_import_jobs SET status = 'FAILED', "
+                    + "error_message = ?, completed_at = CURRENT_TIMESTAMP WHERE id = ? AND status <> 'COMPLETED'")) {
+                statement.setString(1, message);
+                statement.setObject(2, jobId);
+                statement.executeUpdate();
+            }
+            try (PreparedStatement statement = connection.prepareStatement(CLEAR_STAGING_SQL)) {
+                statement.setObject(1, jobId);
+                statement.executeUpdate();
+            }
+        } catch (SQLException e) {
+            logger.error("Could not record failure of lead import {}", jobId, e);
+        }
+    }
+
+    /**
+     * Maps normalized header names (lowercase, without underscores or spaces) to column positions.
+     */
+    private Map<String, Integer> mapColumns(List<String> header) {
+        Map<String, Integer> columns = new HashMap<>();
+        for (int i = 0; i < header.size(); i++) {
+            String name = header.get(i).replace("\uFEFF", "").replace("_", "").replace(" ", "").toLowerCase(Locale.ROOT);
+            columns.putIfAbsent(name, i);
+        }
+        if (!columns.containsKey("name") || !columns.containsKey("kamemail")) {
+            throw new IllegalArgumentException("CSV header must contain name and kam_email columns");
+        }
+        return columns;
+    }
+
+    /**
+     * Validates one data row against the leads table constraints.
+     *
+     * @throws IllegalArgumentException with the reject reason if the row is invalid.
+     */
+    private StagingRow parseRow(List<String> record, Map<String, Integer> columns) {
+        String name = field(record, columns, "name");
+        if (name == null) {
+            throw new IllegalArgumentException("Restaurant name is required");
+        }
+        if (name.length() > 200) {
+            throw new IllegalArgumentException("Name must not exceed 200 characters");
+        }
+
+        String city = field(record, columns, "city");
+        if (city != null && city.length() > 100) {
+            throw new IllegalArgumentException("City must not exceed 100 characters");
+        }
+
+        String cuisineType = field(record, columns, "cuisinetype");
+        if (cuisineType != null && cuisineType.length() > 50) {
+            throw new IllegalArgumentException("Cuisine type must not exceed 50 characters");
+        }
+
+        String statusValue = field(record, columns, "status");
+        LeadStatus status = LeadStatus.NEW;
+        if (statusValue != null) {
+            try {
+                status = LeadStatus.valueOf(statusValue.toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Unknown status: " + statusValue);
+            }
+        }
+
+        String kamEmail = field(record, columns, "kamemail");
+        if (kamEmail == null) {
+            throw new IllegalArgumentException("KAM email is required");
+        }
+        if (kamEmail.length() > 150) {
+            throw new IllegalArgumentException("KAM email must not exceed 150 characters");
+        }
+
+        String frequencyValue = field(record, columns, "callfrequency");
+        int callFrequency = DEFAULT_CALL_FREQUENCY;
+        if (frequencyValue != null) {
+            try {
+                callFrequency = Integer.parseInt(frequencyValue);
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Call frequency must be a whole number of days: " + frequencyValue);
+            }
+            if (callFrequency < 1 || callFrequency > 365) {
+                throw new IllegalArgumentException("Call frequency must be between 1 and 365 days");
+            }
+        }
+
+        return new StagingRow(name, city, cuisineType, status, kamEmail.toLowerCase(Locale.ROOT), callFrequency,
+                LeadNameNormalizer.dedupHash(name, city));
+    }
+
+    private static String field(List<String> record, Map<String, Integer> columns, String column) {
+        Integer index = columns.get(column);
+        if (index == null || index >= record.size()) {
+            return null;
+        }
+        String value = record.get(index).trim();
+        return value.isEmpty() ? null : value;
+    }
+
+    private static void appendCopyRow(StringBuilder buffer, UUID jobId, long rowNumber, StagingRow row) {
+        buffer.append(jobId).append(',')
+                .append(rowNumber).append(',');
+        appendCopyField(buffer, row.name());
+        buffer.append(',');
+        appendCopyField(buffer, row.city());
+        buffer.append(',');
+        appendCopyField(buffer, row.cuisineType());
+        buffer.append(',')
+                .append(row.status().name()).append(',');
+        appendCopyField(buffer, row.kamEmail());
+        buffer.append(',')
+                .append(row.callFrequency()).append(',')
+                .append(row.dedupHash()).append('\n');
+    }
+
+    /**
+     * Writes a COPY csv field: always quoted, so an empty string stays distinct from NULL (unquoted empty).
+     */
+    private static void appendCopyField(StringBuilder buffer, String value) {
+        if (value != null) {
+            buffer.append('"').append(value.replace("\"", "\"\"")).append('"');
+        }
+    }
+
+    private static String rawLine(List<String> record) {
+        String line = String.join(",", record);
+        return line.length() > MAX_RAW_LINE_LENGTH ? line.substring(0, MAX_RAW_LINE_LENGTH) : line;
+    }
+
+    private LeadImportJobResponseDto mapToJobResponseDto(LeadImportJob job) {
+        return new LeadImportJobResponseDto(job.getId(), job.getFileName(), job.getStatus(), job.getTotalRows(),
+                job.getStagedRows(), job.getRejectedRows(), job.getImportedRows(), job.getDuplicateRows(), job.getErrorMessage(),
+                job.getCreatedAt(), job.getStartedAt(), job.getCompletedAt());
+    }
+}
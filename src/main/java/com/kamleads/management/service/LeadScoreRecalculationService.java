@@ -0,0 +1,316 @@
+package com.kamleads.management.service;
+
+import com.kamleads.management.dto.response.ScoreRecalculationStatusDto;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Recomputes the performance score of every active lead, on a schedule and on demand.
+ *
+ * A coordinator walks active lead IDs in primary-key order and hands each chunk to a bounded
+ * worker pool. A worker sums the chunk's daily activity buckets with one grouped query, applies
+ * the same scoring rule as LeadService, and writes all of the chunk's scores back with a single
+ * UPDATE ... FROM (VALUES ...), skipping rows whose score did not change. Each chunk commits on
+ * its own, so a failed chunk is logged and counted without undoing the rest of the run.
+ */
+@Service
+public class LeadScoreRecalculationService {
+
+    private static final Logger logger = LoggerFactory.getLogger(LeadScoreRecalculationService.class);
+
+    private static final UUID MIN_UUID = new UUID(0L, 0L);
+    private static final BigDecimal ZERO_SCORE = LeadService.computePerformanceScore(BigDecimal.ZERO, 0);
+
+    private static final String ACTIVE_LEAD_IDS_SQL = "SELECT id FROM leads "
+            + "WHERE status NOT IN ('CLOSED_WON', 'CLOSED_LOST') AND id > ? ORDER BY id LIMIT ?";
+    private static final String SUM_ACTIVITY_SQL = "SELECT lead_id, SUM(interactions), COALESCE(SUM(order_value), 0) "
+            + "FROM lead_daily_activity WHERE lead_id = ANY (?) AND day >= ? GROUP BY lead_id";
+
+    private final DataSource dataSource;
+    private final KamChangeVersions kamChangeVersions;
+    private final int chunkSize;
+    private final String fullChunkUpdateSql;
+    private final Timer durationTimer;
+
+    private final AtomicBoolean running = new AtomicBoolean();
+    // A holder rather than a field of this service, so the gauges can read it without the constructor leaking this
+    private final AtomicReference<RunStats> lastRun = new AtomicReference<>();
+
+    // Walks the lead IDs; one run at a time
+    private final ExecutorService coordinator = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "score-recalculation");
+        thread.setDaemon(true);
+        return thread;
+    });
+    // Scores chunks. The short queue plus caller-runs keeps the coordinator from reading IDs far
+    // ahead of the workers, so a run over millions of leads holds only a few chunks in memory.
+    private final ThreadPoolExecutor workers;
+
+    private record RunStats(LocalDateTime startedAt, LocalDateTime completedAt, long durationMs,
+                            long leadsScanned, long leadsUpdated, int failedChunks, double rowsPerSecond) {
+    }
+
+    @Autowired
+    public LeadScoreRecalculationService(DataSource dataSource, KamChangeVersions kamChangeVersions,
+                                         MeterRegistry meterRegistry,
+                                         @Value("${scoring.recalculation.chunk-size:1000}") int chunkSize,
+                                         @Value("${scoring.recalculation.workers:4}") int workerCount) {
+        this.dataSource = dataSource;
+        this.kamChangeVersions = kamChangeVersions;
+        this.chunkSize = chunkSize;
+        this.fullChunkUpdateSql = buildUpdateSql(chunkSize);
+
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.workers = new ThreadPoolExecutor(workerCount, workerCount, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(workerCount * 2), runnable -> {
+                    Thread thread = new Thread(runnable, "score-recalculation-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                }, new ThreadPoolExecutor.CallerRunsPolicy());
+
+        this.durationTimer = Timer.builder("leads.score.recalculation.duration")
+                .description("Duration of full performance-score recalculation runs")
+                .register(meterRegistry);
+        Gauge.builder("leads.score.recalculation.rows.per.second", lastRun,
+                        last -> last.get() != null ? last.get().rowsPerSecond() : Double.NaN)
+                .description("Leads scored per second in the last completed run")
+                .register(meterRegistry);
+        Gauge.builder("leads.score.recalculation.lag", lastRun, LeadScoreRecalculationService::lagSeconds)
+                .description("Seconds since the last completed run started; upper bound on score staleness")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Scheduled full recalculation. Skipped if the previous run is still in progress.
+     */
+    @Scheduled(cron = "${scoring.recalculation.cron:0 0 * * * *}")
+    public void scheduledRecalculation() {
+        if (!startRecalculation()) {
+            logger.info("Skipping scheduled score recalculation: previous run still in progress");
+        }
+    }
+
+    /**
+     * Starts a full recalculation in the background.
+     *
+     * @return true if a run was started, false if one is already in progress.
+     */
+    public boolean startRecalculation() {
+        if (!running.compareAndSet(false, true)) {
+            return false;
+        }
+        try {
+            coordinator.submit(this::runRecalculation);
+        } catch (RuntimeException e) {
+            running.set(false);
+            throw e;
+        }
+        return true;
+    }
+
+    /**
+     * Retrieves the state of the recalculation job and the metrics of its last completed run.
+     *
+     * @return ScoreRecalculationStatusDto.
+     */
+    public ScoreRecalculationStatusDto getStatus() {
+        RunStats run = lastRun.get();
+        double lag = lagSeconds(lastRun);
+        ScoreRecalculationStatusDto status = new ScoreRecalculationStatusDto();
+        status.setRunning(running.get());
+        status.setLagSeconds(Double.isNaN(lag) ? null : (long) lag);
+        if (run != null) {
+            status.setLastStartedAt(run.startedAt());
+            status.setLastCompletedAt(run.completedAt());
+            status.setLastDurationMs(run.durationMs());
+            status.setLeadsScanned(run.leadsScanned());
+            status.setLeadsUpdated(run.leadsUpdated());
+            status.setFailedChunks(run.failedChunks());
+            status.setRowsPerSecond(run.rowsPerSecond());
+        }
+        return status;
+    }
+
+    /**
+     * Rescores the given leads right away on the calling thread, in chunks.
+     * Used by the incremental path for leads whose activity changed.
+     *
+     * @param leadIds The UUIDs of the leads to rescore.
+     * @return Number of leads whose score changed.
+     */
+    int recalculateLeads(List<UUID> leadIds) throws SQLException {
+        LocalDate fromDay = LocalDate.now().minusDays(LeadService.SCORE_WINDOW_DAYS - 1);
+        int updated = 0;
+        for (int from = 0; from < leadIds.size(); from += chunkSize) {
+            updated += recalculateChunk(leadIds.subList(from, Math.min(from + chunkSize, leadIds.size())), fromDay);
+        }
+        return updated;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        coordinator.shutdownNow();
+        workers.shutdownNow();
+    }
+
+    private void runRecalculation() {
+        long started = System.nanoTime();
+        LocalDateTime startedAt = LocalDateTime.now();
+        LocalDate fromDay = LocalDate.now().minusDays(LeadService.SCORE_WINDOW_DAYS - 1);
+
+        AtomicLong updated = new AtomicLong();
+        AtomicInteger failedChunks = new AtomicInteger();
+        List<Future<?>> pending = new ArrayList<>();
+        long scanned = 0;
+        try {
+            try (Connection connection = dataSource.getConnection();
+                 PreparedStatement statement = connection.prepareStatement(ACTIVE_LEAD_IDS_SQL)) {
+                UUID after = MIN_UUID;
+                while (true) {
+                    List<UUID> chunk = new ArrayList<>(chunkSize);
+                    statement.setObject(1, after);
+                    statement.setInt(2, chunkSize);
+                    try (ResultSet resultSet = statement.executeQuery()) {
+                        while (resultSet.next()) {
+                            chunk.add(resultSet.getObject(1, UUID.class));
+                        }
+                    }
+                    if (chunk.isEmpty()) {
+                        break;
+                    }
+                    scanned += chunk.size();
+                    after = chunk.get(chunk.size() - 1);
+                    pending.add(workers.submit(() -> {
+                        try {
+                            updated.addAndGet(recalculateChunk(chunk, fromDay));
+                        } catch (SQLException | RuntimeException e) {
+                            failedChunks.incrementAndGet();
+                            logger.warn("Score recalculation failed for chunk starting at lead {}", chunk.get(0), e);
+                        }
+                    }));
+                    pending.removeIf(Future::isDone);
+                }
+            }
+            for (Future<?> future : pending) {
+                future.get();
+            }
+
+            long durationMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started);
+            double rowsPerSecond = scanned * 1000.0 / Math.max(durationMs, 1);
+            lastRun.set(new RunStats(startedAt, LocalDateTime.now(), durationMs, scanned, updated.get(),
+                    failedChunks.get(), rowsPerSecond));
+            durationTimer.record(durationMs, TimeUnit.MILLISECONDS);
+            logger.info("Score recalculation completed: {} leads scanned, {} updated, {} failed chunks in {} ms ({} rows/s)",
+                    scanned, updated.get(), failedChunks.get(), durationMs, Math.round(rowsPerSecond));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            logger.warn("Score recalculation interrupted after {} leads", scanned);
+        } catch (SQLException | ExecutionException | RuntimeException e) {
+            logger.error("Score recalculation failed after {} leads", scanned, e);
+        } finally {
+            running.set(false);
+        }
+    }
+
+    /**
+     * Scores one chunk of leads and writes the changed scores back.
+     *
+     * @return Number of leads whose score changed.
+     */
+    private int recalculateChunk(List<UUID> leadIds, LocalDate fromDay) throws SQLException {
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setAutoCommit(true);
+
+            Map<UUID, BigDecimal> scores = new HashMap<>();
+            try (PreparedStatement statement = connection.prepareStatement(SUM_ACTIVITY_SQL)) {
+                statement.setArray(1, connection.createArrayOf("uuid", leadIds.toArray()));
+                statement.setObject(2, fromDay);
+                try (ResultSet resultSet = statement.executeQuery()) {
+                    while (resultSet.next()) {
+                        scores.put(resultSet.getObject(1, UUID.class),
+                                LeadService.computePerformanceScore(resultSet.getBigDecimal(3), resultSet.getLong(2)));
+                    }
+                }
+            }
+
+            String updateSql = leadIds.size() == chunkSize ? fullChunkUpdateSql : buildUpdateSql(leadIds.size());
+            try (PreparedStatement statement = connection.prepareStatement(updateSql)) {
+                int parameter = 1;
+                for (UUID leadId : leadIds) {
+                    statement.setObject(parameter++, leadId);
+                    statement.setBigDecimal(parameter++, scores.getOrDefault(leadId, ZERO_SCORE));
+                }
+                // RETURNING gives the KAMs whose leads actually changed, so only their dashboard ETags move
+                int updated = 0;
+                Set<UUID> changedKamIds = new HashSet<>();
+                try (ResultSet resultSet = statement.executeQuery()) {
+                    while (resultSet.next()) {
+                        changedKamIds.add(resultSet.getObject(1, UUID.class));
+                        updated++;
+                    }
+                }
+                if (!changedKamIds.isEmpty()) {
+                    kamChangeVersions.onKamsChanged(changedKamIds);
+                }
+                return updated;
+            }
+        }
+    }
+
+    // updated_at is left alone: the score is derived data, and bumping it on every run would make
+    // every lead look recently edited
+    private static String buildUpdateSql(int rows) {
+        StringBuilder sql = new StringBuilder("UPDATE leads AS l SET performance_score = v.score FROM (VALUES ");
+        for (int i = 0; i < rows; i++) {
+            sql.append(i == 0 ? "" : ", ").append("(?::uuid, ?::numeric)");
+        }
+        return sql.append(") AS v(id, score) WHERE l.id = v.id AND l.performance_score IS DISTINCT FROM v.score")
+                .append(" RETURNING l.kam_id")
+                .toString();
+    }
+
+    private static double lagSeconds(AtomicReference<RunStats> lastRun) {
+        RunStats run = lastRun.get();
+        if (run == null) {
+            return Double.NaN;
+        }
+        return Duration.between(run.startedAt(), LocalDateTime.now()).toSeconds();
+    }
+}
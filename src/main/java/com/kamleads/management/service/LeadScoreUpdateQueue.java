@@ -0,0 +1,144 @@
+package com.kamleads.management.service;
+
+import com.kamleads.management.util.AfterCommit;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Keeps performance scores near real time between full recalculations.
+ *
+ * InteractionService marks a lead dirty whenever one of its interactions changes; the mark is
+ * recorded after the transaction commits, so the interaction write only pays for a map update.
+ * A background flush rescores a dirty lead once it has been quiet for the debounce window (or has
+ * been dirty for the max delay, so a constantly busy lead is still rescored), coalescing a burst
+ * of events into one recompute. Ready leads are rescored in batches through the same set-based
+ * chunk path as the full recalculation.
+ *
+ * A batch that fails is requeued with exponential backoff. A lead that has failed max-attempts
+ * times is dropped and counted; the next full recalculation rescores it.
+ */
+@Component
+public class LeadScoreUpdateQueue {
+
+    private static final Logger logger = LoggerFactory.getLogger(LeadScoreUpdateQueue.class);
+
+    private final LeadScoreRecalculationService scoreRecalculationService;
+    private final long debounceNanos;
+    private final long maxDelayNanos;
+    private final int maxBatchSize;
+    private final int maxAttempts;
+    private final long retryBackoffNanos;
+    private final Counter rescoredCounter;
+    private final Counter droppedCounter;
+
+    private final Map<UUID, DirtyLead> dirtyLeads = new ConcurrentHashMap<>();
+
+    // attempts: failed rescores so far; notBefore: earliest retry after a failure (nanoTime)
+    private record DirtyLead(long firstSeen, long lastSeen, int attempts, long notBefore) {
+
+        boolean isReady(long now, long debounceNanos, long maxDelayNanos) {
+            return now - notBefore >= 0
+                    && (now - lastSeen >= debounceNanos || now - firstSeen >= maxDelayNanos);
+        }
+    }
+
+    @Autowired
+    public LeadScoreUpdateQueue(LeadScoreRecalculationService scoreRecalculationService, MeterRegistry meterRegistry,
+                                @Value("${scoring.incremental.debounce-ms:2000}") long debounceMs,
+                                @Value("${scoring.incremental.max-delay-ms:30000}") long maxDelayMs,
+                                @Value("${scoring.incremental.max-batch-size:5000}") int maxBatchSize,
+                                @Value("${scoring.incremental.max-attempts:5}") int maxAttempts,
+                                @Value("${scoring.incremental.retry-backoff-ms:1000}") long retryBackoffMs) {
+        this.scoreRecalculationService = scoreRecalculationService;
+        this.debounceNanos = TimeUnit.MILLISECONDS.toNanos(debounceMs);
+        this.maxDelayNanos = TimeUnit.MILLISECONDS.toNanos(maxDelayMs);
+        this.maxBatchSize = maxBatchSize;
+        this.maxAttempts = maxAttempts;
+        this.retryBackoffNanos = TimeUnit.MILLISECONDS.toNanos(retryBackoffMs);
+        this.rescoredCounter = Counter.builder("leads.score.incremental.rescored")
+                .description("Leads rescored by the incremental path")
+                .register(meterRegistry);
+        this.droppedCounter = Counter.builder("leads.score.incremental.dropped")
+                .description("Leads given up on after repeated rescore failures; left to the full recalculation")
+                .register(meterRegistry);
+        Gauge.builder("leads.score.incremental.pending", dirtyLeads, Map::size)
+                .description("Leads waiting for an incremental rescore")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Marks a lead's score as stale. Takes effect when the surrounding transaction commits;
+     * nothing is queued if it rolls back.
+     *
+     * @param leadId The UUID of the lead.
+     */
+    public void markDirty(UUID leadId) {
+        AfterCommit.run(() -> enqueue(leadId));
+    }
+
+    @Scheduled(fixedDelayString = "${scoring.incremental.flush-interval-ms:500}")
+    public void flush() {
+        long now = System.nanoTime();
+        Map<UUID, DirtyLead> ready = new HashMap<>();
+        for (Map.Entry<UUID, DirtyLead> entry : dirtyLeads.entrySet()) {
+            if (ready.size() >= maxBatchSize) {
+                break; // The rest wait for the next flush
+            }
+            DirtyLead dirty = entry.getValue();
+            // remove(key, value) fails if another event arrived meanwhile; the lead stays queued
+            if (dirty.isReady(now, debounceNanos, maxDelayNanos) && dirtyLeads.remove(entry.getKey(), dirty)) {
+                ready.put(entry.getKey(), dirty);
+            }
+        }
+        if (ready.isEmpty()) {
+            return;
+        }
+
+        try {
+            scoreRecalculationService.recalculateLeads(new ArrayList<>(ready.keySet()));
+            rescoredCounter.increment(ready.size());
+        } catch (Exception e) {
+            logger.warn("Incremental rescore of {} leads failed; they will be retried", ready.size(), e);
+            ready.forEach((leadId, dirty) -> retry(leadId, dirty, now));
+        }
+    }
+
+    /**
+     * Requeues a lead after a failed rescore, doubling the wait with each attempt, or drops it once it
+     * has used up its attempts. An event that arrived since the flush keeps its timestamps.
+     */
+    private void retry(UUID leadId, DirtyLead failed, long now) {
+        int attempts = failed.attempts() + 1;
+        if (attempts >= maxAttempts) {
+            droppedCounter.increment();
+            logger.error("Giving up on incremental rescore of lead {} after {} attempts; "
+                    + "the next full recalculation will rescore it", leadId, attempts);
+            return;
+        }
+        long notBefore = now + (retryBackoffNanos << Math.min(attempts - 1, 20));
+        dirtyLeads.merge(leadId, new DirtyLead(failed.firstSeen(), failed.lastSeen(), attempts, notBefore),
+                (existing, retried) -> new DirtyLead(Math.min(existing.firstSeen(), retried.firstSeen()),
+                        existing.lastSeen(), attempts, notBefore));
+    }
+
+    private void enqueue(UUID leadId) {
+        long now = System.nanoTime();
+        dirtyLeads.merge(leadId, new DirtyLead(now, now, 0, now),
+                (existing, added) -> new DirtyLead(existing.firstSeen(), added.lastSeen(),
+                        existing.attempts(), existing.notBefore()));
+    }
+}
@@ -2,59 +2,133 @@ package com.kamleads.management.service;
 
 import com.kamleads.management.dto.LeadPerformanceDTO;
 import com.kamleads.management.dto.LeadSummaryDto;
+import com.kamleads.management.dto.request.LeadBulkRowDto;
 import com.kamleads.management.dto.request.LeadCreateRequestDto;
+import com.kamleads.management.dto.request.LeadMergeRequestDto;
 import com.kamleads.management.dto.ContactSummaryDto;
+import com.kamleads.management.dto.response.BulkLeadResponseDto;
+import com.kamleads.management.dto.response.BulkRowErrorDto;
+import com.kamleads.management.dto.response.BulkUpdateResponseDto;
+import com.kamleads.management.dto.response.CursorPageResponseDto;
+import com.kamleads.management.dto.response.DuplicateClusterDto;
+import com.kamleads.management.dto.response.DuplicateLeadDto;
+import com.kamleads.management.dto.response.LeadMergeResponseDto;
 import com.kamleads.management.dto.response.LeadResponseDto;
+import com.kamleads.management.dto.response.LeadSummaryResponseDto;
+import com.kamleads.management.dto.response.TypeaheadSuggestionDto;
 import com.kamleads.management.dto.RecentInteractionsSummaryDto;
+import com.kamleads.management.enums.CountMode;
+import com.kamleads.management.enums.DuplicatePolicy;
 import com.kamleads.management.enums.LeadStatus;
+import com.kamleads.management.enums.LeadView;
 import com.kamleads.management.enums.InteractionType;
+import com.kamleads.management.exception.ConflictException;
 import com.kamleads.management.model.Contact;
-import com.kamleads.management.model.Interaction;
 import com.kamleads.management.model.Lead;
+import com.kamleads.management.model.LeadStatusChange;
 import com.kamleads.management.model.User;
+import com.kamleads.management.repository.CallScheduleRepository;
 import com.kamleads.management.repository.ContactRepository;
 import com.kamleads.management.repository.InteractionRepository;
+import com.kamleads.management.repository.LeadDailyActivityRepository;
 import com.kamleads.management.repository.LeadRepository;
+import com.kamleads.management.repository.LeadStatusChangeRepository;
+import com.kamleads.management.repository.PerformanceMetricsRepository;
 import com.kamleads.management.repository.UserRepository;
+import com.kamleads.management.util.LeadNameNormalizer;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.hibernate.Session;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.math.RoundingMode;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
 public class LeadService {
 
+    // Bulk writes: rows per persistence-context flush/clear, and JDBC statements per batch
+    private static final int BULK_CHUNK_SIZE = 500;
+    private static final int BULK_JDBC_BATCH_SIZE = 100;
+    static final int SCORE_WINDOW_DAYS = 90; // Performance score covers the last 90 days of activity
+
     private final LeadRepository leadRepository;
     private final UserRepository userRepository;
     private final ContactRepository contactRepository;
     private final InteractionRepository interactionRepository;
+    private final CallScheduleRepository callScheduleRepository;
+    private final PerformanceMetricsRepository performanceMetricsRepository;
+    private final LeadDailyActivityRepository leadDailyActivityRepository;
+    private final LeadStatusChangeRepository leadStatusChangeRepository;
+    private final LeadTypeaheadIndex typeaheadIndex;
+    private final KamChangeVersions kamChangeVersions;
+    private final LeadDuplicateDetector duplicateDetector;
+    private final OptimisticLockRetry optimisticLockRetry;
+    private final Validator validator;
+
+    @PersistenceContext
+    private EntityManager entityManager;
 
     @Autowired
     public LeadService(LeadRepository leadRepository, UserRepository userRepository,
-                       ContactRepository contactRepository, InteractionRepository interactionRepository) {
+                       ContactRepository contactRepository, InteractionRepository interactionRepository,
+                       CallScheduleRepository callScheduleRepository,
+                       PerformanceMetricsRepository performanceMetricsRepository,
+                       LeadDailyActivityRepository leadDailyActivityRepository,
+                       LeadStatusChangeRepository leadStatusChangeRepository,
+                       LeadTypeaheadIndex typeaheadIndex, KamChangeVersions kamChangeVersions,
+                       LeadDuplicateDetector duplicateDetector, OptimisticLockRetry optimisticLockRetry,
+                       Validator validator) {
         this.leadRepository = leadRepository;
         this.userRepository = userRepository;
         this.contactRepository = contactRepository;
         this.interactionRepository = interactionRepository;
+        this.callScheduleRepository = callScheduleRepository;
+        this.performanceMetricsRepository = performanceMetricsRepository;
+        this.leadDailyActivityRepository = leadDailyActivityRepository;
+        this.leadStatusChangeRepository = leadStatusChangeRepository;
+        this.typeaheadIndex = typeaheadIndex;
+        this.kamChangeVersions = kamChangeVersions;
+        this.duplicateDetector = duplicateDetector;
+        this.optimisticLockRetry = optimisticLockRetry;
+        this.validator = validator;
     }
 
     /**
      * Creates a new lead (restaurant).
+     * Leads with the same normalized name and city as an existing lead are reported in
+     * suspectedDuplicateIds, or refused when dedup.policy is REJECT.
      *
      * @param requestDto The DTO containing lead creation details.
      * @return LeadResponseDto of the created lead.
      * @throws RuntimeException if KAM not found.
+     * @throws ConflictException if the lead is a suspected duplicate and duplicates are rejected.
      */
     @Transactional
     public LeadResponseDto createLead(LeadCreateRequestDto requestDto) {
@@ -62,17 +136,172 @@ public class LeadService {
                 .orElseThrow(() -> new RuntimeException("KAM not found with ID: " + requestDto.getKamId()));
 
         Lead lead = new Lead();
-        lead.setId(UUID.randomUUID());
-        lead.setName(requestDto.getName());
-        lead.setCity(requestDto.getCity());
-        lead.setCuisineType(requestDto.getCuisineType());
-        lead.setStatus(requestDto.getStatus());
-        lead.setKam(kam);
-        lead.setCallFrequency(requestDto.getCallFrequency());
+        lead.setId(UUID.randomUUID()); // Lead.isNew() stays true, so save() persists without a SELECT
+        applyRequestFields(lead, requestDto, kam);
         lead.setPerformanceScore(BigDecimal.ZERO); // Initialize performance score
+        List<UUID> duplicateIds = checkDuplicates(lead.getDedupHash(), null);
 
         Lead savedLead = leadRepository.save(lead);
-        return mapToLeadResponseDto(savedLead);
+        typeaheadIndex.onLeadSaved(kam.getId(), savedLead.getId(), savedLead.getName(), savedLead.getCity());
+        duplicateDetector.onLeadSaved(savedLead.getDedupHash());
+        kamChangeVersions.onKamChanged(kam.getId());
+        LeadResponseDto responseDto = mapToLeadResponseDto(savedLead);
+        responseDto.setSuspectedDuplicateIds(duplicateIds.isEmpty() ? null : duplicateIds);
+        return responseDto;
+    }
+
+    /**
+     * Creates and updates leads in bulk: rows without an id are created, rows with an id update that lead.
+     * KAMs are resolved with one IN query for the whole request and existing leads with one per chunk;
+     * new leads carry a pre-assigned ID and are persisted without a SELECT, and the session's JDBC batch
+     * size is raised so the ordered inserts/updates go out as batches. Invalid rows are reported
+     * individually and skipped; all other rows are written in this one transaction.
+     * Rows whose normalized name and city match an existing lead, or an earlier row of the request,
+     * are written with a warning, or rejected as errors when dedup.policy is REJECT.
+     *
+     * @param rows The rows to write, in request order.
+     * @return BulkLeadResponseDto with counts, written IDs, per-row errors, duplicate warnings and throughput.
+     */
+    @Transactional
+    public BulkLeadResponseDto bulkUpsertLeads(List<LeadBulkRowDto> rows) {
+        long started = System.nanoTime();
+        List<BulkRowErrorDto> errors = new ArrayList<>();
+
+        // Field validation and duplicate IDs, before touching the database
+        List<Integer> validIndexes = new ArrayList<>();
+        Set<UUID> seenLeadIds = new HashSet<>();
+        Set<UUID> kamIds = new HashSet<>();
+        for (int i = 0; i < rows.size(); i++) {
+            LeadBulkRowDto row = rows.get(i);
+            if (row == null) {
+                errors.add(new BulkRowErrorDto(i, null, "Row is empty"));
+                continue;
+            }
+            Set<ConstraintViolation<LeadBulkRowDto>> violations = validator.validate(row);
+            if (!violations.isEmpty()) {
+                String message = violations.stream()
+                        .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                        .sorted()
+                        .collect(Collectors.joining("; "));
+                errors.add(new BulkRowErrorDto(i, row.getId(), message));
+                continue;
+            }
+            if (row.getId() != null && !seenLeadIds.add(row.getId())) {
+                errors.add(new BulkRowErrorDto(i, row.getId(), "Lead ID appears more than once in the request"));
+                continue;
+            }
+            validIndexes.add(i);
+            kamIds.add(row.getKamId());
+        }
+
+        Map<UUID, User> kamsById = userRepository.findAllById(kamIds).stream()
+                .collect(Collectors.toMap(User::getId, Function.identity()));
+
+        entityManager.unwrap(Session.class).setJdbcBatchSize(BULK_JDBC_BATCH_SIZE);
+
+        List<UUID> leadIds = new ArrayList<>(validIndexes.size());
+        List<BulkRowErrorDto> warnings = new ArrayList<>();
+        Map<Long, UUID> writtenHashes = new HashMap<>(); // First lead written per dedup hash, for duplicates within the request
+        Set<UUID> changedKamIds = new HashSet<>();
+        int created = 0;
+        int updated = 0;
+        for (int from = 0; from < validIndexes.size(); from += BULK_CHUNK_SIZE) {
+            List<Integer> chunk = validIndexes.subList(from, Math.min(from + BULK_CHUNK_SIZE, validIndexes.size()));
+
+            List<UUID> updateIds = chunk.stream()
+                    .map(i -> rows.get(i).getId())
+                    .filter(Objects::nonNull)
+                    .collect(Collectors.toList());
+            Map<UUID, Lead> existingLeads = updateIds.isEmpty() ? Collections.emptyMap()
+                    : leadRepository.findAllById(updateIds).stream()
+                            .collect(Collectors.toMap(Lead::getId, Function.identity()));
+
+            // Existing leads sharing a name/city hash with this chunk's rows: one IN query for the filter hits
+            Map<Long, List<UUID>> duplicatesByHash = duplicateDetector.findSuspectedDuplicates(chunk.stream()
+                    .map(i -> LeadNameNormalizer.dedupHash(rows.get(i).getName(), rows.get(i).getCity()))
+                    .collect(Collectors.toList()));
+
+            List<Lead> toSave = new ArrayList<>(chunk.size());
+            List<LeadStatusChange> statusChanges = new ArrayList<>();
+            for (int i : chunk) {
+                LeadBulkRowDto row = rows.get(i);
+                User kam = kamsById.get(row.getKamId());
+                if (kam == null) {
+                    errors.add(new BulkRowErrorDto(i, row.getId(), "KAM not found with ID: " + row.getKamId()));
+                    continue;
+                }
+
+                Lead lead;
+                if (row.getId() == null) {
+                    lead = new Lead();
+                    lead.setId(UUID.randomUUID());
+                    lead.setPerformanceScore(BigDecimal.ZERO);
+                } else {
+                    lead = existingLeads.get(row.getId());
+                    if (lead == null) {
+                        errors.add(new BulkRowErrorDto(i, row.getId(), "Lead not found with ID: " + row.getId()));
+                        continue;
+                    }
+                    if (row.getVersion() != null && !row.getVersion().equals(lead.getVersion())) {
+                        errors.add(new BulkRowErrorDto(i, row.getId(),
+                                "Lead was modified concurrently; current version is " + lead.getVersion()));
+                        continue;
+                    }
+                }
+
+                long dedupHash = LeadNameNormalizer.dedupHash(row.getName(), row.getCity());
+                // Updates are only checked when they change the name or city
+                if (lead.getDedupHash() == null || lead.getDedupHash() != dedupHash) {
+                    Set<UUID> duplicateIds = new LinkedHashSet<>(duplicatesByHash.getOrDefault(dedupHash, List.of()));
+                    UUID earlierRowLeadId = writtenHashes.get(dedupHash);
+                    if (earlierRowLeadId != null) {
+                        duplicateIds.add(earlierRowLeadId);
+                    }
+                    duplicateIds.remove(lead.getId());
+                    if (!duplicateIds.isEmpty()) {
+                        String message = "Suspected duplicate of lead(s) " + duplicateIds;
+                        if (duplicateDetector.getPolicy() == DuplicatePolicy.REJECT) {
+                            errors.add(new BulkRowErrorDto(i, row.getId(), message));
+                            continue;
+                        }
+                        warnings.add(new BulkRowErrorDto(i, row.getId(), message));
+                    }
+                }
+
+                LeadStatus previousStatus = lead.getStatus();
+                if (row.getId() == null) {
+                    created++;
+                } else {
+                    changedKamIds.add(lead.getKam().getId()); // Previous KAM, in case the lead moves
+                    updated++;
+                }
+                applyRequestFields(lead, row, kam);
+                if (row.getId() != null && previousStatus != lead.getStatus()) {
+                    statusChanges.add(new LeadStatusChange(lead.getId(), previousStatus, lead.getStatus()));
+                }
+                writtenHashes.putIfAbsent(dedupHash, lead.getId());
+                duplicateDetector.onLeadSaved(dedupHash);
+                changedKamIds.add(kam.getId());
+                toSave.add(lead);
+                typeaheadIndex.onLeadSaved(kam.getId(), lead.getId(), lead.getName(), lead.getCity());
+            }
+
+            // The previous statuses were read with the leads, and the version check on flush guarantees they are
+            // still current when the UPDATEs go out, so the chunk's history is one insert from memory
+            recordStatusChanges(statusChanges);
+            leadRepository.saveAll(toSave);
+            // Send this chunk's batches and drop it from the persistence context so dirty checking stays cheap
+            entityManager.flush();
+            entityManager.clear();
+            toSave.forEach(lead -> leadIds.add(lead.getId()));
+        }
+
+        kamChangeVersions.onKamsChanged(changedKamIds);
+        errors.sort(Comparator.comparingInt(BulkRowErrorDto::getIndex));
+        long durationMs = Math.max(1, (System.nanoTime() - started) / 1_000_000);
+        int written = created + updated;
+        return new BulkLeadResponseDto(rows.size(), created, updated, errors.size(), leadIds, errors,
+                warnings, durationMs, written * 1000L / durationMs);
     }
 
     /**
@@ -83,7 +312,32 @@ public class LeadService {
      */
     @Transactional(readOnly = true)
     public Optional<LeadResponseDto> getLeadById(UUID id) {
-        return leadRepository.findById(id).map(this::mapToLeadResponseDto);
+        return getLeadById(id, LeadView.FULL);
+    }
+
+    /**
+     * Retrieves a lead by its ID in the requested view.
+     * STANDARD skips the contact and recent-activity queries; use getLeadSummaryById for SUMMARY.
+     *
+     * @param id The UUID of the lead.
+     * @param view STANDARD or FULL.
+     * @return Optional<LeadResponseDto> if found, empty otherwise.
+     */
+    @Transactional(readOnly = true)
+    public Optional<LeadResponseDto> getLeadById(UUID id, LeadView view) {
+        return leadRepository.findById(id)
+                .map(lead -> mapToLeadResponseDtos(List.of(lead), view == LeadView.FULL).get(0));
+    }
+
+    /**
+     * Retrieves the summary view of a lead through a constructor projection.
+     *
+     * @param id The UUID of the lead.
+     * @return Optional<LeadSummaryResponseDto> if found, empty otherwise.
+     */
+    @Transactional(readOnly = true)
+    public Optional<LeadSummaryResponseDto> getLeadSummaryById(UUID id) {
+        return leadRepository.findSummaryById(id);
     }
 
     /**
@@ -101,24 +355,114 @@ public class LeadService {
     public Page<LeadResponseDto> getLeadsByKam(UUID kamId, String searchTerm,
                                                List<LeadStatus> statuses, String city,
                                                Pageable pageable) {
+        return getLeadsByKam(kamId, searchTerm, statuses, city, pageable, LeadView.FULL);
+    }
+
+    /**
+     * Retrieves leads for a specific KAM in the requested view.
+     * STANDARD skips the contact and recent-activity queries; use getLeadSummariesByKam for SUMMARY.
+     *
+     * @param view STANDARD or FULL.
+     * @return Page of LeadResponseDto.
+     * @throws RuntimeException if KAM not found.
+     */
+    @Transactional(readOnly = true)
+    public Page<LeadResponseDto> getLeadsByKam(UUID kamId, String searchTerm,
+                                               List<LeadStatus> statuses, String city,
+                                               Pageable pageable, LeadView view) {
         if (!userRepository.existsById(kamId)) {
             throw new RuntimeException("KAM not found with ID: " + kamId);
         }
 
         Page<Lead> leadsPage = leadRepository.findLeadsWithFilters(kamId, searchTerm, statuses, city, pageable);
-        List<LeadResponseDto> dtoList = leadsPage.getContent().stream()
-                .map(this::mapToLeadResponseDto)
-                .collect(Collectors.toList());
+        List<LeadResponseDto> dtoList = mapToLeadResponseDtos(leadsPage.getContent(), view == LeadView.FULL);
         return new PageImpl<>(dtoList, pageable, leadsPage.getTotalElements());
     }
 
+    /**
+     * Retrieves the summary view of a KAM's leads with the same filters as getLeadsByKam.
+     * Served by a constructor projection; no Lead entities or associations are loaded.
+     *
+     * @return Page of LeadSummaryResponseDto.
+     * @throws RuntimeException if KAM not found.
+     */
+    @Transactional(readOnly = true)
+    public Page<LeadSummaryResponseDto> getLeadSummariesByKam(UUID kamId, String searchTerm,
+                                                              List<LeadStatus> statuses, String city,
+                                                              Pageable pageable) {
+        if (!userRepository.existsById(kamId)) {
+            throw new RuntimeException("KAM not found with ID: " + kamId);
+        }
+        return leadRepository.findLeadSummariesWithFilters(kamId, searchTerm, statuses, city, pageable);
+    }
+
+    /**
+     * Retrieves one cursor window of a KAM's leads. Each window is a keyset range scan
+     * that starts after the previous window's last row, so deep windows cost the same
+     * as the first; the total count is skipped, capped or exact depending on countMode.
+     *
+     * @param kamId The UUID of the KAM.
+     * @param searchTerm Optional search term for lead name.
+     * @param statuses Optional list of lead statuses to filter by.
+     * @param city Optional city to filter by.
+     * @param sort Sort keys (name, status, callFrequency, createdAt); id is always the tie-breaker.
+     * @param cursor The nextCursor of the previous window, or null for the first one.
+     * @param size Window size.
+     * @param countMode NONE, CAPPED or EXACT.
+     * @param view SUMMARY, STANDARD or FULL.
+     * @return CursorPageResponseDto of LeadResponseDto, or of LeadSummaryResponseDto for SUMMARY.
+     * @throws RuntimeException if KAM not found.
+     */
+    @Transactional(readOnly = true)
+    public CursorPageResponseDto<?> getLeadsByKamCursor(UUID kamId, String searchTerm,
+                                                        List<LeadStatus> statuses, String city,
+                                                        Sort sort, String cursor, int size,
+                                                        CountMode countMode, LeadView view) {
+        if (!userRepository.existsById(kamId)) {
+            throw new RuntimeException("KAM not found with ID: " + kamId);
+        }
+
+        CursorPageResponseDto<Lead> window = leadRepository.findLeadsWithFiltersAfter(
+                kamId, searchTerm, statuses, city, sort, cursor, size, countMode);
+        if (view == LeadView.SUMMARY) {
+            return window.map(lead -> new LeadSummaryResponseDto(lead.getId(), lead.getName(), lead.getCity(),
+                    lead.getStatus(), lead.getNextCallDate()));
+        }
+        List<LeadResponseDto> dtoList = mapToLeadResponseDtos(window.getContent(), view == LeadView.FULL);
+        return new CursorPageResponseDto<>(dtoList, window.getNextCursor(), window.getTotalElements(), window.isTotalCapped());
+    }
+
+    /**
+     * Suggests leads of a KAM matching a partially typed lead name, city or contact name/email.
+     * Served from the in-memory LeadTypeaheadIndex; when that is not available for this KAM
+     * (still building, or over its memory budget) falls back to the indexed lead-name search.
+     *
+     * @param kamId The UUID of the KAM.
+     * @param query The text typed so far.
+     * @param limit Maximum number of suggestions.
+     * @return List of TypeaheadSuggestionDto ordered by lead name.
+     */
+    @Transactional(readOnly = true)
+    public List<TypeaheadSuggestionDto> typeahead(UUID kamId, String query, int limit) {
+        Optional<List<TypeaheadSuggestionDto>> fromIndex = typeaheadIndex.search(kamId, query, limit);
+        if (fromIndex.isPresent()) {
+            return fromIndex.get();
+        }
+        return leadRepository.findLeadsWithFiltersAfter(kamId, query, null, null, Sort.by("name"), null, limit, CountMode.NONE)
+                .getContent().stream()
+                .map(lead -> new TypeaheadSuggestionDto(lead.getId(), lead.getName(), lead.getCity(), "LEAD_NAME", lead.getName()))
+                .collect(Collectors.toList());
+    }
+
     /**
      * Updates an existing lead's details.
      *
      * @param id The UUID of the lead to update.
      * @param requestDto The DTO containing updated lead details.
-     * @return LeadResponseDto of the updated lead.
+     * @return LeadResponseDto of the updated lead, with suspectedDuplicateIds if a changed name or city
+     *         now matches another lead.
      * @throws RuntimeException if lead or KAM not found.
+     * @throws ConflictException if the new name and city match another lead and duplicates are rejected.
      */
     @Transactional
     public LeadResponseDto updateLead(UUID id, LeadCreateRequestDto requestDto) {
@@ -128,15 +472,24 @@ public class LeadService {
         User kam = userRepository.findById(requestDto.getKamId())
                 .orElseThrow(() -> new RuntimeException("KAM not found with ID: " + requestDto.getKamId()));
 
-        lead.setName(requestDto.getName());
-        lead.setCity(requestDto.getCity());
-        lead.setCuisineType(requestDto.getCuisineType());
-        lead.setStatus(requestDto.getStatus());
-        lead.setKam(kam);
-        lead.setCallFrequency(requestDto.getCallFrequency());
-
-        Lead updatedLead = leadRepository.save(lead);
-        return mapToLeadResponseDto(updatedLead);
+        checkVersion(lead, requestDto.getVersion());
+        UUID previousKamId = lead.getKam().getId();
+        Long previousDedupHash = lead.getDedupHash();
+        LeadStatus previousStatus = lead.getStatus();
+        applyRequestFields(lead, requestDto, kam);
+        if (previousStatus != lead.getStatus()) {
+            recordStatusChanges(List.of(new LeadStatusChange(id, previousStatus, lead.getStatus())));
+        }
+        List<UUID> duplicateIds = lead.getDedupHash().equals(previousDedupHash)
+                ? List.of() : checkDuplicates(lead.getDedupHash(), id);
+
+        Lead updatedLead = leadRepository.saveAndFlush(lead); // Flushed so the response carries the bumped version
+        typeaheadIndex.onLeadSaved(kam.getId(), updatedLead.getId(), updatedLead.getName(), updatedLead.getCity());
+        duplicateDetector.onLeadSaved(updatedLead.getDedupHash());
+        kamChangeVersions.onKamsChanged(List.of(previousKamId, kam.getId()));
+        LeadResponseDto responseDto = mapToLeadResponseDto(updatedLead);
+        responseDto.setSuspectedDuplicateIds(duplicateIds.isEmpty() ? null : duplicateIds);
+        return responseDto;
     }
 
     /**
@@ -147,10 +500,89 @@ public class LeadService {
      */
     @Transactional
     public void deleteLead(UUID id) {
-        if (!leadRepository.existsById(id)) {
-            throw new RuntimeException("Lead not found with ID: " + id);
+        Lead lead = leadRepository.findById(id)
+                .orElseThrow(() -> new RuntimeException("Lead not found with ID: " + id));
+        leadRepository.delete(lead);
+        leadStatusChangeRepository.deleteByLeadId(id);
+        typeaheadIndex.onLeadDeleted(id);
+        kamChangeVersions.onKamChanged(lead.getKam().getId());
+    }
+
+    /**
+     * Merges duplicate leads into a survivor, in one transaction. The duplicates' interactions, contacts,
+     * call schedules, performance metrics, daily activity buckets and status history are moved with one
+     * set-based statement each (contacts whose email the survivor already has are folded into the
+     * survivor's contact), the duplicates are deleted, and the survivor's last call date and performance
+     * score are recomputed over the combined history. The survivor keeps its own name, status, KAM and call frequency.
+     *
+     * All leads involved are row-locked first, so concurrent writes to them wait for the merge; writes
+     * aimed at a duplicate then fail because it no longer exists.
+     *
+     * @param survivorId The UUID of the lead to keep.
+     * @param requestDto The duplicates to merge in, and optionally the survivor's expected version.
+     * @return LeadMergeResponseDto with the updated survivor and the number of rows moved.
+     * @throws RuntimeException if any of the leads is not found.
+     * @throws ObjectOptimisticLockingFailureException if the survivor's version does not match.
+     */
+    @Transactional
+    public LeadMergeResponseDto mergeLeads(UUID survivorId, LeadMergeRequestDto requestDto) {
+        List<UUID> mergedIds = requestDto.getDuplicateIds().stream()
+                .distinct()
+                .filter(id -> !id.equals(survivorId))
+                .collect(Collectors.toList());
+        Set<UUID> allIds = new HashSet<>(mergedIds);
+        allIds.add(survivorId);
+
+        Map<UUID, Lead> leadsById = leadRepository.findAllByIdForUpdate(allIds).stream()
+                .collect(Collectors.toMap(Lead::getId, Function.identity()));
+        for (UUID id : allIds) {
+            if (!leadsById.containsKey(id)) {
+                throw new RuntimeException("Lead not found with ID: " + id);
+            }
         }
-        leadRepository.deleteById(id);
+        Lead survivor = leadsById.get(survivorId);
+        checkVersion(survivor, requestDto.getVersion());
+        LocalDate lastCallDate = leadsById.values().stream()
+                .map(Lead::getLastCallDate)
+                .filter(Objects::nonNull)
+                .max(Comparator.naturalOrder())
+                .orElse(null);
+        Set<UUID> changedKamIds = leadsById.values().stream()
+                .map(lead -> lead.getKam().getId())
+                .collect(Collectors.toSet());
+
+        if (mergedIds.isEmpty()) {
+            return new LeadMergeResponseDto(mapToLeadResponseDto(survivor), mergedIds, 0, 0, 0, 0, 0);
+        }
+
+        // Contacts first: clashing emails are folded into the kept contact before the rest move
+        interactionRepository.repointClashingContactsForMerge(survivorId, mergedIds);
+        int contactsDropped = contactRepository.deleteClashingContactsForMerge(survivorId, mergedIds);
+        contactRepository.demoteExtraPrimaryContactsForMerge(survivorId, mergedIds);
+        int contactsMoved = contactRepository.moveToLead(mergedIds, survivorId);
+        int interactionsMoved = interactionRepository.moveToLead(mergedIds, survivorId);
+        int callSchedulesMoved = callScheduleRepository.moveToLead(mergedIds, survivorId);
+        int metricsMoved = performanceMetricsRepository.moveToLead(mergedIds, survivorId);
+        leadDailyActivityRepository.mergeIntoLead(mergedIds, survivorId);
+        // Old activity already archived (LeadArchiveService) must not be left pointing at deleted leads
+        interactionRepository.moveArchivedToLead(mergedIds, survivorId);
+        callScheduleRepository.moveArchivedToLead(mergedIds, survivorId);
+        leadStatusChangeRepository.moveToLead(mergedIds, survivorId);
+        leadRepository.deleteByIds(mergedIds);
+
+        // The bulk statements cleared the persistence context; recompute the survivor's derived fields
+        Lead mergedLead = leadRepository.findById(survivorId)
+                .orElseThrow(() -> new RuntimeException("Lead not found with ID: " + survivorId));
+        mergedLead.setLastCallDate(lastCallDate);
+        mergedLead.setPerformanceScore(scoreFromActivity(survivorId));
+        Lead savedLead = leadRepository.saveAndFlush(mergedLead);
+
+        mergedIds.forEach(typeaheadIndex::onLeadDeleted);
+        contactRepository.findByLeadIdInOrderByNameAsc(List.of(survivorId)).forEach(contact ->
+                typeaheadIndex.onContactSaved(survivorId, contact.getId(), contact.getName(), contact.getEmail()));
+        kamChangeVersions.onKamsChanged(changedKamIds);
+        return new LeadMergeResponseDto(mapToLeadResponseDto(savedLead), mergedIds, interactionsMoved,
+                contactsMoved, contactsDropped, callSchedulesMoved, metricsMoved);
     }
 
     /**
@@ -165,11 +597,95 @@ public class LeadService {
     public LeadResponseDto updateLeadStatus(UUID leadId, LeadStatus newStatus) {
         Lead lead = leadRepository.findById(leadId)
                 .orElseThrow(() -> new RuntimeException("Lead not found with ID: " + leadId));
+        if (lead.getStatus() != newStatus) {
+            recordStatusChanges(List.of(new LeadStatusChange(leadId, lead.getStatus(), newStatus)));
+        }
         lead.setStatus(newStatus);
-        Lead updatedLead = leadRepository.save(lead);
+        Lead updatedLead = leadRepository.saveAndFlush(lead);
+        kamChangeVersions.onKamChanged(lead.getKam().getId());
         return mapToLeadResponseDto(updatedLead);
     }
 
+    /**
+     * Sets the status of the given leads with a single UPDATE statement.
+     *
+     * @param leadIds The UUIDs of the leads.
+     * @param newStatus The new status.
+     * @return BulkUpdateResponseDto with the number of distinct IDs sent and rows changed.
+     */
+    @Transactional
+    public BulkUpdateResponseDto updateStatusForLeads(List<UUID> leadIds, LeadStatus newStatus) {
+        List<UUID> ids = leadIds.stream().distinct().collect(Collectors.toList());
+        leadStatusChangeRepository.recordForIds(ids, newStatus.name());
+        int affected = leadRepository.updateStatusByIds(ids, newStatus);
+        kamChangeVersions.onAllKamsChanged(); // Owning KAMs not looked up
+        return new BulkUpdateResponseDto(ids.size(), affected);
+    }
+
+    /**
+     * Moves all of a KAM's leads currently in one of fromStatuses to newStatus with a single UPDATE statement,
+     * e.g. the quarterly cleanup of stale leads to INACTIVE.
+     *
+     * @param kamId The UUID of the KAM.
+     * @param fromStatuses The statuses to transition from.
+     * @param newStatus The new status.
+     * @return BulkUpdateResponseDto with the number of rows changed.
+     */
+    @Transactional
+    public BulkUpdateResponseDto updateStatusForKam(UUID kamId, List<LeadStatus> fromStatuses, LeadStatus newStatus) {
+        leadStatusChangeRepository.recordForKamAndStatuses(kamId,
+                fromStatuses.stream().map(LeadStatus::name).collect(Collectors.toList()), newStatus.name());
+        int affected = leadRepository.updateStatusByKamAndStatuses(kamId, fromStatuses, newStatus);
+        kamChangeVersions.onKamChanged(kamId);
+        return new BulkUpdateResponseDto(null, affected);
+    }
+
+    /**
+     * Reassigns the given leads to another KAM with a single UPDATE statement.
+     *
+     * @param leadIds The UUIDs of the leads.
+     * @param toKamId The UUID of the KAM taking over the leads.
+     * @return BulkUpdateResponseDto with the number of distinct IDs sent and rows changed.
+     * @throws RuntimeException if the target KAM is not found.
+     */
+    @Transactional
+    public BulkUpdateResponseDto reassignLeads(List<UUID> leadIds, UUID toKamId) {
+        if (!userRepository.existsById(toKamId)) {
+            throw new RuntimeException("KAM not found with ID: " + toKamId);
+        }
+        List<UUID> ids = leadIds.stream().distinct().collect(Collectors.toList());
+        int affected = leadRepository.reassignKamByIds(ids, userRepository.getReferenceById(toKamId));
+        typeaheadIndex.onLeadsReassigned(ids, toKamId);
+        kamChangeVersions.onAllKamsChanged(); // Previous KAMs not looked up
+        return new BulkUpdateResponseDto(ids.size(), affected);
+    }
+
+    /**
+     * Reassigns a KAM's leads (all of them, or only those in the given statuses) to another KAM
+     * with a single UPDATE statement, for territory reshuffles.
+     *
+     * @param fromKamId The UUID of the KAM giving up the leads.
+     * @param statuses Optional statuses to restrict the move to; all statuses if null or empty.
+     * @param toKamId The UUID of the KAM taking over the leads.
+     * @return BulkUpdateResponseDto with the number of rows changed.
+     * @throws RuntimeException if the target KAM is not found.
+     */
+    @Transactional
+    public BulkUpdateResponseDto reassignKamLeads(UUID fromKamId, List<LeadStatus> statuses, UUID toKamId) {
+        if (!userRepository.existsById(toKamId)) {
+            throw new RuntimeException("KAM not found with ID: " + toKamId);
+        }
+        List<LeadStatus> moved = statuses == null || statuses.isEmpty() ? Arrays.asList(LeadStatus.values()) : statuses;
+        // Pending changes go out before the UPDATE, and leads loaded earlier are not reused with the old KAM after it
+        entityManager.flush();
+        List<UUID> movedIds = leadRepository.reassignKamByKamAndStatuses(fromKamId, toKamId,
+                moved.stream().map(Enum::name).collect(Collectors.toList()));
+        entityManager.clear();
+        typeaheadIndex.onLeadsReassigned(movedIds, toKamId);
+        kamChangeVersions.onKamsChanged(List.of(fromKamId, toKamId));
+        return new BulkUpdateResponseDto(null, movedIds.size());
+    }
+
     /**
      * Calculates and updates the performance score for a specific lead.
      * This is a simplified example; actual calculation might involve more complex logic
@@ -179,35 +695,43 @@ public class LeadService {
      * @return LeadResponseDto with updated performance score.
      * @throws RuntimeException if lead not found.
      */
-    @Transactional
     public LeadResponseDto calculateAndUpdatePerformanceScore(UUID leadId) {
+        // Internal write: retried rather than failed if it races a concurrent edit of the lead
+        return optimisticLockRetry.execute(() -> calculateAndUpdatePerformanceScoreOnce(leadId));
+    }
+
+    private LeadResponseDto calculateAndUpdatePerformanceScoreOnce(UUID leadId) {
         Lead lead = leadRepository.findById(leadId)
                 .orElseThrow(() -> new RuntimeException("Lead not found with ID: " + leadId));
 
-        // Example calculation: Performance score based on total order value in last 90 days
-        // and number of interactions. This is a placeholder.
-        LocalDateTime ninetyDaysAgo = LocalDateTime.now().minusDays(90);
-        BigDecimal totalOrderValue = interactionRepository.calculateTotalOrderValueByLeadAndDateRange(
-                leadId, ninetyDaysAgo, LocalDateTime.now());
-        Long totalInteractions = interactionRepository.findInteractionCountByKamAndType(
-                lead.getKam().getId(), InteractionType.CALL, LocalDateTime.now()); // Example: count calls
-
-        // Simple scoring logic (adjust as needed)
-        BigDecimal newPerformanceScore = BigDecimal.ZERO;
-        if (totalOrderValue != null) {
-            newPerformanceScore = newPerformanceScore.add(totalOrderValue.divide(BigDecimal.valueOf(1000), 2, BigDecimal.ROUND_HALF_UP));
-        }
-        if (totalInteractions != null) {
-            newPerformanceScore = newPerformanceScore.add(BigDecimal.valueOf(totalInteractions).multiply(BigDecimal.valueOf(5)));
-        }
-        // Cap score at 100 for example
-        newPerformanceScore = newPerformanceScore.min(BigDecimal.valueOf(100));
-
-        lead.setPerformanceScore(newPerformanceScore);
-        Lead updatedLead = leadRepository.save(lead);
+        lead.setPerformanceScore(scoreFromActivity(leadId));
+        Lead updatedLead = leadRepository.saveAndFlush(lead);
+        kamChangeVersions.onKamChanged(lead.getKam().getId());
         return mapToLeadResponseDto(updatedLead);
     }
 
+    /**
+     * Reports clusters of leads sharing the same normalized name and city, largest first.
+     * Two queries per page: the grouped dedup_hash scan, then the leads of the page's clusters.
+     *
+     * @param pageable Pagination over clusters.
+     * @return Page of DuplicateClusterDto, each listing its leads oldest first.
+     */
+    @Transactional(readOnly = true)
+    public Page<DuplicateClusterDto> getDuplicateClusters(Pageable pageable) {
+        Page<Long> hashes = leadRepository.findDuplicateDedupHashes(pageable);
+        if (hashes.isEmpty()) {
+            return new PageImpl<>(Collections.emptyList(), pageable, hashes.getTotalElements());
+        }
+        Map<Long, List<DuplicateLeadDto>> leadsByHash = leadRepository.findDuplicateLeadsByDedupHashIn(hashes.getContent())
+                .stream()
+                .collect(Collectors.groupingBy(DuplicateLeadDto::getDedupHash));
+        return hashes.map(hash -> {
+            List<DuplicateLeadDto> leads = leadsByHash.getOrDefault(hash, Collections.emptyList());
+            return new DuplicateClusterDto(hash, leads.size(), leads);
+        });
+    }
+
     /**
      * Retrieves performance analytics for leads under a specific KAM within a date range.
      *
@@ -233,51 +757,168 @@ public class LeadService {
     }
 
     /**
-     * Helper method to map Lead entity to LeadResponseDto.
-     * Populates contacts and recent activity summary.
+     * Scoring rule: 1 point per 1,000 of order value plus 5 points per interaction, capped at 100.
+     * Shared with the batch recalculation so both paths always agree.
+     */
+    static BigDecimal computePerformanceScore(BigDecimal totalOrderValue, long totalInteractions) {
+        BigDecimal score = totalOrderValue.divide(BigDecimal.valueOf(1000), 2, RoundingMode.HALF_UP)
+                .add(BigDecimal.valueOf(totalInteractions).multiply(BigDecimal.valueOf(5)));
+        return score.min(BigDecimal.valueOf(100));
+    }
+
+    /**
+     * Performance score from a lead's last 90 days of activity, read from its daily activity buckets.
+     */
+    private BigDecimal scoreFromActivity(UUID leadId) {
+        BigDecimal totalOrderValue = BigDecimal.ZERO;
+        long totalInteractions = 0;
+        for (Object[] row : leadDailyActivityRepository.sumActivityByLeadIds(List.of(leadId), LocalDate.now().minusDays(SCORE_WINDOW_DAYS - 1))) {
+            totalInteractions = row[1] != null ? (Long) row[1] : 0L;
+            totalOrderValue = row[3] != null ? (BigDecimal) row[3] : BigDecimal.ZERO;
+        }
+        return computePerformanceScore(totalOrderValue, totalInteractions);
+    }
+
+    /**
+     * Rejects an update based on a stale copy of the lead. The request's version is optional;
+     * without it only concurrent writes inside the transaction are detected (by @Version at flush).
+     */
+    private void checkVersion(Lead lead, Long expectedVersion) {
+        if (expectedVersion != null && !expectedVersion.equals(lead.getVersion())) {
+            throw new ObjectOptimisticLockingFailureException(Lead.class, lead.getId());
+        }
+    }
+
+    /**
+     * Looks up existing leads with the given name/city hash and applies the duplicate policy.
+     *
+     * @return IDs of suspected duplicates (empty if none).
+     * @throws ConflictException if there are any and duplicates are rejected.
+     */
+    private List<UUID> checkDuplicates(long dedupHash, UUID excludeId) {
+        List<UUID> duplicateIds = duplicateDetector.findSuspectedDuplicates(dedupHash, excludeId);
+        if (!duplicateIds.isEmpty() && duplicateDetector.getPolicy() == DuplicatePolicy.REJECT) {
+            throw new ConflictException("Suspected duplicate of existing lead(s) " + duplicateIds
+                    + " with the same name and city");
+        }
+        return duplicateIds;
+    }
+
+    /**
+     * Writes status transitions known in memory with one set-based INSERT.
+     */
+    private void recordStatusChanges(List<LeadStatusChange> changes) {
+        if (changes.isEmpty()) {
+            return;
+        }
+        leadStatusChangeRepository.recordChanges(
+                changes.stream().map(LeadStatusChange::getLeadId).toArray(UUID[]::new),
+                changes.stream().map(change -> change.getFromStatus().name()).toArray(String[]::new),
+                changes.stream().map(change -> change.getToStatus().name()).toArray(String[]::new));
+    }
+
+    /**
+     * Copies the editable fields of a create/update request onto a lead.
+     */
+    private void applyRequestFields(Lead lead, LeadCreateRequestDto requestDto, User kam) {
+        lead.setName(requestDto.getName());
+        lead.setCity(requestDto.getCity());
+        lead.setDedupHash(LeadNameNormalizer.dedupHash(requestDto.getName(), requestDto.getCity()));
+        lead.setCuisineType(requestDto.getCuisineType());
+        lead.setStatus(requestDto.getStatus() != null ? requestDto.getStatus() : LeadStatus.NEW);
+        lead.setKam(kam);
+        lead.setCallFrequency(requestDto.getCallFrequency());
+    }
+
+    /**
+     * Helper method to map a single Lead entity to LeadResponseDto.
+     * Delegates to the batched mapper so single and list reads share one code path.
      *
      * @param lead The Lead entity.
      * @return LeadResponseDto.
      */
     private LeadResponseDto mapToLeadResponseDto(Lead lead) {
+        return mapToLeadResponseDtos(List.of(lead), true).get(0);
+    }
+
+    /**
+     * Helper method to map a page of Lead entities to LeadResponseDtos.
+     * KAMs, contacts, latest interactions and 30-day activity are loaded for the whole
+     * page with one grouped query each, so the query count does not grow with page size.
+     *
+     * @param leads The Lead entities, in the order they should be returned.
+     * @param includeActivity Whether to load contacts and recent activity (FULL view).
+     * @return List of LeadResponseDto in the same order.
+     */
+    private List<LeadResponseDto> mapToLeadResponseDtos(List<Lead> leads, boolean includeActivity) {
+        if (leads.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        List<UUID> leadIds = leads.stream().map(Lead::getId).collect(Collectors.toList());
+        Set<UUID> kamIds = leads.stream().map(lead -> lead.getKam().getId()).collect(Collectors.toSet());
+
+        Map<UUID, User> kamsById = userRepository.findAllById(kamIds).stream()
+                .collect(Collectors.toMap(User::getId, Function.identity()));
+
+        if (!includeActivity) {
+            return leads.stream()
+                    .map(lead -> mapLeadFields(lead, kamsById.get(lead.getKam().getId())))
+                    .collect(Collectors.toList());
+        }
+
+        Map<UUID, List<Contact>> contactsByLead = contactRepository.findByLeadIdInOrderByNameAsc(leadIds).stream()
+                .collect(Collectors.groupingBy(contact -> contact.getLead().getId()));
+
+        Map<UUID, RecentInteractionsSummaryDto> activityByLead = getRecentInteractionsSummaries(leadIds);
+
+        List<LeadResponseDto> dtoList = new ArrayList<>(leads.size());
+        for (Lead lead : leads) {
+            LeadResponseDto dto = mapLeadFields(lead, kamsById.get(lead.getKam().getId()));
+
+            // Populate contacts summary
+            List<Contact> contacts = contactsByLead.getOrDefault(lead.getId(), Collections.emptyList());
+            dto.setTotalContacts(contacts.size());
+            dto.setContacts(contacts.stream()
+                    .map(this::mapToContactSummaryDto)
+                    .collect(Collectors.toList()));
+
+            // Populate recent activity summary
+            dto.setRecentActivity(activityByLead.get(lead.getId()));
+            dtoList.add(dto);
+        }
+        return dtoList;
+    }
+
+    /**
+     * Helper method to copy the Lead's own columns (and its KAM) into a LeadResponseDto.
+     *
+     * @param lead The Lead entity.
+     * @param kam The already loaded KAM of the lead.
+     * @return LeadResponseDto without contacts or recent activity.
+     */
+    private LeadResponseDto mapLeadFields(Lead lead, User kam) {
         LeadResponseDto dto = new LeadResponseDto();
         dto.setId(lead.getId());
+        dto.setVersion(lead.getVersion());
         dto.setName(lead.getName());
         dto.setCity(lead.getCity());
         dto.setCuisineType(lead.getCuisineType());
         dto.setStatus(lead.getStatus());
         dto.setKamId(lead.getKam().getId());
-        dto.setKamName(lead.getKam().getName()); // Assuming KAM name is accessible
+        dto.setKamName(kam != null ? kam.getName() : null);
         dto.setCallFrequency(lead.getCallFrequency());
         dto.setLastCallDate(lead.getLastCallDate());
         dto.setPerformanceScore(lead.getPerformanceScore());
 
-        // Calculate next call date
-        if (lead.getLastCallDate() != null) {
-            dto.setNextCallDate(lead.getLastCallDate().plusDays(lead.getCallFrequency()));
-        } else {
-            // If no last call date, next call is today (or based on some initial rule)
-            dto.setNextCallDate(LocalDate.now());
-        }
+        // The stored next_call_date (V18), so the response agrees with the due-call queries
+        dto.setNextCallDate(lead.getNextCallDate());
 
         // Determine if call is required today
         dto.setRequiresCallToday(
-                (lead.getLastCallDate() == null ||
-                        lead.getLastCallDate().plusDays(lead.getCallFrequency()).isBefore(LocalDate.now()) ||
-                        lead.getLastCallDate().plusDays(lead.getCallFrequency()).isEqual(LocalDate.now())) &&
+                lead.getNextCallDate() != null && !lead.getNextCallDate().isAfter(LocalDate.now()) &&
                         !List.of(LeadStatus.CLOSED_WON, LeadStatus.CLOSED_LOST).contains(lead.getStatus())
         );
-
-        // Populate contacts summary
-        List<Contact> contacts = contactRepository.findByLeadIdOrderByNameAsc(lead.getId());
-        dto.setTotalContacts(contacts.size());
-        dto.setContacts(contacts.stream()
-                .map(this::mapToContactSummaryDto)
-                .collect(Collectors.toList()));
-
-        // Populate recent activity summary
-        dto.setRecentActivity(getRecentInteractionsSummary(lead.getId()));
-
         return dto;
     }
 
@@ -297,31 +938,41 @@ public class LeadService {
     }
 
     /**
-     * Helper method to get recent interactions summary for a lead.
+     * Helper method to get recent interactions summaries for a set of leads.
+     * Runs two grouped queries regardless of how many leads are passed in.
      *
-     * @param leadId The UUID of the lead.
-     * @return RecentInteractionsSummaryDto.
+     * @param leadIds The UUIDs of the leads.
+     * @return Map of lead ID to RecentInteractionsSummaryDto; every requested lead has an entry.
      */
-    private RecentInteractionsSummaryDto getRecentInteractionsSummary(UUID leadId) {
-        List<Interaction> recentInteractions = interactionRepository.findRecentInteractionsByLeadId(leadId, Pageable.ofSize(1));
-        RecentInteractionsSummaryDto summaryDto = new RecentInteractionsSummaryDto();
-
-        if (!recentInteractions.isEmpty()) {
-            Interaction latestInteraction = recentInteractions.get(0);
-            summaryDto.setLatestInteractionId(latestInteraction.getId());
-            summaryDto.setLatestInteractionType(latestInteraction.getType().name());
-            summaryDto.setLatestInteractionDate(latestInteraction.getInteractionDate());
+    private Map<UUID, RecentInteractionsSummaryDto> getRecentInteractionsSummaries(List<UUID> leadIds) {
+        Map<UUID, RecentInteractionsSummaryDto> summaries = new HashMap<>();
+        for (UUID leadId : leadIds) {
+            RecentInteractionsSummaryDto summaryDto = new RecentInteractionsSummaryDto();
+            summaryDto.setTotalInteractionsLast30Days(0L);
+            summaryDto.setTotalOrdersLast30Days(0L);
+            summaryDto.setTotalOrderValueLast30Days(BigDecimal.ZERO);
+            summaries.put(leadId, summaryDto);
         }
 
-        LocalDateTime thirtyDaysAgo = LocalDateTime.now().minusDays(30);
-        Long totalInteractionsLast30Days = interactionRepository.countByLeadIdAndInteractionDateAfter(leadId, thirtyDaysAgo);
-        Long totalOrdersLast30Days = interactionRepository.countByLeadIdAndTypeAndInteractionDateAfter(leadId, InteractionType.ORDER, thirtyDaysAgo);
-        BigDecimal totalOrderValueLast30Days = interactionRepository.calculateTotalOrderValueByLeadAndDateRange(leadId, thirtyDaysAgo, LocalDateTime.now());
-
-        summaryDto.setTotalInteractionsLast30Days(totalInteractionsLast30Days != null ? totalInteractionsLast30Days : 0L);
-        summaryDto.setTotalOrdersLast30Days(totalOrdersLast30Days != null ? totalOrdersLast30Days : 0L);
-        summaryDto.setTotalOrderValueLast30Days(totalOrderValueLast30Days != null ? totalOrderValueLast30Days : BigDecimal.ZERO);
+        // Latest interaction per lead; the first row wins if two share the same timestamp
+        for (Object[] row : interactionRepository.findLatestInteractionsByLeadIds(leadIds)) {
+            RecentInteractionsSummaryDto summaryDto = summaries.get((UUID) row[0]);
+            if (summaryDto != null && summaryDto.getLatestInteractionId() == null) {
+                summaryDto.setLatestInteractionId((UUID) row[1]);
+                summaryDto.setLatestInteractionType(((InteractionType) row[2]).name());
+                summaryDto.setLatestInteractionDate((LocalDateTime) row[3]);
+            }
+        }
 
-        return summaryDto;
+        // Last 30 days including today, summed over the daily activity buckets (at most 30 rows per lead)
+        for (Object[] row : leadDailyActivityRepository.sumActivityByLeadIds(leadIds, LocalDate.now().minusDays(29))) {
+            RecentInteractionsSummaryDto summaryDto = summaries.get((UUID) row[0]);
+            if (summaryDto != null) {
+                summaryDto.setTotalInteractionsLast30Days(row[1] != null ? (Long) row[1] : 0L);
+                summaryDto.setTotalOrdersLast30Days(row[2] != null ? (Long) row[2] : 0L);
+                summaryDto.setTotalOrderValueLast30Days(row[3] != null ? (BigDecimal) row[3] : BigDecimal.ZERO);
+            }
+        }
+        return summaries;
     }
 }
@@ -0,0 +1,194 @@
+package com.kamleads.management.service;
+
+import com.kamleads.management.dto.response.CursorPageResponseDto;
+import com.kamleads.management.dto.response.TimelineEventDto;
+import com.kamleads.management.enums.CallStatus;
+import com.kamleads.management.enums.InteractionStatus;
+import com.kamleads.management.enums.InteractionType;
+import com.kamleads.management.enums.LeadStatus;
+import com.kamleads.management.enums.TimelineEventType;
+import com.kamleads.management.exception.BadRequestException;
+import com.kamleads.management.repository.LeadRepository;
+import com.kamleads.management.util.CursorCodec;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Serves a lead's activity timeline: its interactions, call schedules and status changes merged
+ * newest first, in cursor (keyset) windows.
+ *
+ * Entries are ordered by (occurredAt DESC, type, id DESC). A window is one query: each source
+ * contributes at most size + 1 rows after the cursor, read from its (lead_id, date) index, and the
+ * union of those is merged, joined to the KAM and contact names and cut to size + 1. So a window
+ * reads the same handful of index entries however long the lead's history is, and the extra row
+ * tells whether another window exists.
+ */
+@Service
+public class LeadTimelineService {
+
+    private static final String TIMELINE_SQL = timelineSql(false);
+    private static final String TIMELINE_AFTER_SQL = timelineSql(true);
+
+    private final DataSource dataSource;
+    private final LeadRepository leadRepository;
+
+    /**
+     * Position of the last entry of a window.
+     */
+    private record TimelineCursor(LocalDateTime occurredAt, TimelineEventType type, UUID id) {
+    }
+
+    @Autowired
+    public LeadTimelineService(DataSource dataSource, LeadRepository leadRepository) {
+        this.dataSource = dataSource;
+        this.leadRepository = leadRepository;
+    }
+
+    /**
+     * Retrieves one window of a lead's timeline, newest first.
+     *
+     * @param leadId The UUID of the lead.
+     * @param cursor The nextCursor of the previous window, or null for the first one.
+     * @param size Window size.
+     * @return CursorPageResponseDto of TimelineEventDto, without a total.
+     * @throws RuntimeException if lead not found.
+     */
+    public CursorPageResponseDto<TimelineEventDto> getTimeline(UUID leadId, String cursor, int size) {
+        if (!leadRepository.existsById(leadId)) {
+            throw new RuntimeException("Lead not found with ID: " + leadId);
+        }
+        TimelineCursor after = cursor == null || cursor.isBlank() ? null : decodeCursor(cursor);
+
+        List<TimelineEventDto> rows = new ArrayList<>();
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement(after == null ? TIMELINE_SQL : TIMELINE_AFTER_SQL)) {
+            int index = 1;
+            for (int source = 0; source < TimelineEventType.values().length; source++) {
+                statement.setObject(index++, leadId);
+                if (after != null) {
+                    Timestamp at = Timestamp.valueOf(after.occurredAt());
+                    statement.setTimestamp(index++, at);
+                    statement.setTimestamp(index++, at);
+                    statement.setInt(index++, after.type().ordinal());
+                    statement.setInt(index++, after.type().ordinal());
+                    statement.setObject(index++, after.id());
+                }
+                statement.setInt(index++, size + 1);
+            }
+            statement.setInt(index, size + 1);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                while (resultSet.next()) {
+                    rows.add(mapRow(resultSet));
+                }
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Could not read timeline of lead " + leadId + ": " + e.getMessage(), e);
+        }
+
+        boolean hasNext = rows.size() > size;
+        List<TimelineEventDto> content = hasNext ? rows.subList(0, size) : rows;
+        String nextCursor = null;
+        if (hasNext) {
+            TimelineEventDto last = content.get(content.size() - 1);
+            nextCursor = CursorCodec.encode(List.of(last.getOccurredAt().toString(), last.getType().name(),
+                    last.getId().toString()));
+        }
+        return new CursorPageResponseDto<>(new ArrayList<>(content), nextCursor, null, false);
+    }
+
+    private TimelineEventDto mapRow(ResultSet resultSet) throws SQLException {
+        TimelineEventDto dto = new TimelineEventDto();
+        TimelineEventType type = TimelineEventType.values()[resultSet.getInt(1)];
+        dto.setType(type);
+        dto.setId(resultSet.getObject(2, UUID.class));
+        dto.setOccurredAt(resultSet.getObject(3, LocalDateTime.class));
+        dto.setKamId(resultSet.getObject(4, UUID.class));
+        dto.setKamName(resultSet.getString(5));
+        String detail = resultSet.getString(8);
+        String status = resultSet.getString(9);
+        switch (type) {
+            case INTERACTION -> {
+                dto.setContactId(resultSet.getObject(6, UUID.class));
+                dto.setContactName(resultSet.getString(7));
+                dto.setInteractionType(InteractionType.valueOf(detail));
+                dto.setInteractionStatus(InteractionStatus.valueOf(status));
+                dto.setOrderValue(resultSet.getBigDecimal(10));
+            }
+            case CALL_SCHEDULE -> {
+                dto.setCallStatus(CallStatus.valueOf(status));
+                dto.setPriority(resultSet.getObject(11, Integer.class));
+            }
+            case STATUS_CHANGE -> {
+                dto.setFromStatus(LeadStatus.valueOf(detail));
+                dto.setToStatus(LeadStatus.valueOf(status));
+            }
+        }
+        return dto;
+    }
+
+    private TimelineCursor decodeCursor(String cursor) {
+        List<String> parts = CursorCodec.decode(cursor, 3);
+        try {
+            return new TimelineCursor(LocalDateTime.parse(parts.get(0)), TimelineEventType.valueOf(parts.get(1)),
+                    UUID.fromString(parts.get(2)));
+        } catch (RuntimeException e) {
+            throw new BadRequestException("Invalid cursor", e);
+        }
+    }
+
+    /**
+     * Builds the window query. Every source selects the same columns:
+     * type ordinal, id, occurred_at, kam_id, contact_id, detail (interaction type / previous status),
+     * status (interaction, call or new lead status), order_value, priority.
+     * With a cursor, each source binds (at, at, type, type, id) before its limit; the bound
+     * "occurred_at <= at" is what its index range scan starts from.
+     */
+    private static String timelineSql(boolean after) {
+        String interactions = "SELECT " + TimelineEventType.INTERACTION.ordinal() + " AS kind, i.id, "
+                + "i.interaction_date AS occurred_at, i.kam_id, i.contact_id, CAST(i.type AS VARCHAR(20)) AS detail, "
+                + "CAST(i.status AS VARCHAR(20)) AS status, i.order_value, CAST(NULL AS INTEGER) AS priority "
+                + "FROM interactions i WHERE i.lead_id = ? "
+                + (after ? "AND i.interaction_date <= ? AND " + afterPredicate("i.interaction_date", "i.id", TimelineEventType.INTERACTION) : "")
+                + "ORDER BY i.interaction_date DESC, i.id DESC LIMIT ?";
+        // scheduled_date is a DATE; "date <= CAST(at AS date)" is the index bound equivalent to "timestamp <= at"
+        String callSchedules = "SELECT " + TimelineEventType.CALL_SCHEDULE.ordinal() + ", cs.id, "
+                + "CAST(cs.scheduled_date AS TIMESTAMP), cs.kam_id, CAST(NULL AS UUID), CAST(NULL AS VARCHAR(20)), "
+                + "CAST(cs.status AS VARCHAR(20)), CAST(NULL AS DECIMAL(10,2)), cs.priority "
+                + "FROM call_schedule cs WHERE cs.lead_id = ? "
+                + (after ? "AND cs.scheduled_date <= CAST(? AS DATE) AND "
+                        + afterPredicate("CAST(cs.scheduled_date AS TIMESTAMP)", "cs.id", TimelineEventType.CALL_SCHEDULE) : "")
+                + "ORDER BY cs.scheduled_date DESC, cs.id DESC LIMIT ?";
+        String statusChanges = "SELECT " + TimelineEventType.STATUS_CHANGE.ordinal() + ", sc.id, "
+                + "sc.changed_at, CAST(NULL AS UUID), CAST(NULL AS UUID), CAST(sc.from_status AS VARCHAR(20)), "
+                + "CAST(sc.to_status AS VARCHAR(20)), CAST(NULL AS DECIMAL(10,2)), CAST(NULL AS INTEGER) "
+                + "FROM lead_status_changes sc WHERE sc.lead_id = ? "
+                + (after ? "AND sc.changed_at <= ? AND " + afterPredicate("sc.changed_at", "sc.id", TimelineEventType.STATUS_CHANGE) : "")
+                + "ORDER BY sc.changed_at DESC, sc.id DESC LIMIT ?";
+        return "SELECT e.kind, e.id, e.occurred_at, e.kam_id, u.name, e.contact_id, c.name, e.detail, e.status, "
+                + "e.order_value, e.priority "
+                + "FROM ((" + interactions + ") UNION ALL (" + callSchedules + ") UNION ALL (" + statusChanges + ")) e "
+                + "LEFT JOIN users u ON u.id = e.kam_id "
+                + "LEFT JOIN contacts c ON c.id = e.contact_id "
+                + "ORDER BY e.occurred_at DESC, e.kind, e.id DESC LIMIT ?";
+    }
+
+    /**
+     * Rows strictly after the cursor in (occurred_at DESC, type, id DESC) order, for a source of the
+     * given type. Binds: at, cursor type, cursor type, cursor id.
+     */
+    private static String afterPredicate(String occurredAt, String id, TimelineEventType type) {
+        int kind = type.ordinal();
+        return "(" + occurredAt + " < ? OR " + kind + " > ? OR (" + kind + " = ? AND " + id + " < ?)) ";
+    }
+}
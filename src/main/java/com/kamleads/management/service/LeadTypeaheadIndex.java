@@ -0,0 +1,435 @@
+package com.kamleads.management.service;
+
+import com.kamleads.management.dto.response.TypeaheadSuggestionDto;
+import com.kamleads.management.repository.ContactRepository;
+import com.kamleads.management.repository.LeadRepository;
+import com.kamleads.management.util.AfterCommit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Optional;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+/**
+ * In-memory, per-KAM prefix index over lead name, city and contact name/email,
+ * used to answer typeahead lookups without a database round trip.
+ *
+ * Built once at startup from lightweight projection scans and kept current by
+ * LeadService and ContactService, which apply changes after their transaction commits.
+ * Memory is bounded by typeahead.max-leads (plus fixed per-lead caps on contacts and
+ * token length); a KAM whose book does not fit is dropped from the index and
+ * {@link #search} returns empty for it, so callers fall back to the database.
+ */
+@Component
+public class LeadTypeaheadIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(LeadTypeaheadIndex.class);
+
+    private static final int MAX_CONTACTS_PER_LEAD = 20;
+    private static final int MAX_TOKEN_LENGTH = 64;
+
+    private final LeadRepository leadRepository;
+    private final ContactRepository contactRepository;
+    private final TransactionTemplate readOnlyTransaction;
+    private final int maxLeads;
+
+    private final Map<UUID, KamIndex> kamIndexes = new ConcurrentHashMap<>();
+    private final Map<UUID, UUID> leadOwners = new ConcurrentHashMap<>(); // leadId -> kamId
+    private final Set<UUID> overflowedKams = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger indexedLeads = new AtomicInteger();
+
+    // Changes arrive from afterCommit callbacks on many request threads. The budget check and the
+    // insert it guards, and moves across KAMs, must not interleave, so every change runs under this
+    // lock; searches only take the lock of the KAM they read.
+    private final Object writeLock = new Object();
+
+    // Non-null while the startup build runs; changes made meanwhile are replayed once it finishes
+    private final Object buildLock = new Object();
+    private List<Runnable> pendingDuringBuild = new ArrayList<>();
+
+    @Autowired
+    public LeadTypeaheadIndex(LeadRepository leadRepository, ContactRepository contactRepository,
+                              PlatformTransactionManager transactionManager,
+                              @Value("${typeahead.max-leads:200000}") int maxLeads) {
+        this.leadRepository = leadRepository;
+        this.contactRepository = contactRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.maxLeads = maxLeads;
+    }
+
+    /**
+     * Loads every lead and contact once the application is up.
+     * Until this finishes, search() returns empty and callers use the database.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void build() {
+        long started = System.currentTimeMillis();
+        readOnlyTransaction.executeWithoutResult(status -> {
+            try (Stream<Object[]> rows = leadRepository.streamTypeaheadRows()) {
+                rows.forEach(row -> doUpsertLead((UUID) row[1], (UUID) row[0], (String) row[2], (String) row[3]));
+            }
+            try (Stream<Object[]> rows = contactRepository.streamTypeaheadRows()) {
+                rows.forEach(row -> doUpsertContact((UUID) row[1], (UUID) row[0], (String) row[2], (String) row[3]));
+            }
+        });
+
+        List<Runnable> pending;
+        synchronized (buildLock) {
+            pending = pendingDuringBuild;
+            pendingDuringBuild = null;
+        }
+        pending.forEach(Runnable::run);
+
+        logger.info("Typeahead index built: {} leads for {} KAMs in {} ms ({} KAMs over budget, served from DB)",
+                indexedLeads.get(), kamIndexes.size(), System.currentTimeMillis() - started, overflowedKams.size());
+    }
+
+    /**
+     * Finds leads of a KAM whose name, city, contact name or contact email has a word
+     * starting with each word of the query.
+     *
+     * @param kamId The UUID of the KAM.
+     * @param query What the user has typed so far.
+     * @param limit Maximum number of suggestions.
+     * @return Suggestions ordered by lead name, or empty if this KAM is not served from memory.
+     */
+    public Optional<List<TypeaheadSuggestionDto>> search(UUID kamId, String query, int limit) {
+        if (pendingDuringBuildActive() || overflowedKams.contains(kamId)) {
+            return Optional.empty();
+        }
+        List<String> words = tokenize(query);
+        KamIndex index = kamIndexes.get(kamId);
+        if (words.isEmpty() || index == null) {
+            return Optional.of(List.of());
+        }
+        return Optional.of(index.search(words, limit));
+    }
+
+    public void onLeadSaved(UUID kamId, UUID leadId, String name, String city) {
+        afterCommit(() -> doUpsertLead(kamId, leadId, name, city));
+    }
+
+    public void onLeadsReassigned(Collection<UUID> leadIds, UUID newKamId) {
+        List<UUID> ids = List.copyOf(leadIds);
+        afterCommit(() -> ids.forEach(leadId -> doMoveLead(leadId, newKamId)));
+    }
+
+    public void onLeadDeleted(UUID leadId) {
+        afterCommit(() -> doRemoveLead(leadId));
+    }
+
+    public void onContactSaved(UUID leadId, UUID contactId, String name, String email) {
+        afterCommit(() -> doUpsertContact(leadId, contactId, name, email));
+    }
+
+    public void onContactDeleted(UUID leadId, UUID contactId) {
+        afterCommit(() -> doRemoveContact(leadId, contactId));
+    }
+
+    private void afterCommit(Runnable change) {
+        Runnable guarded = () -> {
+            synchronized (buildLock) {
+                if (pendingDuringBuild != null) {
+                    pendingDuringBuild.add(change);
+                    return;
+                }
+            }
+            change.run();
+        };
+        AfterCommit.run(guarded);
+    }
+
+    private boolean pendingDuringBuildActive() {
+        synchronized (buildLock) {
+            return pendingDuringBuild != null;
+        }
+    }
+
+    private void doUpsertLead(UUID kamId, UUID leadId, String name, String city) {
+        synchronized (writeLock) {
+            doMoveLead(leadId, kamId); // No-op unless reassigned to another KAM
+            if (overflowedKams.contains(kamId)) {
+                return;
+            }
+            boolean isNew = !leadOwners.containsKey(leadId);
+            if (isNew && indexedLeads.get() >= maxLeads) {
+                dropKam(kamId);
+                return;
+            }
+            kamIndexes.computeIfAbsent(kamId, id -> new KamIndex()).upsertLead(leadId, name, city);
+            if (isNew) {
+                leadOwners.put(leadId, kamId);
+                indexedLeads.incrementAndGet();
+            }
+        }
+    }
+
+    private LeadEntry doRemoveLead(UUID leadId) {
+        synchronized (writeLock) {
+            UUID kamId = leadOwners.remove(leadId);
+            if (kamId == null) {
+                return null;
+            }
+            indexedLeads.decrementAndGet();
+            KamIndex index = kamIndexes.get(kamId);
+            return index == null ? null : index.removeLead(leadId);
+        }
+    }
+
+    /**
+     * Moves an indexed lead, with its contacts, to another KAM's index.
+     */
+    private void doMoveLead(UUID leadId, UUID newKamId) {
+        synchronized (writeLock) {
+            UUID previousKam = leadOwners.get(leadId);
+            if (previousKam == null || previousKam.equals(newKamId)) {
+                return;
+            }
+            LeadEntry entry = doRemoveLead(leadId);
+            if (entry == null) {
+                return;
+            }
+            doUpsertLead(newKamId, leadId, entry.name, entry.city);
+            entry.contacts.forEach((contactId, contact) -> doUpsertContact(leadId, contactId, contact[0], contact[1]));
+        }
+    }
+
+    private void doUpsertContact(UUID leadId, UUID contactId, String name, String email) {
+        synchronized (writeLock) {
+            KamIndex index = indexForLead(leadId);
+            if (index != null) {
+                index.upsertContact(leadId, contactId, name, email);
+            }
+        }
+    }
+
+    private void doRemoveContact(UUID leadId, UUID contactId) {
+        synchronized (writeLock) {
+            KamIndex index = indexForLead(leadId);
+            if (index != null) {
+                index.removeContact(leadId, contactId);
+            }
+        }
+    }
+
+    private KamIndex indexForLead(UUID leadId) {
+        UUID kamId = leadOwners.get(leadId);
+        return kamId == null ? null : kamIndexes.get(kamId);
+    }
+
+    /**
+     * Frees a KAM's entries once the global budget is exhausted; the KAM is then served from the database.
+     * Called under writeLock.
+     */
+    private void dropKam(UUID kamId) {
+        overflowedKams.add(kamId);
+        KamIndex removed = kamIndexes.remove(kamId);
+        if (removed != null) {
+            int freed = removed.leadIds().size();
+            removed.leadIds().forEach(leadOwners::remove);
+            indexedLeads.addAndGet(-freed);
+        }
+        logger.warn("Typeahead budget of {} leads reached; KAM {} will be served from the database", maxLeads, kamId);
+    }
+
+    private static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null) {
+            return tokens;
+        }
+        for (String word : text.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+")) {
+            if (!word.isEmpty()) {
+                tokens.add(word.length() > MAX_TOKEN_LENGTH ? word.substring(0, MAX_TOKEN_LENGTH) : word);
+            }
+        }
+        return tokens;
+    }
+
+    private static boolean anyWordStartsWith(String text, String prefix) {
+        for (String word : tokenize(text)) {
+            if (word.startsWith(prefix)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * The index for one KAM: lead entries plus a sorted token -> lead IDs map for prefix range lookups.
+     * All access is synchronized on the instance; operations touch only this KAM's data.
+     */
+    private static final class KamIndex {
+        private static final Comparator<LeadEntry> BY_NAME =
+                Comparator.comparing((LeadEntry entry) -> entry.name, Comparator.nullsLast(String.CASE_INSENSITIVE_ORDER));
+
+        private final Map<UUID, LeadEntry> leads = new HashMap<>();
+        private final NavigableMap<String, Set<UUID>> tokens = new TreeMap<>();
+
+        synchronized Set<UUID> leadIds() {
+            return new HashSet<>(leads.keySet());
+        }
+
+        synchronized void upsertLead(UUID leadId, String name, String city) {
+            LeadEntry entry = leads.get(leadId);
+            if (entry == null) {
+                entry = new LeadEntry(leadId);
+                leads.put(leadId, entry);
+            } else {
+                unindex(entry);
+            }
+            entry.name = name;
+            entry.city = city;
+            index(entry);
+        }
+
+        synchronized LeadEntry removeLead(UUID leadId) {
+            LeadEntry entry = leads.remove(leadId);
+            if (entry != null) {
+                unindex(entry);
+            }
+            return entry;
+        }
+
+        synchronized void upsertContact(UUID leadId, UUID contactId, String name, String email) {
+            LeadEntry entry = leads.get(leadId);
+            if (entry == null || (!entry.contacts.containsKey(contactId) && entry.contacts.size() >= MAX_CONTACTS_PER_LEAD)) {
+                return;
+            }
+            unindex(entry);
+            entry.contacts.put(contactId, new String[]{name, email});
+            index(entry);
+        }
+
+        synchronized void removeContact(UUID leadId, UUID contactId) {
+            LeadEntry entry = leads.get(leadId);
+            if (entry != null && entry.contacts.containsKey(contactId)) {
+                unindex(entry);
+                entry.contacts.remove(contactId);
+                index(entry);
+            }
+        }
+
+        synchronized List<TypeaheadSuggestionDto> search(List<String> words, int limit) {
+            Set<UUID> matches = null;
+            for (String word : words) {
+                Set<UUID> hits = new HashSet<>();
+                for (Set<UUID> ids : tokens.subMap(word, true, word + Character.MAX_VALUE, false).values()) {
+                    hits.addAll(ids);
+                }
+                if (matches == null) {
+                    matches = hits;
+                } else {
+                    matches.retainAll(hits);
+                }
+                if (matches.isEmpty()) {
+                    return List.of();
+                }
+            }
+
+            // Top `limit` by name with a bounded heap whose head is the worst kept entry, so a short
+            // prefix matching thousands of leads costs O(n log limit) instead of a full sort
+            PriorityQueue<LeadEntry> best = new PriorityQueue<>(limit + 1, BY_NAME.reversed());
+            for (UUID leadId : matches) {
+                best.add(leads.get(leadId));
+                if (best.size() > limit) {
+                    best.poll();
+                }
+            }
+            List<LeadEntry> top = new ArrayList<>(best);
+            top.sort(BY_NAME);
+
+            String firstWord = words.get(0);
+            return top.stream()
+                    .map(entry -> entry.toSuggestion(firstWord))
+                    .toList();
+        }
+
+        private void index(LeadEntry entry) {
+            for (String token : entry.tokens()) {
+                tokens.computeIfAbsent(token, key -> new HashSet<>()).add(entry.leadId);
+            }
+        }
+
+        private void unindex(LeadEntry entry) {
+            for (String token : entry.tokens()) {
+                Set<UUID> ids = tokens.get(token);
+                if (ids != null) {
+                    ids.remove(entry.leadId);
+                    if (ids.isEmpty()) {
+                        tokens.remove(token);
+                    }
+                }
+            }
+        }
+    }
+
+    private static final class LeadEntry {
+        private final UUID leadId;
+        private String name;
+        private String city;
+        private final Map<UUID, String[]> contacts = new LinkedHashMap<>(); // contactId -> {name, email}
+
+        private LeadEntry(UUID leadId) {
+            this.leadId = leadId;
+        }
+
+        private Set<String> tokens() {
+            Set<String> result = new HashSet<>(tokenize(name));
+            result.addAll(tokenize(city));
+            for (String[] contact : contacts.values()) {
+                result.addAll(tokenize(contact[0]));
+                result.addAll(tokenize(contact[1]));
+            }
+            return result;
+        }
+
+        private TypeaheadSuggestionDto toSuggestion(String firstWord) {
+            String matchedField = "LEAD_NAME";
+            String matchedValue = name;
+            if (!anyWordStartsWith(name, firstWord)) {
+                if (anyWordStartsWith(city, firstWord)) {
+                    matchedField = "CITY";
+                    matchedValue = city;
+                } else {
+                    for (String[] contact : contacts.values()) {
+                        if (anyWordStartsWith(contact[0], firstWord)) {
+                            matchedField = "CONTACT_NAME";
+                            matchedValue = contact[0];
+                            break;
+                        }
+                        if (anyWordStartsWith(contact[1], firstWord)) {
+                            matchedField = "CONTACT_EMAIL";
+                            matchedValue = contact[1];
+                            break;
+                        }
+                    }
+                }
+            }
+            return new TypeaheadSuggestionDto(leadId, name, city, matchedField, matchedValue);
+        }
+    }
+}
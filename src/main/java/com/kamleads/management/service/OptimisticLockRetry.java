@@ -0,0 +1,74 @@
+package com.kamleads.management.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+/**
+ * Bounded retry for internal writers that lose an optimistic-lock race, e.g. an interaction
+ * bumping a lead's lastCallDate while a KAM saves the same lead.
+ *
+ * Each attempt runs in its own transaction and reloads everything it touches, so a retry applies
+ * the change on top of the winning write instead of overwriting it. Retries back off briefly with
+ * jitter; after the last attempt the conflict propagates (and is answered with 409). When called
+ * inside an existing transaction there is nothing to retry (that transaction is already doomed),
+ * so the conflict propagates immediately.
+ */
+@Component
+public class OptimisticLockRetry {
+
+    private static final Logger logger = LoggerFactory.getLogger(OptimisticLockRetry.class);
+
+    private final TransactionTemplate transactionTemplate;
+    private final int maxAttempts;
+    private final long backoffMs;
+
+    @Autowired
+    public OptimisticLockRetry(PlatformTransactionManager transactionManager,
+                               @Value("${optimistic-lock.retry.max-attempts:3}") int maxAttempts,
+                               @Value("${optimistic-lock.retry.backoff-ms:25}") long backoffMs) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.maxAttempts = maxAttempts;
+        this.backoffMs = backoffMs;
+    }
+
+    /**
+     * Runs the work in a transaction, retrying it on an optimistic-lock conflict.
+     *
+     * @param work The transactional work; must be safe to run again from scratch.
+     * @return The work's result.
+     * @throws ObjectOptimisticLockingFailureException if every attempt conflicts.
+     */
+    public <T> T execute(Supplier<T> work) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return transactionTemplate.execute(status -> work.get());
+            } catch (ObjectOptimisticLockingFailureException e) {
+                if (attempt >= maxAttempts || TransactionSynchronizationManager.isActualTransactionActive()) {
+                    throw e;
+                }
+                logger.debug("Optimistic lock conflict on {} {}, retrying (attempt {} of {})",
+                        e.getPersistentClassName(), e.getIdentifier(), attempt + 1, maxAttempts);
+                backOff(attempt);
+            }
+        }
+    }
+
+    private void backOff(int attempt) {
+        try {
+            Thread.sleep(backoffMs * attempt + ThreadLocalRandom.current().nextLong(backoffMs + 1));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while retrying an optimistic-lock conflict", e);
+        }
+    }
+}
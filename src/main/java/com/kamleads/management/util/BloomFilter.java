@@ -0,0 +1,59 @@
+package com.kamleads.management.util;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Thread-safe Bloom filter over 64-bit hashes. mightContain never returns false for a value that
+ * was put; it returns true for an absent value with roughly the configured false-positive rate,
+ * as long as no more than the expected number of values are added.
+ *
+ * The inputs are already well-mixed hashes, so the probe positions are derived from them directly
+ * by double hashing instead of hashing again. Positions are computed in 64 bits, so filters larger
+ * than 2^31 bits use all of their bits.
+ */
+public final class BloomFilter {
+
+    private final AtomicLongArray words;
+    private final long bitCount;
+    private final int hashCount;
+
+    public BloomFilter(long expectedInsertions, double falsePositiveRate) {
+        long expected = Math.max(1, expectedInsertions);
+        long bits = (long) Math.ceil(-expected * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+        int wordCount = (int) Math.min(Integer.MAX_VALUE - 8, (bits + 63) / 64);
+        this.words = new AtomicLongArray(wordCount);
+        this.bitCount = (long) wordCount * 64;
+        this.hashCount = Math.max(1, (int) Math.round((double) bitCount / expected * Math.log(2)));
+    }
+
+    public void put(long hash) {
+        long h2 = Long.rotateLeft(hash, 32);
+        for (int i = 1; i <= hashCount; i++) {
+            long bit = bitIndex(hash + i * h2);
+            int word = (int) (bit >>> 6);
+            long mask = 1L << bit;
+            long current;
+            do {
+                current = words.get(word);
+                if ((current & mask) != 0) {
+                    break;
+                }
+            } while (!words.compareAndSet(word, current, current | mask));
+        }
+    }
+
+    public boolean mightContain(long hash) {
+        long h2 = Long.rotateLeft(hash, 32);
+        for (int i = 1; i <= hashCount; i++) {
+            long bit = bitIndex(hash + i * h2);
+            if ((words.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private long bitIndex(long combined) {
+        return Math.floorMod(combined, bitCount);
+    }
+}
@@ -0,0 +1,48 @@
+package com.kamleads.management.util;
+
+import com.kamleads.management.exception.BadRequestException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+
+/**
+ * Encodes keyset pagination positions as opaque, URL-safe cursor strings.
+ * A cursor is just the ordered list of sort-key values of the last row a client has seen;
+ * callers decide what the parts mean and how to parse them back.
+ */
+public final class CursorCodec {
+
+    // ASCII unit separator, never present in user-entered names or ISO dates
+    private static final String SEPARATOR = "\u001F";
+
+    private CursorCodec() {
+    }
+
+    public static String encode(List<String> parts) {
+        String raw = String.join(SEPARATOR, parts);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodes a cursor produced by {@link #encode(List)}.
+     *
+     * @param cursor The opaque cursor string from the client.
+     * @param expectedParts The number of parts the caller expects.
+     * @return The cursor parts, in the order they were encoded.
+     * @throws BadRequestException if the cursor is malformed.
+     */
+    public static List<String> decode(String cursor, int expectedParts) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            List<String> parts = Arrays.asList(raw.split(SEPARATOR, -1));
+            if (parts.size() != expectedParts) {
+                throw new BadRequestException("Invalid cursor");
+            }
+            return parts;
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException("Invalid cursor", e);
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package com.kamleads.management.util;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Normalizes restaurant names and cities into a duplicate-detection key, and hashes that key
+ * into the 64-bit value stored in leads.dedup_hash.
+ *
+ * Case, accents, punctuation and spacing are ignored, "&" reads as "and", a leading "the" and
+ * trailing business suffixes ("restaurant", "pvt ltd", ...) are dropped. So "The Spice Route
+ * Restaurant Pvt. Ltd." and "spice-route" in "Mumbai " produce the same key.
+ */
+public final class LeadNameNormalizer {
+
+    private static final Set<String> NAME_SUFFIXES = Set.of(
+            "restaurant", "restaurants", "restro", "resto", "eatery", "diner",
+            "pvt", "private", "ltd", "limited", "llp", "inc", "co", "company",
+            "and"); // Left dangling by "& Co"
+
+    private LeadNameNormalizer() {
+    }
+
+    /**
+     * Hash of the normalized name and city; equal for suspected duplicates.
+     */
+    public static long dedupHash(String name, String city) {
+        return hash(normalizeName(name) + '|' + normalizeWords(city));
+    }
+
+    public static String normalizeName(String name) {
+        List<String> words = words(name);
+        if (words.size() > 1 && words.get(0).equals("the")) {
+            words.remove(0);
+        }
+        // Never strip the name down to nothing: "Restaurant" alone stays "restaurant"
+        while (words.size() > 1 && NAME_SUFFIXES.contains(words.get(words.size() - 1))) {
+            words.remove(words.size() - 1);
+        }
+        return String.join("", words);
+    }
+
+    public static String normalizeWords(String text) {
+        return String.join("", words(text));
+    }
+
+    private static List<String> words(String text) {
+        if (text == null) {
+            return new ArrayList<>();
+        }
+        String folded = Normalizer.normalize(text, Normalizer.Form.NFKD)
+                .replaceAll("\\p{M}", "")
+                .toLowerCase(Locale.ROOT)
+                .replace("&", " and ")
+                .replaceAll("['\\u2019]", ""); // Domino's -> dominos
+        String cleaned = folded.replaceAll("[^\\p{L}\\p{N}]+", " ").trim();
+        return cleaned.isEmpty() ? new ArrayList<>() : new ArrayList<>(Arrays.asList(cleaned.split(" ")));
+    }
+
+    // First 8 bytes of SHA-256: stable across JVMs and releases, unlike String.hashCode
+    private static long hash(String key) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(key.getBytes(StandardCharsets.UTF_8));
+            return ByteBuffer.wrap(digest, 0, Long.BYTES).getLong();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
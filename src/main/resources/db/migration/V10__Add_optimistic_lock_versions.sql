@@ -0,0 +1,8 @@
+-- Optimistic locking: Hibernate checks and bumps these on every entity update
+-- (UPDATE ... SET version = version + 1 WHERE id = ? AND version = ?), so a write based on
+-- stale state fails instead of silently overwriting a concurrent one.
+-- Set-based updates bump the version themselves.
+
+ALTER TABLE leads ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE contacts ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE call_schedule ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
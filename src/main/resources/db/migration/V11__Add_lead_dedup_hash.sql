@@ -0,0 +1,20 @@
+-- Duplicate-lead detection.
+-- dedup_hash is a 64-bit hash of the lead's normalized name and city (see LeadNameNormalizer),
+-- computed by the application: equal hashes mark suspected duplicates, and the index turns the
+-- check for a new lead into a point lookup instead of a LIKE scan over names.
+--
+-- Existing rows start out NULL and are backfilled in batches by LeadDuplicateDetector at startup,
+-- since the normalization rules live in Java.
+
+ALTER TABLE leads ADD COLUMN dedup_hash BIGINT;
+
+CREATE INDEX idx_leads_dedup_hash ON leads(dedup_hash);
+
+-- Imports compute the hash while parsing, so duplicates can be rejected set-based before the merge
+ALTER TABLE lead_import_staging ADD COLUMN dedup_hash BIGINT;
+
+CREATE INDEX idx_lead_import_staging_job_dedup ON lead_import_staging(job_id, dedup_hash);
+
+-- Imported rows matching an existing lead or an earlier row of the same file
+-- (also counted in rejected_rows when dedup.policy is REJECT)
+ALTER TABLE lead_import_jobs ADD COLUMN duplicate_rows BIGINT NOT NULL DEFAULT 0;
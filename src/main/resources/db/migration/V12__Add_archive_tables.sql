@@ -0,0 +1,88 @@
+-- Cold storage for closed leads and old activity.
+-- LeadArchiveService moves rows here in bounded batches (DELETE ... RETURNING feeding INSERT ... SELECT,
+-- one statement per table) so the live tables and their indexes only hold the active book:
+--   * CLOSED_LOST / INACTIVE leads untouched for archive.lead-inactive-days, with all their child rows;
+--   * interactions older than archive.interaction-age-days, for any lead;
+--   * COMPLETED / CANCELLED call_schedule rows older than archive.call-schedule-age-days.
+-- Columns mirror the live tables plus archived_at. There are no foreign keys: archived rows may
+-- reference leads, contacts and users that later change or disappear.
+-- lead_daily_activity is not archived. Buckets of archived activity stay (aggregates are unchanged),
+-- buckets of archived leads are dropped with the lead and rebuilt from the interactions on restore.
+
+CREATE TABLE leads_archive (
+    id UUID PRIMARY KEY,
+    name VARCHAR(200) NOT NULL,
+    city VARCHAR(100),
+    cuisine_type VARCHAR(50),
+    status VARCHAR(20) NOT NULL,
+    kam_id UUID NOT NULL,
+    call_frequency INTEGER NOT NULL,
+    last_call_date DATE,
+    performance_score DECIMAL(5,2),
+    created_at TIMESTAMP,
+    updated_at TIMESTAMP,
+    version BIGINT NOT NULL,
+    dedup_hash BIGINT,
+    archived_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE INDEX idx_leads_archive_kam ON leads_archive(kam_id);
+
+CREATE TABLE contacts_archive (
+    id UUID PRIMARY KEY,
+    lead_id UUID NOT NULL,
+    name VARCHAR(100) NOT NULL,
+    role VARCHAR(50),
+    email VARCHAR(150),
+    is_primary BOOLEAN,
+    created_at TIMESTAMP,
+    updated_at TIMESTAMP,
+    version BIGINT NOT NULL,
+    archived_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE INDEX idx_contacts_archive_lead ON contacts_archive(lead_id);
+
+CREATE TABLE interactions_archive (
+    id UUID PRIMARY KEY,
+    lead_id UUID NOT NULL,
+    contact_id UUID,
+    kam_id UUID NOT NULL,
+    type VARCHAR(20) NOT NULL,
+    status VARCHAR(20) NOT NULL,
+    interaction_date TIMESTAMP,
+    order_value DECIMAL(10,2),
+    follow_up_date DATE,
+    created_at TIMESTAMP,
+    archived_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE INDEX idx_interactions_archive_lead_date ON interactions_archive(lead_id, interaction_date DESC);
+
+CREATE TABLE call_schedule_archive (
+    id UUID PRIMARY KEY,
+    kam_id UUID NOT NULL,
+    lead_id UUID NOT NULL,
+    scheduled_date DATE NOT NULL,
+    status VARCHAR(20) NOT NULL,
+    priority INTEGER,
+    next_scheduled_date DATE,
+    created_at TIMESTAMP,
+    version BIGINT NOT NULL,
+    archived_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE INDEX idx_call_schedule_archive_lead ON call_schedule_archive(lead_id, scheduled_date);
+
+CREATE TABLE performance_metrics_archive (
+    id UUID PRIMARY KEY,
+    lead_id UUID NOT NULL,
+    metric_date DATE NOT NULL,
+    metric_value DECIMAL(15,2) NOT NULL,
+    target_value DECIMAL(15,2),
+    period_type VARCHAR(20),
+    calculated_at TIMESTAMP,
+    archived_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE INDEX idx_performance_metrics_archive_lead ON performance_metrics_archive(lead_id);
@@ -0,0 +1,77 @@
+-- Monthly range partitioning of interactions on interaction_date.
+-- The analytics queries (per-KAM date ranges, order totals, KAM performance stats) all filter on
+-- interaction_date, so they only touch the months they ask for; old months can be detached whole
+-- instead of deleted row by row.
+--   * Partitions are named interactions_pYYYY_MM and cover [first of month, first of next month).
+--   * interactions_default catches rows outside every partition (far back-dated or future rows);
+--     InteractionPartitionService moves them into the right partition when it creates it.
+--   * InteractionPartitionService keeps partitions created partitions.interactions.months-ahead ahead
+--     and moves months past archive.interaction-age-days to interactions_archive.
+-- The primary key has to include the partition key, so it becomes (id, interaction_date); ids are
+-- still generated UUIDs. interaction_date becomes NOT NULL (null dates fall back to created_at).
+-- Nothing references interactions by foreign key, so the table can be swapped in place.
+
+ALTER TABLE interactions RENAME TO interactions_unpartitioned;
+
+CREATE TABLE interactions (
+    id UUID NOT NULL,
+    lead_id UUID NOT NULL,
+    contact_id UUID,
+    kam_id UUID NOT NULL,
+    type VARCHAR(20) NOT NULL,
+    status VARCHAR(20) NOT NULL,
+    interaction_date TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    order_value DECIMAL(10,2),
+    follow_up_date DATE,
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    CONSTRAINT pk_interactions PRIMARY KEY (id, interaction_date),
+    CONSTRAINT chk_order_value CHECK (order_value >= 0),
+    CONSTRAINT chk_interaction_type CHECK (type IN ('CALL', 'ORDER', 'EMAIL', 'MEETING')),
+    CONSTRAINT chk_interaction_status CHECK (status IN ('COMPLETED', 'PENDING', 'CANCELLED', 'SCHEDULED'))
+) PARTITION BY RANGE (interaction_date);
+
+CREATE TABLE interactions_default PARTITION OF interactions DEFAULT;
+
+-- One partition per month from the oldest existing interaction up to three months ahead
+DO $$
+DECLARE
+    month_start DATE;
+    last_month DATE := CAST(date_trunc('month', CURRENT_DATE) + INTERVAL '3 months' AS DATE);
+BEGIN
+    SELECT CAST(date_trunc('month', COALESCE(MIN(COALESCE(interaction_date, created_at)), CURRENT_DATE)) AS DATE)
+    INTO month_start
+    FROM interactions_unpartitioned;
+
+    WHILE month_start <= last_month LOOP
+        EXECUTE format('CREATE TABLE %I PARTITION OF interactions FOR VALUES FROM (%L) TO (%L)',
+                       'interactions_p' || to_char(month_start, 'YYYY_MM'),
+                       month_start, CAST(month_start + INTERVAL '1 month' AS DATE));
+        month_start := CAST(month_start + INTERVAL '1 month' AS DATE);
+    END LOOP;
+END $$;
+
+INSERT INTO interactions (id, lead_id, contact_id, kam_id, type, status, interaction_date, order_value,
+                          follow_up_date, created_at)
+SELECT id, lead_id, contact_id, kam_id, type, status, COALESCE(interaction_date, created_at, CURRENT_TIMESTAMP),
+       order_value, follow_up_date, created_at
+FROM interactions_unpartitioned;
+
+DROP TABLE interactions_unpartitioned;
+
+-- Indexes and foreign keys on the parent apply to every partition, current and future.
+-- Built after the load, which is much faster than maintaining them row by row.
+CREATE INDEX idx_interactions_lead_date ON interactions(lead_id, interaction_date DESC);
+CREATE INDEX idx_interactions_kam_type ON interactions(kam_id, type, interaction_date);
+CREATE INDEX idx_interactions_contact ON interactions(contact_id);
+CREATE INDEX idx_interactions_follow_up ON interactions(follow_up_date);
+
+ALTER TABLE interactions ADD CONSTRAINT fk_interactions_lead
+    FOREIGN KEY (lead_id) REFERENCES leads(id) ON DELETE RESTRICT;
+
+ALTER TABLE interactions ADD CONSTRAINT fk_interactions_contact
+    FOREIGN KEY (contact_id) REFERENCES contacts(id) ON DELETE SET NULL;
+
+ALTER TABLE interactions ADD CONSTRAINT fk_interactions_kam
+    FOREIGN KEY (kam_id) REFERENCES users(id) ON DELETE RESTRICT;
+
+ANALYZE interactions;
@@ -0,0 +1,21 @@
+-- Dead letters of the asynchronous interaction write path (InteractionWriteQueue).
+-- An interaction acknowledged with 202 that the writer could not insert (e.g. its lead was deleted
+-- between acceptance and the flush, or the database stayed unavailable through every retry) is kept
+-- here with the error instead of being lost, so it can be inspected and replayed.
+-- No foreign keys: the rows this references may be exactly what went missing.
+
+CREATE TABLE interaction_ingest_failures (
+    id UUID PRIMARY KEY, -- The interaction ID returned to the client
+    lead_id UUID NOT NULL,
+    contact_id UUID,
+    kam_id UUID NOT NULL,
+    type VARCHAR(20) NOT NULL,
+    status VARCHAR(20) NOT NULL,
+    interaction_date TIMESTAMP NOT NULL,
+    order_value DECIMAL(10,2),
+    follow_up_date DATE,
+    error TEXT,
+    failed_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE INDEX idx_interaction_ingest_failures_failed_at ON interaction_ingest_failures(failed_at);
@@ -0,0 +1,25 @@
+-- Indexes for the time-range analytics in InteractionRepository.
+-- The order-value queries filter on type = 'ORDER' and an interaction_date range, then aggregate
+-- order_value. idx_interactions_kam_type and idx_interactions_lead_date find those rows but not the
+-- value, so every match cost a heap lookup. The covering indexes below carry order_value, which
+-- lets the aggregates run as index-only scans once autovacuum has set the visibility map.
+-- benchmark/interaction_analytics_plan.sql checks the plans.
+-- Created on the partitioned parent (V13), so every partition, current and future, gets them.
+
+-- calculateTotalOrderValueByKamAndDateRange
+-- Partial: orders only, so it stays a fraction of the size of idx_interactions_kam_type
+CREATE INDEX idx_interactions_kam_orders ON interactions(kam_id, interaction_date)
+    INCLUDE (order_value) WHERE type = 'ORDER';
+
+-- calculateTotalOrderValueByLeadAndDateRange and findAverageOrderValueByLead
+CREATE INDEX idx_interactions_lead_orders ON interactions(lead_id, interaction_date)
+    INCLUDE (order_value) WHERE type = 'ORDER';
+
+-- findKamPerformanceStats and other all-KAM scans of a recent window.
+-- Rows arrive roughly in interaction_date order, so each block range covers a narrow span of dates
+-- and a BRIN index a few pages in size can skip most of a partition. autosummarize covers new
+-- block ranges as they fill; until then they are always read.
+CREATE INDEX idx_interactions_date_brin ON interactions USING BRIN (interaction_date)
+    WITH (autosummarize = on);
+
+ANALYZE interactions;
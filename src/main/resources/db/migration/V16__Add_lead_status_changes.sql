@@ -0,0 +1,17 @@
+-- History of lead status transitions, shown on the lead timeline (/api/leads/{id}/timeline).
+-- One row per lead whose status actually changed, written in the same transaction as the change
+-- by every LeadService path that sets a status: lead updates, bulk upserts, the status endpoint and
+-- the bulk status updates. The status a lead is created with is not a change and is not recorded.
+-- No foreign key to leads: the history stays in place while a lead is archived (V12), and merges
+-- move it to the surviving lead like the archived rows.
+
+CREATE TABLE lead_status_changes (
+    id UUID PRIMARY KEY,
+    lead_id UUID NOT NULL,
+    from_status VARCHAR(20) NOT NULL,
+    to_status VARCHAR(20) NOT NULL,
+    changed_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+-- Matches the timeline order, so a window is a range scan from the cursor position
+CREATE INDEX idx_lead_status_changes_lead_changed ON lead_status_changes(lead_id, changed_at DESC, id DESC);
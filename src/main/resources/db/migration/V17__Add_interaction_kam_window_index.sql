@@ -0,0 +1,10 @@
+-- Index for the KAM interaction history windows (/api/interactions/by-kam/{kamId}/cursor).
+-- Those windows are ordered by (interaction_date DESC, id DESC) over every type. The only KAM index
+-- so far, idx_interactions_kam_type, has type ahead of the date, so it cannot return a KAM's rows in
+-- that order: each window read all of the KAM's rows in the date range and sorted them. This index
+-- matches the window order, so a window is a backward range scan from the cursor that stops after
+-- size + 1 rows, however many interactions the KAM has in the range.
+-- Created on the partitioned parent (V13), so every partition, current and future, gets it. Each
+-- partition's scan is ordered and the partitions are merged (Merge Append) by date.
+
+CREATE INDEX idx_interactions_kam_date ON interactions(kam_id, interaction_date DESC, id DESC);
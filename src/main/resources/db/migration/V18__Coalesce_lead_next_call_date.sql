@@ -0,0 +1,18 @@
+-- created_at is nullable (V1), and the V9 expression gave a never-called lead without one a NULL
+-- next_call_date, which no due-call query ever matches. Such a lead is now due from 1970-01-01,
+-- that is, immediately.
+-- PostgreSQL 15 cannot change a generation expression in place, so the column and its index are
+-- recreated. This rewrites leads once, like V9.
+
+ALTER TABLE leads DROP COLUMN next_call_date; -- Drops idx_leads_kam_next_call with it
+
+ALTER TABLE leads ADD COLUMN next_call_date DATE GENERATED ALWAYS AS (
+    CASE
+        WHEN last_call_date IS NULL THEN COALESCE(CAST(created_at AS DATE), DATE '1970-01-01')
+        ELSE last_call_date + call_frequency
+    END
+) STORED;
+
+-- Only open leads need calls. Queries must repeat this exact status predicate for the planner to use the index.
+CREATE INDEX idx_leads_kam_next_call ON leads(kam_id, next_call_date)
+    WHERE status NOT IN ('CLOSED_WON', 'CLOSED_LOST');
@@ -0,0 +1,10 @@
+-- leads.created_at keys the lead cursor windows (default sort createdAt DESC, id). It was nullable
+-- (V1), and a NULL sort key never satisfies the cursor's row comparison, so such leads were silently
+-- skipped by every window after the first. The entity has always written it; only rows inserted
+-- by hand or before the entity existed can lack it.
+-- Backfilled from updated_at, the closest recorded time, else now. A backfilled never-called lead
+-- gets a next_call_date (V18) of that day, so it stays due.
+
+UPDATE leads SET created_at = COALESCE(updated_at, CURRENT_TIMESTAMP) WHERE created_at IS NULL;
+
+ALTER TABLE leads ALTER COLUMN created_at SET NOT NULL;
@@ -0,0 +1,7 @@
+-- Lets several instances share lead_import_jobs. The instance running an import (owner_instance) keeps
+-- heartbeat_at current while the job is queued or running. Only jobs whose heartbeat has gone stale
+-- are failed as abandoned, so a restarting instance no longer fails imports another instance is
+-- still running. Jobs from before this migration have no heartbeat and count from created_at.
+
+ALTER TABLE lead_import_jobs ADD COLUMN owner_instance VARCHAR(64);
+ALTER TABLE lead_import_jobs ADD COLUMN heartbeat_at TIMESTAMP;
@@ -0,0 +1,6 @@
+-- Indexes backing cursor (keyset) pagination of a KAM's leads.
+-- Each matches "WHERE kam_id = ? ORDER BY <key>, id" so a window is a range scan
+-- that starts at the cursor position instead of skipping an OFFSET prefix.
+
+CREATE INDEX idx_leads_kam_created_id ON leads(kam_id, created_at DESC, id);
+CREATE INDEX idx_leads_kam_name_id ON leads(kam_id, name, id);
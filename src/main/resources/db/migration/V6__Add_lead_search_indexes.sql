@@ -0,0 +1,13 @@
+-- Index-backed lead search.
+-- The lead list filters with lower(name) LIKE '%term%' and lower(city) = ?.
+-- Plain B-tree indexes on name/city cannot serve either expression, so searches
+-- used to filter every lead of the KAM row by row.
+
+-- pg_trgm is a trusted extension (PostgreSQL 13+), so the database owner can create it
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+-- Trigram GIN index for substring search on the lower-cased name (terms of 3+ characters)
+CREATE INDEX idx_leads_name_trgm ON leads USING GIN (lower(name) gin_trgm_ops);
+
+-- Expression index matching the case-insensitive city equality within a KAM's book
+CREATE INDEX idx_leads_kam_city_lower ON leads(kam_id, lower(city));
@@ -0,0 +1,44 @@
+-- CSV lead import pipeline.
+-- Uploaded rows are validated in chunks and COPYed into lead_import_staging, then merged
+-- into leads with a single INSERT ... SELECT that resolves kam_id from the KAM's email.
+-- lead_import_jobs tracks progress; lead_import_rejects keeps every rejected row with its reason.
+
+CREATE TABLE lead_import_jobs (
+    id UUID PRIMARY KEY,
+    file_name VARCHAR(255),
+    status VARCHAR(20) NOT NULL DEFAULT 'PENDING',
+    total_rows BIGINT NOT NULL DEFAULT 0,
+    staged_rows BIGINT NOT NULL DEFAULT 0,
+    rejected_rows BIGINT NOT NULL DEFAULT 0,
+    imported_rows BIGINT NOT NULL DEFAULT 0,
+    error_message TEXT,
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    started_at TIMESTAMP,
+    completed_at TIMESTAMP,
+    CONSTRAINT chk_lead_import_status CHECK (status IN ('PENDING', 'RUNNING', 'COMPLETED', 'FAILED'))
+);
+
+-- UNLOGGED: rows live only for the duration of one import, so skip WAL for them
+CREATE UNLOGGED TABLE lead_import_staging (
+    job_id UUID NOT NULL,
+    row_number BIGINT NOT NULL,
+    lead_id UUID NOT NULL DEFAULT gen_random_uuid(),
+    name VARCHAR(200) NOT NULL,
+    city VARCHAR(100),
+    cuisine_type VARCHAR(50),
+    status VARCHAR(20) NOT NULL,
+    kam_email VARCHAR(150) NOT NULL,
+    call_frequency INTEGER NOT NULL
+);
+
+CREATE INDEX idx_lead_import_staging_job ON lead_import_staging(job_id);
+
+CREATE TABLE lead_import_rejects (
+    id BIGSERIAL PRIMARY KEY,
+    job_id UUID NOT NULL REFERENCES lead_import_jobs(id) ON DELETE CASCADE,
+    row_number BIGINT NOT NULL,
+    reason VARCHAR(500) NOT NULL,
+    raw_line TEXT
+);
+
+CREATE INDEX idx_lead_import_rejects_job_row ON lead_import_rejects(job_id, row_number);
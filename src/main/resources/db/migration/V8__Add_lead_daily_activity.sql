@@ -0,0 +1,23 @@
+-- Per-lead, per-day interaction buckets.
+-- Maintained incrementally by InteractionService (create/update/delete apply a delta with an upsert),
+-- so rolling 30/90-day activity for a lead is a sum over at most 90 small rows instead of a scan
+-- of its raw interactions.
+
+CREATE TABLE lead_daily_activity (
+    lead_id UUID NOT NULL REFERENCES leads(id) ON DELETE CASCADE,
+    day DATE NOT NULL,
+    interactions INTEGER NOT NULL DEFAULT 0,
+    orders INTEGER NOT NULL DEFAULT 0,
+    order_value DECIMAL(14,2) NOT NULL DEFAULT 0.00,
+    PRIMARY KEY (lead_id, day)
+);
+
+-- Backfill from existing interactions
+INSERT INTO lead_daily_activity (lead_id, day, interactions, orders, order_value)
+SELECT lead_id,
+       CAST(interaction_date AS DATE),
+       COUNT(*),
+       COUNT(*) FILTER (WHERE type = 'ORDER'),
+       COALESCE(SUM(order_value) FILTER (WHERE type = 'ORDER'), 0)
+FROM interactions
+GROUP BY lead_id, CAST(interaction_date AS DATE);
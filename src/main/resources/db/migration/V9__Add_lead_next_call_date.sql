@@ -0,0 +1,16 @@
+-- Stored next_call_date so due-call lookups can range-scan an index instead of
+-- evaluating last_call_date + call_frequency for every row.
+--
+-- A lead that has never been called is due from the day it was created.
+-- Adding a STORED generated column rewrites the table, which backfills every existing row.
+
+ALTER TABLE leads ADD COLUMN next_call_date DATE GENERATED ALWAYS AS (
+    CASE
+        WHEN last_call_date IS NULL THEN CAST(created_at AS DATE)
+        ELSE last_call_date + call_frequency
+    END
+) STORED;
+
+-- Only open leads need calls. Queries must repeat this exact status predicate for the planner to use the index.
+CREATE INDEX idx_leads_kam_next_call ON leads(kam_id, next_call_date)
+    WHERE status NOT IN ('CLOSED_WON', 'CLOSED_LOST');
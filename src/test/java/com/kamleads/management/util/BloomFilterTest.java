@@ -0,0 +1,68 @@
+package com.kamleads.management.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BloomFilterTest {
+
+    private static final int CAPACITY = 100_000;
+    private static final double FALSE_POSITIVE_RATE = 0.01;
+
+    @Test
+    void neverReportsAnAddedValueAsAbsent() {
+        BloomFilter filter = new BloomFilter(CAPACITY, FALSE_POSITIVE_RATE);
+        Random random = new Random(42);
+        long[] added = new long[CAPACITY];
+        for (int i = 0; i < CAPACITY; i++) {
+            added[i] = random.nextLong();
+            filter.put(added[i]);
+        }
+
+        for (long value : added) {
+            assertTrue(filter.mightContain(value));
+        }
+    }
+
+    @Test
+    void keepsFalsePositiveRateNearConfiguredRateAtCapacity() {
+        BloomFilter filter = new BloomFilter(CAPACITY, FALSE_POSITIVE_RATE);
+        Random random = new Random(7);
+        Set<Long> added = new HashSet<>();
+        while (added.size() < CAPACITY) {
+            long value = random.nextLong();
+            added.add(value);
+            filter.put(value);
+        }
+
+        int probes = 0;
+        int falsePositives = 0;
+        while (probes < CAPACITY) {
+            long value = random.nextLong();
+            if (added.contains(value)) {
+                continue;
+            }
+            probes++;
+            if (filter.mightContain(value)) {
+                falsePositives++;
+            }
+        }
+
+        double rate = (double) falsePositives / probes;
+        assertTrue(rate < FALSE_POSITIVE_RATE * 1.5, "false-positive rate " + rate);
+    }
+
+    @Test
+    void emptyFilterContainsNothing() {
+        BloomFilter filter = new BloomFilter(CAPACITY, FALSE_POSITIVE_RATE);
+
+        assertFalse(filter.mightContain(0L));
+        assertFalse(filter.mightContain(-1L));
+        assertFalse(filter.mightContain(Long.MIN_VALUE));
+    }
+}
@@ -0,0 +1,46 @@
+package com.kamleads.management.util;
+
+import com.kamleads.management.exception.BadRequestException;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CursorCodecTest {
+
+    @Test
+    void roundTripsParts() {
+        List<String> parts = List.of("2025-06-01T10:15:30", "INTERACTION", "3f2b8c1e-7a4d-4e8b-9c61-0d2f5a7b9e10");
+
+        assertEquals(parts, CursorCodec.decode(CursorCodec.encode(parts), 3));
+    }
+
+    @Test
+    void roundTripsEmptyAndNonAsciiParts() {
+        List<String> parts = List.of("", "Café Crème", "");
+
+        assertEquals(parts, CursorCodec.decode(CursorCodec.encode(parts), 3));
+    }
+
+    @Test
+    void encodesUrlSafeWithoutPadding() {
+        String cursor = CursorCodec.encode(List.of("???>>>", "a"));
+
+        assertTrue(cursor.matches("[A-Za-z0-9_-]+"), cursor);
+    }
+
+    @Test
+    void rejectsWrongNumberOfParts() {
+        String cursor = CursorCodec.encode(List.of("a", "b"));
+
+        assertThrows(BadRequestException.class, () -> CursorCodec.decode(cursor, 3));
+    }
+
+    @Test
+    void rejectsMalformedBase64() {
+        assertThrows(BadRequestException.class, () -> CursorCodec.decode("not a cursor!", 1));
+    }
+}
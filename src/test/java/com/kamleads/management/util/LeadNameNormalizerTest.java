@@ -0,0 +1,58 @@
+package com.kamleads.management.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+class LeadNameNormalizerTest {
+
+    @Test
+    void foldsAccentsCompatibilityFormsAndCase() {
+        assertEquals("cafecreme", LeadNameNormalizer.normalizeName("Café Crème"));
+        assertEquals("cafecreme", LeadNameNormalizer.normalizeName("CAFE CREME"));
+        // Full-width letters (NFKD compatibility decomposition)
+        assertEquals("abc", LeadNameNormalizer.normalizeName("ＡＢＣ"));
+    }
+
+    @Test
+    void ignoresPunctuationApostrophesAndSpacing() {
+        assertEquals("dominos", LeadNameNormalizer.normalizeName("Domino's"));
+        assertEquals("dominos", LeadNameNormalizer.normalizeName("Domino’s"));
+        assertEquals("spiceroute", LeadNameNormalizer.normalizeName("  spice-route "));
+    }
+
+    @Test
+    void stripsLeadingTheAndTrailingBusinessSuffixes() {
+        assertEquals("spiceroute", LeadNameNormalizer.normalizeName("The Spice Route Restaurant Pvt. Ltd."));
+        assertEquals("spice", LeadNameNormalizer.normalizeName("Spice & Co"));
+        assertEquals("barbequenation", LeadNameNormalizer.normalizeName("Barbeque Nation Limited"));
+    }
+
+    @Test
+    void neverStripsNameToNothing() {
+        assertEquals("restaurant", LeadNameNormalizer.normalizeName("Restaurant"));
+        assertEquals("the", LeadNameNormalizer.normalizeName("The"));
+        assertEquals("", LeadNameNormalizer.normalizeName(null));
+    }
+
+    @Test
+    void keepsSuffixWordsInsideTheName() {
+        assertEquals("companybagh", LeadNameNormalizer.normalizeName("Company Bagh"));
+        assertEquals("andhrameals", LeadNameNormalizer.normalizeName("Andhra Meals Restaurant"));
+    }
+
+    @Test
+    void dedupHashMatchesForSuspectedDuplicates() {
+        assertEquals(LeadNameNormalizer.dedupHash("The Spice Route Restaurant Pvt. Ltd.", "Mumbai"),
+                LeadNameNormalizer.dedupHash("spice-route", "Mumbai "));
+        assertNotEquals(LeadNameNormalizer.dedupHash("Spice Route", "Mumbai"),
+                LeadNameNormalizer.dedupHash("Spice Route", "Pune"));
+    }
+
+    @Test
+    void dedupHashIsStableAcrossReleases() {
+        // Stored in leads.dedup_hash: changing it would stop new leads matching existing ones
+        assertEquals(-5360363328620422733L, LeadNameNormalizer.dedupHash("Spice Route", "Mumbai"));
+    }
+}